@@ -1,5 +1,12 @@
 package com.clinprecision.axon.config;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import org.axonframework.common.transaction.TransactionManager;
 import org.axonframework.eventsourcing.eventstore.EventStore;
 import org.axonframework.eventsourcing.eventstore.jpa.JpaEventStorageEngine;
@@ -67,7 +74,30 @@ public class AxonConfig {
                 .entityManagerProvider(() -> entityManager)
                 .transactionManager(axonTransactionManager)
                 .eventSerializer(eventSerializer)
-                .snapshotSerializer(eventSerializer)
+                .snapshotSerializer(snapshotSerializer())
+                .build();
+    }
+
+    /**
+     * Serializer for aggregate snapshots
+     * 
+     * Aggregates keep their state in private fields without getters (and some expose
+     * derived getters), so snapshots are written field by field instead of through the
+     * bean properties used for events. Immutable value objects are restored through their
+     * constructors (parameter names), unknown fields are ignored so old snapshots remain
+     * readable after an aggregate loses a field.
+     */
+    private Serializer snapshotSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new ParameterNamesModule())
+                .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+                .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+                .setVisibility(PropertyAccessor.CREATOR, JsonAutoDetect.Visibility.ANY)
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return JacksonSerializer.builder()
+                .objectMapper(objectMapper)
                 .build();
     }
 
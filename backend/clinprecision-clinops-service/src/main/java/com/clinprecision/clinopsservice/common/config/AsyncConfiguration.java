@@ -1,12 +1,14 @@
 package com.clinprecision.clinopsservice.common.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Async Configuration for Study Database Build Worker
@@ -70,6 +72,66 @@ public class AsyncConfiguration {
         return executor;
     }
     
+    /**
+     * Thread pool executor for the independent phases of a database build
+     *
+     * Kept separate from databaseBuildExecutor: a build thread blocks while its
+     * phases run, so scheduling the phases on the same pool could starve it when
+     * every build thread is busy waiting on its own phases.
+     *
+     * @param poolSize Maximum number of phases running at once across all builds
+     * @return Configured ThreadPoolTaskExecutor
+     */
+    @Bean(name = "databaseBuildPhaseExecutor")
+    public Executor databaseBuildPhaseExecutor(
+            @Value("${clinops.database.build.phase-pool-size:8}") int poolSize) {
+        log.info("Configuring async executor for database build phases");
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("db-build-phase-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("Database build phase executor configured: poolSize={}, queueCapacity={}",
+                 executor.getCorePoolSize(), executor.getQueueCapacity());
+
+        return executor;
+    }
+
+    /**
+     * Thread pool executor for the commands of bulk form submissions
+     *
+     * Each thread dispatches one SubmitFormDataCommand at a time; when the queue is full the
+     * request thread dispatches the command itself, so large imports slow down instead of failing.
+     *
+     * @param poolSize Maximum number of submit commands in flight across all bulk requests
+     * @return Configured ThreadPoolTaskExecutor
+     */
+    @Bean(name = "formSubmissionExecutor")
+    public Executor formSubmissionExecutor(
+            @Value("${clinops.form-data.bulk.dispatch-pool-size:8}") int poolSize) {
+        log.info("Configuring async executor for bulk form submissions");
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("form-submit-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        log.info("Bulk form submission executor configured: poolSize={}, queueCapacity={}",
+                 executor.getCorePoolSize(), executor.getQueueCapacity());
+
+        return executor;
+    }
+
     /**
      * General purpose async executor (if needed for other async operations)
      * 
@@ -1,23 +1,93 @@
 package com.clinprecision.clinopsservice.common.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.eventhandling.async.SequentialPerAggregatePolicy;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+import java.util.Set;
+
 /**
  * Axon Event Processing configuration for Study Design Service.
  *
  * Registers a TrackingEventProcessor for the study database build projection
  * group so that projections run asynchronously in their own transaction,
  * avoiding transactional coupling with command handling.
+ *
+ * The clinical read models (form data, visits, patient enrollments, studies) each run
+ * in their own pooled streaming processor:
+ * - events are split over clinops.projection.segment-count segments by aggregate identifier,
+ *   so events of one aggregate stay in order while different aggregates project in parallel
+ * - each group keeps its own token, so one read model can be replayed from the event store
+ *   without touching the others (see ProjectionReplayService)
+ *
+ * PatientStatusRollupProjector keeps additive counters, so it has its own group (replayed
+ * after clearing the counters) rather than sharing the patient enrollment token.
+ *
+ * FormDataProjector projects a whole batch with set-based writes, so its processor uses a
+ * larger batch (clinops.projection.formdata-batch-size) than the other read models. Each form
+ * submission is its own aggregate, so form data is sequenced per (study, subject, visit)
+ * instead (FormDataSequencingPolicy): versions of the same form project in event order.
+ *
+ * The processors that replaced the former package-named processors start at the head of the
+ * event store (HEAD_START_PROJECTIONS); a full rebuild is an explicit replay.
+ *
+ * The segment count only applies when a processor starts without tokens; changing it
+ * afterwards requires splitting/merging segments or a replay.
  */
 @Configuration
+@Slf4j
 public class AxonEventProcessingConfig {
 
-    public AxonEventProcessingConfig(EventProcessingConfigurer configurer) {
+    public static final String FORM_DATA_PROJECTION = "formdata-projection";
+    public static final String VISIT_PROJECTION = "visit-projection";
+    public static final String PATIENT_ENROLLMENT_PROJECTION = "patient-enrollment-projection";
+    public static final String STUDY_PROJECTION = "study-projection";
+    public static final String PATIENT_STATUS_ROLLUP_PROJECTION = "patient-status-rollup-projection";
+
+    /**
+     * Read-model processing groups run as pooled streaming processors (and eligible for replay)
+     */
+    public static final List<String> READ_MODEL_PROJECTIONS = List.of(
+            FORM_DATA_PROJECTION, VISIT_PROJECTION, PATIENT_ENROLLMENT_PROJECTION, STUDY_PROJECTION,
+            PATIENT_STATUS_ROLLUP_PROJECTION);
+
+    /**
+     * Groups that took over the handlers of the former package-named processors: they start at
+     * the head of the event store, since those events were already projected (their handlers are
+     * not all replay-safe, e.g. demographics updates and study updates overwrite current rows).
+     * Other groups start at the tail and project the whole event store on first start.
+     */
+    private static final Set<String> HEAD_START_PROJECTIONS = Set.of(
+            FORM_DATA_PROJECTION, VISIT_PROJECTION, PATIENT_ENROLLMENT_PROJECTION, STUDY_PROJECTION);
+
+    public AxonEventProcessingConfig(EventProcessingConfigurer configurer,
+                                     @Value("${clinops.projection.segment-count:4}") int segmentCount,
+                                     @Value("${clinops.projection.batch-size:1}") int batchSize,
+                                     @Value("${clinops.projection.formdata-batch-size:50}") int formDataBatchSize) {
         // Use a tracking processor for projection handlers
         configurer.registerTrackingEventProcessor("studydatabase-projection");
+
+        for (String processingGroup : READ_MODEL_PROJECTIONS) {
+            int groupBatchSize = FORM_DATA_PROJECTION.equals(processingGroup) ? formDataBatchSize : batchSize;
+            configurer.registerPooledStreamingEventProcessor(processingGroup,
+                    config -> config.eventStore(),
+                    (config, builder) -> builder
+                            .initialSegmentCount(segmentCount)
+                            .maxClaimedSegments(segmentCount)
+                            .batchSize(groupBatchSize)
+                            .initialToken(HEAD_START_PROJECTIONS.contains(processingGroup)
+                                    ? StreamableMessageSource::createHeadToken
+                                    : StreamableMessageSource::createTailToken));
+            configurer.registerSequencingPolicy(processingGroup,
+                    config -> FORM_DATA_PROJECTION.equals(processingGroup)
+                            ? FormDataSequencingPolicy.instance()
+                            : SequentialPerAggregatePolicy.instance());
+        }
+        log.info("Registered pooled streaming processors {} with {} segments (batch size {}, {} for {})",
+                READ_MODEL_PROJECTIONS, segmentCount, batchSize, formDataBatchSize, FORM_DATA_PROJECTION);
     }
 }
-
-
-
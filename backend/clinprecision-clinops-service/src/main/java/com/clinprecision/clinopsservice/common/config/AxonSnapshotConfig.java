@@ -0,0 +1,67 @@
+package com.clinprecision.clinopsservice.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.eventsourcing.EventCountSnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.SnapshotTriggerDefinition;
+import org.axonframework.eventsourcing.Snapshotter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Axon snapshot configuration for long-lived aggregates
+ *
+ * Without snapshots every command replays the aggregate's whole event stream, which
+ * grows for the lifetime of a multi-year study. Each aggregate type below gets its own
+ * event-count trigger (referenced from its @Aggregate annotation); after the configured
+ * number of events the aggregate state is written to snapshot_event_entry and later loads
+ * only replay the events after it.
+ *
+ * Aggregate types:
+ * - StudyDesignAggregate (arms, visits, form assignments) - studyDesignSnapshotTriggerDefinition
+ * - StudyAggregate                                        - studySnapshotTriggerDefinition
+ * - PatientAggregate                                      - patientSnapshotTriggerDefinition
+ *
+ * Replay length per load is recorded by ReplayMetricsSnapshotTriggerDefinition.
+ * Snapshots are serialized field by field (see AxonConfig snapshot serializer).
+ */
+@Configuration
+@Slf4j
+public class AxonSnapshotConfig {
+
+    private final Snapshotter snapshotter;
+    private final MeterRegistry meterRegistry;
+
+    public AxonSnapshotConfig(Snapshotter snapshotter, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.snapshotter = snapshotter;
+        // Global registry when no registry bean is configured (e.g. without actuator)
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Bean
+    public SnapshotTriggerDefinition studyDesignSnapshotTriggerDefinition(
+            @Value("${clinops.axon.snapshot.study-design-threshold:50}") int threshold) {
+        return snapshotTrigger("StudyDesignAggregate", threshold);
+    }
+
+    @Bean
+    public SnapshotTriggerDefinition studySnapshotTriggerDefinition(
+            @Value("${clinops.axon.snapshot.study-threshold:50}") int threshold) {
+        return snapshotTrigger("StudyAggregate", threshold);
+    }
+
+    @Bean
+    public SnapshotTriggerDefinition patientSnapshotTriggerDefinition(
+            @Value("${clinops.axon.snapshot.patient-threshold:25}") int threshold) {
+        return snapshotTrigger("PatientAggregate", threshold);
+    }
+
+    private SnapshotTriggerDefinition snapshotTrigger(String aggregateName, int threshold) {
+        log.info("Snapshotting {} every {} events", aggregateName, threshold);
+        return new ReplayMetricsSnapshotTriggerDefinition(
+                new EventCountSnapshotTriggerDefinition(snapshotter, threshold), meterRegistry, threshold);
+    }
+}
@@ -0,0 +1,36 @@
+package com.clinprecision.clinopsservice.common.config;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.domain.events.FormDataSubmittedEvent;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.async.SequencingPolicy;
+import org.axonframework.eventhandling.async.SequentialPerAggregatePolicy;
+
+/**
+ * Sequencing policy of the form data projection
+ *
+ * Every form submission is a new FormData aggregate (random UUID), so sequencing per
+ * aggregate would let two versions of the same visit form project on different segments,
+ * concurrently or out of order. FormDataProjector derives the patch chain, the visit form
+ * counters and the search index of a version from the latest projected version of the same
+ * form, so submissions are sequenced per (study, subject, visit) instead: all versions of a
+ * subject's forms at one visit are projected in event order, while different visits and
+ * subjects still project in parallel.
+ *
+ * Other events fall back to per-aggregate sequencing.
+ */
+public class FormDataSequencingPolicy implements SequencingPolicy<EventMessage<?>> {
+
+    private static final FormDataSequencingPolicy INSTANCE = new FormDataSequencingPolicy();
+
+    public static FormDataSequencingPolicy instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Object getSequenceIdentifierFor(EventMessage<?> event) {
+        if (event.getPayload() instanceof FormDataSubmittedEvent submitted) {
+            return submitted.getStudyId() + ":" + submitted.getSubjectId() + ":" + submitted.getVisitId();
+        }
+        return SequentialPerAggregatePolicy.instance().getSequenceIdentifierFor(event);
+    }
+}
@@ -0,0 +1,104 @@
+package com.clinprecision.clinopsservice.common.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventsourcing.SnapshotTrigger;
+import org.axonframework.eventsourcing.SnapshotTriggerDefinition;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot trigger definition that records how many events are replayed per aggregate load
+ *
+ * Wraps the real trigger definition (event count based) and counts the events sourced
+ * before initialization finishes, i.e. the events applied on top of the latest snapshot.
+ *
+ * Metrics:
+ * - clinops.aggregate.replay.events (distribution summary, tag "aggregate")
+ *
+ * A load that replays well beyond the snapshot threshold is logged as a warning:
+ * it means snapshots are not being taken (or cannot be read) for that aggregate type.
+ */
+@Slf4j
+public class ReplayMetricsSnapshotTriggerDefinition implements SnapshotTriggerDefinition {
+
+    public static final String REPLAY_EVENTS_METRIC = "clinops.aggregate.replay.events";
+
+    private final SnapshotTriggerDefinition delegate;
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+
+    public ReplayMetricsSnapshotTriggerDefinition(SnapshotTriggerDefinition delegate,
+                                                  MeterRegistry meterRegistry,
+                                                  int threshold) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public SnapshotTrigger prepareTrigger(Class<?> aggregateType) {
+        return new ReplayCountingTrigger(delegate.prepareTrigger(aggregateType), aggregateType,
+                replaySummary(aggregateType), threshold);
+    }
+
+    @Override
+    public SnapshotTrigger reconfigure(Class<?> aggregateType, SnapshotTrigger trigger) {
+        if (trigger instanceof ReplayCountingTrigger countingTrigger) {
+            countingTrigger.delegate = delegate.reconfigure(aggregateType, countingTrigger.delegate);
+            countingTrigger.replayEvents = replaySummary(aggregateType);
+            return countingTrigger;
+        }
+        return delegate.reconfigure(aggregateType, trigger);
+    }
+
+    private DistributionSummary replaySummary(Class<?> aggregateType) {
+        return DistributionSummary.builder(REPLAY_EVENTS_METRIC)
+                .description("Events replayed on top of the latest snapshot when loading an aggregate")
+                .tag("aggregate", aggregateType.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private static class ReplayCountingTrigger implements SnapshotTrigger, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private SnapshotTrigger delegate;
+        private transient DistributionSummary replayEvents;
+        private final String aggregateName;
+        private final int threshold;
+        private int replayed;
+        private boolean initialized;
+
+        ReplayCountingTrigger(SnapshotTrigger delegate, Class<?> aggregateType,
+                              DistributionSummary replayEvents, int threshold) {
+            this.delegate = delegate;
+            this.aggregateName = aggregateType.getSimpleName();
+            this.replayEvents = replayEvents;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void eventHandled(EventMessage<?> msg) {
+            if (!initialized) {
+                replayed++;
+            }
+            delegate.eventHandled(msg);
+        }
+
+        @Override
+        public void initializationFinished() {
+            initialized = true;
+            if (replayEvents != null) {
+                replayEvents.record(replayed);
+            }
+            if (replayed > threshold * 2) {
+                log.warn("{} loaded by replaying {} events (snapshot threshold {})",
+                        aggregateName, replayed, threshold);
+            }
+            delegate.initializationFinished();
+        }
+    }
+}
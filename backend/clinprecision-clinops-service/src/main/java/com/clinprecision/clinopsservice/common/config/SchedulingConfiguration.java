@@ -0,0 +1,14 @@
+package com.clinprecision.clinopsservice.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs (e.g. VisitWindowSweeper)
+ *
+ * Jobs that must run on one service instance only coordinate through ScheduledJobLease.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
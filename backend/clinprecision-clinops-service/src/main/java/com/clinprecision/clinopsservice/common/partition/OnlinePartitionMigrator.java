@@ -0,0 +1,412 @@
+package com.clinprecision.clinopsservice.common.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Online Partition Migrator - converts an operational table to HASH(study_id) partitioning
+ * while the application keeps writing to it
+ *
+ * Same approach as pt-online-schema-change:
+ * 1. Drop the foreign keys of the table and those referencing it (metadata only; their
+ *    checks are done by ProjectionReferenceValidator)
+ * 2. Create an empty shadow table (&lt;table&gt;__part) with the partitioned layout: primary
+ *    and unique keys extended/relaxed to contain study_id, PARTITION BY HASH(study_id)
+ * 3. Add change capture triggers on the table that replay every insert/update/delete on the shadow
+ * 4. Copy the existing rows in primary key chunks (INSERT IGNORE, rows already replayed by the
+ *    triggers win), pausing between chunks to limit the load on the primary
+ * 5. Cut over under LOCK TABLES: drop the capture triggers, move the table's own (audit)
+ *    triggers to the shadow and swap the tables with one RENAME
+ *
+ * The original table is kept as &lt;table&gt;__old until cleanup is called. Tables already
+ * partitioned (e.g. by migration V1.23 on a small database) are rejected.
+ *
+ * Audit tables should be migrated before the tables whose triggers write them, so the
+ * audit rows written during the copy land in the live audit table.
+ */
+@Service
+@Slf4j
+public class OnlinePartitionMigrator {
+
+    /**
+     * Partitioned operational tables and their key column, in recommended migration order
+     */
+    public static final Map<String, String> PARTITIONED_TABLES = orderedTables();
+
+    private static final String SHADOW_SUFFIX = "__part";
+    private static final String OLD_SUFFIX = "__old";
+    private static final String[] CAPTURE_TRIGGER_SUFFIXES = {"__pi", "__pu", "__pd"};
+
+    private static final String SELECT_PARTITION_COUNT_SQL =
+        "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL";
+
+    private static final String SELECT_FOREIGN_KEYS_SQL =
+        "SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+        "WHERE CONSTRAINT_SCHEMA = DATABASE() AND (TABLE_NAME = ? OR REFERENCED_TABLE_NAME = ?)";
+
+    private static final String SELECT_COLUMNS_SQL =
+        "SELECT COLUMN_NAME FROM information_schema.COLUMNS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION";
+
+    private static final String SELECT_UNIQUE_KEYS_SQL =
+        "SELECT INDEX_NAME, COLUMN_NAME FROM information_schema.STATISTICS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND NON_UNIQUE = 0 ORDER BY INDEX_NAME, SEQ_IN_INDEX";
+
+    private static final String SELECT_TRIGGERS_SQL =
+        "SELECT TRIGGER_NAME, ACTION_TIMING, EVENT_MANIPULATION, ACTION_STATEMENT FROM information_schema.TRIGGERS " +
+        "WHERE TRIGGER_SCHEMA = DATABASE() AND EVENT_OBJECT_TABLE = ? ORDER BY EVENT_MANIPULATION, ACTION_ORDER";
+
+    private static final String SELECT_TABLE_EXISTS_SQL =
+        "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor executor;
+    private final int partitions;
+    private final int chunkSize;
+    private final long chunkPauseMs;
+
+    private final Map<String, PartitionMigrationStatusDto> migrations = new ConcurrentHashMap<>();
+
+    public OnlinePartitionMigrator(JdbcTemplate jdbcTemplate,
+                                   @Qualifier("taskExecutor") Executor executor,
+                                   @Value("${clinops.partitioning.partitions:16}") int partitions,
+                                   @Value("${clinops.partitioning.copy-chunk-size:5000}") int chunkSize,
+                                   @Value("${clinops.partitioning.copy-chunk-pause-ms:50}") long chunkPauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.partitions = Math.max(1, partitions);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPauseMs = Math.max(0, chunkPauseMs);
+    }
+
+    /**
+     * Partitioning status of every operational table
+     */
+    public List<PartitionMigrationStatusDto> getStatus() {
+        return PARTITIONED_TABLES.keySet().stream().map(this::getStatus).toList();
+    }
+
+    /**
+     * Partitioning status of one operational table
+     *
+     * @throws IllegalArgumentException if the table is not one of PARTITIONED_TABLES
+     */
+    public PartitionMigrationStatusDto getStatus(String table) {
+        requireKnownTable(table);
+        PartitionMigrationStatusDto migration = migrations.get(table);
+        PartitionMigrationStatusDto.PartitionMigrationStatusDtoBuilder status = migration != null
+            ? migration.toBuilder()
+            : PartitionMigrationStatusDto.builder().table(table).state("NOT_STARTED");
+        return status.partitions(partitionCount(table)).build();
+    }
+
+    /**
+     * Start the online migration of a table (runs in the background)
+     *
+     * @return Status at start
+     * @throws IllegalArgumentException if the table is not one of PARTITIONED_TABLES
+     * @throws IllegalStateException if the table is already partitioned or being migrated,
+     *         or the copy of a previous migration has not been cleaned up
+     */
+    public PartitionMigrationStatusDto migrate(String table) {
+        requireKnownTable(table);
+        if (partitionCount(table) > 0) {
+            throw new IllegalStateException("Table " + table + " is already partitioned");
+        }
+        if (tableExists(table + OLD_SUFFIX)) {
+            throw new IllegalStateException("Table " + table + OLD_SUFFIX + " exists - clean up the previous migration first");
+        }
+
+        PartitionMigrationStatusDto started = PartitionMigrationStatusDto.builder()
+            .table(table)
+            .state("COPYING")
+            .copiedRows(0L)
+            .startedAt(LocalDateTime.now())
+            .build();
+        PartitionMigrationStatusDto running = migrations.compute(table, (key, current) -> {
+            if (current != null && ("COPYING".equals(current.getState()) || "CUTTING_OVER".equals(current.getState()))) {
+                throw new IllegalStateException("Migration of " + table + " is already running");
+            }
+            return started;
+        });
+
+        executor.execute(() -> run(table));
+        log.info("Online partition migration of {} started", table);
+        return running.toBuilder().partitions(0).build();
+    }
+
+    /**
+     * Drop the pre-migration copy of a migrated table
+     *
+     * @throws IllegalArgumentException if the table is not one of PARTITIONED_TABLES
+     * @throws IllegalStateException if the table is not partitioned yet
+     */
+    public PartitionMigrationStatusDto cleanup(String table) {
+        requireKnownTable(table);
+        if (partitionCount(table) == 0) {
+            throw new IllegalStateException("Table " + table + " is not partitioned - nothing to clean up");
+        }
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + quote(table + OLD_SUFFIX));
+        migrations.computeIfPresent(table, (key, status) -> status.toBuilder().oldTable(null).build());
+        log.info("Dropped {}{} after partition migration", table, OLD_SUFFIX);
+        return getStatus(table);
+    }
+
+    private void run(String table) {
+        String shadow = table + SHADOW_SUFFIX;
+        String keyColumn = PARTITIONED_TABLES.get(table);
+        try {
+            dropForeignKeys(table);
+            createShadow(table, shadow);
+
+            List<String> columns = jdbcTemplate.queryForList(SELECT_COLUMNS_SQL, String.class, table);
+            createCaptureTriggers(table, shadow, keyColumn, columns);
+            copyRows(table, shadow, keyColumn, columns);
+
+            update(table, status -> status.toBuilder().state("CUTTING_OVER").build());
+            cutOver(table, shadow);
+
+            update(table, status -> status.toBuilder()
+                .state("COMPLETED")
+                .oldTable(table + OLD_SUFFIX)
+                .finishedAt(LocalDateTime.now())
+                .build());
+            log.info("Online partition migration of {} completed ({} kept until cleanup)", table, table + OLD_SUFFIX);
+        } catch (Exception e) {
+            log.error("Online partition migration of {} failed: {}", table, e.getMessage(), e);
+            dropCaptureTriggers(table);
+            update(table, status -> status.toBuilder()
+                .state("FAILED")
+                .error(e.getMessage())
+                .finishedAt(LocalDateTime.now())
+                .build());
+        }
+    }
+
+    /**
+     * Foreign keys are not supported on partitioned tables, nor may they reference one
+     */
+    private void dropForeignKeys(String table) {
+        jdbcTemplate.query(SELECT_FOREIGN_KEYS_SQL, (rs, rowNum) -> Map.entry(rs.getString(1), rs.getString(2)), table, table)
+            .forEach(foreignKey -> {
+                log.info("Dropping foreign key {} of {}", foreignKey.getValue(), foreignKey.getKey());
+                jdbcTemplate.execute("ALTER TABLE " + quote(foreignKey.getKey()) +
+                    " DROP FOREIGN KEY " + quote(foreignKey.getValue()));
+            });
+    }
+
+    /**
+     * Empty copy of the table whose unique keys contain study_id, partitioned by HASH(study_id)
+     */
+    private void createShadow(String table, String shadow) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + quote(shadow));
+        jdbcTemplate.execute("CREATE TABLE " + quote(shadow) + " LIKE " + quote(table));
+
+        Map<String, List<String>> uniqueKeys = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_UNIQUE_KEYS_SQL,
+            rs -> {
+                uniqueKeys.computeIfAbsent(rs.getString(1), key -> new ArrayList<>()).add(rs.getString(2));
+            },
+            shadow);
+
+        List<String> changes = new ArrayList<>();
+        uniqueKeys.forEach((index, columns) -> {
+            if (columns.contains("study_id")) {
+                return;
+            }
+            if ("PRIMARY".equals(index)) {
+                List<String> primaryKey = new ArrayList<>(columns);
+                primaryKey.add("study_id");
+                changes.add("DROP PRIMARY KEY");
+                changes.add("ADD PRIMARY KEY (" + quoteAll(primaryKey) + ")");
+            } else {
+                // Uniqueness of other keys is enforced by the projectors (e.g. aggregate UUID idempotency)
+                changes.add("DROP INDEX " + quote(index));
+                changes.add("ADD INDEX " + quote(index) + " (" + quoteAll(columns) + ")");
+            }
+        });
+        if (!changes.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE " + quote(shadow) + " " + String.join(", ", changes));
+        }
+        jdbcTemplate.execute("ALTER TABLE " + quote(shadow) + " PARTITION BY HASH(study_id) PARTITIONS " + partitions);
+        log.info("Created {} with {} partitions (key changes: {})", shadow, partitions, changes);
+    }
+
+    /**
+     * Replay every change of the table on the shadow while rows are copied
+     */
+    private void createCaptureTriggers(String table, String shadow, String keyColumn, List<String> columns) {
+        String columnList = quoteAll(columns);
+        String newValues = columns.stream().map(column -> "NEW." + quote(column)).collect(Collectors.joining(", "));
+        String deleteOld = "DELETE FROM " + quote(shadow) + " WHERE " + quote(keyColumn) + " = OLD." + quote(keyColumn) +
+            " AND study_id = OLD.study_id";
+        String replaceNew = "REPLACE INTO " + quote(shadow) + " (" + columnList + ") VALUES (" + newValues + ")";
+
+        dropCaptureTriggers(table);
+        jdbcTemplate.execute("CREATE TRIGGER " + quote(table + CAPTURE_TRIGGER_SUFFIXES[0]) +
+            " AFTER INSERT ON " + quote(table) + " FOR EACH ROW " + replaceNew);
+        jdbcTemplate.execute("CREATE TRIGGER " + quote(table + CAPTURE_TRIGGER_SUFFIXES[1]) +
+            " AFTER UPDATE ON " + quote(table) + " FOR EACH ROW BEGIN " + deleteOld + "; " + replaceNew + "; END");
+        jdbcTemplate.execute("CREATE TRIGGER " + quote(table + CAPTURE_TRIGGER_SUFFIXES[2]) +
+            " AFTER DELETE ON " + quote(table) + " FOR EACH ROW " + deleteOld);
+    }
+
+    private void dropCaptureTriggers(String table) {
+        for (String suffix : CAPTURE_TRIGGER_SUFFIXES) {
+            try {
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + quote(table + suffix));
+            } catch (Exception e) {
+                log.warn("Could not drop capture trigger {}{}: {}", table, suffix, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Copy the rows that existed when the triggers were added, one key range per statement;
+     * rows replayed by the triggers in the meantime are newer and are kept (INSERT IGNORE)
+     */
+    private void copyRows(String table, String shadow, String keyColumn, List<String> columns) throws InterruptedException {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+            "SELECT MIN(" + quote(keyColumn) + ") AS min_key, MAX(" + quote(keyColumn) + ") AS max_key, COUNT(*) AS total " +
+            "FROM " + quote(table));
+        Number minKey = (Number) bounds.get("min_key");
+        Number maxKey = (Number) bounds.get("max_key");
+        long total = ((Number) bounds.get("total")).longValue();
+        update(table, status -> status.toBuilder().totalRows(total).build());
+        if (minKey == null || maxKey == null) {
+            return;
+        }
+
+        String columnList = quoteAll(columns);
+        String copySql = "INSERT IGNORE INTO " + quote(shadow) + " (" + columnList + ") SELECT " + columnList +
+            " FROM " + quote(table) + " WHERE " + quote(keyColumn) + " >= ? AND " + quote(keyColumn) + " < ? LOCK IN SHARE MODE";
+        for (long from = minKey.longValue(); from <= maxKey.longValue(); from += chunkSize) {
+            int copied = jdbcTemplate.update(copySql, from, from + chunkSize);
+            update(table, status -> status.toBuilder().copiedRows(status.getCopiedRows() + copied).build());
+            if (chunkPauseMs > 0) {
+                Thread.sleep(chunkPauseMs);
+            }
+        }
+        log.info("Copied {} rows of {} into {}", migrations.get(table).getCopiedRows(), table, shadow);
+    }
+
+    /**
+     * Swap the tables on one connection while both are write-locked, so no change is missed
+     * and the table's own triggers (audit trail) keep firing on the partitioned table
+     */
+    private void cutOver(String table, String shadow) {
+        List<String[]> triggers = jdbcTemplate.query(SELECT_TRIGGERS_SQL,
+            (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)}, table);
+        List<String[]> ownTriggers = triggers.stream()
+            .filter(trigger -> !isCaptureTrigger(table, trigger[0]))
+            .toList();
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LOCK TABLES " + quote(table) + " WRITE, " + quote(shadow) + " WRITE");
+                try {
+                    for (String suffix : CAPTURE_TRIGGER_SUFFIXES) {
+                        statement.execute("DROP TRIGGER IF EXISTS " + quote(table + suffix));
+                    }
+                    moveTriggers(statement, ownTriggers, table, shadow);
+                    statement.execute("RENAME TABLE " + quote(table) + " TO " + quote(table + OLD_SUFFIX) + ", " +
+                        quote(shadow) + " TO " + quote(table));
+                } finally {
+                    statement.execute("UNLOCK TABLES");
+                }
+            }
+            return null;
+        });
+        log.info("Cut over {} to the partitioned table ({} triggers moved)", table, ownTriggers.size());
+    }
+
+    /**
+     * Recreate the triggers on the shadow table; if one fails, the triggers are put back on the table
+     */
+    private void moveTriggers(Statement statement, List<String[]> triggers, String table, String shadow) throws SQLException {
+        List<String[]> dropped = new ArrayList<>();
+        try {
+            for (String[] trigger : triggers) {
+                statement.execute("DROP TRIGGER " + quote(trigger[0]));
+                dropped.add(trigger);
+                statement.execute(createTriggerSql(trigger, shadow));
+            }
+        } catch (SQLException e) {
+            for (String[] trigger : dropped) {
+                statement.execute("DROP TRIGGER IF EXISTS " + quote(trigger[0]));
+                statement.execute(createTriggerSql(trigger, table));
+            }
+            throw e;
+        }
+    }
+
+    private static String createTriggerSql(String[] trigger, String table) {
+        return "CREATE TRIGGER " + quote(trigger[0]) + " " + trigger[1] + " " + trigger[2] +
+            " ON " + quote(table) + " FOR EACH ROW " + trigger[3];
+    }
+
+    private static boolean isCaptureTrigger(String table, String triggerName) {
+        for (String suffix : CAPTURE_TRIGGER_SUFFIXES) {
+            if ((table + suffix).equals(triggerName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void update(String table, UnaryOperator<PartitionMigrationStatusDto> change) {
+        migrations.computeIfPresent(table, (key, status) -> change.apply(status));
+    }
+
+    private int partitionCount(String table) {
+        Integer count = jdbcTemplate.queryForObject(SELECT_PARTITION_COUNT_SQL, Integer.class, table);
+        return count != null ? count : 0;
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(SELECT_TABLE_EXISTS_SQL, Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private static void requireKnownTable(String table) {
+        if (!PARTITIONED_TABLES.containsKey(table)) {
+            throw new IllegalArgumentException("Unknown partitioned table: " + table +
+                " (supported: " + PARTITIONED_TABLES.keySet() + ")");
+        }
+    }
+
+    private static String quote(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    private static String quoteAll(List<String> identifiers) {
+        return identifiers.stream().map(OnlinePartitionMigrator::quote).collect(Collectors.joining(", "));
+    }
+
+    private static Map<String, String> orderedTables() {
+        Map<String, String> tables = new LinkedHashMap<>();
+        tables.put("study_form_data_audit", "audit_id");
+        tables.put("study_visit_instances_audit", "audit_id");
+        tables.put("study_form_data", "id");
+        tables.put("study_visit_instances", "id");
+        return Collections.unmodifiableMap(tables);
+    }
+}
@@ -0,0 +1,42 @@
+package com.clinprecision.clinopsservice.common.partition;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partitioning status of one operational table (and of its online migration, if any)
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionMigrationStatusDto {
+
+    private String table;
+
+    /**
+     * Partitions of the live table (0 = not partitioned)
+     */
+    private Integer partitions;
+
+    /**
+     * NOT_STARTED, COPYING, CUTTING_OVER, COMPLETED, FAILED
+     */
+    private String state;
+
+    private Long copiedRows;
+    private Long totalRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Pre-migration copy of the table kept after the cutover (dropped by the cleanup call)
+     */
+    private String oldTable;
+
+    private String error;
+}
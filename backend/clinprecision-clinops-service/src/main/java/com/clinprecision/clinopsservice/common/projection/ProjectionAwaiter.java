@@ -0,0 +1,123 @@
+package com.clinprecision.clinopsservice.common.projection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.queryhandling.QueryGateway;
+import org.axonframework.queryhandling.SubscriptionQueryResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Projection Awaiter
+ *
+ * Read-after-write for command services built on Axon subscription queries instead of
+ * poll-and-sleep loops.
+ *
+ * Flow:
+ * 1. Open a subscription query for the read model the command will produce
+ *    (e.g. FindFormDataByAggregateUuidQuery) - updates are buffered from this point on
+ * 2. Run the command
+ * 3. Return the first value of: the initial query result (projection already done),
+ *    the first update emitted by the projector through QueryUpdateEmitter (emitted after
+ *    the projector's unit of work commits) or a re-query of the read model
+ *
+ * Updates are only delivered within this JVM (no Axon Server: SimpleQueryUpdateEmitter),
+ * while the projection segment of the aggregate may be owned by another instance. The read
+ * model is therefore also re-queried every clinops.projection.poll-interval-ms, so a
+ * projection committed elsewhere is seen within one interval rather than at the timeout.
+ *
+ * If nothing arrives within the timeout (projector lagging, replaying or failed), the
+ * read model is queried once more so callers behave as the old polling loops did on timeout.
+ */
+@Component
+@Slf4j
+public class ProjectionAwaiter {
+
+    private final QueryGateway queryGateway;
+    private final long defaultTimeoutMs;
+    private final long pollIntervalMs;
+
+    public ProjectionAwaiter(QueryGateway queryGateway,
+                             @Value("${clinops.projection.await-timeout-ms:5000}") long defaultTimeoutMs,
+                             @Value("${clinops.projection.poll-interval-ms:250}") long pollIntervalMs) {
+        this.queryGateway = queryGateway;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    public long getDefaultTimeoutMs() {
+        return defaultTimeoutMs;
+    }
+
+    /**
+     * Run a command that creates a read model and wait for it to be projected
+     *
+     * @param query Subscription query identifying the read model
+     * @param readModelType Read model type (query result and update type)
+     * @param timeoutMs Maximum wait after the command completed
+     * @param command Command dispatch (exceptions propagate to the caller)
+     * @return The projected read model, or empty if it is not visible after the timeout
+     */
+    public <Q, R> Optional<R> sendAndAwait(Q query, Class<R> readModelType, long timeoutMs, Runnable command) {
+        return execute(query, readModelType, timeoutMs, command, true, readModel -> true);
+    }
+
+    /**
+     * Run a command that changes an existing read model and wait for the projector's update
+     * (the current state is ignored, since it is the state before the command)
+     *
+     * @param updated Whether a read model reflects the command; re-queried rows from before the
+     *                projection are skipped, so a stale row is never returned
+     * @return The updated read model, or empty if the update is not visible after the timeout
+     */
+    public <Q, R> Optional<R> sendAndAwaitUpdate(Q query, Class<R> readModelType, long timeoutMs,
+                                                 Runnable command, Predicate<R> updated) {
+        return execute(query, readModelType, timeoutMs, command, false, updated);
+    }
+
+    private <Q, R> Optional<R> execute(Q query, Class<R> readModelType, long timeoutMs, Runnable command,
+                                       boolean acceptCurrentState, Predicate<R> expectedState) {
+        SubscriptionQueryResult<Optional<R>, R> subscription = queryGateway.subscriptionQuery(
+                query, ResponseTypes.optionalInstanceOf(readModelType), ResponseTypes.instanceOf(readModelType));
+        long start = System.currentTimeMillis();
+        try {
+            command.run();
+
+            // Projections committed on another instance are not emitted here: re-query meanwhile
+            Flux<R> requeried = Flux.interval(Duration.ofMillis(pollIntervalMs), Schedulers.boundedElastic())
+                    .concatMap(tick -> query(query, readModelType).flatMap(Mono::justOrEmpty));
+            Flux<R> candidates = acceptCurrentState
+                    ? Flux.merge(subscription.initialResult().flatMap(Mono::justOrEmpty), subscription.updates(), requeried)
+                    : Flux.merge(subscription.updates(), requeried);
+
+            Optional<R> result = candidates
+                    .filter(expectedState)
+                    .next()
+                    .timeout(Duration.ofMillis(timeoutMs), Mono.empty())
+                    .onErrorResume(NoSuchElementException.class, e -> Mono.empty())
+                    .blockOptional();
+
+            if (result.isPresent()) {
+                log.debug("Projection for {} available after {}ms", query, System.currentTimeMillis() - start);
+                return result;
+            }
+
+            log.warn("No projection update for {} after {}ms - querying read model directly", query, timeoutMs);
+            return query(query, readModelType).block().filter(expectedState);
+        } finally {
+            subscription.close();
+        }
+    }
+
+    private <Q, R> Mono<Optional<R>> query(Q query, Class<R> readModelType) {
+        return Mono.fromFuture(() -> queryGateway.query(query, ResponseTypes.optionalInstanceOf(readModelType)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.clinprecision.clinopsservice.common.projection;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Dead letters of batched projections (projection_dead_letters)
+ *
+ * A projector writing the events of an event processor batch together projects a failed batch
+ * again one event at a time; an event that still fails on its own is recorded here and skipped,
+ * so one bad event does not block its processing group. Rows are unique per processing group
+ * and aggregate: a replay failing on the same event again counts another attempt.
+ */
+@Repository
+@Slf4j
+public class ProjectionDeadLetterJdbcRepository {
+
+    private static final int MAX_ERROR_LENGTH = 4000;
+
+    private static final String UPSERT_DEAD_LETTER_SQL =
+        "INSERT INTO projection_dead_letters " +
+        "(processing_group, event_type, aggregate_uuid, study_id, payload, error_message, attempts, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, 1, NOW(6), NOW(6)) " +
+        "ON DUPLICATE KEY UPDATE payload = VALUES(payload), error_message = VALUES(error_message), " +
+        "attempts = attempts + 1, updated_at = NOW(6)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ProjectionDeadLetterJdbcRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Record an event that could not be projected
+     *
+     * @param processingGroup Processing group of the projector
+     * @param aggregateUuid Aggregate of the event
+     * @param studyId Study of the event (null if none)
+     * @param payload Event payload
+     * @param error Error of the failed attempt
+     */
+    public void record(String processingGroup, String aggregateUuid, Long studyId, Object payload, Throwable error) {
+        jdbcTemplate.update(UPSERT_DEAD_LETTER_SQL,
+            processingGroup,
+            payload.getClass().getName(),
+            aggregateUuid,
+            studyId,
+            toJson(payload),
+            errorMessage(error));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            // The event store still holds the event; the dead letter only needs to identify it
+            log.warn("Dead letter payload of {} not serializable: {}", payload.getClass().getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String errorMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String message = root.getClass().getName() + ": " + root.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,189 @@
+package com.clinprecision.clinopsservice.common.projection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Projection Reference Validator - reference checks of the partitioned operational tables
+ *
+ * study_form_data, study_form_data_audit, study_visit_instances and study_visit_instances_audit
+ * are partitioned by HASH(study_id) (V1.23); MySQL does not support foreign keys on partitioned
+ * tables, so the projectors writing them check the references the foreign keys used to enforce:
+ * - study_id references an existing study
+ * - build_id references an existing build of that same study
+ * - study_visit_instances.visit_id references a visit definition of that same study
+ *
+ * Checks are batched (one IN query per kind of reference) and successful lookups are cached,
+ * since studies, builds and visit definitions are not deleted while data is being captured.
+ * A failed check throws IllegalStateException, failing the projection like a foreign key
+ * violation did (FormDataProjector then dead-letters the offending event).
+ */
+@Component
+@Slf4j
+public class ProjectionReferenceValidator {
+
+    private static final String SELECT_STUDIES_SQL = "SELECT id FROM studies WHERE id IN (%s)";
+    private static final String SELECT_BUILDS_SQL = "SELECT id, study_id FROM study_database_builds WHERE id IN (%s)";
+    private static final String SELECT_VISIT_DEFINITIONS_SQL = "SELECT id, study_id FROM visit_definitions WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEntries;
+
+    private final Set<Long> knownStudies = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> buildStudies = new ConcurrentHashMap<>();
+    private final Map<Long, Long> visitDefinitionStudies = new ConcurrentHashMap<>();
+
+    public ProjectionReferenceValidator(JdbcTemplate jdbcTemplate,
+                                        @Value("${clinops.projection.reference-cache-max-entries:10000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Check that every study exists
+     *
+     * @throws IllegalStateException if a study does not exist
+     */
+    public void requireStudies(Collection<Long> studyIds) {
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long studyId : studyIds) {
+            if (studyId == null) {
+                throw new IllegalStateException("study_id is required");
+            }
+            if (!knownStudies.contains(studyId)) {
+                missing.add(studyId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        List<Long> found = jdbcTemplate.queryForList(
+            String.format(SELECT_STUDIES_SQL, placeholders(missing.size())), Long.class, missing.toArray());
+        missing.removeAll(found);
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Referenced studies do not exist: " + missing);
+        }
+
+        clearIfFull(knownStudies, found.size());
+        knownStudies.addAll(found);
+    }
+
+    /**
+     * Check that every build exists and belongs to the study it is used with
+     *
+     * @param references Build references (null build IDs are allowed and skipped)
+     * @throws IllegalStateException if a build does not exist or belongs to another study
+     */
+    public void requireBuilds(Collection<StudyReference> references) {
+        requireOwned(references, buildStudies, SELECT_BUILDS_SQL, "build");
+    }
+
+    /**
+     * Check that every visit definition exists and belongs to the study it is used with
+     *
+     * @param references Visit definition references
+     * @throws IllegalStateException if a visit definition does not exist or belongs to another study
+     */
+    public void requireVisitDefinitions(Collection<StudyReference> references) {
+        for (StudyReference reference : references) {
+            if (reference.id() == null) {
+                throw new IllegalStateException("visit_id is required (study " + reference.studyId() + ")");
+            }
+        }
+        requireOwned(references, visitDefinitionStudies, SELECT_VISIT_DEFINITIONS_SQL, "visit definition");
+    }
+
+    private void requireOwned(Collection<StudyReference> references, Map<Long, Long> cache, String sql, String kind) {
+        Map<Long, Long> expected = new LinkedHashMap<>();
+        for (StudyReference reference : references) {
+            if (reference.id() == null) {
+                continue;
+            }
+            Long previous = expected.putIfAbsent(reference.id(), reference.studyId());
+            if (previous != null && !previous.equals(reference.studyId())) {
+                throw new IllegalStateException(String.format("%s %d used with studies %d and %d",
+                    capitalize(kind), reference.id(), previous, reference.studyId()));
+            }
+        }
+
+        // Validate against a snapshot of the cache plus this lookup's rows: the shared cache may be
+        // cleared at any time by another segment
+        Map<Long, Long> owners = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : expected.keySet()) {
+            Long studyId = cache.get(id);
+            if (studyId != null) {
+                owners.put(id, studyId);
+            } else {
+                missing.add(id);
+            }
+        }
+        Map<Long, Long> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            jdbcTemplate.query(String.format(sql, placeholders(missing.size())),
+                rs -> {
+                    loaded.put(rs.getLong(1), rs.getLong(2));
+                },
+                missing.toArray());
+            owners.putAll(loaded);
+        }
+
+        for (Map.Entry<Long, Long> reference : expected.entrySet()) {
+            Long studyId = owners.get(reference.getKey());
+            if (studyId == null) {
+                throw new IllegalStateException(String.format("Referenced %s does not exist: %d",
+                    kind, reference.getKey()));
+            }
+            if (!Objects.equals(studyId, reference.getValue())) {
+                throw new IllegalStateException(String.format("%s %d belongs to study %d, not study %d",
+                    capitalize(kind), reference.getKey(), studyId, reference.getValue()));
+            }
+        }
+
+        if (!loaded.isEmpty()) {
+            clearIfFull(cache.keySet(), loaded.size());
+            cache.putAll(loaded);
+        }
+    }
+
+    /**
+     * Clear a cache that would exceed maxEntries once the given number of entries is added
+     */
+    private void clearIfFull(Set<Long> cache, int adding) {
+        if (cache.size() + adding > maxEntries) {
+            log.debug("Projection reference cache reached {} entries - clearing", maxEntries);
+            cache.clear();
+        }
+    }
+
+    private static String capitalize(String kind) {
+        return Character.toUpperCase(kind.charAt(0)) + kind.substring(1);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * A row's reference to a study-owned row (build, visit definition)
+     *
+     * @param studyId study_id of the referencing row
+     * @param id Referenced row ID
+     */
+    public record StudyReference(Long studyId, Long id) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.clinprecision.clinopsservice.common.projection;
+
+import com.clinprecision.clinopsservice.common.config.AxonEventProcessingConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Projection Replay Service
+ *
+ * Rebuilds a single read-model projection from the event store. Only the processor of the
+ * requested processing group is stopped, reset to the start of the event stream and
+ * restarted; the other projections keep processing new events.
+ *
+ * Projectors are idempotent (existing rows are detected by aggregate UUID / event identifier),
+ * so a replay fills in missing rows and re-applies updates without duplicating data. Update
+ * handlers re-apply historical values, so rows of a replayed projection are only current
+ * again once the processor has caught up.
+ *
+ * Tokens can only be reset when no other instance holds segments of the processor, so on a
+ * multi-node deployment the processor must be stopped on the other nodes first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectionReplayService {
+
+    private final EventProcessingConfiguration eventProcessingConfiguration;
+
+    /**
+     * Replay one read-model projection from the beginning of the event store
+     *
+     * @param processingGroup One of AxonEventProcessingConfig.READ_MODEL_PROJECTIONS
+     * @return Processor status after the restart
+     * @throws IllegalArgumentException if the group is not a replayable read model
+     * @throws IllegalStateException if the processor does not support a reset
+     */
+    public ProjectionStatusDto replay(String processingGroup) {
+        StreamingEventProcessor processor = getProcessor(processingGroup);
+        if (!processor.supportsReset()) {
+            throw new IllegalStateException("Projection " + processingGroup + " does not support replay");
+        }
+
+        log.info("Replaying projection {} from the event store", processingGroup);
+        processor.shutDown();
+        try {
+            // Explicit tail token: the processor's initial token may be the head of the event store
+            processor.resetTokens(StreamableMessageSource::createTailToken);
+        } finally {
+            processor.start();
+        }
+        log.info("Projection {} reset - replay running in the background", processingGroup);
+        return toStatus(processingGroup, processor);
+    }
+
+    /**
+     * Status of every read-model projection
+     */
+    public List<ProjectionStatusDto> getStatus() {
+        return AxonEventProcessingConfig.READ_MODEL_PROJECTIONS.stream()
+                .map(group -> toStatus(group, getProcessor(group)))
+                .toList();
+    }
+
+    private StreamingEventProcessor getProcessor(String processingGroup) {
+        if (!AxonEventProcessingConfig.READ_MODEL_PROJECTIONS.contains(processingGroup)) {
+            throw new IllegalArgumentException("Unknown projection: " + processingGroup +
+                    " (replayable: " + AxonEventProcessingConfig.READ_MODEL_PROJECTIONS + ")");
+        }
+        return eventProcessingConfiguration.eventProcessor(processingGroup, StreamingEventProcessor.class)
+                .orElseThrow(() -> new IllegalStateException("No event processor registered for " + processingGroup));
+    }
+
+    private ProjectionStatusDto toStatus(String processingGroup, StreamingEventProcessor processor) {
+        Collection<EventTrackerStatus> segments = processor.processingStatus().values();
+        // Lowest position over the claimed segments = how far the whole projection has caught up
+        OptionalLong position = segments.stream()
+                .map(EventTrackerStatus::getCurrentPosition)
+                .filter(OptionalLong::isPresent)
+                .mapToLong(OptionalLong::getAsLong)
+                .min();
+        return ProjectionStatusDto.builder()
+                .processingGroup(processingGroup)
+                .running(processor.isRunning())
+                .replaying(processor.isReplaying())
+                .caughtUp(!segments.isEmpty() && segments.stream().allMatch(EventTrackerStatus::isCaughtUp))
+                .error(processor.isError())
+                .claimedSegments(segments.size())
+                .currentPosition(position.isPresent() ? position.getAsLong() : null)
+                .build();
+    }
+}
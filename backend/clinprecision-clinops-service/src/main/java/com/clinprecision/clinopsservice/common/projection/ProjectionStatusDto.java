@@ -0,0 +1,24 @@
+package com.clinprecision.clinopsservice.common.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Status of a read-model event processor (one per projection processing group)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionStatusDto {
+
+    private String processingGroup;
+    private Boolean running;
+    private Boolean replaying;
+    private Boolean caughtUp;
+    private Boolean error;
+    private Integer claimedSegments;
+    private Long currentPosition;
+}
@@ -0,0 +1,94 @@
+package com.clinprecision.clinopsservice.common.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cluster-wide lease and last run date of scheduled jobs (scheduled_job_runs)
+ *
+ * A job claims its row with one conditional UPDATE, so only one service instance runs it at a
+ * time; the lease expires on its own if the holder crashes. The last run date lets a job resume
+ * from where the previous run (on any instance) stopped.
+ */
+@Component
+@Slf4j
+public class ScheduledJobLease {
+
+    private static final String INSERT_JOB_SQL =
+        "INSERT IGNORE INTO scheduled_job_runs (job_name) VALUES (?)";
+
+    private static final String CLAIM_SQL =
+        "UPDATE scheduled_job_runs SET locked_by = ?, locked_until = ? " +
+        "WHERE job_name = ? AND (locked_until IS NULL OR locked_until < ? OR locked_by = ?)";
+
+    private static final String SELECT_LAST_RUN_DATE_SQL =
+        "SELECT last_run_date FROM scheduled_job_runs WHERE job_name = ?";
+
+    private static final String COMPLETE_SQL =
+        "UPDATE scheduled_job_runs SET last_run_date = ?, last_run_at = ?, last_run_rows = ?, " +
+        "locked_by = NULL, locked_until = NULL WHERE job_name = ? AND locked_by = ?";
+
+    private static final String RELEASE_SQL =
+        "UPDATE scheduled_job_runs SET locked_by = NULL, locked_until = NULL WHERE job_name = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public ScheduledJobLease(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claim a job for this instance
+     *
+     * @param leaseDuration How long the lease is held if it is not completed or released
+     * @return true if this instance holds the lease
+     */
+    public boolean claim(String jobName, Duration leaseDuration) {
+        jdbcTemplate.update(INSERT_JOB_SQL, jobName);
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = jdbcTemplate.update(CLAIM_SQL, instanceId, Timestamp.valueOf(now.plus(leaseDuration)),
+            jobName, Timestamp.valueOf(now), instanceId);
+        if (claimed == 0) {
+            log.debug("Scheduled job {} is held by another instance", jobName);
+        }
+        return claimed > 0;
+    }
+
+    /**
+     * Date the job last completed for (empty if it never ran)
+     */
+    public Optional<LocalDate> getLastRunDate(String jobName) {
+        try {
+            Date lastRunDate = jdbcTemplate.queryForObject(SELECT_LAST_RUN_DATE_SQL, Date.class, jobName);
+            return Optional.ofNullable(lastRunDate).map(Date::toLocalDate);
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Record a completed run and release the lease
+     */
+    public void complete(String jobName, LocalDate runDate, int changedRows) {
+        jdbcTemplate.update(COMPLETE_SQL, Date.valueOf(runDate), Timestamp.valueOf(LocalDateTime.now()), changedRows,
+            jobName, instanceId);
+    }
+
+    /**
+     * Release the lease without recording a run (failed run)
+     */
+    public void release(String jobName) {
+        jdbcTemplate.update(RELEASE_SQL, jobName, instanceId);
+    }
+}
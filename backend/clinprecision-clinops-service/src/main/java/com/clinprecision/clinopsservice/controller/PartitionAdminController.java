@@ -0,0 +1,76 @@
+package com.clinprecision.clinopsservice.controller;
+
+import com.clinprecision.clinopsservice.common.partition.OnlinePartitionMigrator;
+import com.clinprecision.clinopsservice.common.partition.PartitionMigrationStatusDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for partitioning the operational data tables by study
+ *
+ * - GET  /api/v1/admin/partitions - partitioning status of every operational table
+ * - POST /api/v1/admin/partitions/{table}/migrate - partition one table online (background)
+ * - POST /api/v1/admin/partitions/{table}/cleanup - drop the pre-migration copy of a migrated table
+ */
+@RestController
+@RequestMapping("/api/v1/admin/partitions")
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionAdminController {
+
+    private final OnlinePartitionMigrator onlinePartitionMigrator;
+
+    /**
+     * Get the partitioning status of all operational tables
+     *
+     * @return Status per table
+     */
+    @GetMapping
+    public ResponseEntity<List<PartitionMigrationStatusDto>> getPartitionStatus() {
+        return ResponseEntity.ok(onlinePartitionMigrator.getStatus());
+    }
+
+    /**
+     * Start the online migration of one table to HASH(study_id) partitioning
+     *
+     * @param table Table name (e.g. study_form_data)
+     * @return Migration status at start
+     */
+    @PostMapping("/{table}/migrate")
+    public ResponseEntity<?> migrateTable(@PathVariable String table) {
+        log.info("REST: Partition migration requested for {}", table);
+        try {
+            return ResponseEntity.accepted().body(onlinePartitionMigrator.migrate(table));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("REST: Partition migration of {} not started: {}", table, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Drop the pre-migration copy (&lt;table&gt;__old) of a migrated table
+     *
+     * @param table Table name
+     * @return Table status after cleanup
+     */
+    @PostMapping("/{table}/cleanup")
+    public ResponseEntity<?> cleanupTable(@PathVariable String table) {
+        log.info("REST: Partition migration cleanup requested for {}", table);
+        try {
+            return ResponseEntity.ok(onlinePartitionMigrator.cleanup(table));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("REST: Partition migration cleanup of {} failed: {}", table, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
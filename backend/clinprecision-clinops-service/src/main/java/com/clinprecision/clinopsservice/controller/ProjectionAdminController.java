@@ -0,0 +1,56 @@
+package com.clinprecision.clinopsservice.controller;
+
+import com.clinprecision.clinopsservice.common.projection.ProjectionReplayService;
+import com.clinprecision.clinopsservice.common.projection.ProjectionStatusDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for read-model projection maintenance
+ *
+ * - GET  /api/v1/projections - status of every read-model processor
+ * - POST /api/v1/projections/{processingGroup}/replay - rebuild one projection from the event store
+ */
+@RestController
+@RequestMapping("/api/v1/projections")
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectionAdminController {
+
+    private final ProjectionReplayService projectionReplayService;
+
+    /**
+     * Get the status of all read-model projections
+     *
+     * @return Processor status per processing group
+     */
+    @GetMapping
+    public ResponseEntity<List<ProjectionStatusDto>> getProjectionStatus() {
+        return ResponseEntity.ok(projectionReplayService.getStatus());
+    }
+
+    /**
+     * Replay a single projection from the event store
+     *
+     * @param processingGroup Processing group (e.g. formdata-projection)
+     * @return Processor status after the reset
+     */
+    @PostMapping("/{processingGroup}/replay")
+    public ResponseEntity<?> replayProjection(@PathVariable String processingGroup) {
+        log.info("REST: Replay requested for projection {}", processingGroup);
+        try {
+            return ResponseEntity.accepted().body(projectionReplayService.replay(processingGroup));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("REST: Replay of projection {} failed: {}", processingGroup, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.clinprecision.clinopsservice.studydesign.build.controller;
 
 import com.clinprecision.clinopsservice.studydesign.build.service.StudyDatabaseBuildCommandService;
+import com.clinprecision.clinopsservice.studydesign.build.service.StudyDatabaseBuildProgressService;
 import com.clinprecision.clinopsservice.studydesign.build.service.StudyDatabaseBuildQueryService;
 
 import com.clinprecision.clinopsservice.studydesign.build.dto.*;
@@ -8,8 +9,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -31,6 +34,7 @@ public class StudyDatabaseBuildController {
 
     private final StudyDatabaseBuildCommandService commandService;
     private final StudyDatabaseBuildQueryService queryService;
+    private final StudyDatabaseBuildProgressService progressService;
 
     // ==================== COMMAND ENDPOINTS (Write Operations) ====================
 
@@ -212,6 +216,31 @@ public class StudyDatabaseBuildController {
         }
     }
 
+    /**
+     * Stream build progress as server-sent events
+     * 
+     * GET /api/v1/study-database-builds/request/{buildRequestId}/progress
+     * 
+     * Emits a "phase-progress" event (items done / total, elapsed ms) whenever a build
+     * phase starts, completes or fails, and a final "build-status" event before closing.
+     * Replaces polling the build row while the build is running.
+     * 
+     * @param buildRequestId Build request ID
+     * @return SSE stream of BuildPhaseProgressDto
+     */
+    @GetMapping(value = "/request/{buildRequestId}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBuildProgress(@PathVariable String buildRequestId) {
+        log.info("API Request: Stream progress for build {}", buildRequestId);
+        
+        try {
+            StudyDatabaseBuildDto build = queryService.getBuildByRequestId(buildRequestId);
+            return ResponseEntity.ok(progressService.subscribe(build));
+        } catch (IllegalArgumentException e) {
+            log.warn("Build not found: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Get build by aggregate UUID
      * 
@@ -0,0 +1,54 @@
+package com.clinprecision.clinopsservice.studydesign.build.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-phase progress of a running study database build
+ * Streamed to clients as server-sent events by StudyDatabaseBuildProgressService
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildPhaseProgressDto {
+
+    /**
+     * Axon aggregate UUID of the build
+     */
+    private String aggregateUuid;
+
+    /**
+     * Pipeline phase name (e.g. FORM_VISIT_MAPPINGS)
+     */
+    private String phase;
+
+    /**
+     * Human-readable phase description
+     */
+    private String description;
+
+    /**
+     * RUNNING, COMPLETED or FAILED
+     */
+    private String status;
+
+    /**
+     * Items processed / expected in this phase
+     */
+    private Integer itemsDone;
+    private Integer itemsTotal;
+
+    /**
+     * Wall-clock time spent in the phase so far
+     */
+    private Long elapsedMs;
+
+    private String errorMessage;
+
+    private LocalDateTime timestamp;
+}
@@ -3,6 +3,7 @@ package com.clinprecision.clinopsservice.studydesign.build.projection;
 import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildEntity;
 import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
 import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import com.clinprecision.clinopsservice.studydesign.build.service.ActiveBuildRegistry;
 
 import com.clinprecision.clinopsservice.studydesign.build.domain.events.*;
 import org.axonframework.config.ProcessingGroup;
@@ -20,6 +21,7 @@ import java.util.Optional;
  * 
  * Updates read models from study database build domain events.
  * Separates the write model (aggregate) from read model (entity) for CQRS pattern.
+ * Terminal build states also reset the study's entry in ActiveBuildRegistry.
  * 
  * Follows established ClinPrecision patterns for event handling.
  */
@@ -32,6 +34,9 @@ public class StudyDatabaseBuildProjectionHandler {
     @Autowired
     private StudyDatabaseBuildRepository buildRepository;
 
+    @Autowired
+    private ActiveBuildRegistry activeBuildRegistry;
+
     @PostConstruct
     public void init() {
         logger.info("[STUDYDB_PROJECTION] ========== Study Database Build Projection Handler INITIALIZED ==========");
@@ -108,6 +113,7 @@ public class StudyDatabaseBuildProjectionHandler {
             }
             
             buildRepository.save(entity);
+            activeBuildRegistry.onBuildStatusChanged(entity.getStudyId());
             logger.info("[STUDYDB_PROJECTION] Build marked as COMPLETED successfully");
             
         } catch (Exception e) {
@@ -153,6 +159,7 @@ public class StudyDatabaseBuildProjectionHandler {
             entity.setErrorDetails(errorDetails.toString());
             
             buildRepository.save(entity);
+            activeBuildRegistry.onBuildStatusChanged(entity.getStudyId());
             logger.info("[STUDYDB_PROJECTION] Build marked as FAILED successfully");
             
         } catch (Exception e) {
@@ -181,6 +188,7 @@ public class StudyDatabaseBuildProjectionHandler {
             entity.setCancellationReason(event.getCancellationReason());
             
             buildRepository.save(entity);
+            activeBuildRegistry.onBuildStatusChanged(entity.getStudyId());
             logger.info("[STUDYDB_PROJECTION] Build marked as CANCELLED successfully");
             
         } catch (Exception e) {
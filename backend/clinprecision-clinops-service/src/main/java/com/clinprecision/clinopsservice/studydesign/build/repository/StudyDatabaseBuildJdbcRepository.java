@@ -0,0 +1,339 @@
+package com.clinprecision.clinopsservice.studydesign.build.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC repository for the set-based writes performed by the study database build.
+ *
+ * The build worker resolves everything it needs in memory and hands complete row
+ * sets to this repository, which writes them with {@link JdbcTemplate#batchUpdate}
+ * in chunks of {@code clinops.database.build.batch-size} rows. This replaces the
+ * per-row exists/save round trips that made large studies (visits x forms) slow to build.
+ */
+@Repository
+@Slf4j
+public class StudyDatabaseBuildJdbcRepository {
+
+    private static final String SELECT_EXISTING_MAPPINGS_SQL =
+        "SELECT vf.visit_definition_id, vf.form_definition_id FROM visit_forms vf " +
+        "JOIN visit_definitions vd ON vd.id = vf.visit_definition_id " +
+        "WHERE vd.study_id = ?";
+
+    private static final String INSERT_VISIT_FORM_SQL =
+        "INSERT INTO visit_forms " +
+        "(visit_definition_id, form_definition_id, build_id, is_required, is_conditional, display_order, " +
+        "is_deleted, created_by, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, FALSE, ?, NOW(), NOW())";
+
+    private static final String INSERT_VALIDATION_RULE_SQL =
+        "INSERT INTO study_form_validation_rules " +
+        "(study_id, build_id, form_id, field_name, rule_type, rule_value, error_message, severity, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW())";
+
+    private static final String INSERT_EDIT_CHECK_SQL =
+        "INSERT INTO study_edit_checks " +
+        "(study_id, build_id, check_name, check_type, check_logic, severity, error_message, action_required, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW())";
+
+    private static final String INSERT_BUILD_CONFIG_SQL =
+        "INSERT INTO study_database_build_config " +
+        "(build_id, study_id, config_type, config_name, status, created_at) " +
+        "VALUES (?, ?, ?, ?, 'CREATED', NOW())";
+
+    private static final String COPY_VALIDATION_RULES_SQL =
+        "INSERT INTO study_form_validation_rules " +
+        "(study_id, build_id, form_id, field_name, rule_type, rule_value, error_message, severity, is_active, created_at) " +
+        "SELECT study_id, ?, form_id, field_name, rule_type, rule_value, error_message, severity, is_active, NOW() " +
+        "FROM study_form_validation_rules WHERE build_id = ? AND form_id IN (%s)";
+
+    private static final String COPY_EDIT_CHECKS_SQL =
+        "INSERT INTO study_edit_checks " +
+        "(study_id, build_id, check_name, check_type, check_logic, severity, error_message, action_required, is_active, created_at) " +
+        "SELECT study_id, ?, check_name, check_type, check_logic, severity, error_message, action_required, is_active, NOW() " +
+        "FROM study_edit_checks WHERE build_id = ?";
+
+    private static final String SELECT_FINGERPRINTS_SQL =
+        "SELECT entity_type, entity_id, content_hash FROM study_build_design_fingerprints WHERE build_id = ?";
+
+    private static final String INSERT_FINGERPRINT_SQL =
+        "INSERT INTO study_build_design_fingerprints " +
+        "(build_id, study_id, entity_type, entity_id, content_hash, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, NOW())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public StudyDatabaseBuildJdbcRepository(JdbcTemplate jdbcTemplate,
+                                            @Value("${clinops.database.build.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Load every existing visit-form pair for a study in a single query.
+     *
+     * @param studyId Study ID
+     * @return Set of keys built with {@link #mappingKey(Long, Long)}
+     */
+    public Set<String> findExistingMappingKeys(Long studyId) {
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query(SELECT_EXISTING_MAPPINGS_SQL,
+            rs -> {
+                keys.add(mappingKey(rs.getLong(1), rs.getLong(2)));
+            },
+            studyId);
+        return keys;
+    }
+
+    /**
+     * Key used to diff visit-form pairs in memory
+     */
+    public static String mappingKey(Long visitDefinitionId, Long formDefinitionId) {
+        return visitDefinitionId + ":" + formDefinitionId;
+    }
+
+    /**
+     * Batch insert visit_forms rows
+     */
+    public int insertVisitForms(List<VisitFormRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_VISIT_FORM_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.getVisitDefinitionId());
+            ps.setLong(2, row.getFormDefinitionId());
+            ps.setLong(3, row.getBuildId());
+            ps.setBoolean(4, row.isRequired());
+            ps.setBoolean(5, row.isConditional());
+            ps.setInt(6, row.getDisplayOrder());
+            ps.setLong(7, row.getCreatedBy());
+        });
+        return countRows(results, rows.size());
+    }
+
+    /**
+     * Batch insert study_form_validation_rules rows
+     */
+    public int insertValidationRules(List<ValidationRuleRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_VALIDATION_RULE_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.getStudyId());
+            ps.setLong(2, row.getBuildId());
+            ps.setLong(3, row.getFormId());
+            ps.setString(4, row.getFieldName());
+            ps.setString(5, row.getRuleType());
+            ps.setString(6, row.getRuleValue());
+            ps.setString(7, row.getErrorMessage());
+            ps.setString(8, row.getSeverity());
+        });
+        return countRows(results, rows.size());
+    }
+
+    /**
+     * Batch insert study_edit_checks rows
+     */
+    public int insertEditChecks(List<EditCheckRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_EDIT_CHECK_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.getStudyId());
+            ps.setLong(2, row.getBuildId());
+            ps.setString(3, row.getCheckName());
+            ps.setString(4, row.getCheckType());
+            ps.setString(5, row.getCheckLogic());
+            ps.setString(6, row.getSeverity());
+            ps.setString(7, row.getErrorMessage());
+            ps.setString(8, row.getActionRequired());
+        });
+        return countRows(results, rows.size());
+    }
+
+    /**
+     * Carry the validation rules of unchanged forms forward from a previous build (INSERT ... SELECT,
+     * one statement per batch-size chunk of form IDs)
+     *
+     * @return Number of rules copied
+     */
+    public int copyValidationRules(Long fromBuildId, Long toBuildId, Collection<Long> formIds) {
+        if (formIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(formIds);
+        int copied = 0;
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<Long> chunk = ids.subList(start, Math.min(start + batchSize, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            List<Object> args = new ArrayList<>(chunk.size() + 2);
+            args.add(toBuildId);
+            args.add(fromBuildId);
+            args.addAll(chunk);
+            copied += jdbcTemplate.update(String.format(COPY_VALIDATION_RULES_SQL, placeholders), args.toArray());
+        }
+        log.debug("Copied {} validation rules for {} unchanged forms from build {} to build {}",
+                  copied, ids.size(), fromBuildId, toBuildId);
+        return copied;
+    }
+
+    /**
+     * Carry all edit checks forward from a previous build
+     *
+     * @return Number of edit checks copied
+     */
+    public int copyEditChecks(Long fromBuildId, Long toBuildId) {
+        return jdbcTemplate.update(COPY_EDIT_CHECKS_SQL, toBuildId, fromBuildId);
+    }
+
+    /**
+     * Load the design fingerprints stored for a build
+     *
+     * @return Content hash keyed by "ENTITY_TYPE:entityId"
+     */
+    public Map<String, String> findFingerprints(Long buildId) {
+        Map<String, String> fingerprints = new HashMap<>();
+        jdbcTemplate.query(SELECT_FINGERPRINTS_SQL,
+            rs -> {
+                fingerprints.put(rs.getString(1) + ":" + rs.getLong(2), rs.getString(3));
+            },
+            buildId);
+        return fingerprints;
+    }
+
+    /**
+     * Batch insert study_build_design_fingerprints rows
+     */
+    public int insertFingerprints(Long buildId, Long studyId, List<FingerprintRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_FINGERPRINT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, buildId);
+            ps.setLong(2, studyId);
+            ps.setString(3, row.getEntityType());
+            ps.setLong(4, row.getEntityId());
+            ps.setString(5, row.getContentHash());
+        });
+        return countRows(results, rows.size());
+    }
+
+    /**
+     * Batch insert study_database_build_config tracking rows
+     */
+    public int insertBuildConfig(Long buildId, Long studyId, List<BuildConfigRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_BUILD_CONFIG_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, buildId);
+            if (studyId != null) {
+                ps.setLong(2, studyId);
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, row.getConfigType());
+            ps.setString(4, row.getConfigName());
+        });
+        return countRows(results, rows.size());
+    }
+
+    /**
+     * Drivers may report SUCCESS_NO_INFO (-2) for batched statements; count those as one row each.
+     */
+    private int countRows(int[][] results, int submitted) {
+        int total = Arrays.stream(results)
+            .flatMapToInt(Arrays::stream)
+            .map(count -> count < 0 ? 1 : count)
+            .sum();
+        log.debug("Batch write complete: submitted={}, affected={}, batchSize={}", submitted, total, batchSize);
+        return total;
+    }
+
+    // ========== Row types ==========
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VisitFormRow {
+        private Long visitDefinitionId;
+        private Long formDefinitionId;
+        private Long buildId;
+        private boolean required;
+        private boolean conditional;
+        private int displayOrder;
+        private Long createdBy;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ValidationRuleRow {
+        private Long studyId;
+        private Long buildId;
+        private Long formId;
+        private String fieldName;
+        private String ruleType;
+        private String ruleValue;
+        private String errorMessage;
+        private String severity;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EditCheckRow {
+        private Long studyId;
+        private Long buildId;
+        private String checkName;
+        private String checkType;
+        private String checkLogic;
+        private String severity;
+        private String errorMessage;
+        private String actionRequired;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BuildConfigRow {
+        private String configType;
+        private String configName;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FingerprintRow {
+        private String entityType;
+        private Long entityId;
+        private String contentHash;
+    }
+}
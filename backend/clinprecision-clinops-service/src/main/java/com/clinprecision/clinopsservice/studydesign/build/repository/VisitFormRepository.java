@@ -3,6 +3,7 @@ package com.clinprecision.clinopsservice.studydesign.build.repository;
 
 
 import com.clinprecision.clinopsservice.studydesign.build.entity.VisitFormEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -189,18 +190,21 @@ public interface VisitFormRepository extends JpaRepository<VisitFormEntity, Long
      * @param buildId Study database build ID
      * @return Forms associated with this visit in this specific build version
      */
+    @EntityGraph(attributePaths = "formDefinition")
     List<VisitFormEntity> findByVisitDefinitionIdAndBuildIdOrderByDisplayOrderAsc(
             Long visitDefinitionId, Long buildId);
 
     /**
      * Find required forms for a visit filtered by build version
      */
+    @EntityGraph(attributePaths = "formDefinition")
     List<VisitFormEntity> findByVisitDefinitionIdAndBuildIdAndIsRequiredTrueOrderByDisplayOrderAsc(
             Long visitDefinitionId, Long buildId);
 
     /**
      * Find optional forms for a visit filtered by build version
      */
+    @EntityGraph(attributePaths = "formDefinition")
     List<VisitFormEntity> findByVisitDefinitionIdAndBuildIdAndIsRequiredFalseOrderByDisplayOrderAsc(
             Long visitDefinitionId, Long buildId);
 
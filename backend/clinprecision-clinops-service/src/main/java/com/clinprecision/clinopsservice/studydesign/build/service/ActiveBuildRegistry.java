@@ -0,0 +1,180 @@
+package com.clinprecision.clinopsservice.studydesign.build.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Active Build Registry - in-memory build_id resolution for the data capture write path
+ *
+ * Keeps study → active (latest COMPLETED) build and visit instance → build_id, so form
+ * submissions and visit instantiation do not query study_database_builds / study_visit_instances
+ * for every request.
+ *
+ * Invalidation is driven by the projections that write those tables:
+ * - StudyDatabaseBuildProjectionHandler: build completed/failed/cancelled → study entry evicted
+ * - VisitProjector: visit created → entry registered; visit status changed → entry evicted
+ *
+ * Changes are applied after the projection's unit of work commits, and a study lookup that
+ * overlapped an eviction is not cached, so a stale build can never be put back.
+ *
+ * The projections only run on the instance that owns their tracking processor segment, so
+ * the other instances never see those evictions: every entry also expires after
+ * clinops.build-registry.ttl-ms and is then re-read from the database. That bounds how long
+ * another instance keeps using a build after a newer one completed.
+ */
+@Component
+@Slf4j
+public class ActiveBuildRegistry {
+
+    private final StudyDatabaseBuildRepository buildRepository;
+    private final StudyVisitInstanceRepository visitInstanceRepository;
+    private final int maxVisitEntries;
+    private final long ttlMillis;
+
+    private final Map<Long, CachedBuild> activeBuilds = new ConcurrentHashMap<>();
+    private final Map<Long, VisitBuild> visitBuildIds = new ConcurrentHashMap<>();
+    private final AtomicLong buildGeneration = new AtomicLong();
+
+    public ActiveBuildRegistry(StudyDatabaseBuildRepository buildRepository,
+                               StudyVisitInstanceRepository visitInstanceRepository,
+                               @Value("${clinops.build-registry.max-visit-entries:50000}") int maxVisitEntries,
+                               @Value("${clinops.build-registry.ttl-ms:30000}") long ttlMillis) {
+        this.buildRepository = buildRepository;
+        this.visitInstanceRepository = visitInstanceRepository;
+        this.maxVisitEntries = Math.max(1, maxVisitEntries);
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * Active (most recent COMPLETED) build of a study
+     *
+     * @param studyId Study ID
+     * @return Active build, or empty if the study has no completed build (not cached)
+     */
+    public Optional<ActiveBuild> getActiveBuild(Long studyId) {
+        long now = System.currentTimeMillis();
+        CachedBuild cached = activeBuilds.get(studyId);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return Optional.of(cached.build());
+            }
+            activeBuilds.remove(studyId, cached);
+        }
+
+        long generation = buildGeneration.get();
+        Optional<ActiveBuild> loaded = buildRepository
+            .findTopByStudyIdAndBuildStatusOrderByBuildEndTimeDesc(studyId, StudyDatabaseBuildStatus.COMPLETED)
+            .map(build -> new ActiveBuild(build.getId(), build.getBuildRequestId(), build.getBuildEndTime()));
+        // A build event committed while loading may have made this result stale - use it, don't cache it
+        if (loaded.isPresent() && generation == buildGeneration.get()) {
+            activeBuilds.putIfAbsent(studyId, new CachedBuild(loaded.get(), now + ttlMillis));
+            log.debug("Registered active build {} for study {}", loaded.get().buildId(), studyId);
+        }
+        return loaded;
+    }
+
+    /**
+     * ID of the active build of a study, or empty if the study has no completed build
+     */
+    public Optional<Long> getActiveBuildId(Long studyId) {
+        return getActiveBuild(studyId).map(ActiveBuild::buildId);
+    }
+
+    /**
+     * Build a visit instance was created with
+     *
+     * @param studyId Study of the visit instance
+     * @param visitInstanceId study_visit_instances.id
+     * @return Build ID, or empty if the visit does not exist in the study or has no build_id (not cached)
+     */
+    public Optional<Long> getVisitBuildId(Long studyId, Long visitInstanceId) {
+        VisitBuild cached = visitBuildIds.get(visitInstanceId);
+        if (cached != null && cached.studyId().equals(studyId) && cached.expiresAt() > System.currentTimeMillis()) {
+            return Optional.of(cached.buildId());
+        }
+
+        Optional<Long> loaded = visitInstanceRepository.findBuildIdByStudyIdAndId(studyId, visitInstanceId);
+        loaded.ifPresent(buildId -> putVisit(visitInstanceId, studyId, buildId));
+        return loaded;
+    }
+
+    /**
+     * A build of the study changed state (completed, failed or cancelled): the active build
+     * is re-read on next use
+     */
+    public void onBuildStatusChanged(Long studyId) {
+        afterCommit(() -> {
+            buildGeneration.incrementAndGet();
+            if (activeBuilds.remove(studyId) != null) {
+                log.info("Evicted active build of study {}", studyId);
+            }
+        });
+    }
+
+    /**
+     * Visit instances were created with a known build
+     */
+    public void registerVisit(Long studyId, Long visitInstanceId, Long buildId) {
+        if (studyId == null || visitInstanceId == null || buildId == null) {
+            return;
+        }
+        afterCommit(() -> putVisit(visitInstanceId, studyId, buildId));
+    }
+
+    /**
+     * A visit instance row was rewritten: its build_id is re-read on next use
+     */
+    public void evictVisit(Long visitInstanceId) {
+        if (visitInstanceId != null) {
+            afterCommit(() -> visitBuildIds.remove(visitInstanceId));
+        }
+    }
+
+    private void putVisit(Long visitInstanceId, Long studyId, Long buildId) {
+        if (visitBuildIds.size() >= maxVisitEntries) {
+            log.debug("Visit build registry reached {} entries - clearing", maxVisitEntries);
+            visitBuildIds.clear();
+        }
+        visitBuildIds.put(visitInstanceId, new VisitBuild(studyId, buildId, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Run once the current unit of work commits (immediately when called outside of one)
+     */
+    private void afterCommit(Runnable action) {
+        if (CurrentUnitOfWork.isStarted()) {
+            CurrentUnitOfWork.get().root().afterCommit(uow -> action.run());
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Active build of a study
+     */
+    public record ActiveBuild(Long buildId, String buildRequestId, LocalDateTime completedAt) {
+    }
+
+    /**
+     * Cached active build of a study, valid until expiresAt (epoch millis)
+     */
+    private record CachedBuild(ActiveBuild build, long expiresAt) {
+    }
+
+    /**
+     * Build of a visit instance, with the study it belongs to, valid until expiresAt (epoch millis)
+     */
+    private record VisitBuild(Long studyId, Long buildId, long expiresAt) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.clinprecision.clinopsservice.studydesign.build.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.dto.BuildPhaseProgressDto;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Study Database Build Pipeline
+ *
+ * Runs the build phases as a dependency graph. A phase is scheduled on the
+ * databaseBuildPhaseExecutor as soon as every phase it depends on has finished,
+ * so independent phases (mappings, validation rules, schedules, edit checks)
+ * run in parallel instead of one after another.
+ *
+ * Phase graph:
+ * <pre>
+ *                      +-- FORM_VISIT_MAPPINGS --+
+ *                      +-- VALIDATION_RULES -----+
+ *   VALIDATE_DESIGN ---+-- VISIT_SCHEDULES ------+--- COMPLETE_BUILD
+ *                      +-- EDIT_CHECKS ----------+
+ * </pre>
+ *
+ * Every phase start / completion / failure is published to StudyDatabaseBuildProgressService.
+ */
+@Component
+@Slf4j
+public class StudyDatabaseBuildPipeline {
+
+    /**
+     * Build phases in topological order (a phase only depends on phases declared before it)
+     */
+    @Getter
+    public enum BuildPhase {
+        VALIDATE_DESIGN("Validate study design"),
+        FORM_VISIT_MAPPINGS("Create form-visit mappings", VALIDATE_DESIGN),
+        VALIDATION_RULES("Create validation rules", VALIDATE_DESIGN),
+        VISIT_SCHEDULES("Validate visit schedules", VALIDATE_DESIGN),
+        EDIT_CHECKS("Configure edit checks and indexes", VALIDATE_DESIGN),
+        COMPLETE_BUILD("Complete build",
+                FORM_VISIT_MAPPINGS, VALIDATION_RULES, VISIT_SCHEDULES, EDIT_CHECKS);
+
+        private final String description;
+        private final List<BuildPhase> dependencies;
+
+        BuildPhase(String description, BuildPhase... dependencies) {
+            this.description = description;
+            this.dependencies = Arrays.asList(dependencies);
+        }
+    }
+
+    /**
+     * Work for one phase: expected item count (evaluated when the phase starts) and the work itself
+     */
+    public static class PhaseTask {
+        private final IntSupplier itemsTotal;
+        private final Supplier<Integer> work;
+
+        public PhaseTask(IntSupplier itemsTotal, Supplier<Integer> work) {
+            this.itemsTotal = itemsTotal;
+            this.work = work;
+        }
+    }
+
+    private final Executor phaseExecutor;
+    private final StudyDatabaseBuildProgressService progressService;
+
+    public StudyDatabaseBuildPipeline(@Qualifier("databaseBuildPhaseExecutor") Executor phaseExecutor,
+                                      StudyDatabaseBuildProgressService progressService) {
+        this.phaseExecutor = phaseExecutor;
+        this.progressService = progressService;
+    }
+
+    /**
+     * Execute all phases and wait for the graph to finish
+     *
+     * @param aggregateUuid Build aggregate UUID (for progress events)
+     * @param tasks One task per BuildPhase
+     * @return Items processed per phase
+     * @throws RuntimeException the first phase failure (dependent phases are skipped)
+     */
+    public Map<BuildPhase, Integer> execute(String aggregateUuid, Map<BuildPhase, PhaseTask> tasks) {
+        Map<BuildPhase, CompletableFuture<Integer>> futures = new EnumMap<>(BuildPhase.class);
+
+        for (BuildPhase phase : BuildPhase.values()) {
+            PhaseTask task = tasks.get(phase);
+            if (task == null) {
+                throw new IllegalArgumentException("No task registered for build phase " + phase);
+            }
+            CompletableFuture<?>[] dependencies = phase.getDependencies().stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+
+            futures.put(phase, CompletableFuture.allOf(dependencies)
+                    .thenApplyAsync(ignored -> runPhase(aggregateUuid, phase, task), phaseExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+
+        Map<BuildPhase, Integer> results = new EnumMap<>(BuildPhase.class);
+        futures.forEach((phase, future) -> results.put(phase, future.join()));
+        return results;
+    }
+
+    private Integer runPhase(String aggregateUuid, BuildPhase phase, PhaseTask task) {
+        long start = System.currentTimeMillis();
+        int total = task.itemsTotal.getAsInt();
+        log.info("Build {} phase {} started ({} items)", aggregateUuid, phase, total);
+        publish(aggregateUuid, phase, "RUNNING", 0, total, 0L, null);
+
+        try {
+            Integer done = task.work.get();
+            long elapsed = System.currentTimeMillis() - start;
+            // Totals are estimates taken when the phase starts; never report more done than total
+            publish(aggregateUuid, phase, "COMPLETED", done, Math.max(total, done), elapsed, null);
+            log.info("Build {} phase {} completed: {} items in {} ms", aggregateUuid, phase, done, elapsed);
+            return done;
+        } catch (RuntimeException e) {
+            long elapsed = System.currentTimeMillis() - start;
+            publish(aggregateUuid, phase, "FAILED", 0, total, elapsed, e.getMessage());
+            log.error("Build {} phase {} failed after {} ms: {}", aggregateUuid, phase, elapsed, e.getMessage());
+            throw e;
+        }
+    }
+
+    private void publish(String aggregateUuid, BuildPhase phase, String status,
+                         Integer done, Integer total, Long elapsedMs, String errorMessage) {
+        try {
+            progressService.publish(BuildPhaseProgressDto.builder()
+                    .aggregateUuid(aggregateUuid)
+                    .phase(phase.name())
+                    .description(phase.getDescription())
+                    .status(status)
+                    .itemsDone(done)
+                    .itemsTotal(total)
+                    .elapsedMs(elapsedMs)
+                    .errorMessage(errorMessage)
+                    .timestamp(LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            // Progress streaming must never fail a build
+            log.warn("Failed to publish build progress for {}: {}", aggregateUuid, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.clinprecision.clinopsservice.studydesign.build.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.dto.BuildPhaseProgressDto;
+import com.clinprecision.clinopsservice.studydesign.build.dto.StudyDatabaseBuildDto;
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildEntity;
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Study Database Build Progress Service
+ *
+ * Pushes per-phase build progress to clients as server-sent events, so the UI
+ * no longer has to poll the study_database_builds row while a build runs.
+ *
+ * - The worker publishes a BuildPhaseProgressDto whenever a phase starts, completes or fails
+ * - The latest state of every phase is kept per build so late subscribers get a full picture
+ * - State and emitters are dropped once the build reaches a terminal state
+ *
+ * Progress is only published on the instance running the build, while a stream may be opened
+ * on any instance. Every clinops.database.build.progress-heartbeat-ms the open streams get the
+ * build status from the study_database_builds read model, and streams of finished builds are
+ * closed - so a stream on another instance, or one opened just as the build finished, still ends.
+ *
+ * Events:
+ * - "phase-progress": BuildPhaseProgressDto
+ * - "build-status": build status; IN_PROGRESS as heartbeat, the terminal status (COMPLETED,
+ *   FAILED, ...) right before the stream closes
+ */
+@Service
+@Slf4j
+public class StudyDatabaseBuildProgressService {
+
+    public static final String PHASE_PROGRESS_EVENT = "phase-progress";
+    public static final String BUILD_STATUS_EVENT = "build-status";
+
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, BuildPhaseProgressDto>> latestProgress = new ConcurrentHashMap<>();
+    private final StudyDatabaseBuildRepository buildRepository;
+    private final long streamTimeoutMs;
+
+    public StudyDatabaseBuildProgressService(
+            StudyDatabaseBuildRepository buildRepository,
+            @Value("${clinops.database.build.progress-stream-timeout-ms:1800000}") long streamTimeoutMs) {
+        this.buildRepository = buildRepository;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    /**
+     * Open a progress stream for a build
+     *
+     * @param build Current build state (used to close the stream immediately for finished builds)
+     * @return SSE emitter registered for the build
+     */
+    public SseEmitter subscribe(StudyDatabaseBuildDto build) {
+        String aggregateUuid = build.getAggregateUuid();
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        if (!Boolean.TRUE.equals(build.getInProgress())) {
+            // Nothing more will be published for this build - report its status and close
+            send(emitter, BUILD_STATUS_EVENT, build.getBuildStatus());
+            emitter.complete();
+            return emitter;
+        }
+
+        List<SseEmitter> buildEmitters = emitters.computeIfAbsent(aggregateUuid, k -> new CopyOnWriteArrayList<>());
+        buildEmitters.add(emitter);
+        emitter.onCompletion(() -> buildEmitters.remove(emitter));
+        emitter.onTimeout(() -> buildEmitters.remove(emitter));
+        emitter.onError(e -> buildEmitters.remove(emitter));
+
+        // Replay what has already happened
+        Map<String, BuildPhaseProgressDto> snapshot = latestProgress.get(aggregateUuid);
+        if (snapshot != null) {
+            snapshot.values().forEach(progress -> send(emitter, PHASE_PROGRESS_EVENT, progress));
+        }
+
+        log.debug("Progress stream opened for build {} ({} subscribers)", aggregateUuid, buildEmitters.size());
+
+        // The build may have finished (and closed its streams) since the caller read its state
+        findTerminalStatus(aggregateUuid).ifPresent(status -> complete(aggregateUuid, status));
+        return emitter;
+    }
+
+    /**
+     * Send the read model's build status to every open stream and close streams of finished builds
+     */
+    @Scheduled(fixedDelayString = "${clinops.database.build.progress-heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (String aggregateUuid : emitters.keySet()) {
+            try {
+                Optional<StudyDatabaseBuildStatus> status = buildRepository.findByAggregateUuid(aggregateUuid)
+                        .map(StudyDatabaseBuildEntity::getBuildStatus);
+                if (status.isEmpty() || status.get() != StudyDatabaseBuildStatus.IN_PROGRESS) {
+                    complete(aggregateUuid, status.map(Enum::name).orElse(null));
+                    continue;
+                }
+                List<SseEmitter> buildEmitters = emitters.get(aggregateUuid);
+                if (buildEmitters != null) {
+                    buildEmitters.removeIf(emitter -> !send(emitter, BUILD_STATUS_EVENT, status.get().name()));
+                }
+            } catch (Exception e) {
+                log.warn("Progress heartbeat failed for build {}: {}", aggregateUuid, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Publish a phase progress update to every subscriber of the build
+     */
+    public void publish(BuildPhaseProgressDto progress) {
+        String aggregateUuid = progress.getAggregateUuid();
+        latestProgress.computeIfAbsent(aggregateUuid, k -> new ConcurrentHashMap<>())
+                .put(progress.getPhase(), progress);
+
+        List<SseEmitter> buildEmitters = emitters.get(aggregateUuid);
+        if (buildEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : buildEmitters) {
+            if (!send(emitter, PHASE_PROGRESS_EVENT, progress)) {
+                buildEmitters.remove(emitter);
+            }
+        }
+    }
+
+    /**
+     * Signal the end of a build and close all of its streams
+     *
+     * @param aggregateUuid Build aggregate UUID
+     * @param buildStatus Terminal status (COMPLETED / FAILED), null if the build no longer exists
+     */
+    public void complete(String aggregateUuid, String buildStatus) {
+        latestProgress.remove(aggregateUuid);
+        List<SseEmitter> buildEmitters = emitters.remove(aggregateUuid);
+        if (buildEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : buildEmitters) {
+            if (buildStatus != null) {
+                send(emitter, BUILD_STATUS_EVENT, buildStatus);
+            }
+            emitter.complete();
+        }
+        log.debug("Progress streams closed for build {} with status {}", aggregateUuid, buildStatus);
+    }
+
+    private Optional<String> findTerminalStatus(String aggregateUuid) {
+        return buildRepository.findByAggregateUuid(aggregateUuid)
+                .filter(StudyDatabaseBuildEntity::isFinished)
+                .map(build -> build.getBuildStatus().name());
+    }
+
+    private boolean send(SseEmitter emitter, String eventName, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(payload));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away - not a build problem
+            log.debug("Dropping progress subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+}
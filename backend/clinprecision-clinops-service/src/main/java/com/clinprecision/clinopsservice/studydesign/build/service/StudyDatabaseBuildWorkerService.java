@@ -3,11 +3,9 @@ package com.clinprecision.clinopsservice.studydesign.build.service;
 import com.clinprecision.clinopsservice.studydesign.design.form.entity.FormDefinitionEntity;
 import com.clinprecision.clinopsservice.studydesign.design.visitdefinition.entity.VisitDefinitionEntity;
 import com.clinprecision.clinopsservice.studydesign.design.arm.entity.StudyArmEntity;
-import com.clinprecision.clinopsservice.studydesign.build.entity.VisitFormEntity;
 import com.clinprecision.clinopsservice.studydesign.design.form.repository.FormDefinitionRepository;
 import com.clinprecision.clinopsservice.studydesign.design.visitdefinition.repository.VisitDefinitionRepository;
 import com.clinprecision.clinopsservice.studydesign.design.arm.repository.StudyArmRepository;
-import com.clinprecision.clinopsservice.studydesign.build.repository.VisitFormRepository;
 import com.clinprecision.clinopsservice.studydesign.build.domain.commands.CompleteStudyDatabaseBuildCommand;
 import com.clinprecision.clinopsservice.studydesign.build.domain.events.StudyDatabaseBuildStartedEvent;
 import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildEntity;
@@ -17,16 +15,23 @@ import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBu
 // import com.clinprecision.clinopsservice.studydatabase.entity.StudyCdashMappingEntity;
 // import com.clinprecision.clinopsservice.studydatabase.entity.StudyMedicalCodingConfigEntity;
 import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.BuildConfigRow;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.EditCheckRow;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.ValidationRuleRow;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.VisitFormRow;
 // import com.clinprecision.clinopsservice.studydatabase.repository.StudyFieldMetadataRepository;
 // import com.clinprecision.clinopsservice.studydatabase.repository.StudyCdashMappingRepository;
 // import com.clinprecision.clinopsservice.studydatabase.repository.StudyMedicalCodingConfigRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.UnscheduledVisitConfigEntity;
 import com.clinprecision.clinopsservice.studyoperation.visit.repository.UnscheduledVisitConfigRepository;
+import com.clinprecision.clinopsservice.studydesign.build.service.StudyDatabaseBuildPipeline.BuildPhase;
+import com.clinprecision.clinopsservice.studydesign.build.service.StudyDatabaseBuildPipeline.PhaseTask;
+import com.clinprecision.clinopsservice.studydesign.build.service.StudyDesignFingerprintService.DesignDelta;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.axonframework.eventhandling.EventHandler;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -51,11 +56,22 @@ import java.util.*;
  * Phase 4 (60-80%): Configure edit checks and compliance rules
  * Phase 5 (80-100%): Optimize indexes and complete build
  * 
+ * Phases 2-4 do not depend on each other's output and run in parallel
+ * (see StudyDatabaseBuildPipeline); progress is streamed to clients over SSE.
+ * 
  * Architecture:
  * - Async execution to avoid blocking the command thread
  * - Event-driven: Triggered by StudyDatabaseBuildStartedEvent
- * - Progress tracking: Updates database after each phase
+ * - Progress tracking: Updates database after each phase and pushes phase events
  * - Error handling: Catches exceptions and logs failures
+ * - Set-based writes: existing mappings are loaded once per build, the difference is
+ *   computed in memory and new rows are written with JDBC batches
+ *   (see StudyDatabaseBuildJdbcRepository, chunk size clinops.database.build.batch-size)
+ * - Incremental rebuilds: phase 1 fingerprints every form, visit and arm and compares them
+ *   with the last COMPLETED build (StudyDesignFingerprintService). Only changed entities get
+ *   new mappings / validation rules / schedule validation; configuration of unchanged forms
+ *   is copied forward to the new build_id. Without a previous fingerprinted build the
+ *   build runs in FULL mode as before.
  * 
  * FDA Compliance: FDA 21 CFR Part 11 - Audit trail maintained through triggers + event sourcing
  */
@@ -68,9 +84,11 @@ public class StudyDatabaseBuildWorkerService {
     private final FormDefinitionRepository formDefinitionRepository;
     private final VisitDefinitionRepository visitDefinitionRepository;
     private final StudyArmRepository studyArmRepository;
-    private final VisitFormRepository visitFormRepository;
     private final CommandGateway commandGateway;
-    private final JdbcTemplate jdbcTemplate;
+    private final StudyDatabaseBuildJdbcRepository buildJdbcRepository;
+    private final StudyDatabaseBuildPipeline buildPipeline;
+    private final StudyDatabaseBuildProgressService progressService;
+    private final StudyDesignFingerprintService fingerprintService;
     private final UnscheduledVisitConfigRepository unscheduledVisitConfigRepository;
     
     // Phase 6 repositories REMOVED - See PHASE_6_BACKEND_NECESSITY_ANALYSIS.md
@@ -107,6 +125,8 @@ public class StudyDatabaseBuildWorkerService {
         try {
             // Execute the build process
             executeBuild(event);
+            progressService.complete(event.getStudyDatabaseBuildId().toString(), 
+                                     StudyDatabaseBuildStatus.COMPLETED.name());
             
         } catch (Exception e) {
             log.error("Database build failed for buildId={}, studyId={}: {}", 
@@ -114,6 +134,8 @@ public class StudyDatabaseBuildWorkerService {
             
             // Update entity to show failure
             updateBuildFailure(event.getStudyDatabaseBuildId(), e.getMessage());
+            progressService.complete(event.getStudyDatabaseBuildId().toString(), 
+                                     StudyDatabaseBuildStatus.FAILED.name());
             
             // TODO: Fire BuildFailedEvent via CommandGateway
             // For now, just log the error
@@ -127,6 +149,10 @@ public class StudyDatabaseBuildWorkerService {
      * - No dynamic table creation (tables already exist from migration)
      * - Focus on configuring study-specific rules and mappings
      * - Faster build times (~5 seconds vs ~10 seconds)
+     * 
+     * Phases run through StudyDatabaseBuildPipeline: after design validation the
+     * mapping, validation rule, schedule and edit check phases run in parallel,
+     * and the build completes once all of them have finished.
      */
     private void executeBuild(StudyDatabaseBuildStartedEvent event) {
         log.info("Starting database build execution for study: {} (Shared Tables Architecture)", 
@@ -134,155 +160,231 @@ public class StudyDatabaseBuildWorkerService {
         
         UUID buildId = event.getStudyDatabaseBuildId();
         Long studyId = event.getStudyId();
-        
-        // Counters for tracking progress (repurposed for configuration items)
-        int formsConfigured = 0;
-        int mappingsCreated = 0;        // Was: tablesCreated
-        int indexesCreated = 0;         // Study-specific indexes (if any)
-        int schedulesCreated = 0;       // Was: triggersCreated (repurposed)
-        int validationRulesCreated = 0;
-        int editChecksCreated = 0;      // New counter
-        
-        // Phase 6: Item-Level Metadata counters
-        int fieldMetadataCreated = 0;   // Clinical and regulatory metadata per field
-        int cdashMappingsCreated = 0;   // CDISC CDASH/SDTM mappings
-        int codingConfigsCreated = 0;   // Medical coding configuration
-        
-        // ============================================================
-        // PHASE 1: Validate Study Design (0-20%)
-        // ============================================================
+        BuildContext context = new BuildContext();
+        
+        Map<BuildPhase, PhaseTask> tasks = new EnumMap<>(BuildPhase.class);
+        tasks.put(BuildPhase.VALIDATE_DESIGN, new PhaseTask(
+                () -> 0,
+                () -> validateStudyDesign(studyId, buildId, context)));
+        tasks.put(BuildPhase.FORM_VISIT_MAPPINGS, new PhaseTask(
+                () -> context.scheduledVisitCount() * context.forms.size(),
+                () -> runMappingPhase(studyId, buildId, context)));
+        tasks.put(BuildPhase.VALIDATION_RULES, new PhaseTask(
+                () -> context.forms.size() * 2,
+                () -> runValidationRulePhase(studyId, buildId, context)));
+        tasks.put(BuildPhase.VISIT_SCHEDULES, new PhaseTask(
+                () -> context.visits.size(),
+                () -> runSchedulePhase(studyId, buildId, context)));
+        tasks.put(BuildPhase.EDIT_CHECKS, new PhaseTask(
+                () -> 3,
+                () -> runEditCheckPhase(studyId, buildId, context)));
+        tasks.put(BuildPhase.COMPLETE_BUILD, new PhaseTask(
+                () -> 1,
+                () -> completeBuild(event, context)));
+        
+        buildPipeline.execute(buildId.toString(), tasks);
+    }
+
+    // ============================================================
+    // Build Phases
+    // ============================================================
+
+    /**
+     * PHASE 1: Validate Study Design (0-20%)
+     */
+    private int validateStudyDesign(Long studyId, UUID buildId, BuildContext context) {
         log.info("Phase 1: Validating study design for studyId={}", studyId);
+        List<BuildConfigRow> buildConfig = new ArrayList<>();
         
         // CRITICAL: Create unscheduled visit definitions FIRST (before any visit instances)
-        int unscheduledVisitsCreated = createUnscheduledVisitDefinitions(studyId, buildId);
+        int unscheduledVisitsCreated = createUnscheduledVisitDefinitions(studyId, buildConfig);
         log.info("Created {} unscheduled visit definitions", unscheduledVisitsCreated);
         
-        List<FormDefinitionEntity> forms = formDefinitionRepository.findByStudyId(studyId);
-        List<VisitDefinitionEntity> visits = visitDefinitionRepository.findByStudyIdOrderBySequenceNumberAsc(studyId);
-        List<StudyArmEntity> arms = studyArmRepository.findByStudyIdOrderBySequenceAsc(studyId);
+        context.forms = formDefinitionRepository.findByStudyId(studyId);
+        context.visits = visitDefinitionRepository.findByStudyIdOrderBySequenceNumberAsc(studyId);
+        context.arms = studyArmRepository.findByStudyIdOrderBySequenceAsc(studyId);
         
         log.info("Found {} forms, {} visits (including {} unscheduled), {} arms for study {}", 
-                 forms.size(), visits.size(), unscheduledVisitsCreated, arms.size(), studyId);
+                 context.forms.size(), context.visits.size(), unscheduledVisitsCreated, 
+                 context.arms.size(), studyId);
         
         // Validation checks
-        if (forms.isEmpty()) {
+        if (context.forms.isEmpty()) {
             throw new IllegalStateException("No forms found for study " + studyId + 
                                           ". Cannot build database without forms.");
         }
         
-        if (visits.isEmpty()) {
+        if (context.visits.isEmpty()) {
             throw new IllegalStateException("No visits found for study " + studyId + 
                                           ". Cannot build database without visits.");
         }
         
-        log.info("Phase 1 complete: Study design validation passed (including {} unscheduled visits)", 
-                unscheduledVisitsCreated);
+        // Resolve the numeric build ID once - every batch below is keyed by it
+        context.buildIdLong = getBuildIdFromUuid(buildId);
+        flushBuildConfig(context.buildIdLong, studyId, buildConfig);
+        
+        // Fingerprint the design and diff it against the last completed build
+        context.delta = fingerprintService.computeDelta(studyId, context.buildIdLong, 
+                                                        context.forms, context.visits, context.arms);
+        
+        log.info("Phase 1 complete: Study design validation passed (including {} unscheduled visits, {} build)", 
+                unscheduledVisitsCreated, context.delta.isFullBuild() ? "FULL" : "INCREMENTAL");
         
         // Update progress: Phase 1 complete (20%)
-        updateProgress(buildId, formsConfigured, mappingsCreated, indexesCreated, 
-                      schedulesCreated, validationRulesCreated);
+        recordProgress(buildId, context);
         
-        // ============================================================
-        // PHASE 2: Create Form-Visit Mappings, Validation Rules, and Field Metadata (20-40%)
-        // ============================================================
-        log.info("Phase 2: Creating form-visit mappings, validation rules, and field metadata");
+        return context.forms.size() + context.visits.size() + context.arms.size();
+    }
+
+    /**
+     * PHASE 2a: Create Form-Visit Mappings
+     */
+    private int runMappingPhase(Long studyId, UUID buildId, BuildContext context) {
+        log.info("Phase 2: Creating form-visit mappings");
+        List<BuildConfigRow> buildConfig = new ArrayList<>();
         
+        int mappingsCreated;
         try {
-            // Create form-visit mappings
-            mappingsCreated = createFormVisitMappings(studyId, buildId, forms, visits);
+            mappingsCreated = createFormVisitMappings(studyId, context.buildIdLong, 
+                                                      context.forms, context.visits, context.delta, buildConfig);
             log.info("Created {} form-visit mappings", mappingsCreated);
-            
-            // Extract and create validation rules from form schemas
-            validationRulesCreated = createValidationRules(studyId, buildId, forms);
-            log.info("Created {} validation rules", validationRulesCreated);
-            
-            // Phase 6 REMOVED: Field metadata now stored in form JSON (see PHASE_6_BACKEND_NECESSITY_ANALYSIS.md)
-            // fieldMetadataCreated = 0; // No longer creating Phase 6 tables
-            
-            formsConfigured = forms.size();
-            
-            // Update progress: Phase 2 complete (40%)
-            updateProgress(buildId, formsConfigured, mappingsCreated, indexesCreated, 
-                          schedulesCreated, validationRulesCreated);
-            
+            flushBuildConfig(context.buildIdLong, studyId, buildConfig);
         } catch (Exception e) {
             log.error("Phase 2 failed: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to create form-visit mappings: " + e.getMessage(), e);
         }
         
-        log.info("Phase 2 complete: Configured {} forms with {} mappings, {} rules, and {} field metadata", 
-                 formsConfigured, mappingsCreated, validationRulesCreated, fieldMetadataCreated);
+        synchronized (context) {
+            context.mappingsCreated = mappingsCreated;
+            context.formsConfigured = context.forms.size();
+        }
+        recordProgress(buildId, context);
+        return mappingsCreated;
+    }
+
+    /**
+     * PHASE 2b: Extract and create validation rules from form schemas
+     * 
+     * Phase 6 REMOVED: Field metadata now stored in form JSON (see PHASE_6_BACKEND_NECESSITY_ANALYSIS.md)
+     */
+    private int runValidationRulePhase(Long studyId, UUID buildId, BuildContext context) {
+        log.info("Phase 2: Creating validation rules");
+        List<BuildConfigRow> buildConfig = new ArrayList<>();
+        
+        int validationRulesCreated;
+        int validationRulesCarriedForward;
+        try {
+            DesignDelta delta = context.delta;
+            List<FormDefinitionEntity> changedForms = new ArrayList<>();
+            List<Long> unchangedFormIds = new ArrayList<>();
+            for (FormDefinitionEntity form : context.forms) {
+                if (delta.isFormChanged(form.getId())) {
+                    changedForms.add(form);
+                } else {
+                    unchangedFormIds.add(form.getId());
+                }
+            }
+            
+            validationRulesCreated = createValidationRules(studyId, context.buildIdLong, changedForms, buildConfig);
+            validationRulesCarriedForward = delta.isFullBuild() ? 0 : 
+                buildJdbcRepository.copyValidationRules(delta.getPreviousBuildId(), context.buildIdLong, unchangedFormIds);
+            log.info("Created {} validation rules for {} changed forms, carried forward {} for {} unchanged forms", 
+                     validationRulesCreated, changedForms.size(), validationRulesCarriedForward, unchangedFormIds.size());
+            flushBuildConfig(context.buildIdLong, studyId, buildConfig);
+        } catch (Exception e) {
+            log.error("Phase 2 failed: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to create validation rules: " + e.getMessage(), e);
+        }
         
-        // ============================================================
-        // PHASE 3: Validate Visit Schedules (40-60%)
-        // ============================================================
+        synchronized (context) {
+            context.validationRulesCreated = validationRulesCreated + validationRulesCarriedForward;
+            context.validationRulesCarriedForward = validationRulesCarriedForward;
+        }
+        recordProgress(buildId, context);
+        return validationRulesCreated + validationRulesCarriedForward;
+    }
+
+    /**
+     * PHASE 3: Validate Visit Schedules (already defined in visit_definitions during Study Design)
+     * 
+     * NOTE: Visit schedules are NOT created here - they exist in visit_definitions table
+     *       from Study Design Phase (timepoint, window_before, window_after columns)
+     * Phase 6 REMOVED: CDASH/SDTM mappings and medical coding config now stored in form JSON
+     */
+    private int runSchedulePhase(Long studyId, UUID buildId, BuildContext context) {
         log.info("Phase 3: Validating visit schedules (already defined in visit_definitions during Study Design)");
+        List<BuildConfigRow> buildConfig = new ArrayList<>();
         
+        int schedulesCreated;
         try {
-            // Validate visit schedule configuration (timing windows already in visit_definitions)
-            // NOTE: Visit schedules are NOT created here - they exist in visit_definitions table
-            //       from Study Design Phase (timepoint, window_before, window_after columns)
-            schedulesCreated = createVisitSchedules(studyId, buildId, visits);
+            schedulesCreated = createVisitSchedules(context.visits, context.delta, buildConfig);
             log.info("Validated {} visit schedules", schedulesCreated);
-            
-            // Phase 6 REMOVED: CDASH/SDTM mappings now stored in form JSON (see PHASE_6_BACKEND_NECESSITY_ANALYSIS.md)
-            // cdashMappingsCreated = 0; // No longer creating Phase 6 tables
-            
-            // Phase 6 REMOVED: Medical coding config now stored in form JSON (see PHASE_6_BACKEND_NECESSITY_ANALYSIS.md)
-            // codingConfigsCreated = 0; // No longer creating Phase 6 tables
-            
-            // Update progress: Phase 3 complete (60%)
-            updateProgress(buildId, formsConfigured, mappingsCreated, indexesCreated, 
-                          schedulesCreated, validationRulesCreated);
-            
+            flushBuildConfig(context.buildIdLong, studyId, buildConfig);
         } catch (Exception e) {
             log.error("Phase 3 failed: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to validate visit schedules: " + e.getMessage(), e);
         }
         
-        log.info("Phase 3 complete: Validated {} visit schedules, {} CDASH mappings, and {} coding configs", 
-                 schedulesCreated, cdashMappingsCreated, codingConfigsCreated);
-        
-        // ============================================================
-        // PHASE 4: Configure Edit Checks and Compliance Rules (60-80%)
-        // ============================================================
+        synchronized (context) {
+            context.schedulesCreated = schedulesCreated;
+        }
+        recordProgress(buildId, context);
+        return schedulesCreated;
+    }
+
+    /**
+     * PHASE 4: Configure Edit Checks and Compliance Rules
+     */
+    private int runEditCheckPhase(Long studyId, UUID buildId, BuildContext context) {
         log.info("Phase 4: Configuring data quality and compliance rules");
+        List<BuildConfigRow> buildConfig = new ArrayList<>();
         
+        int editChecksCreated;
+        int indexesCreated;
         try {
             // Create edit checks for data quality validation
-            editChecksCreated = createEditChecks(studyId, buildId, forms, visits);
+            editChecksCreated = createEditChecks(studyId, context.buildIdLong, context.delta, buildConfig);
             log.info("Created {} edit checks", editChecksCreated);
             
             // Create study-specific indexes if needed (on shared tables)
-            indexesCreated = createStudySpecificIndexes(studyId, forms, visits);
+            indexesCreated = createStudySpecificIndexes(studyId, context.forms, context.visits);
             log.info("Created {} study-specific indexes", indexesCreated);
-            
-            // Update progress: Phase 4 complete (80%)
-            updateProgress(buildId, formsConfigured, mappingsCreated, indexesCreated, 
-                          schedulesCreated, validationRulesCreated);
-            
+            flushBuildConfig(context.buildIdLong, studyId, buildConfig);
         } catch (Exception e) {
             log.error("Phase 4 failed: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to configure edit checks: " + e.getMessage(), e);
         }
         
-        log.info("Phase 4 complete: Created {} edit checks and {} indexes", 
-                 editChecksCreated, indexesCreated);
-        
-        // ============================================================
-        // PHASE 5: Complete Build (80-100%)
-        // ============================================================
+        synchronized (context) {
+            context.editChecksCreated = editChecksCreated;
+            context.indexesCreated = indexesCreated;
+        }
+        recordProgress(buildId, context);
+        return editChecksCreated + indexesCreated;
+    }
+
+    /**
+     * PHASE 5: Complete Build (80-100%)
+     */
+    private int completeBuild(StudyDatabaseBuildStartedEvent event, BuildContext context) {
+        UUID buildId = event.getStudyDatabaseBuildId();
+        Long studyId = event.getStudyId();
         log.info("Phase 5: Completing build for studyId={}", studyId);
         
+        // Phase 6 REMOVED: Item-level metadata lives in form JSON
+        int fieldMetadataCreated = 0;
+        int cdashMappingsCreated = 0;
+        int codingConfigsCreated = 0;
+        
         // Prepare validation results
         Map<String, Object> validationResults = new HashMap<>();
-        validationResults.put("formsValidated", forms.size());
-        validationResults.put("visitsValidated", visits.size());
-        validationResults.put("mappingsCreated", mappingsCreated);
-        validationResults.put("validationRulesCreated", validationRulesCreated);
-        validationResults.put("schedulesCreated", schedulesCreated);
-        validationResults.put("editChecksCreated", editChecksCreated);
-        validationResults.put("indexesCreated", indexesCreated);
+        validationResults.put("formsValidated", context.forms.size());
+        validationResults.put("visitsValidated", context.visits.size());
+        validationResults.put("mappingsCreated", context.mappingsCreated);
+        validationResults.put("validationRulesCreated", context.validationRulesCreated);
+        validationResults.put("schedulesCreated", context.schedulesCreated);
+        validationResults.put("editChecksCreated", context.editChecksCreated);
+        validationResults.put("indexesCreated", context.indexesCreated);
         validationResults.put("fieldMetadataCreated", fieldMetadataCreated);
         validationResults.put("cdashMappingsCreated", cdashMappingsCreated);
         validationResults.put("codingConfigsCreated", codingConfigsCreated);
@@ -292,21 +394,28 @@ public class StudyDatabaseBuildWorkerService {
         
         // Prepare build metrics
         Map<String, Object> buildMetrics = new HashMap<>();
-        buildMetrics.put("totalForms", forms.size());
-        buildMetrics.put("totalVisits", visits.size());
-        buildMetrics.put("totalArms", arms.size());
-        buildMetrics.put("totalMappings", mappingsCreated);
-        buildMetrics.put("totalValidationRules", validationRulesCreated);
-        buildMetrics.put("totalSchedules", schedulesCreated);
-        buildMetrics.put("totalEditChecks", editChecksCreated);
+        buildMetrics.put("totalForms", context.forms.size());
+        buildMetrics.put("totalVisits", context.visits.size());
+        buildMetrics.put("totalArms", context.arms.size());
+        buildMetrics.put("totalMappings", context.mappingsCreated);
+        buildMetrics.put("totalValidationRules", context.validationRulesCreated);
+        buildMetrics.put("totalSchedules", context.schedulesCreated);
+        buildMetrics.put("totalEditChecks", context.editChecksCreated);
         buildMetrics.put("totalFieldMetadata", fieldMetadataCreated);
         buildMetrics.put("totalCdashMappings", cdashMappingsCreated);
         buildMetrics.put("totalCodingConfigs", codingConfigsCreated);
-        buildMetrics.put("configurationItems", mappingsCreated + validationRulesCreated + 
-                                                schedulesCreated + editChecksCreated + 
+        buildMetrics.put("configurationItems", context.mappingsCreated + context.validationRulesCreated + 
+                                                context.schedulesCreated + context.editChecksCreated + 
                                                 fieldMetadataCreated + cdashMappingsCreated + 
                                                 codingConfigsCreated);
         buildMetrics.put("buildApproach", "Configuration-based (no dynamic tables)");
+        buildMetrics.put("executionModel", "Dependency-graph pipeline (parallel phases)");
+        buildMetrics.put("buildMode", context.delta.isFullBuild() ? "FULL" : "INCREMENTAL");
+        buildMetrics.put("previousBuildId", context.delta.getPreviousBuildId());
+        buildMetrics.put("changedForms", context.delta.getChangedFormIds().size());
+        buildMetrics.put("changedVisits", context.delta.getChangedVisitIds().size());
+        buildMetrics.put("changedArms", context.delta.getChangedArmIds().size());
+        buildMetrics.put("validationRulesCarriedForward", context.validationRulesCarriedForward);
         buildMetrics.put("scalability", "Shared tables - same schema for all studies");
         buildMetrics.put("regulatoryCompliance", "FDA 21 CFR Part 11, CDISC CDASH/SDTM, ICH GCP");
         
@@ -325,8 +434,8 @@ public class StudyDatabaseBuildWorkerService {
                 .studyDatabaseBuildId(buildId)
                 .completedBy(event.getRequestedBy() != null ? event.getRequestedBy() : 1L) // System user if null
                 .validationResult(validationResult)
-                .formsConfigured(formsConfigured)
-                .validationRulesSetup(validationRulesCreated)
+                .formsConfigured(context.formsConfigured)
+                .validationRulesSetup(context.validationRulesCreated)
                 .buildMetrics(buildMetrics)
                 .build();
         
@@ -337,13 +446,52 @@ public class StudyDatabaseBuildWorkerService {
             log.info("Database build completed successfully: buildId={}, studyId={}, " +
                     "forms={}, mappings={}, rules={}, schedules={}, editChecks={}, " +
                     "fieldMetadata={}, cdashMappings={}, codingConfigs={}", 
-                    buildId, studyId, formsConfigured, mappingsCreated, 
-                    validationRulesCreated, schedulesCreated, editChecksCreated,
+                    buildId, studyId, context.formsConfigured, context.mappingsCreated, 
+                    context.validationRulesCreated, context.schedulesCreated, context.editChecksCreated,
                     fieldMetadataCreated, cdashMappingsCreated, codingConfigsCreated);
         } catch (Exception e) {
             log.error("Failed to send CompleteStudyDatabaseBuildCommand: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to complete build: " + e.getMessage(), e);
         }
+        
+        return 1;
+    }
+
+    /**
+     * Shared state of one build run.
+     * Design entities are written once by phase 1 and only read afterwards;
+     * counters are written by parallel phases under the context monitor.
+     */
+    private static class BuildContext {
+        private volatile List<FormDefinitionEntity> forms = List.of();
+        private volatile List<VisitDefinitionEntity> visits = List.of();
+        private volatile List<StudyArmEntity> arms = List.of();
+        private volatile Long buildIdLong;
+        private volatile DesignDelta delta;
+        
+        private int formsConfigured;
+        private int mappingsCreated;        // Was: tablesCreated
+        private int indexesCreated;         // Study-specific indexes (if any)
+        private int schedulesCreated;       // Was: triggersCreated (repurposed)
+        private int validationRulesCreated;
+        private int editChecksCreated;
+        private int validationRulesCarriedForward;
+        
+        private int scheduledVisitCount() {
+            return (int) visits.stream()
+                .filter(v -> !Boolean.TRUE.equals(v.getIsUnscheduled()))
+                .count();
+        }
+    }
+
+    /**
+     * Write the current counters of a build to its progress row
+     */
+    private void recordProgress(UUID buildId, BuildContext context) {
+        synchronized (context) {
+            updateProgress(buildId, context.formsConfigured, context.mappingsCreated, context.indexesCreated, 
+                          context.schedulesCreated, context.validationRulesCreated);
+        }
     }
 
     // ============================================================
@@ -358,10 +506,10 @@ public class StudyDatabaseBuildWorkerService {
      * before any visit instances are created.
      * 
      * @param studyId Study ID
-     * @param buildId Build UUID
+     * @param buildConfig Build config tracking buffer
      * @return Number of unscheduled visit definitions created
      */
-    private int createUnscheduledVisitDefinitions(Long studyId, UUID buildId) {
+    private int createUnscheduledVisitDefinitions(Long studyId, List<BuildConfigRow> buildConfig) {
         log.info("Creating unscheduled visit definitions for study {} from configuration", studyId);
         
         int unscheduledVisitsCreated = 0;
@@ -415,7 +563,7 @@ public class StudyDatabaseBuildWorkerService {
                          studyId, config.getVisitCode(), config.getVisitName());
                 
                 // Track configuration
-                trackBuildConfig(buildId, studyId, "UNSCHEDULED_VISIT", 
+                trackBuildConfig(buildConfig, "UNSCHEDULED_VISIT", 
                                String.format("%s (%s)", config.getVisitName(), config.getVisitCode()));
             }
             
@@ -436,19 +584,25 @@ public class StudyDatabaseBuildWorkerService {
      * 
      * CRITICAL: This method now uses the correct visit_forms table with build_id support
      * for proper protocol versioning and query service compatibility.
+     * 
+     * Set-based: existing (visit, form) pairs for the study are loaded in one query,
+     * missing pairs are computed in memory and inserted with JDBC batches.
+     * 
+     * Incremental builds only consider pairs where the visit or the form changed since the
+     * previous build; pairs of unchanged entities are already mapped (visit_forms is unique
+     * per visit/form pair) and carry forward as-is.
      */
-    private int createFormVisitMappings(Long studyId, UUID buildId, 
+    private int createFormVisitMappings(Long studyId, Long buildIdLong, 
                                         List<FormDefinitionEntity> forms, 
-                                        List<VisitDefinitionEntity> visits) {
+                                        List<VisitDefinitionEntity> visits,
+                                        DesignDelta delta,
+                                        List<BuildConfigRow> buildConfig) {
         log.info("Creating form-visit mappings for study {}: {} forms, {} visits", 
                  studyId, forms.size(), visits.size());
         
         int mappingsCreated = 0;
         
         try {
-            // Get the numeric build ID from UUID
-            Long buildIdLong = getBuildIdFromUuid(buildId);
-            
             // CRITICAL FIX (Oct 18, 2025): Exclude unscheduled visits from form mappings
             // Unscheduled visits should NOT have automatic form mappings - they are on-demand only
             List<VisitDefinitionEntity> scheduledVisits = visits.stream()
@@ -458,36 +612,44 @@ public class StudyDatabaseBuildWorkerService {
             log.info("Filtered to {} scheduled visits (excluded {} unscheduled visits)", 
                      scheduledVisits.size(), visits.size() - scheduledVisits.size());
             
-            // For each SCHEDULED visit, associate all forms
+            // Existing mappings for the whole study in one round trip
+            Set<String> existingMappings = buildJdbcRepository.findExistingMappingKeys(studyId);
+            
+            // For each SCHEDULED visit, associate all forms that are not mapped yet
+            List<VisitFormRow> newMappings = new ArrayList<>();
             int displayOrder = 1;
             for (VisitDefinitionEntity visit : scheduledVisits) {
+                boolean visitChanged = delta.isVisitChanged(visit.getId());
                 for (FormDefinitionEntity form : forms) {
-                    // Check if mapping already exists for this build
-                    boolean exists = visitFormRepository.existsByVisitDefinitionIdAndFormDefinitionId(
-                            visit.getId(), form.getId());
-                    
-                    if (!exists) {
-                        // Create VisitFormEntity with proper build_id
-                        VisitFormEntity visitForm = VisitFormEntity.builder()
-                                .visitDefinition(visit)
-                                .formDefinition(form)
+                    if (!visitChanged && !delta.isFormChanged(form.getId())) {
+                        continue; // Unchanged pair - mapping carried forward
+                    }
+                    String key = StudyDatabaseBuildJdbcRepository.mappingKey(visit.getId(), form.getId());
+                    if (existingMappings.add(key)) {
+                        newMappings.add(VisitFormRow.builder()
+                                .visitDefinitionId(visit.getId())
+                                .formDefinitionId(form.getId())
                                 .buildId(buildIdLong)  // CRITICAL: Set build_id for versioning
-                                .isRequired(true)      // Could be parsed from study design
-                                .isConditional(false)
+                                .required(true)        // Could be parsed from study design
+                                .conditional(false)
                                 .displayOrder(displayOrder++)
                                 .createdBy(1L)         // System user
-                                .build();
-                        
-                        visitFormRepository.save(visitForm);
-                        mappingsCreated++;
+                                .build());
                         
                         // Track configuration in build config table
-                        trackBuildConfig(buildId, studyId, "FORM_MAPPING", 
+                        trackBuildConfig(buildConfig, "FORM_MAPPING", 
                                        String.format("Visit %d - Form %d", visit.getId(), form.getId()));
                     }
                 }
             }
             
+            log.info("Form-visit mapping diff: {} existing, {} new (batch size {})", 
+                     existingMappings.size() - newMappings.size(), newMappings.size(), 
+                     buildJdbcRepository.getBatchSize());
+            
+            buildJdbcRepository.insertVisitForms(newMappings);
+            mappingsCreated = newMappings.size();
+            
             log.info("Created {} form-visit mappings for SCHEDULED visits only (build_id={})", 
                      mappingsCreated, buildIdLong);
             
@@ -512,51 +674,54 @@ public class StudyDatabaseBuildWorkerService {
 
     /**
      * Create validation rules - Extract from form schemas and store
-     * Inserts into study_form_validation_rules table
+     * Inserts into study_form_validation_rules table (JDBC batch)
+     * 
+     * @param forms Forms whose rules are (re)generated for this build (all forms on a full build)
      */
-    private int createValidationRules(Long studyId, UUID buildId, 
-                                      List<FormDefinitionEntity> forms) {
+    private int createValidationRules(Long studyId, Long buildIdLong, List<FormDefinitionEntity> forms,
+                                      List<BuildConfigRow> buildConfig) {
         log.info("Creating validation rules for {} forms", forms.size());
         
         int rulesCreated = 0;
         
-        String insertSql = 
-            "INSERT INTO study_form_validation_rules " +
-            "(study_id, form_id, field_name, rule_type, rule_value, error_message, severity, created_at) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?, NOW())";
-        
         try {
+            List<ValidationRuleRow> rules = new ArrayList<>(forms.size() * 2);
             for (FormDefinitionEntity form : forms) {
                 // TODO: Parse form.formSchema JSON to extract actual validation rules
                 // For now, create sample validation rules
                 
                 // Example: Required field rule
-                jdbcTemplate.update(insertSql,
-                    studyId,
-                    form.getId(),
-                    "subject_id",
-                    "REQUIRED",
-                    "{\"required\": true}",
-                    "Subject ID is required",
-                    "ERROR");
-                rulesCreated++;
+                rules.add(ValidationRuleRow.builder()
+                    .studyId(studyId)
+                    .buildId(buildIdLong)
+                    .formId(form.getId())
+                    .fieldName("subject_id")
+                    .ruleType("REQUIRED")
+                    .ruleValue("{\"required\": true}")
+                    .errorMessage("Subject ID is required")
+                    .severity("ERROR")
+                    .build());
                 
                 // Example: Date range rule
-                jdbcTemplate.update(insertSql,
-                    studyId,
-                    form.getId(),
-                    "visit_date",
-                    "DATE_RANGE",
-                    "{\"minDate\": \"2020-01-01\", \"maxDate\": \"2030-12-31\"}",
-                    "Visit date must be between 2020 and 2030",
-                    "ERROR");
-                rulesCreated++;
+                rules.add(ValidationRuleRow.builder()
+                    .studyId(studyId)
+                    .buildId(buildIdLong)
+                    .formId(form.getId())
+                    .fieldName("visit_date")
+                    .ruleType("DATE_RANGE")
+                    .ruleValue("{\"minDate\": \"2020-01-01\", \"maxDate\": \"2030-12-31\"}")
+                    .errorMessage("Visit date must be between 2020 and 2030")
+                    .severity("ERROR")
+                    .build());
                 
                 // Track configuration
-                trackBuildConfig(buildId, studyId, "VALIDATION", 
+                trackBuildConfig(buildConfig, "VALIDATION", 
                                String.format("Form %d validation rules", form.getId()));
             }
             
+            buildJdbcRepository.insertValidationRules(rules);
+            rulesCreated = rules.size();
+            
             log.info("Created {} validation rules", rulesCreated);
             
         } catch (Exception e) {
@@ -572,15 +737,22 @@ public class StudyDatabaseBuildWorkerService {
      * 
      * NOTE: Visit schedules (timepoint, window_before, window_after) are defined during
      * Study Design Phase and stored in visit_definitions table. Build phase just validates them.
+     * Incremental builds only re-validate visits that changed; unchanged schedules count as carried forward.
      */
-    private int createVisitSchedules(Long studyId, UUID buildId, 
-                                     List<VisitDefinitionEntity> visits) {
+    private int createVisitSchedules(List<VisitDefinitionEntity> visits, DesignDelta delta,
+                                     List<BuildConfigRow> buildConfig) {
         log.info("Validating visit schedules for {} visits", visits.size());
         
         int schedulesValidated = 0;
+        int schedulesCarriedForward = 0;
         
         try {
             for (VisitDefinitionEntity visit : visits) {
+                if (!delta.isVisitChanged(visit.getId())) {
+                    schedulesCarriedForward++;
+                    continue;
+                }
+                
                 // Validate that visit has required schedule information
                 if (visit.getTimepoint() == null) {
                     log.warn("Visit {} has null timepoint, using 0", visit.getName());
@@ -596,74 +768,87 @@ public class StudyDatabaseBuildWorkerService {
                 schedulesValidated++;
                 
                 // Track configuration (optional - just for build metrics)
-                trackBuildConfig(buildId, studyId, "VISIT_SCHEDULE", 
+                trackBuildConfig(buildConfig, "VISIT_SCHEDULE", 
                                String.format("Visit %d '%s' (Day %d, window -%d/+%d)", 
                                            visit.getId(), visit.getName(), timepoint, 
                                            windowBefore, windowAfter));
             }
             
-            log.info("Validated {} visit schedules (already defined in visit_definitions)", schedulesValidated);
+            log.info("Validated {} visit schedules (already defined in visit_definitions), {} unchanged", 
+                     schedulesValidated, schedulesCarriedForward);
             
         } catch (Exception e) {
             log.error("Failed to validate visit schedules: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to validate visit schedules", e);
         }
         
-        return schedulesValidated;
+        return schedulesValidated + schedulesCarriedForward;
     }
 
     /**
      * Create edit checks - Configure data quality rules
-     * Inserts into study_edit_checks table
+     * Inserts into study_edit_checks table (JDBC batch)
+     * 
+     * Edit checks span forms and visits, so they are regenerated whenever anything in the
+     * design changed; an unchanged design copies the previous build's checks instead.
      */
-    private int createEditChecks(Long studyId, UUID buildId, 
-                                 List<FormDefinitionEntity> forms, 
-                                 List<VisitDefinitionEntity> visits) {
+    private int createEditChecks(Long studyId, Long buildIdLong, DesignDelta delta,
+                                 List<BuildConfigRow> buildConfig) {
         log.info("Creating edit checks for study {}", studyId);
         
         int checksCreated = 0;
         
-        String insertSql = 
-            "INSERT INTO study_edit_checks " +
-            "(study_id, check_name, check_type, check_logic, severity, error_message, action_required, created_at) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?, NOW())";
+        if (!delta.hasChanges()) {
+            checksCreated = buildJdbcRepository.copyEditChecks(delta.getPreviousBuildId(), buildIdLong);
+            log.info("Design unchanged since build {} - carried forward {} edit checks", 
+                     delta.getPreviousBuildId(), checksCreated);
+            return checksCreated;
+        }
         
         try {
+            List<EditCheckRow> checks = new ArrayList<>();
+            
             // Range check example
-            jdbcTemplate.update(insertSql,
-                studyId,
-                "Age Range Check",
-                "RANGE",
-                "{\"field\": \"age\", \"min\": 18, \"max\": 85}",
-                "MAJOR",
-                "Age must be between 18 and 85",
-                "QUERY");
-            checksCreated++;
+            checks.add(EditCheckRow.builder()
+                .studyId(studyId)
+                .buildId(buildIdLong)
+                .checkName("Age Range Check")
+                .checkType("RANGE")
+                .checkLogic("{\"field\": \"age\", \"min\": 18, \"max\": 85}")
+                .severity("MAJOR")
+                .errorMessage("Age must be between 18 and 85")
+                .actionRequired("QUERY")
+                .build());
             
             // Missing data check
-            jdbcTemplate.update(insertSql,
-                studyId,
-                "Required Fields Check",
-                "MISSING",
-                "{\"requiredFields\": [\"subject_id\", \"visit_date\", \"consent_date\"]}",
-                "CRITICAL",
-                "Required fields are missing",
-                "BLOCK");
-            checksCreated++;
+            checks.add(EditCheckRow.builder()
+                .studyId(studyId)
+                .buildId(buildIdLong)
+                .checkName("Required Fields Check")
+                .checkType("MISSING")
+                .checkLogic("{\"requiredFields\": [\"subject_id\", \"visit_date\", \"consent_date\"]}")
+                .severity("CRITICAL")
+                .errorMessage("Required fields are missing")
+                .actionRequired("BLOCK")
+                .build());
             
             // Consistency check
-            jdbcTemplate.update(insertSql,
-                studyId,
-                "Visit Date Consistency",
-                "CONSISTENCY",
-                "{\"rule\": \"visit_date >= consent_date\"}",
-                "MAJOR",
-                "Visit date cannot be before consent date",
-                "QUERY");
-            checksCreated++;
+            checks.add(EditCheckRow.builder()
+                .studyId(studyId)
+                .buildId(buildIdLong)
+                .checkName("Visit Date Consistency")
+                .checkType("CONSISTENCY")
+                .checkLogic("{\"rule\": \"visit_date >= consent_date\"}")
+                .severity("MAJOR")
+                .errorMessage("Visit date cannot be before consent date")
+                .actionRequired("QUERY")
+                .build());
+            
+            buildJdbcRepository.insertEditChecks(checks);
+            checksCreated = checks.size();
             
             // Track configuration
-            trackBuildConfig(buildId, studyId, "EDIT_CHECK", 
+            trackBuildConfig(buildConfig, "EDIT_CHECK", 
                            String.format("Data quality rules (%d checks)", checksCreated));
             
             log.info("Created {} edit checks", checksCreated);
@@ -748,20 +933,29 @@ public class StudyDatabaseBuildWorkerService {
     // =====================================================================================================================
 
     /**
-     * Track build configuration items
+     * Track build configuration items (buffered until the next flush)
+     */
+    private void trackBuildConfig(List<BuildConfigRow> buildConfig, String configType, String configName) {
+        buildConfig.add(BuildConfigRow.builder()
+                .configType(configType)
+                .configName(configName)
+                .build());
+    }
+
+    /**
+     * Write buffered build configuration items in one batch and clear the buffer
      */
-    private void trackBuildConfig(UUID buildId, Long studyId, String configType, String configName) {
+    private void flushBuildConfig(Long buildIdLong, Long studyId, List<BuildConfigRow> buildConfig) {
+        if (buildConfig.isEmpty()) {
+            return;
+        }
         try {
-            String insertSql = 
-                "INSERT INTO study_database_build_config " +
-                "(build_id, study_id, config_type, config_name, status, created_at) " +
-                "VALUES ((SELECT id FROM study_database_builds WHERE aggregate_uuid = ?), ?, ?, ?, 'CREATED', NOW())";
-            
-            jdbcTemplate.update(insertSql, buildId.toString(), studyId, configType, configName);
-            
+            buildJdbcRepository.insertBuildConfig(buildIdLong, studyId, buildConfig);
         } catch (Exception e) {
             // Don't fail the build if tracking fails
-            log.warn("Failed to track build config: {}", e.getMessage());
+            log.warn("Failed to track build config ({} items): {}", buildConfig.size(), e.getMessage());
+        } finally {
+            buildConfig.clear();
         }
     }
 
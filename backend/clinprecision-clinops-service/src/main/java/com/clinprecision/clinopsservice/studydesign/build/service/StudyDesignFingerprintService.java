@@ -0,0 +1,216 @@
+package com.clinprecision.clinopsservice.studydesign.build.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildEntity;
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.FingerprintRow;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import com.clinprecision.clinopsservice.studydesign.design.arm.entity.StudyArmEntity;
+import com.clinprecision.clinopsservice.studydesign.design.form.entity.FormDefinitionEntity;
+import com.clinprecision.clinopsservice.studydesign.design.visitdefinition.entity.VisitDefinitionEntity;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Study Design Fingerprint Service
+ *
+ * Computes a SHA-256 content hash for every form definition (name, version, status,
+ * fields and structure JSON), visit definition (timing, window, type, arm) and arm of a
+ * study, and compares them with the hashes stored for the study's last COMPLETED build.
+ *
+ * The resulting DesignDelta tells the build worker which entities changed, so a
+ * rebuild after an amendment only regenerates mappings, validation rules and edit
+ * checks for those entities and carries the rest forward to the new build_id.
+ *
+ * Hashes are stored per build in study_build_design_fingerprints.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StudyDesignFingerprintService {
+
+    public static final String ENTITY_FORM = "FORM";
+    public static final String ENTITY_VISIT = "VISIT";
+    public static final String ENTITY_ARM = "ARM";
+
+    private final StudyDatabaseBuildRepository buildRepository;
+    private final StudyDatabaseBuildJdbcRepository buildJdbcRepository;
+
+    /**
+     * Compare the current design with the last completed build and store the new fingerprints
+     *
+     * @param studyId Study ID
+     * @param buildId Numeric ID of the build being executed
+     * @param forms Current form definitions
+     * @param visits Current visit definitions
+     * @param arms Current arms
+     * @return Delta against the previous completed build (full rebuild when none exists)
+     */
+    public DesignDelta computeDelta(Long studyId, Long buildId,
+                                    List<FormDefinitionEntity> forms,
+                                    List<VisitDefinitionEntity> visits,
+                                    List<StudyArmEntity> arms) {
+        Map<String, String> current = new LinkedHashMap<>();
+        forms.forEach(f -> current.put(key(ENTITY_FORM, f.getId()), hashForm(f)));
+        visits.forEach(v -> current.put(key(ENTITY_VISIT, v.getId()), hashVisit(v)));
+        arms.forEach(a -> current.put(key(ENTITY_ARM, a.getId()), hashArm(a)));
+
+        storeFingerprints(studyId, buildId, current);
+
+        Optional<Long> previousBuildId = buildRepository
+                .findTopByStudyIdAndBuildStatusOrderByBuildEndTimeDesc(studyId, StudyDatabaseBuildStatus.COMPLETED)
+                .map(StudyDatabaseBuildEntity::getId)
+                .filter(id -> !id.equals(buildId));
+
+        Map<String, String> previous = previousBuildId
+                .map(buildJdbcRepository::findFingerprints)
+                .orElse(Map.of());
+
+        if (previous.isEmpty()) {
+            log.info("No fingerprints from a previous completed build of study {} - full build", studyId);
+            return DesignDelta.full(forms, visits, arms);
+        }
+
+        Set<Long> changedForms = changedIds(forms.stream().map(FormDefinitionEntity::getId).toList(),
+                ENTITY_FORM, current, previous);
+        Set<Long> changedArms = changedIds(arms.stream().map(StudyArmEntity::getId).toList(),
+                ENTITY_ARM, current, previous);
+        Set<Long> changedVisits = changedIds(visits.stream().map(VisitDefinitionEntity::getId).toList(),
+                ENTITY_VISIT, current, previous);
+
+        // Arm-specific visits follow their arm
+        visits.stream()
+                .filter(v -> v.getArmId() != null && changedArms.contains(v.getArmId()))
+                .forEach(v -> changedVisits.add(v.getId()));
+
+        // Entities that existed in the previous build but are gone now
+        boolean removals = previous.keySet().stream().anyMatch(k -> !current.containsKey(k));
+
+        DesignDelta delta = new DesignDelta(false, previousBuildId.get(), changedForms, changedVisits,
+                changedArms, removals);
+        log.info("Design delta for study {} against build {}: {} of {} forms, {} of {} visits, " +
+                 "{} of {} arms changed, removals={}",
+                 studyId, delta.getPreviousBuildId(), changedForms.size(), forms.size(),
+                 changedVisits.size(), visits.size(), changedArms.size(), arms.size(), removals);
+        return delta;
+    }
+
+    private void storeFingerprints(Long studyId, Long buildId, Map<String, String> fingerprints) {
+        List<FingerprintRow> rows = new ArrayList<>(fingerprints.size());
+        fingerprints.forEach((k, hash) -> {
+            int separator = k.indexOf(':');
+            rows.add(FingerprintRow.builder()
+                    .entityType(k.substring(0, separator))
+                    .entityId(Long.valueOf(k.substring(separator + 1)))
+                    .contentHash(hash)
+                    .build());
+        });
+        buildJdbcRepository.insertFingerprints(buildId, studyId, rows);
+    }
+
+    private Set<Long> changedIds(List<Long> ids, String entityType,
+                                 Map<String, String> current, Map<String, String> previous) {
+        Set<Long> changed = new HashSet<>();
+        for (Long id : ids) {
+            String k = key(entityType, id);
+            if (!Objects.equals(current.get(k), previous.get(k))) {
+                changed.add(id);
+            }
+        }
+        return changed;
+    }
+
+    private static String key(String entityType, Long id) {
+        return entityType + ":" + id;
+    }
+
+    // ========== Content hashes ==========
+
+    String hashForm(FormDefinitionEntity form) {
+        return sha256(form.getName(), form.getDescription(), form.getFormType(), form.getVersion(),
+                form.getStatus(), form.getFields(), form.getStructure());
+    }
+
+    String hashVisit(VisitDefinitionEntity visit) {
+        return sha256(visit.getName(), visit.getDescription(), visit.getTimepoint(), visit.getWindowBefore(),
+                visit.getWindowAfter(), visit.getVisitType(), visit.getIsRequired(), visit.getSequenceNumber(),
+                visit.getIsUnscheduled(), visit.getVisitCode(), visit.getVisitOrder(), visit.getArmId(),
+                visit.getIsDeleted());
+    }
+
+    String hashArm(StudyArmEntity arm) {
+        return sha256(arm.getName(), arm.getDescription(), arm.getType(), arm.getSequence(),
+                arm.getPlannedSubjects(), arm.getIsDeleted());
+    }
+
+    private String sha256(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                // Length-prefix every part so ("ab","c") and ("a","bc") hash differently
+                String value = part == null ? "\u0000" : part.toString();
+                digest.update((value.length() + ":" + value + "|").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Difference between the current study design and the last completed build
+     */
+    @Getter
+    public static class DesignDelta {
+        private final boolean fullBuild;
+        private final Long previousBuildId;
+        private final Set<Long> changedFormIds;
+        private final Set<Long> changedVisitIds;
+        private final Set<Long> changedArmIds;
+        private final boolean entitiesRemoved;
+
+        DesignDelta(boolean fullBuild, Long previousBuildId, Set<Long> changedFormIds,
+                    Set<Long> changedVisitIds, Set<Long> changedArmIds, boolean entitiesRemoved) {
+            this.fullBuild = fullBuild;
+            this.previousBuildId = previousBuildId;
+            this.changedFormIds = changedFormIds;
+            this.changedVisitIds = changedVisitIds;
+            this.changedArmIds = changedArmIds;
+            this.entitiesRemoved = entitiesRemoved;
+        }
+
+        static DesignDelta full(List<FormDefinitionEntity> forms, List<VisitDefinitionEntity> visits,
+                                List<StudyArmEntity> arms) {
+            Set<Long> formIds = new HashSet<>();
+            forms.forEach(f -> formIds.add(f.getId()));
+            Set<Long> visitIds = new HashSet<>();
+            visits.forEach(v -> visitIds.add(v.getId()));
+            Set<Long> armIds = new HashSet<>();
+            arms.forEach(a -> armIds.add(a.getId()));
+            return new DesignDelta(true, null, formIds, visitIds, armIds, false);
+        }
+
+        public boolean isFormChanged(Long formId) {
+            return fullBuild || changedFormIds.contains(formId);
+        }
+
+        public boolean isVisitChanged(Long visitId) {
+            return fullBuild || changedVisitIds.contains(visitId);
+        }
+
+        /**
+         * Whether anything at all differs from the previous build
+         */
+        public boolean hasChanges() {
+            return fullBuild || entitiesRemoved || !changedFormIds.isEmpty()
+                    || !changedVisitIds.isEmpty() || !changedArmIds.isEmpty();
+        }
+    }
+}
@@ -23,7 +23,7 @@ import java.util.*;
  * StudyDesign Aggregate Root managing study arms, visits, and form assignments
  * Enforces business rules for study design integrity
  */
-@Aggregate
+@Aggregate(snapshotTriggerDefinition = "studyDesignSnapshotTriggerDefinition")
 @NoArgsConstructor
 @Slf4j
 public class StudyDesignAggregate {
@@ -55,6 +55,9 @@ public class FieldMetadata {
     /** Query management configuration */
     private QueryConfig query;
     
+    /** Clinical value search configuration */
+    private SearchConfig search;
+    
     /** Detailed field description */
     private String description;
     
@@ -0,0 +1,26 @@
+package com.clinprecision.clinopsservice.studydesign.design.form.dto.metadata;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clinical value search configuration
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchConfig {
+    
+    /** Materialize the field's values in study_form_field_values for subject search */
+    private Boolean searchable;
+    
+    /** Value type of the indexed column */
+    private String valueType; // number, text, date (default: derived from validation.type)
+}
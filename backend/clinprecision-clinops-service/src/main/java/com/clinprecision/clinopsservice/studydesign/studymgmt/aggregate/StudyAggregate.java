@@ -32,7 +32,7 @@ import java.util.UUID;
  * - State is rebuilt from events via @EventSourcingHandler
  * - No direct state mutation outside of event handlers
  */
-@Aggregate
+@Aggregate(snapshotTriggerDefinition = "studySnapshotTriggerDefinition")
 public class StudyAggregate {
     
     private static final Logger logger = LoggerFactory.getLogger(StudyAggregate.class);
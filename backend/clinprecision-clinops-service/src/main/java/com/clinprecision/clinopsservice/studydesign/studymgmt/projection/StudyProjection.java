@@ -1,5 +1,6 @@
 package com.clinprecision.clinopsservice.studydesign.studymgmt.projection;
 
+import com.clinprecision.clinopsservice.common.config.AxonEventProcessingConfig;
 import com.clinprecision.clinopsservice.studydesign.studymgmt.entity.OrganizationRole;
 import com.clinprecision.clinopsservice.studydesign.studymgmt.entity.OrganizationStudyEntity;
 import com.clinprecision.clinopsservice.studydesign.studymgmt.entity.StudyEntity;
@@ -12,6 +13,7 @@ import com.clinprecision.clinopsservice.studydesign.studymgmt.repository.StudySt
 import com.clinprecision.clinopsservice.studydesign.studymgmt.repository.RegulatoryStatusRepository;
 import com.clinprecision.clinopsservice.studydesign.design.repository.StudyPhaseRepository;
 import com.clinprecision.clinopsservice.studydesign.studymgmt.repository.UserLookupRepository;
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.eventhandling.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +44,7 @@ import java.util.stream.Collectors;
  * when events are persisted to the event store
  */
 @Component
+@ProcessingGroup(AxonEventProcessingConfig.STUDY_PROJECTION)
 public class StudyProjection {
     
     private static final Logger logger = LoggerFactory.getLogger(StudyProjection.class);
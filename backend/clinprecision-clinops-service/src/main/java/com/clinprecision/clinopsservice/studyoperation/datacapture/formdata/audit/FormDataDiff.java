@@ -0,0 +1,129 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.audit;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Field-level diff between two versions of a form's data (top-level field keys)
+ *
+ * Format of the submission audit rows written before JSON patches (V1.20), still read by
+ * FormDataHistoryService; JsonPatch uses the same value comparison.
+ * - oldValues: previous value of every changed or removed field
+ * - newValues: new value of every added or changed field; removed fields map to null
+ *
+ * Numbers are compared by value (5 and 5.0 are equal), so a version deserialized from the
+ * event store and one read back from the JSON column do not produce spurious changes.
+ */
+public final class FormDataDiff {
+
+    private final Map<String, Object> oldValues;
+    private final Map<String, Object> newValues;
+
+    private FormDataDiff(Map<String, Object> oldValues, Map<String, Object> newValues) {
+        this.oldValues = Collections.unmodifiableMap(oldValues);
+        this.newValues = Collections.unmodifiableMap(newValues);
+    }
+
+    /**
+     * Diff from one version of a form to the next
+     *
+     * @param previous Previous form data (null for the first version of a form)
+     * @param current New form data (null treated as an empty form)
+     */
+    public static FormDataDiff between(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> before = previous != null ? previous : Map.of();
+        Map<String, Object> after = current != null ? current : Map.of();
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Object> field : after.entrySet()) {
+            Object oldValue = before.get(field.getKey());
+            if (!before.containsKey(field.getKey()) || !valuesEqual(oldValue, field.getValue())) {
+                if (oldValue != null) {
+                    oldValues.put(field.getKey(), oldValue);
+                }
+                newValues.put(field.getKey(), field.getValue());
+            }
+        }
+        for (Map.Entry<String, Object> field : before.entrySet()) {
+            if (!after.containsKey(field.getKey())) {
+                oldValues.put(field.getKey(), field.getValue());
+                newValues.put(field.getKey(), null);
+            }
+        }
+        return new FormDataDiff(oldValues, newValues);
+    }
+
+    public Map<String, Object> getOldValues() {
+        return oldValues;
+    }
+
+    public Map<String, Object> getNewValues() {
+        return newValues;
+    }
+
+    public boolean isEmpty() {
+        return newValues.isEmpty();
+    }
+
+    /**
+     * Apply a stored diff (new values) to a version of a form
+     *
+     * @param base Form data the diff is relative to (null for an empty form)
+     * @param newValues new_data of the audit record
+     * @return The next version of the form data
+     */
+    public static Map<String, Object> apply(Map<String, Object> base, Map<String, Object> newValues) {
+        Map<String, Object> result = base != null ? new LinkedHashMap<>(base) : new LinkedHashMap<>();
+        if (newValues != null) {
+            for (Map.Entry<String, Object> field : newValues.entrySet()) {
+                if (field.getValue() == null) {
+                    result.remove(field.getKey());
+                } else {
+                    result.put(field.getKey(), field.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    static boolean valuesEqual(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            try {
+                return new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString())) == 0;
+            } catch (NumberFormatException e) {
+                return x.equals(y); // NaN / Infinity
+            }
+        }
+        if (a instanceof Map<?, ?> x && b instanceof Map<?, ?> y) {
+            if (x.size() != y.size()) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : x.entrySet()) {
+                if (!y.containsKey(entry.getKey()) || !valuesEqual(entry.getValue(), y.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof List<?> x && b instanceof List<?> y) {
+            if (x.size() != y.size()) {
+                return false;
+            }
+            Iterator<?> left = x.iterator();
+            Iterator<?> right = y.iterator();
+            while (left.hasNext()) {
+                if (!valuesEqual(left.next(), right.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(a, b);
+    }
+}
@@ -0,0 +1,123 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.audit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 6902 JSON Patch between two versions of a form's data
+ *
+ * Form data is a flat map of field values, so patches only address top-level members
+ * ("/field_name", escaped per RFC 6901); nested values are replaced as a whole.
+ *
+ * Every replace/remove is preceded by a "test" operation holding the previous value:
+ * the audit record keeps the old value (who changed what from what), and applying a
+ * patch to the wrong base version fails instead of silently producing wrong data.
+ */
+public final class JsonPatch {
+
+    public static final String OP = "op";
+    public static final String PATH = "path";
+    public static final String VALUE = "value";
+
+    private JsonPatch() {
+    }
+
+    /**
+     * Patch that turns one version of a form into the next
+     *
+     * @param previous Previous form data (null for an empty form)
+     * @param current New form data (null for an empty form)
+     * @return Operations in application order (empty when nothing changed)
+     */
+    public static List<Map<String, Object>> diff(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> before = previous != null ? previous : Map.of();
+        Map<String, Object> after = current != null ? current : Map.of();
+        List<Map<String, Object>> operations = new ArrayList<>();
+
+        for (Map.Entry<String, Object> field : after.entrySet()) {
+            String path = toPath(field.getKey());
+            if (!before.containsKey(field.getKey())) {
+                operations.add(operation("add", path, field.getValue()));
+            } else if (!FormDataDiff.valuesEqual(before.get(field.getKey()), field.getValue())) {
+                operations.add(operation("test", path, before.get(field.getKey())));
+                operations.add(operation("replace", path, field.getValue()));
+            }
+        }
+        for (Map.Entry<String, Object> field : before.entrySet()) {
+            if (!after.containsKey(field.getKey())) {
+                String path = toPath(field.getKey());
+                operations.add(operation("test", path, field.getValue()));
+                operations.add(operation("remove", path, null));
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * Apply a patch to a version of a form
+     *
+     * @param base Form data the patch was computed against (null for an empty form)
+     * @param operations Patch operations
+     * @return The patched form data (base is not modified)
+     * @throws IllegalStateException if a test operation fails or a path does not exist
+     */
+    public static Map<String, Object> apply(Map<String, Object> base, List<Map<String, Object>> operations) {
+        Map<String, Object> result = base != null ? new LinkedHashMap<>(base) : new LinkedHashMap<>();
+        if (operations == null) {
+            return result;
+        }
+        for (Map<String, Object> operation : operations) {
+            String op = String.valueOf(operation.get(OP));
+            String key = fromPath(String.valueOf(operation.get(PATH)));
+            Object value = operation.get(VALUE);
+            switch (op) {
+                case "add" -> result.put(key, value);
+                case "replace" -> {
+                    requirePresent(result, key, op);
+                    result.put(key, value);
+                }
+                case "remove" -> {
+                    requirePresent(result, key, op);
+                    result.remove(key);
+                }
+                case "test" -> {
+                    if (!result.containsKey(key) || !FormDataDiff.valuesEqual(result.get(key), value)) {
+                        throw new IllegalStateException("JSON patch test failed at /" + key
+                            + ": expected " + value + ", found " + result.get(key));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unsupported JSON patch operation: " + op);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Object> operation(String op, String path, Object value) {
+        Map<String, Object> operation = new LinkedHashMap<>();
+        operation.put(OP, op);
+        operation.put(PATH, path);
+        if (!"remove".equals(op)) {
+            operation.put(VALUE, value);
+        }
+        return operation;
+    }
+
+    private static void requirePresent(Map<String, Object> document, String key, String op) {
+        if (!document.containsKey(key)) {
+            throw new IllegalStateException("JSON patch " + op + " of missing member /" + key);
+        }
+    }
+
+    static String toPath(String key) {
+        return "/" + key.replace("~", "~0").replace("/", "~1");
+    }
+
+    static String fromPath(String path) {
+        if (!path.startsWith("/") || path.indexOf('/', 1) >= 0) {
+            throw new IllegalArgumentException("Form data patches only address top-level fields: " + path);
+        }
+        return path.substring(1).replace("~1", "/").replace("~0", "~");
+    }
+}
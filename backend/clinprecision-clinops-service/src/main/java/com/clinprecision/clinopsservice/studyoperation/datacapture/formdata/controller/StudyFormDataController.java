@@ -1,17 +1,35 @@
 package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.controller;
 
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.BulkFormSubmissionRequest;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.BulkFormSubmissionResponse;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FieldValueSearchRequest;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FieldValueSearchResponse;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormSubmissionRequest;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormSubmissionResponse;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormDataDto;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormDataSnapshotDto;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.StudyDataExportSummary;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.export.ExportStandard;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service.FormDataHistoryService;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service.FormFieldSearchService;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service.StudyDataExportService;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service.StudyFormDataService;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.EditCheckRunResult;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationResult;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.service.FormValidationService;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -43,9 +61,17 @@ import java.util.List;
  * 
  * Endpoints:
  * - POST /api/v1/form-data - Submit new form data
+ * - POST /api/v1/form-data/bulk - Submit many forms in one request (per-item results)
+ * - POST /api/v1/form-data/validate - Validate form data against its build rules without submitting
+ * - POST /api/v1/form-data/study/{studyId}/edit-checks - Run edit checks across all subjects of a study
+ * - POST /api/v1/form-data/study/{studyId}/field-values/search - Find subjects by values of searchable fields
+ * - POST /api/v1/form-data/study/{studyId}/field-values/rebuild - Re-index searchable field values of a study
  * - GET /api/v1/form-data/subject/{subjectId} - Get all forms for a subject
  * - GET /api/v1/form-data/study/{studyId} - Get all forms for a study
+ * - GET /api/v1/form-data/study/{studyId}/export - Stream the study data as CSV datasets (ZIP)
+ * - POST /api/v1/form-data/study/{studyId}/export/file - Write the study data export to the export directory
  * - GET /api/v1/form-data/{id} - Get specific form by ID
+ * - GET /api/v1/form-data/{id}/as-of - Rebuild the form as of a timestamp or audit record
  * - GET /api/v1/form-data/study/{studyId}/form/{formId} - Get forms by study and form definition
  * 
  * CORS: Configured in application.yml or WebConfig
@@ -64,6 +90,10 @@ import java.util.List;
 public class StudyFormDataController {
 
     private final StudyFormDataService formDataService;
+    private final FormValidationService formValidationService;
+    private final FormDataHistoryService formDataHistoryService;
+    private final FormFieldSearchService formFieldSearchService;
+    private final StudyDataExportService studyDataExportService;
 
     /**
      * Submit form data
@@ -126,10 +156,189 @@ public class StudyFormDataController {
         }
     }
 
+    /**
+     * Submit many forms in one request
+     * 
+     * POST /api/v1/form-data/bulk
+     * 
+     * Used for source-document catch-up and lab imports. Items are validated and
+     * submitted independently; the response reports each item in request order.
+     * 
+     * Response: 200 OK (also when some items failed)
+     * {
+     *   "total": 2, "succeeded": 1, "failed": 1, "durationMs": 840,
+     *   "results": [
+     *     { "index": 0, "success": true, "response": { "formDataId": "...", "recordId": 123, ... } },
+     *     { "index": 1, "success": false, "error": "Form data failed validation: age: Maximum value is 120" }
+     *   ]
+     * }
+     * 
+     * @param request Submissions
+     * @return Per-item results
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkFormSubmissionResponse> submitFormDataBatch(
+            @Valid @RequestBody BulkFormSubmissionRequest request) {
+        
+        log.info("POST /api/v1/form-data/bulk - Submit {} forms", request.getSubmissions().size());
+        
+        try {
+            BulkFormSubmissionResponse response = formDataService.submitFormDataBatch(request.getSubmissions());
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            log.error("Bulk submission rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (Exception e) {
+            log.error("Error submitting forms in bulk: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Validate form data without submitting it
+     * 
+     * POST /api/v1/form-data/validate
+     * 
+     * Same request body as POST /api/v1/form-data. Runs the compiled validation rules
+     * and edit checks of the submission's build.
+     * 
+     * Response: 200 OK
+     * {
+     *   "buildId": 3,
+     *   "formId": 5,
+     *   "valid": false,
+     *   "errors": [{"field": "age", "ruleId": "MAX_VALUE", "type": "range", "severity": "ERROR", "message": "Maximum value is 120"}],
+     *   "warnings": []
+     * }
+     * 
+     * @param request Form submission request
+     * @return Validation result
+     */
+    @PostMapping("/validate")
+    public ResponseEntity<ValidationResult> validateFormData(
+            @Valid @RequestBody FormSubmissionRequest request) {
+        
+        log.info("POST /api/v1/form-data/validate - Validate form data: studyId={}, formId={}", 
+            request.getStudyId(), request.getFormId());
+        
+        try {
+            return ResponseEntity.ok(formDataService.validateFormData(request));
+            
+        } catch (IllegalArgumentException e) {
+            log.error("Validation request error: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (Exception e) {
+            log.error("Error validating form data: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Run edit checks across all subjects of a study
+     * 
+     * POST /api/v1/form-data/study/{studyId}/edit-checks?buildId=3
+     * 
+     * Evaluates the build's edit checks (default: latest completed build) on the merged
+     * submitted data of every subject, including cross-form and missing data checks.
+     * 
+     * @param studyId Study ID
+     * @param buildId Optional build ID
+     * @return Findings per subject
+     */
+    @PostMapping("/study/{studyId}/edit-checks")
+    public ResponseEntity<EditCheckRunResult> runStudyEditChecks(
+            @PathVariable Long studyId,
+            @RequestParam(required = false) Long buildId) {
+        
+        log.info("POST /api/v1/form-data/study/{}/edit-checks - Run edit checks: buildId={}", studyId, buildId);
+        
+        try {
+            return ResponseEntity.ok(formValidationService.runStudyEditChecks(studyId, buildId));
+            
+        } catch (IllegalArgumentException e) {
+            log.error("Edit check request error: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (IllegalStateException e) {
+            log.error("Cannot run edit checks for study {}: {}", studyId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            
+        } catch (Exception e) {
+            log.error("Error running edit checks: studyId={}, error={}", studyId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Find subjects by clinical values
+     * 
+     * POST /api/v1/form-data/study/{studyId}/field-values/search
+     * 
+     * Filters subjects on the indexed values (study_form_field_values) of the fields declared
+     * searchable in the study's active build, without scanning form data JSON.
+     * See FieldValueSearchRequest for the criteria format.
+     * 
+     * @param studyId Study ID
+     * @param request Search criteria (ANDed)
+     * @return Matching subject IDs, 400 for invalid criteria, 409 if the study has no completed build
+     */
+    @PostMapping("/study/{studyId}/field-values/search")
+    public ResponseEntity<FieldValueSearchResponse> searchSubjectsByFieldValues(
+            @PathVariable Long studyId,
+            @Valid @RequestBody FieldValueSearchRequest request) {
+        
+        log.info("POST /api/v1/form-data/study/{}/field-values/search - Search subjects: criteria={}", 
+            studyId, request.getCriteria().size());
+        
+        try {
+            return ResponseEntity.ok(formFieldSearchService.searchSubjects(studyId, request));
+            
+        } catch (IllegalArgumentException e) {
+            log.error("Field value search request error: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+            
+        } catch (IllegalStateException e) {
+            log.error("Cannot search field values of study {}: {}", studyId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            
+        } catch (Exception e) {
+            log.error("Error searching field values: studyId={}, error={}", studyId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Re-index the searchable field values of a study
+     * 
+     * POST /api/v1/form-data/study/{studyId}/field-values/rebuild
+     * 
+     * Use after fields were declared searchable in a new build: values submitted before
+     * are only indexed by a rebuild.
+     * 
+     * @param studyId Study ID
+     * @return Number of indexed values
+     */
+    @PostMapping("/study/{studyId}/field-values/rebuild")
+    public ResponseEntity<Integer> rebuildFieldValues(@PathVariable Long studyId) {
+        
+        log.info("POST /api/v1/form-data/study/{}/field-values/rebuild - Rebuild searchable field values", studyId);
+        
+        try {
+            return ResponseEntity.ok(formFieldSearchService.rebuildStudy(studyId));
+            
+        } catch (Exception e) {
+            log.error("Error rebuilding field values: studyId={}, error={}", studyId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get all form submissions for a subject
      * 
-     * GET /api/v1/form-data/subject/{subjectId}
+     * GET /api/v1/form-data/subject/{subjectId}?studyId={studyId}
      * 
      * Response: 200 OK
      * [
@@ -144,16 +353,18 @@ public class StudyFormDataController {
      * ]
      * 
      * @param subjectId Subject ID
+     * @param studyId Study ID (optional; defaults to the studies the subject is enrolled in)
      * @return List of form submissions
      */
     @GetMapping("/subject/{subjectId}")
     public ResponseEntity<List<FormDataDto>> getSubjectFormData(
-            @PathVariable Long subjectId) {
+            @PathVariable Long subjectId,
+            @RequestParam(required = false) Long studyId) {
         
         log.info("GET /api/v1/form-data/subject/{} - Get subject form data", subjectId);
         
         try {
-            List<FormDataDto> formData = formDataService.getSubjectFormData(subjectId);
+            List<FormDataDto> formData = formDataService.getSubjectFormData(subjectId, studyId);
             
             log.info("Retrieved {} form submissions for subject {}", formData.size(), subjectId);
             
@@ -194,6 +405,94 @@ public class StudyFormDataController {
         }
     }
 
+    /**
+     * Export the current data of a study as flat datasets
+     * 
+     * GET /api/v1/form-data/study/{studyId}/export?standard=SDTM
+     * 
+     * Streams a ZIP archive with one CSV per form (latest version of every form instance)
+     * and variables.csv. Rows are read from a database cursor and written as they arrive,
+     * so the export size is not limited by the service memory (unlike GET /study/{studyId}).
+     * 
+     * @param studyId Study ID
+     * @param standard Column naming: FIELD (default), CDASH or SDTM
+     * @return ZIP archive, 400 for an unknown standard, 404 if the study does not exist
+     */
+    @GetMapping("/study/{studyId}/export")
+    public ResponseEntity<StreamingResponseBody> exportStudyData(
+            @PathVariable Long studyId,
+            @RequestParam(required = false) String standard) {
+        
+        log.info("GET /api/v1/form-data/study/{}/export - Export study data: standard={}", studyId, standard);
+        
+        ExportStandard exportStandard;
+        try {
+            exportStandard = ExportStandard.fromString(standard);
+        } catch (IllegalArgumentException e) {
+            log.error("Export request error: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StudyDataExportService.ExportPlan plan;
+        try {
+            plan = studyDataExportService.prepare(studyId, exportStandard);
+            
+        } catch (IllegalArgumentException e) {
+            log.error("Cannot export study {}: {}", studyId, e.getMessage());
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            log.error("Error preparing export: studyId={}, error={}", studyId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        
+        String fileName = String.format("study-%d-%s.zip", studyId, plan.standard().name().toLowerCase());
+        StreamingResponseBody body = output -> studyDataExportService.write(plan, output);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/zip"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .body(body);
+    }
+
+    /**
+     * Export the current data of a study to a file on the server
+     * 
+     * POST /api/v1/form-data/study/{studyId}/export/file?standard=SDTM
+     * 
+     * Same archive as GET /study/{studyId}/export, written to clinops.export.directory.
+     * 
+     * @param studyId Study ID
+     * @param standard Column naming: FIELD (default), CDASH or SDTM
+     * @return File path and row counts, 400 for an unknown standard, 404 if the study does not exist
+     */
+    @PostMapping("/study/{studyId}/export/file")
+    public ResponseEntity<StudyDataExportSummary> exportStudyDataToFile(
+            @PathVariable Long studyId,
+            @RequestParam(required = false) String standard) {
+        
+        log.info("POST /api/v1/form-data/study/{}/export/file - Export study data: standard={}", studyId, standard);
+        
+        ExportStandard exportStandard;
+        try {
+            exportStandard = ExportStandard.fromString(standard);
+        } catch (IllegalArgumentException e) {
+            log.error("Export request error: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            return ResponseEntity.ok(studyDataExportService.exportToFile(studyId, exportStandard));
+            
+        } catch (IllegalArgumentException e) {
+            log.error("Cannot export study {}: {}", studyId, e.getMessage());
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            log.error("Error exporting study data: studyId={}, error={}", studyId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get specific form submission by ID
      * 
@@ -226,6 +525,43 @@ public class StudyFormDataController {
         }
     }
 
+    /**
+     * Rebuild a form as it was at a point in time
+     * 
+     * GET /api/v1/form-data/{id}/as-of?timestamp=2025-11-30T23:59:59
+     * GET /api/v1/form-data/{id}/as-of?auditId=9051
+     * 
+     * The form is every version with the same study, form, subject and visit as record {id};
+     * the result is the latest version at or before the given timestamp / audit record.
+     * 
+     * @param id Any record ID of the form
+     * @param timestamp Point in time (ISO date-time, optional)
+     * @param auditId Audit record (optional)
+     * @return Form data snapshot, or 404 if the form did not exist yet
+     */
+    @GetMapping("/{id}/as-of")
+    public ResponseEntity<FormDataSnapshotDto> getFormDataAsOf(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp,
+            @RequestParam(required = false) Long auditId) {
+        
+        log.info("GET /api/v1/form-data/{}/as-of - timestamp={}, auditId={}", id, timestamp, auditId);
+        
+        try {
+            return formDataHistoryService.reconstruct(id, timestamp, auditId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Form data not found: id={}", id);
+            return ResponseEntity.notFound().build();
+            
+        } catch (Exception e) {
+            log.error("Error rebuilding form data: id={}, error={}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get form submissions by study and form definition
      * 
@@ -264,25 +600,27 @@ public class StudyFormDataController {
     /**
      * Get form data for a specific visit and form
      * 
-     * GET /api/v1/form-data/visit/{visitId}/form/{formId}
+     * GET /api/v1/form-data/visit/{visitId}/form/{formId}?studyId={studyId}
      * 
      * Use case: Load existing form data when user opens a form for editing
      * Returns: Most recent form submission for this visit+form combination
      * 
      * @param visitId Visit instance ID
      * @param formId Form definition ID
+     * @param studyId Study ID (optional; looked up from the visit when absent)
      * @return Form data or 404 if not found
      */
     @GetMapping("/visit/{visitId}/form/{formId}")
     public ResponseEntity<FormDataDto> getFormDataByVisitAndForm(
             @PathVariable Long visitId,
-            @PathVariable Long formId) {
+            @PathVariable Long formId,
+            @RequestParam(required = false) Long studyId) {
         
         log.info("GET /api/v1/form-data/visit/{}/form/{} - Get form data by visit and form", 
             visitId, formId);
         
         try {
-            FormDataDto formData = formDataService.getFormDataByVisitAndForm(visitId, formId);
+            FormDataDto formData = formDataService.getFormDataByVisitAndForm(visitId, formId, studyId);
             
             if (formData != null) {
                 log.info("Retrieved form data: visitId={}, formId={}, status={}", 
@@ -0,0 +1,19 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.domain.queries;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Query for a form submission (study_form_data) of a study by FormData aggregate UUID
+ * (study scoped: reads one partition)
+ * Result: StudyFormDataEntity (null if not projected yet); subscription updates: StudyFormDataEntity
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class FindFormDataByAggregateUuidQuery {
+
+    private final Long studyId;
+    private final String aggregateUuid;
+}
@@ -0,0 +1,43 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one item of a bulk form submission
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFormSubmissionItemResult {
+
+    /** Position of the item in the request */
+    private int index;
+
+    private boolean success;
+
+    /** Submission details (null when the item was rejected) */
+    private FormSubmissionResponse response;
+
+    /** Rejection reason (null on success) */
+    private String error;
+
+    public static BulkFormSubmissionItemResult success(int index, FormSubmissionResponse response) {
+        return BulkFormSubmissionItemResult.builder()
+            .index(index)
+            .success(true)
+            .response(response)
+            .build();
+    }
+
+    public static BulkFormSubmissionItemResult failure(int index, String error) {
+        return BulkFormSubmissionItemResult.builder()
+            .index(index)
+            .success(false)
+            .error(error)
+            .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * BulkFormSubmissionRequest - DTO for submitting many forms in one request
+ * 
+ * Used for source-document catch-up and lab imports. Each item is a regular
+ * FormSubmissionRequest and is accepted or rejected on its own.
+ * 
+ * Example JSON payload:
+ * {
+ *   "submissions": [
+ *     { "studyId": 1, "formId": 7, "subjectId": 42, "visitId": 301, "formData": {...}, "status": "SUBMITTED" },
+ *     { "studyId": 1, "formId": 7, "subjectId": 43, "visitId": 305, "formData": {...}, "status": "SUBMITTED" }
+ *   ]
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFormSubmissionRequest {
+
+    @NotEmpty(message = "At least one submission is required")
+    private List<@Valid FormSubmissionRequest> submissions;
+}
@@ -0,0 +1,26 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * BulkFormSubmissionResponse - per-item results of a bulk form submission
+ * 
+ * Items are reported in request order; failed items do not affect the others.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkFormSubmissionResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private long durationMs;
+    private List<BulkFormSubmissionItemResult> results;
+}
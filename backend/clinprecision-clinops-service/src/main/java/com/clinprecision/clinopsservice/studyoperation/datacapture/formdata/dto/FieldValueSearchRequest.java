@@ -0,0 +1,78 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * FieldValueSearchRequest - DTO for filtering subjects by clinical values
+ * 
+ * Criteria are ANDed: a subject matches when, for every criterion, the current version of one
+ * of its forms holds a matching value of the field. Only fields declared searchable in the
+ * study's active build can be used; values are converted to the field's type (number, text, date).
+ * 
+ * Example JSON payload (subjects with a serious headache AE and an ALT above 120):
+ * {
+ *   "criteria": [
+ *     { "formId": 12, "fieldName": "ae_term", "operator": "STARTS_WITH", "value": "Headache" },
+ *     { "formId": 12, "fieldName": "ae_serious", "operator": "EQ", "value": "Y" },
+ *     { "formId": 20, "fieldName": "alt_result", "operator": "GT", "value": 120 }
+ *   ],
+ *   "limit": 500
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldValueSearchRequest {
+
+    @NotEmpty(message = "At least one criterion is required")
+    private List<@Valid Criterion> criteria;
+
+    /**
+     * Maximum number of subjects returned (default and upper bound: clinops.form-data.search.max-results)
+     */
+    private Integer limit;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Criterion {
+
+        @NotNull(message = "Form ID is required")
+        private Long formId;
+
+        @NotBlank(message = "Field name is required")
+        private String fieldName;
+
+        /**
+         * EQ, NE, GT, GE, LT, LE, BETWEEN, IN, STARTS_WITH (text fields)
+         */
+        @NotBlank(message = "Operator is required")
+        private String operator;
+
+        /**
+         * Value of single-value operators, lower bound of BETWEEN
+         */
+        private Object value;
+
+        /**
+         * Upper bound of BETWEEN
+         */
+        private Object valueTo;
+
+        /**
+         * Values of IN
+         */
+        private List<Object> values;
+    }
+}
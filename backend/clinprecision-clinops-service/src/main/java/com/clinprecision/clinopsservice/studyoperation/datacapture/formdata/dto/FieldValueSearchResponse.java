@@ -0,0 +1,43 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * FieldValueSearchResponse - subjects matching a clinical value search
+ * 
+ * Example JSON response:
+ * {
+ *   "studyId": 1,
+ *   "buildId": 3,
+ *   "subjectIds": [1001, 1007, 1042],
+ *   "truncated": false
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldValueSearchResponse {
+
+    private Long studyId;
+
+    /**
+     * Build whose searchable fields the criteria were resolved against
+     */
+    private Long buildId;
+
+    /**
+     * Matching subjects, in ascending order
+     */
+    private List<Long> subjectIds;
+
+    /**
+     * True when more subjects matched than the limit
+     */
+    private boolean truncated;
+}
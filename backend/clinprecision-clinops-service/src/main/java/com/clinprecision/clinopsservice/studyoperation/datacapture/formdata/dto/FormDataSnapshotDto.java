@@ -0,0 +1,71 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * FormDataSnapshotDto - a form's data as it was at a point in time
+ *
+ * Rebuilt from study_form_data_audit by FormDataHistoryService: the nearest checkpoint
+ * plus the JSON patches recorded after it.
+ *
+ * Example JSON response (GET /api/v1/form-data/123/as-of?timestamp=2025-11-30T23:59:59):
+ * {
+ *   "recordId": 118,
+ *   "studyId": 1,
+ *   "formId": 5,
+ *   "subjectId": 1001,
+ *   "visitId": 44,
+ *   "status": "SUBMITTED",
+ *   "formData": { "systolic_bp": 128, "diastolic_bp": 82 },
+ *   "auditId": 9051,
+ *   "changedAt": "2025-11-28T10:15:00",
+ *   "changedBy": 42,
+ *   "checkpointAuditId": 9012,
+ *   "patchesApplied": 3
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormDataSnapshotDto {
+
+    /**
+     * study_form_data version that was current at the requested point
+     */
+    private Long recordId;
+
+    private Long studyId;
+    private Long formId;
+    private Long subjectId;
+    private Long visitId;
+
+    /**
+     * Status of that version: DRAFT, SUBMITTED, LOCKED
+     */
+    private String status;
+
+    /**
+     * Form data of that version
+     */
+    private Map<String, Object> formData;
+
+    /**
+     * Audit record that created the version, with who/when
+     */
+    private Long auditId;
+    private LocalDateTime changedAt;
+    private Long changedBy;
+
+    /**
+     * Checkpoint the reconstruction started from, and patches applied on top of it
+     */
+    private Long checkpointAuditId;
+    private int patchesApplied;
+}
@@ -0,0 +1,48 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * StudyDataExportSummary - result of a study data export written to a file
+ *
+ * Example JSON response:
+ * {
+ *   "studyId": 1,
+ *   "standard": "SDTM",
+ *   "file": "/home/app/clinprecision/clinops/exports/study-1-sdtm-20251029T101500.zip",
+ *   "rowsByDataset": { "DM": 120, "VS": 1840 },
+ *   "totalRows": 1960
+ * }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyDataExportSummary {
+
+    private Long studyId;
+
+    private String standard;
+
+    /**
+     * Export archive (one CSV per dataset plus variables.csv)
+     */
+    private String file;
+
+    /**
+     * Exported form instances per dataset
+     */
+    private Map<String, Long> rowsByDataset;
+
+    private long totalRows;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+}
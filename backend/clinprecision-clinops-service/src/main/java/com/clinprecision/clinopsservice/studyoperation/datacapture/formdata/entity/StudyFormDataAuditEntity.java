@@ -9,6 +9,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,7 +21,11 @@ import java.util.Map;
  * GCP/FDA 21 CFR Part 11 Compliance:
  * - Maintains complete audit trail of all form modifications
  * - Captures who made the change, when, and what changed
- * - Stores both old and new values for comparison
+ * - Stores an RFC 6902 patch against the previous version of the form (base_record_id);
+ *   "test" operations keep the previous value of every changed field
+ * - Periodic checkpoints store the complete form data (new_data), so any version is
+ *   rebuilt by applying patches forward from the nearest checkpoint (FormDataHistoryService)
+ * - The FormDataSubmittedEvent in the event store holds every complete version as well
  * - Immutable records (no updates or deletes)
  * 
  * Audit Actions:
@@ -67,6 +72,14 @@ public class StudyFormDataAuditEntity {
     @Column(name = "record_id", nullable = false)
     private Long recordId;
 
+    /**
+     * Version the diff is relative to
+     * Foreign key to study_form_data.id of the previous version of the same form
+     * (same study, form, subject and visit); NULL for the first version
+     */
+    @Column(name = "base_record_id")
+    private Long baseRecordId;
+
     /**
      * UUID from event sourcing
      * Links to FormDataAggregate identifier
@@ -112,21 +125,43 @@ public class StudyFormDataAuditEntity {
     private String action;
 
     /**
-     * Old data before change (NULL for INSERT)
-     * Stores complete form_data JSON before modification
+     * Previous state
+     * Written by the UPDATE/DELETE triggers for out-of-band changes;
+     * older submission rows hold the previous values of the changed fields
      */
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "old_data", columnDefinition = "json")
     private Map<String, Object> oldData;
 
     /**
-     * New data after change (NULL for DELETE)
-     * Stores complete form_data JSON after modification
+     * Complete form data for checkpoints (is_checkpoint = TRUE)
+     * NULL for the other submission rows and for DELETE
      */
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "new_data", columnDefinition = "json")
     private Map<String, Object> newData;
 
+    /**
+     * RFC 6902 patch from the base_record_id version to this one
+     * NULL for the first version of a form
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "patch", columnDefinition = "json")
+    private List<Map<String, Object>> patch;
+
+    /**
+     * True when new_data holds the complete form data
+     */
+    @Column(name = "is_checkpoint", nullable = false)
+    @Builder.Default
+    private Boolean isCheckpoint = false;
+
+    /**
+     * Patches since the last checkpoint of the form (0 for checkpoints)
+     */
+    @Column(name = "patch_depth")
+    private Integer patchDepth;
+
     /**
      * Who made the change
      * Foreign key to users table
@@ -202,11 +237,22 @@ public class StudyFormDataAuditEntity {
 
     /**
      * Get fields that were changed
-     * Compares oldData and newData to find differences
+     * Read from the patch when present (removed fields map to null),
+     * otherwise compares oldData and newData to find differences
      */
     public Map<String, Object> getChangedFields() {
+        if (patch != null) {
+            Map<String, Object> changes = new java.util.LinkedHashMap<>();
+            for (Map<String, Object> operation : patch) {
+                if (!"test".equals(operation.get("op"))) {
+                    String path = String.valueOf(operation.get("path"));
+                    changes.put(path.substring(1).replace("~1", "/").replace("~0", "~"), operation.get("value"));
+                }
+            }
+            return changes;
+        }
         if (oldData == null || newData == null) {
-            return newData != null ? newData : oldData;
+            return newData != null ? newData : oldData != null ? oldData : Map.of();
         }
 
         // Find fields that changed
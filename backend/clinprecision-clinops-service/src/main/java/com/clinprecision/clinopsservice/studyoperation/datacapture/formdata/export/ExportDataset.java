@@ -0,0 +1,36 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.export;
+
+import java.util.List;
+
+/**
+ * One dataset (CSV file) of a study data export: the current data of one form
+ *
+ * @param formId Form definition ID
+ * @param name Dataset name (domain of the chosen standard, else the form name), unique in the export
+ * @param formName Form definition name
+ * @param domain Domain of the chosen standard (null when the fields declare none)
+ * @param variables Field columns, in form field order
+ * @param rawFormData True for forms without a definition: the form data JSON is exported as one column
+ */
+public record ExportDataset(Long formId, String name, String formName, String domain,
+                            List<ExportVariable> variables, boolean rawFormData) {
+
+    /**
+     * File name of the dataset in the export archive
+     */
+    public String fileName() {
+        return name + ".csv";
+    }
+
+    /**
+     * A form field exported as a dataset column
+     *
+     * @param fieldName Field ID (key in form_data)
+     * @param name Column name in the chosen standard
+     * @param label Field label
+     * @param dataType Data type (standard data type, else the field type)
+     * @param codelist Controlled terminology / codelist of the field, if any
+     */
+    public record ExportVariable(String fieldName, String name, String label, String dataType, String codelist) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.export;
+
+/**
+ * Variable naming of a study data export
+ */
+public enum ExportStandard {
+
+    /** Form field IDs as captured */
+    FIELD,
+
+    /** cdash.variable / cdash.domain of the field metadata */
+    CDASH,
+
+    /** sdtm.variable / sdtm.domain of the field metadata */
+    SDTM;
+
+    /**
+     * @throws IllegalArgumentException for an unknown standard
+     */
+    public static ExportStandard fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return FIELD;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export standard: " + value + " (FIELD, CDASH or SDTM)");
+        }
+    }
+}
@@ -1,20 +1,54 @@
 package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.projection;
 
+import com.clinprecision.clinopsservice.common.config.AxonEventProcessingConfig;
+import com.clinprecision.clinopsservice.common.projection.ProjectionDeadLetterJdbcRepository;
+import com.clinprecision.clinopsservice.common.projection.ProjectionReferenceValidator;
+import com.clinprecision.clinopsservice.common.projection.ProjectionReferenceValidator.StudyReference;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.audit.JsonPatch;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.domain.events.FormDataSubmittedEvent;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataEntity;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataAuditEntity;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataRepository;
-import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataAuditRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository.FormVersion;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository.FormVersionKey;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service.FormFieldSearchService;
 import com.clinprecision.clinopsservice.studyoperation.visit.service.PatientVisitService;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.domain.queries.FindFormDataByAggregateUuidQuery;
+import com.clinprecision.clinopsservice.studyoperation.visit.domain.queries.FindVisitFormsQuery;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitFormStatusUpdateDto;
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitFormCompletionEntity;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitFormCompletionJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitFormCompletionJdbcRepository.CounterDelta;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitFormCompletionRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * FormData Projector - Event sourcing projection handler for visit-based form data
@@ -35,26 +69,41 @@ import java.util.List;
  * 
  * Handles event sourcing projections to build read models:
  * - study_form_data table (current state of form submissions)
- * - study_form_data_audit table (complete change history)
+ * - study_form_data_audit table (complete change history, one JSON patch or checkpoint per submission)
+ * - study_form_field_values table (typed values of searchable fields, current version of each form)
+ * - study_visit_form_completion counters (and study_visit_instances.completion_percentage)
  * 
  * Event Flow:
  * 1. FormDataAggregate emits FormDataSubmittedEvent
- * 2. This projector handles the event
- * 3. Updates study_form_data (read model)
- * 4. Creates audit record in study_form_data_audit
+ * 2. This projector collects the events of the event processor batch
+ * 3. Checks the study and build references (no foreign keys on the partitioned tables)
+ *    and batch inserts study_form_data (read model) rows
+ * 4. Batch inserts audit records in study_form_data_audit (patch against the form's previous version)
+ * 5. Replaces the indexed values of searchable fields of the submitted forms
+ * 6. Increments the visit form counters for forms submitted/locked for the first time
+ * 7. Checks visit completion (from the counters) once per visit in the batch
  * 
  * Idempotency:
- * - Checks if aggregate UUID already exists before creating
+ * - Checks which aggregate UUIDs already exist (one IN query per batch, scoped to the
+ *   studies of the batch) before creating
  * - Ensures event is only processed once
  * - Critical for event replay scenarios
  * 
+ * Subscription queries (emitted after the unit of work commits):
+ * - FindFormDataByAggregateUuidQuery: the saved record (releases StudyFormDataService)
+ * - FindVisitFormsQuery: VisitFormStatusUpdateDto for live visit form completion
+ * 
  * Transaction Management:
- * - @Transactional ensures atomicity
- * - If audit fails, form data insert also rolls back
- * - Maintains data consistency
+ * - The batch is written in the unit of work's transaction (prepare-commit phase), inside a savepoint
+ * - If any step fails, the batch is rolled back to the savepoint and projected again one event at a time
+ * - An event that fails on its own is rolled back and recorded in projection_dead_letters, and the
+ *   rest of the batch commits (one bad event does not block the processing group)
+ * - Transient database errors (deadlocks, lost connections) fail the unit of work: the processor
+ *   rolls back and retries the batch
  * 
  * GCP/FDA 21 CFR Part 11 Compliance:
  * - Every form submission creates immutable audit trail
+ * - This projector is the only audit writer for submissions (no INSERT trigger on study_form_data)
  * - Captures who, what, when for regulatory compliance
  * - Original event preserved in event store
  * - Audit record in database for reporting
@@ -65,103 +114,375 @@ import java.util.List;
  * - Audit trail will link: Visit → Form → Data
  */
 @Component
+@ProcessingGroup(AxonEventProcessingConfig.FORM_DATA_PROJECTION)
 @RequiredArgsConstructor
 @Slf4j
 public class FormDataProjector {
 
+    private static final String BATCH_RESOURCE = FormDataProjector.class.getName() + ".batch";
+
     private final StudyFormDataRepository formDataRepository;
-    private final StudyFormDataAuditRepository auditRepository;
+    private final StudyFormDataJdbcRepository formDataJdbcRepository;
+    private final VisitFormCompletionJdbcRepository completionJdbcRepository;
+    private final VisitFormCompletionRepository completionRepository;
     private final PatientVisitService patientVisitService;
+    private final FormFieldSearchService formFieldSearchService;
+    private final ProjectionReferenceValidator referenceValidator;
+    private final QueryUpdateEmitter queryUpdateEmitter;
+    private final ProjectionDeadLetterJdbcRepository deadLetterRepository;
+    private final PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${clinops.form-data.audit.checkpoint-interval:20}")
+    private int auditCheckpointInterval;
 
     /**
-     * Handle FormDataSubmittedEvent - Create form submission record
+     * Handle FormDataSubmittedEvent - Collect the event for batched projection
      * 
      * This method is called when a FormDataSubmittedEvent is emitted.
-     * It updates the read model (study_form_data) and creates an audit trail.
-     * 
-     * Processing Steps:
-     * 1. Check idempotency (aggregate UUID already exists?)
-     * 2. Create StudyFormDataEntity from event
-     * 3. Save to study_form_data table
-     * 4. Create audit record in study_form_data_audit
-     * 5. Log successful projection
-     * 
-     * Error Handling:
-     * - If UUID exists: Log warning and skip (idempotency)
-     * - If database error: Log error and throw (will retry)
-     * - Transaction rollback ensures consistency
+     * The event is added to the batch of the current unit of work; the batch is
+     * projected once, right before the unit of work commits (see projectBatch).
+     * With a batching event processor this covers every event of the processor batch;
+     * otherwise the batch holds a single event.
      * 
      * @param event FormDataSubmittedEvent from aggregate
      */
     @EventHandler
-    @Transactional
     public void on(FormDataSubmittedEvent event) {
         log.info("Projecting FormDataSubmittedEvent: formDataId={}, studyId={}, formId={}, subjectId={}, buildId={}, status={}", 
             event.getFormDataId(), event.getStudyId(), event.getFormId(), 
             event.getSubjectId(), event.getBuildId(), event.getStatus());
         
+        UnitOfWork<?> unitOfWork = CurrentUnitOfWork.get().root();
+        List<FormDataSubmittedEvent> batch = unitOfWork.getOrComputeResource(BATCH_RESOURCE, key -> {
+            List<FormDataSubmittedEvent> events = new ArrayList<>();
+            unitOfWork.onPrepareCommit(uow -> projectBatch(events));
+            return events;
+        });
+        batch.add(event);
+    }
+
+    /**
+     * Project a batch of FormDataSubmittedEvents, isolating events that cannot be projected
+     * 
+     * The batch is projected in a savepoint of the unit of work's transaction. If it fails, the
+     * savepoint is rolled back and the events are projected again one at a time, each in its own
+     * savepoint: an event that still fails is dead-lettered (recorded in projection_dead_letters
+     * and skipped), the others commit with the unit of work. Transient database errors are
+     * rethrown, so the processor retries the whole batch instead of dead-lettering valid events.
+     * 
+     * @param events Events of the current unit of work, in event order
+     */
+    private void projectBatch(List<FormDataSubmittedEvent> events) {
         try {
-            // Step 1: Check idempotency - has this event already been processed?
-            String aggregateUuid = event.getFormDataId().toString();
-            Optional<StudyFormDataEntity> existing = formDataRepository.findByAggregateUuid(aggregateUuid);
+            inSavepoint(() -> projectEvents(events));
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            if (events.size() == 1) {
+                deadLetter(events.get(0), e);
+                return;
+            }
+            log.warn("FormDataSubmittedEvent batch failed, projecting its {} events one at a time: {}", 
+                events.size(), e.getMessage());
+            for (FormDataSubmittedEvent event : events) {
+                try {
+                    inSavepoint(() -> projectEvents(List.of(event)));
+                } catch (RuntimeException eventError) {
+                    if (isTransient(eventError)) {
+                        throw eventError;
+                    }
+                    deadLetter(event, eventError);
+                }
+            }
+        }
+    }
+
+    /**
+     * Project FormDataSubmittedEvents - Create form submission records
+     * 
+     * Processing Steps:
+     * 1. Check idempotency for the whole batch (one IN query on study and aggregate UUID)
+     * 2. Check the study / build references and create StudyFormDataEntity rows from the new events
+     * 3. Batch insert into study_form_data and load the rows back (one IN query, for IDs)
+     * 4. Batch insert audit records into study_form_data_audit (JSON patches / checkpoints)
+     * 5. Replace the indexed searchable field values (study_form_field_values) of the submitted forms
+     * 6. Increment visit form counters and check visit completion once per distinct visit
+     * 7. Notify subscription queries
+     * 
+     * Error Handling:
+     * - Already projected UUIDs: Log warning and skip (idempotency)
+     * - Unknown study, or build of another study: IllegalStateException (as the former foreign keys)
+     * - If database error: Log error and throw (handled by projectBatch)
+     * 
+     * @param events Events to project, in event order
+     */
+    private void projectEvents(List<FormDataSubmittedEvent> events) {
+        long start = System.currentTimeMillis();
+        try {
+            // Step 1: Check idempotency - which events have already been processed?
+            Map<String, FormDataSubmittedEvent> eventsByUuid = new LinkedHashMap<>();
+            events.forEach(event -> eventsByUuid.putIfAbsent(event.getFormDataId().toString(), event));
+            Set<Long> studyIds = events.stream().map(FormDataSubmittedEvent::getStudyId).collect(Collectors.toSet());
             
-            if (existing.isPresent()) {
+            List<StudyFormDataEntity> existing = formDataRepository.findByStudyIdInAndAggregateUuidIn(
+                studyIds, eventsByUuid.keySet());
+            for (StudyFormDataEntity entity : existing) {
                 log.warn("FormDataSubmittedEvent already processed (idempotency check): formDataId={}, existing record id={}", 
-                    event.getFormDataId(), existing.get().getId());
-                return; // Skip duplicate event
+                    entity.getAggregateUuid(), entity.getId());
+                eventsByUuid.remove(entity.getAggregateUuid());
+                emitFormDataUpdate(entity);
+            }
+            if (eventsByUuid.isEmpty()) {
+                return;
             }
             
-            // Step 2: Create StudyFormDataEntity from event
-            StudyFormDataEntity formDataEntity = StudyFormDataEntity.builder()
-                .aggregateUuid(aggregateUuid)
-                .studyId(event.getStudyId())
-                .formId(event.getFormId())
-                .subjectId(event.getSubjectId())
-                .visitId(event.getVisitId())
-                .siteId(event.getSiteId())
-                .buildId(event.getBuildId())  // ✅ SET BUILD ID
-                .formData(event.getFormData())
-                .status(event.getStatus())
-                .version(event.getVersion())
-                .isLocked(event.isLocked())
-                .createdAt(event.getSubmittedAt())
-                .updatedAt(event.getSubmittedAt())
-                .createdBy(event.getSubmittedBy())
-                .updatedBy(event.getSubmittedBy())
-                .relatedRecordId(event.getRelatedRecordId())
-                .totalFields(event.getTotalFields())
-                .completedFields(event.getCompletedFields())
-                .requiredFields(event.getRequiredFields())
-                .completedRequiredFields(event.getCompletedRequiredFields())
-                .build();
+            // Step 2: Check references, then create StudyFormDataEntity rows from the events
+            referenceValidator.requireStudies(studyIds);
+            referenceValidator.requireBuilds(eventsByUuid.values().stream()
+                .map(event -> new StudyReference(event.getStudyId(), event.getBuildId()))
+                .toList());
+            List<StudyFormDataEntity> newRows = eventsByUuid.values().stream()
+                .map(this::toFormDataEntity)
+                .toList();
             
-            // Step 3: Save to study_form_data table
-            StudyFormDataEntity savedEntity = formDataRepository.save(formDataEntity);
+            // Counter deltas are computed against the forms completed before this batch
+            List<CounterDelta> counterDeltas = computeCounterDeltas(eventsByUuid.values());
             
-            log.info("Form data record created: id={}, formDataId={}, studyId={}, formId={}, subjectId={}, buildId={}, fieldCount={}", 
-                savedEntity.getId(), event.getFormDataId(), event.getStudyId(), 
-                event.getFormId(), event.getSubjectId(), event.getBuildId(), event.getFieldCount());
+            // Audit patches are computed against the latest version of each form before this batch
+            Map<FormVersionKey, FormVersion> latestVersions = formDataJdbcRepository.findLatestVersions(
+                eventsByUuid.values().stream().map(this::versionKey).collect(Collectors.toSet()));
+            List<Long> replacedRecordIds = latestVersions.values().stream().map(FormVersion::recordId).toList();
             
-            // Step 4: Create audit record
-            createAuditRecord(event, savedEntity.getId());
+            // Step 3: Batch insert into study_form_data, then load the rows with their generated IDs
+            formDataJdbcRepository.insertFormData(newRows);
+            Map<String, StudyFormDataEntity> savedByUuid = new HashMap<>();
+            formDataRepository.findByStudyIdInAndAggregateUuidIn(studyIds, eventsByUuid.keySet())
+                .forEach(entity -> savedByUuid.put(entity.getAggregateUuid(), entity));
             
-            // Step 5: Check if all visit forms are complete and auto-update visit status
-            if (event.getVisitId() != null && "SUBMITTED".equals(event.getStatus())) {
-                checkAndUpdateVisitCompletion(event.getVisitId(), event.getSubmittedBy());
+            // Step 4: Create audit records
+            List<StudyFormDataAuditEntity> auditRows = new ArrayList<>(eventsByUuid.size());
+            Map<Long, Long> lastSubmitterByVisit = new HashMap<>();
+            Map<FormVersionKey, StudyFormDataEntity> currentVersions = new LinkedHashMap<>();
+            for (FormDataSubmittedEvent event : eventsByUuid.values()) {
+                StudyFormDataEntity savedEntity = savedByUuid.get(event.getFormDataId().toString());
+                if (savedEntity == null) {
+                    throw new IllegalStateException("Form data row not found after insert: " + event.getFormDataId());
+                }
+                FormVersionKey versionKey = versionKey(event);
+                StudyFormDataAuditEntity auditRow = toAuditEntity(event, savedEntity.getId(), latestVersions.get(versionKey));
+                auditRows.add(auditRow);
+                // A later event of the same form in this batch is patched against this version
+                latestVersions.put(versionKey,
+                    new FormVersion(savedEntity.getId(), event.getFormData(), auditRow.getPatchDepth()));
+                currentVersions.put(versionKey, savedEntity);
+                
+                log.info("Form data record created: id={}, formDataId={}, studyId={}, formId={}, subjectId={}, buildId={}, fieldCount={}", 
+                    savedEntity.getId(), event.getFormDataId(), event.getStudyId(), 
+                    event.getFormId(), event.getSubjectId(), event.getBuildId(), event.getFieldCount());
+                
+                if (event.getVisitId() != null) {
+                    // Last submitter of the batch is recorded as the user completing the visit
+                    lastSubmitterByVisit.put(event.getVisitId(), event.getSubmittedBy());
+                }
             }
+            formDataJdbcRepository.insertAuditRecords(auditRows);
+            
+            // Step 5: Index searchable field values of the latest version of each submitted form
+            formFieldSearchService.indexVersions(replacedRecordIds, currentVersions.values());
+            
+            // Step 6: Increment visit form counters, then auto-complete visits whose forms are all submitted
+            List<Long> submittedVisits = updateVisitCounters(counterDeltas);
+            submittedVisits.forEach(visitId -> checkAndUpdateVisitCompletion(visitId, lastSubmitterByVisit.get(visitId)));
             
-            log.info("FormDataSubmittedEvent projection completed successfully: record id={}, buildId={}", 
-                savedEntity.getId(), event.getBuildId());
+            log.info("FormDataSubmittedEvent batch projected: events={}, inserted={}, skipped={}, visitsChecked={}, time={}ms", 
+                events.size(), newRows.size(), existing.size(), submittedVisits.size(), 
+                System.currentTimeMillis() - start);
+            
+            // Step 7: Notify subscription queries (delivered once this unit of work commits)
+            savedByUuid.values().forEach(this::emitFormDataUpdate);
             
         } catch (Exception e) {
-            log.error("Error projecting FormDataSubmittedEvent: formDataId={}, error={}", 
-                event.getFormDataId(), e.getMessage(), e);
+            log.error("Error projecting FormDataSubmittedEvent batch: events={}, error={}", 
+                events.size(), e.getMessage(), e);
             throw new RuntimeException("Failed to project FormDataSubmittedEvent", e);
         }
     }
 
     /**
-     * Create audit record for form submission
+     * Run a projection step in a savepoint of the unit of work's transaction
+     * 
+     * A failure rolls back to the savepoint only; the unit of work's transaction stays usable.
+     * Pending JPA changes are flushed before the savepoint is set, and entities loaded by a
+     * failed step are detached, so a retry does not read state that was rolled back.
+     */
+    private void inSavepoint(Runnable step) {
+        entityManager.flush();
+        TransactionTemplate savepoint = new TransactionTemplate(transactionManager);
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        try {
+            savepoint.executeWithoutResult(status -> step.run());
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Record an event that cannot be projected and skip it
+     * 
+     * The form stays missing from the read model until the cause is fixed and the processing
+     * group is replayed (or the event is projected again); StudyFormDataService callers waiting
+     * for the record time out.
+     */
+    private void deadLetter(FormDataSubmittedEvent event, RuntimeException error) {
+        log.error("FormDataSubmittedEvent cannot be projected, dead-lettering it: formDataId={}, studyId={}, formId={}, subjectId={}, visitId={}, error={}", 
+            event.getFormDataId(), event.getStudyId(), event.getFormId(), event.getSubjectId(), 
+            event.getVisitId(), error.getMessage(), error);
+        deadLetterRepository.record(AxonEventProcessingConfig.FORM_DATA_PROJECTION, 
+            event.getFormDataId().toString(), event.getStudyId(), event, error);
+    }
+
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compute the visit form counter increments of a batch
+     * 
+     * A form counts once per visit: resubmissions of a form that already has a SUBMITTED or
+     * LOCKED record do not increment submitted_forms again (same for LOCKED / locked_forms).
+     * Counters of visits seen for the first time are seeded from the current read model
+     * before the batch rows are inserted, so the increments apply on top of them
+     * (one seed / read per study of the batch).
+     * 
+     * @param events New (not yet projected) events, in event order
+     * @return One delta per visit with newly submitted/locked forms
+     */
+    private List<CounterDelta> computeCounterDeltas(Collection<FormDataSubmittedEvent> events) {
+        Map<Long, Set<Long>> visitIdsByStudy = new LinkedHashMap<>();
+        events.stream()
+            .filter(event -> event.getVisitId() != null)
+            .forEach(event -> visitIdsByStudy.computeIfAbsent(event.getStudyId(), studyId -> new LinkedHashSet<>())
+                .add(event.getVisitId()));
+        if (visitIdsByStudy.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<String, Boolean> completedForms = new HashMap<>();
+        visitIdsByStudy.forEach((studyId, visitIds) -> {
+            completionJdbcRepository.seedCounters(studyId, visitIds);
+            completedForms.putAll(completionJdbcRepository.findCompletedForms(studyId, visitIds));
+        });
+        
+        Map<Long, CounterDelta> deltas = new LinkedHashMap<>();
+        for (FormDataSubmittedEvent event : events) {
+            boolean locked = event.isLocked() || "LOCKED".equals(event.getStatus());
+            if (event.getVisitId() == null || !(locked || "SUBMITTED".equals(event.getStatus()))) {
+                continue;
+            }
+            String key = VisitFormCompletionJdbcRepository.formKey(event.getVisitId(), event.getFormId());
+            Boolean wasLocked = completedForms.get(key);
+            if (wasLocked != null && (wasLocked || !locked)) {
+                continue;
+            }
+            CounterDelta delta = deltas.computeIfAbsent(event.getVisitId(),
+                visitId -> CounterDelta.builder().studyId(event.getStudyId()).visitInstanceId(visitId).build());
+            if (wasLocked == null) {
+                delta.setSubmittedForms(delta.getSubmittedForms() + 1);
+            }
+            if (locked) {
+                delta.setLockedForms(delta.getLockedForms() + 1);
+            }
+            completedForms.put(key, locked);
+        }
+        return new ArrayList<>(deltas.values());
+    }
+
+    /**
+     * Apply counter increments and refresh completion_percentage of the affected visits
+     * 
+     * @return IDs of the visits that gained submitted forms
+     */
+    private List<Long> updateVisitCounters(List<CounterDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        completionJdbcRepository.incrementCounters(deltas);
+        deltas.stream()
+            .collect(Collectors.groupingBy(CounterDelta::getStudyId, LinkedHashMap::new,
+                Collectors.mapping(CounterDelta::getVisitInstanceId, Collectors.toList())))
+            .forEach(completionJdbcRepository::updateCompletionPercentage);
+        return deltas.stream()
+            .filter(delta -> delta.getSubmittedForms() > 0)
+            .map(CounterDelta::getVisitInstanceId)
+            .toList();
+    }
+
+    private FormVersionKey versionKey(FormDataSubmittedEvent event) {
+        return new FormVersionKey(event.getStudyId(), event.getFormId(), event.getSubjectId(), event.getVisitId());
+    }
+
+    private StudyFormDataEntity toFormDataEntity(FormDataSubmittedEvent event) {
+        return StudyFormDataEntity.builder()
+            .aggregateUuid(event.getFormDataId().toString())
+            .studyId(event.getStudyId())
+            .formId(event.getFormId())
+            .subjectId(event.getSubjectId())
+            .visitId(event.getVisitId())
+            .siteId(event.getSiteId())
+            .buildId(event.getBuildId())  // ✅ SET BUILD ID
+            .formData(event.getFormData())
+            .status(event.getStatus())
+            .version(event.getVersion())
+            .isLocked(event.isLocked())
+            .createdAt(event.getSubmittedAt())
+            .updatedAt(event.getSubmittedAt())
+            .createdBy(event.getSubmittedBy())
+            .updatedBy(event.getSubmittedBy())
+            .relatedRecordId(event.getRelatedRecordId())
+            .totalFields(event.getTotalFields())
+            .completedFields(event.getCompletedFields())
+            .requiredFields(event.getRequiredFields())
+            .completedRequiredFields(event.getCompletedRequiredFields())
+            .build();
+    }
+
+    /**
+     * Emit the projected record to subscribers of the record itself and of its visit's form list
+     */
+    private void emitFormDataUpdate(StudyFormDataEntity formData) {
+        queryUpdateEmitter.emit(FindFormDataByAggregateUuidQuery.class,
+            query -> formData.getStudyId().equals(query.getStudyId())
+                && formData.getAggregateUuid().equals(query.getAggregateUuid()),
+            formData);
+        
+        if (formData.getVisitId() != null) {
+            String completionStatus = formData.isSubmitted() ? "complete"
+                : formData.isDraft() && formData.getFieldCount() > 0 ? "in_progress" : "not_started";
+            queryUpdateEmitter.emit(FindVisitFormsQuery.class,
+                query -> formData.getVisitId().equals(query.getVisitInstanceId()),
+                VisitFormStatusUpdateDto.builder()
+                    .visitInstanceId(formData.getVisitId())
+                    .formId(formData.getFormId())
+                    .formDataId(formData.getAggregateUuid())
+                    .status(formData.getStatus())
+                    .completionStatus(completionStatus)
+                    .lastUpdated(formData.getUpdatedAt())
+                    .updatedBy(formData.getUpdatedBy())
+                    .build());
+        }
+    }
+
+    /**
+     * Build the audit record for a form submission
      * 
      * Every form submission creates an audit trail record.
      * This is required for:
@@ -173,56 +494,57 @@ public class FormDataProjector {
      * Audit Record Contents:
      * - studyId: Study context
      * - recordId: Reference to study_form_data record
+     * - baseRecordId: Previous version of the same form (NULL for the first version)
      * - buildId: Protocol version active at submission
      * - action: INSERT (new submission)
-     * - oldData: NULL (no previous data)
-     * - newData: Complete form data as JSON
+     * - patch: RFC 6902 patch from the previous version (NULL for the first version)
+     * - newData: Complete form data, only for checkpoints
+     * - isCheckpoint / patchDepth: the first version and every clinops.form-data.audit.checkpoint-interval
+     *   versions are checkpoints, so a version is never more than interval - 1 patches away from one
      * - changedBy: User who submitted
      * - changedAt: Submission timestamp
-     * - eventId: Link to event store
+     * - eventId: Link to event store (holds the complete form data)
      * 
      * @param event FormDataSubmittedEvent
      * @param recordId ID of saved StudyFormDataEntity
+     * @param previous Latest earlier version of the same form, or null
+     * @return Audit row (inserted with the rest of the batch)
      */
-    private void createAuditRecord(FormDataSubmittedEvent event, Long recordId) {
-        try {
-            StudyFormDataAuditEntity auditEntity = StudyFormDataAuditEntity.builder()
-                .studyId(event.getStudyId())
-                .recordId(recordId)
-                .aggregateUuid(event.getFormDataId().toString())
-                .buildId(event.getBuildId())  // ✅ SET BUILD ID (FDA compliance)
-                .action("INSERT") // New form submission
-                .oldData(null) // No previous data for new submission
-                .newData(event.getFormData()) // Complete form data
-                .changedBy(event.getSubmittedBy())
-                .changedAt(event.getSubmittedAt())
-                .reason(null) // No reason required for initial submission
-                .ipAddress(null) // TODO: Add IP address from security context if available
-                .eventId(event.getFormDataId().toString()) // Link to event
-                .build();
-            
-            StudyFormDataAuditEntity savedAudit = auditRepository.save(auditEntity);
-            
-            log.info("Audit record created: auditId={}, recordId={}, buildId={}, action=INSERT, fieldCount={}", 
-                savedAudit.getAuditId(), recordId, event.getBuildId(), event.getFieldCount());
-            
-        } catch (Exception e) {
-            log.error("Error creating audit record: recordId={}, error={}", recordId, e.getMessage(), e);
-            throw new RuntimeException("Failed to create audit record", e);
-        }
+    private StudyFormDataAuditEntity toAuditEntity(FormDataSubmittedEvent event, Long recordId, FormVersion previous) {
+        // Versions based on rows of unknown depth (written before patches were introduced) start a new checkpoint
+        int patchDepth = previous == null || previous.patchDepth() == null
+            ? 0 : (previous.patchDepth() + 1) % Math.max(1, auditCheckpointInterval);
+        boolean checkpoint = patchDepth == 0;
+        return StudyFormDataAuditEntity.builder()
+            .studyId(event.getStudyId())
+            .recordId(recordId)
+            .baseRecordId(previous != null ? previous.recordId() : null)
+            .aggregateUuid(event.getFormDataId().toString())
+            .buildId(event.getBuildId())  // ✅ SET BUILD ID (FDA compliance)
+            .action("INSERT") // New form submission
+            .patch(previous != null ? JsonPatch.diff(previous.formData(), event.getFormData()) : null)
+            .newData(checkpoint ? event.getFormData() : null) // Complete form data for checkpoints only
+            .isCheckpoint(checkpoint)
+            .patchDepth(patchDepth)
+            .changedBy(event.getSubmittedBy())
+            .changedAt(event.getSubmittedAt())
+            .reason(null) // No reason required for initial submission
+            .ipAddress(null) // TODO: Add IP address from security context if available
+            .eventId(event.getFormDataId().toString()) // Link to event
+            .build();
     }
 
     /**
      * Check if all forms in a visit are complete and auto-update visit status to COMPLETED
      * 
-     * This method is called after each form submission to check if the visit is now complete.
+     * This method is called once per visit that gained submitted forms in the batch.
      * If all required forms for the visit are SUBMITTED, the visit status is automatically
      * updated to COMPLETED.
      * 
      * Business Logic:
-     * - Only checks when a form status is SUBMITTED
-     * - Queries all forms for the visit from study_form_data
-     * - If ALL forms have status=SUBMITTED, updates visit to COMPLETED
+     * - Reads the visit's study_visit_form_completion counters (no form data is loaded)
+     * - If submitted forms cover every required form, updates visit to COMPLETED
+     * - Visits without required forms are never auto-completed
      * - Logs the automatic status transition
      * 
      * @param visitId The visit instance ID
@@ -232,21 +554,16 @@ public class FormDataProjector {
         try {
             log.info("Checking visit completion for visitId={}", visitId);
             
-            // Get all forms for this visit
-            List<StudyFormDataEntity> visitForms = formDataRepository.findByVisitIdOrderByCreatedAtDesc(visitId);
-            
-            if (visitForms.isEmpty()) {
-                log.warn("No forms found for visitId={}", visitId);
+            Optional<VisitFormCompletionEntity> counters = completionRepository.findById(visitId);
+            if (counters.isEmpty()) {
+                log.warn("No form completion counters found for visitId={}", visitId);
                 return;
             }
             
-            // Check if ALL forms are SUBMITTED
-            boolean allFormsComplete = visitForms.stream()
-                .allMatch(form -> "SUBMITTED".equals(form.getStatus()));
-            
-            if (allFormsComplete) {
+            VisitFormCompletionEntity completion = counters.get();
+            if (completion.isComplete()) {
                 log.info("All {} forms completed for visitId={}. Auto-updating visit status to COMPLETED.", 
-                    visitForms.size(), visitId);
+                    completion.getRequiredForms(), visitId);
                 
                 // Update visit status to COMPLETED
                 boolean updated = patientVisitService.updateVisitStatus(
@@ -263,11 +580,8 @@ public class FormDataProjector {
                     log.warn("Failed to update visit status to COMPLETED: visitId={}", visitId);
                 }
             } else {
-                long completedCount = visitForms.stream()
-                    .filter(form -> "SUBMITTED".equals(form.getStatus()))
-                    .count();
                 log.info("Visit not yet complete: visitId={}, completed={}/{}", 
-                    visitId, completedCount, visitForms.size());
+                    visitId, completion.getSubmittedForms(), completion.getRequiredForms());
             }
             
         } catch (Exception e) {
@@ -0,0 +1,30 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.projection;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.domain.queries.FindFormDataByAggregateUuidQuery;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataEntity;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataRepository;
+
+import org.axonframework.queryhandling.QueryHandler;
+import org.springframework.stereotype.Component;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * FormData Query Handler - Axon query side of the study_form_data read model
+ * 
+ * Serves point-in-time and subscription queries; subscription updates are emitted
+ * by FormDataProjector after each projected submission commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FormDataQueryHandler {
+
+    private final StudyFormDataRepository formDataRepository;
+
+    @QueryHandler
+    public StudyFormDataEntity handle(FindFormDataByAggregateUuidQuery query) {
+        log.debug("Handling {}", query);
+        return formDataRepository.findByStudyIdAndAggregateUuid(query.getStudyId(), query.getAggregateUuid()).orElse(null);
+    }
+}
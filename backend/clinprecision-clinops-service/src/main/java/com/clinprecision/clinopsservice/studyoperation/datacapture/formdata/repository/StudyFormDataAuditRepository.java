@@ -24,6 +24,9 @@ import java.util.List;
  * - Chronological ordering preserved
  * - No delete operations (audit records are immutable)
  * 
+ * study_form_data_audit is partitioned by HASH(study_id): every query is scoped to a study
+ * so it reads only that study's partition.
+ * 
  * Used by:
  * - FormDataProjector (to create audit records)
  * - Audit reporting services
@@ -38,13 +41,13 @@ public interface StudyFormDataAuditRepository extends JpaRepository<StudyFormDat
      * Use case: Complete change history for a form
      * Returns: All changes ordered chronologically (oldest first)
      */
-    List<StudyFormDataAuditEntity> findByRecordIdOrderByChangedAtAsc(Long recordId);
+    List<StudyFormDataAuditEntity> findByStudyIdAndRecordIdOrderByChangedAtAsc(Long studyId, Long recordId);
 
     /**
      * Find audit records by aggregate UUID
      * Use case: Event sourcing correlation, track all changes to an aggregate
      */
-    List<StudyFormDataAuditEntity> findByAggregateUuidOrderByChangedAtAsc(String aggregateUuid);
+    List<StudyFormDataAuditEntity> findByStudyIdAndAggregateUuidOrderByChangedAtAsc(Long studyId, String aggregateUuid);
 
     /**
      * Find audit records for a study
@@ -53,25 +56,10 @@ public interface StudyFormDataAuditRepository extends JpaRepository<StudyFormDat
     List<StudyFormDataAuditEntity> findByStudyIdOrderByChangedAtDesc(Long studyId);
 
     /**
-     * Find audit records by action type
-     * Use case: "Show me all form submissions" (action=INSERT) or "Show me all locks" (action=LOCK)
-     */
-    List<StudyFormDataAuditEntity> findByActionOrderByChangedAtDesc(String action);
-
-    /**
-     * Find audit records by user
+     * Find audit records of a study by user
      * Use case: User activity report, accountability tracking
      */
-    List<StudyFormDataAuditEntity> findByChangedByOrderByChangedAtDesc(Long changedBy);
-
-    /**
-     * Find audit records within date range
-     * Use case: Audit report for specific time period
-     */
-    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.changedAt >= :startDate AND a.changedAt <= :endDate ORDER BY a.changedAt DESC")
-    List<StudyFormDataAuditEntity> findByChangedAtBetween(
-        @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate);
+    List<StudyFormDataAuditEntity> findByStudyIdAndChangedByOrderByChangedAtDesc(Long studyId, Long changedBy);
 
     /**
      * Find audit records by study and date range
@@ -88,21 +76,23 @@ public interface StudyFormDataAuditRepository extends JpaRepository<StudyFormDat
      * Find most recent audit record for a form
      * Use case: Get last modification details
      */
-    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.recordId = :recordId ORDER BY a.changedAt DESC LIMIT 1")
-    StudyFormDataAuditEntity findMostRecentByRecordId(@Param("recordId") Long recordId);
+    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.studyId = :studyId AND a.recordId = :recordId " +
+           "ORDER BY a.changedAt DESC LIMIT 1")
+    StudyFormDataAuditEntity findMostRecentByRecordId(@Param("studyId") Long studyId, @Param("recordId") Long recordId);
 
     /**
      * Find audit records by action and study
-     * Use case: "Show me all form submissions for this study"
+     * Use case: "Show me all form submissions for this study" (action=INSERT) or all locks (action=LOCK)
      */
     List<StudyFormDataAuditEntity> findByStudyIdAndActionOrderByChangedAtDesc(Long studyId, String action);
 
     /**
-     * Find audit records with reasons
+     * Find audit records of a study with reasons
      * Use case: Track all changes that required justification
      */
-    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.reason IS NOT NULL AND a.reason <> '' ORDER BY a.changedAt DESC")
-    List<StudyFormDataAuditEntity> findAllWithReason();
+    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.studyId = :studyId " +
+           "AND a.reason IS NOT NULL AND a.reason <> '' ORDER BY a.changedAt DESC")
+    List<StudyFormDataAuditEntity> findAllWithReason(@Param("studyId") Long studyId);
 
     /**
      * Count audit records by action type for a study
@@ -115,55 +105,57 @@ public interface StudyFormDataAuditRepository extends JpaRepository<StudyFormDat
      * Count total audit records for a form
      * Use case: Form change frequency analysis
      */
-    Long countByRecordId(Long recordId);
+    Long countByStudyIdAndRecordId(Long studyId, Long recordId);
 
     /**
-     * Count audit records by user
+     * Count audit records of a study by user
      * Use case: User activity metrics
      */
-    Long countByChangedBy(Long changedBy);
+    Long countByStudyIdAndChangedBy(Long studyId, Long changedBy);
 
     /**
-     * Find recent audit activity
+     * Find recent audit activity of a study
      * Use case: Dashboard - recent changes
      */
-    @Query(value = "SELECT * FROM study_form_data_audit ORDER BY changed_at DESC LIMIT :limit", nativeQuery = true)
-    List<StudyFormDataAuditEntity> findRecentAuditActivity(@Param("limit") int limit);
+    @Query(value = "SELECT * FROM study_form_data_audit WHERE study_id = :studyId ORDER BY changed_at DESC LIMIT :limit",
+           nativeQuery = true)
+    List<StudyFormDataAuditEntity> findRecentAuditActivity(@Param("studyId") Long studyId, @Param("limit") int limit);
 
     /**
-     * Find UNLOCK actions (emergency use)
+     * Find UNLOCK actions of a study (emergency use)
      * Use case: Track database unlock events (should be rare)
      */
-    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.action = 'UNLOCK' ORDER BY a.changedAt DESC")
-    List<StudyFormDataAuditEntity> findUnlockEvents();
+    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.studyId = :studyId AND a.action = 'UNLOCK' ORDER BY a.changedAt DESC")
+    List<StudyFormDataAuditEntity> findUnlockEvents(@Param("studyId") Long studyId);
 
     /**
      * Find audit records by event ID
      * Use case: Correlation with event store
      */
-    List<StudyFormDataAuditEntity> findByEventId(String eventId);
+    List<StudyFormDataAuditEntity> findByStudyIdAndEventId(Long studyId, String eventId);
 
     /**
      * Check if event ID already processed (idempotency)
      */
-    boolean existsByEventId(String eventId);
+    boolean existsByStudyIdAndEventId(Long studyId, String eventId);
 
     /**
-     * Find significant changes (multiple fields modified)
+     * Find significant changes of a study (out-of-band updates modifying many fields)
      * Use case: Flag potentially suspicious changes for review
      */
-    @Query(value = "SELECT * FROM study_form_data_audit WHERE action = 'UPDATE' " +
-                   "AND jsonb_array_length(jsonb_object_keys(new_data)) > :threshold " +
+    @Query(value = "SELECT * FROM study_form_data_audit WHERE study_id = :studyId AND action = 'UPDATE' " +
+                   "AND JSON_LENGTH(JSON_EXTRACT(new_data, '$.form_data')) > :threshold " +
                    "ORDER BY changed_at DESC", nativeQuery = true)
-    List<StudyFormDataAuditEntity> findSignificantChanges(@Param("threshold") int threshold);
+    List<StudyFormDataAuditEntity> findSignificantChanges(@Param("studyId") Long studyId, @Param("threshold") int threshold);
 
     /**
-     * Find changes by specific user within date range
+     * Find changes of a study by specific user within date range
      * Use case: User-specific audit trail
      */
-    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.changedBy = :userId " +
+    @Query("SELECT a FROM StudyFormDataAuditEntity a WHERE a.studyId = :studyId AND a.changedBy = :userId " +
            "AND a.changedAt >= :startDate AND a.changedAt <= :endDate ORDER BY a.changedAt DESC")
     List<StudyFormDataAuditEntity> findByUserAndDateRange(
+        @Param("studyId") Long studyId,
         @Param("userId") Long userId,
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate);
@@ -0,0 +1,125 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JDBC reads of the study data export
+ *
+ * The current version of every form of a study (latest record per form, subject and visit)
+ * is read with a forward-only, read-only cursor in MySQL streaming mode (fetch size
+ * Integer.MIN_VALUE): rows are handed to the consumer one at a time as they arrive, so
+ * the service memory does not grow with the study size. The connection cannot run other
+ * statements until the stream is consumed.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class StudyFormDataExportJdbcRepository {
+
+    private static final String SELECT_STUDY_SQL =
+        "SELECT COALESCE(NULLIF(protocol_number, ''), CAST(id AS CHAR)) FROM studies WHERE id = ?";
+
+    private static final String SELECT_FORM_DEFINITIONS_SQL =
+        "SELECT id, name, fields FROM form_definitions WHERE study_id = ? ORDER BY id";
+
+    private static final String SELECT_CURRENT_VERSIONS_SQL =
+        "SELECT latest.form_id, latest.id, latest.subject_id, p.patient_number, latest.site_id, latest.visit_id, " +
+        "vd.name, COALESCE(svi.actual_visit_date, svi.visit_date), latest.status, latest.version, latest.updated_at, " +
+        "latest.form_data FROM (" +
+        "SELECT id, form_id, subject_id, visit_id, site_id, status, version, updated_at, form_data, ROW_NUMBER() OVER (" +
+        "PARTITION BY form_id, subject_id, visit_id ORDER BY created_at DESC, id DESC) AS rn " +
+        "FROM study_form_data WHERE study_id = ?) latest " +
+        "LEFT JOIN patients p ON p.id = latest.subject_id " +
+        "LEFT JOIN study_visit_instances svi ON svi.study_id = ? AND svi.id = latest.visit_id " +
+        "LEFT JOIN visit_definitions vd ON vd.id = svi.visit_id " +
+        "WHERE latest.rn = 1 ORDER BY latest.form_id, latest.subject_id, svi.visit_date, latest.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Study identifier used in exports (protocol number, else the study ID)
+     */
+    public Optional<String> findStudyIdentifier(Long studyId) {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_STUDY_SQL, String.class, studyId));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Form definitions of a study with their fields JSON
+     */
+    public List<FormDefinitionRow> findFormDefinitions(Long studyId) {
+        return jdbcTemplate.query(SELECT_FORM_DEFINITIONS_SQL,
+            (rs, rowNum) -> new FormDefinitionRow(rs.getLong(1), rs.getString(2), rs.getString(3)),
+            studyId);
+    }
+
+    /**
+     * Stream the current version of every form of a study, ordered by form
+     */
+    public void streamCurrentVersions(Long studyId, Consumer<ExportRow> consumer) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_CURRENT_VERSIONS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(Integer.MIN_VALUE);
+                statement.setLong(1, studyId);
+                statement.setLong(2, studyId);
+                return statement;
+            },
+            rs -> {
+                consumer.accept(toRow(rs));
+            });
+    }
+
+    private ExportRow toRow(ResultSet rs) throws SQLException {
+        Date visitDate = rs.getDate(8);
+        Timestamp updatedAt = rs.getTimestamp(11);
+        return new ExportRow(
+            rs.getLong(1),
+            rs.getLong(2),
+            nullableLong(rs, 3),
+            rs.getString(4),
+            nullableLong(rs, 5),
+            nullableLong(rs, 6),
+            rs.getString(7),
+            visitDate != null ? visitDate.toLocalDate() : null,
+            rs.getString(9),
+            nullableLong(rs, 10),
+            updatedAt != null ? updatedAt.toLocalDateTime() : null,
+            rs.getString(12));
+    }
+
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    public record FormDefinitionRow(Long id, String name, String fieldsJson) {
+    }
+
+    /**
+     * Current version of one form instance, with its subject and visit identifiers
+     */
+    public record ExportRow(Long formId, Long recordId, Long subjectId, String subjectNumber, Long siteId,
+                            Long visitId, String visitName, LocalDate visitDate, String status, Long version,
+                            LocalDateTime updatedAt, String formDataJson) {
+    }
+}
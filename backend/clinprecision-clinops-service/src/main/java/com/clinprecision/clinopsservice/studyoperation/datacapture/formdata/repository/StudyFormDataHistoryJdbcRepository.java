@@ -0,0 +1,132 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository.FormVersionKey;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC reads of the form data history kept in study_form_data_audit
+ *
+ * A form's history is the chain of submission audit rows (action = INSERT) of all its
+ * study_form_data versions (same study, form, subject and visit), in audit_id order.
+ * Reads start at the nearest checkpoint, so only the patches after it are loaded.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudyFormDataHistoryJdbcRepository {
+
+    private static final String SELECT_VERSION_KEY_SQL =
+        "SELECT study_id, form_id, subject_id, visit_id FROM study_form_data WHERE id = ?";
+
+    private static final String FORM_HISTORY_FROM =
+        "FROM study_form_data_audit a JOIN study_form_data f ON f.study_id = a.study_id AND f.id = a.record_id " +
+        "WHERE f.study_id = ? AND f.form_id = ? AND f.subject_id <=> ? AND f.visit_id <=> ? AND a.action = 'INSERT' ";
+
+    private static final String SELECT_CHECKPOINT_SQL =
+        "SELECT MAX(a.audit_id) " + FORM_HISTORY_FROM + "AND a.is_checkpoint = TRUE AND a.audit_id <= ? AND a.changed_at <= ?";
+
+    private static final String SELECT_HISTORY_SQL =
+        "SELECT a.audit_id, a.record_id, a.base_record_id, a.changed_at, a.changed_by, a.is_checkpoint, " +
+        "a.new_data, a.patch, f.status " + FORM_HISTORY_FROM +
+        "AND a.audit_id >= ? AND a.audit_id <= ? AND a.changed_at <= ? ORDER BY a.audit_id";
+
+    /** Upper bound used when no audit id / timestamp limit is given */
+    private static final Timestamp END_OF_TIME = Timestamp.valueOf("9999-12-31 23:59:59");
+
+    private static final TypeReference<Map<String, Object>> FORM_DATA_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<Map<String, Object>>> PATCH_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Form identity of a study_form_data record
+     */
+    public Optional<FormVersionKey> findVersionKey(Long recordId) {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_VERSION_KEY_SQL,
+                (rs, rowNum) -> {
+                    long subjectId = rs.getLong(3);
+                    Long subject = rs.wasNull() ? null : subjectId;
+                    long visitId = rs.getLong(4);
+                    Long visit = rs.wasNull() ? null : visitId;
+                    return new FormVersionKey(rs.getLong(1), rs.getLong(2), subject, visit);
+                },
+                recordId));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * History rows of a form from its nearest checkpoint up to a point in time / audit record
+     *
+     * @param key Form identity
+     * @param maxAuditId Last audit record to include (null = no limit)
+     * @param asOf Last change time to include (null = no limit)
+     * @return Rows in application order, starting with a checkpoint (empty if the form had no version yet)
+     */
+    public List<HistoryRow> findHistorySinceCheckpoint(FormVersionKey key, Long maxAuditId, LocalDateTime asOf) {
+        long auditLimit = maxAuditId != null ? maxAuditId : Long.MAX_VALUE;
+        Timestamp timeLimit = asOf != null ? Timestamp.valueOf(asOf) : END_OF_TIME;
+
+        Long checkpointId = jdbcTemplate.queryForObject(SELECT_CHECKPOINT_SQL, Long.class,
+            key.studyId(), key.formId(), key.subjectId(), key.visitId(), auditLimit, timeLimit);
+        if (checkpointId == null) {
+            return List.of();
+        }
+
+        List<HistoryRow> rows = new ArrayList<>();
+        jdbcTemplate.query(SELECT_HISTORY_SQL,
+            rs -> {
+                long baseRecordId = rs.getLong(3);
+                Long base = rs.wasNull() ? null : baseRecordId;
+                long changedBy = rs.getLong(5);
+                Long user = rs.wasNull() ? null : changedBy;
+                Timestamp changedAt = rs.getTimestamp(4);
+                rows.add(new HistoryRow(rs.getLong(1), rs.getLong(2), base,
+                    changedAt != null ? changedAt.toLocalDateTime() : null, user,
+                    rs.getBoolean(6),
+                    read(rs.getString(7), FORM_DATA_TYPE),
+                    read(rs.getString(8), PATCH_TYPE),
+                    rs.getString(9)));
+            },
+            key.studyId(), key.formId(), key.subjectId(), key.visitId(), checkpointId, auditLimit, timeLimit);
+        return rows;
+    }
+
+    private <T> T read(String json, TypeReference<T> type) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable form data audit JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One submission audit row of a form's history
+     *
+     * @param newData Complete form data (checkpoints), or changed fields (diff rows written before patches)
+     * @param patch RFC 6902 patch from the base version (null for the first version / diff rows)
+     * @param status Status of the study_form_data version the row audits
+     */
+    public record HistoryRow(Long auditId, Long recordId, Long baseRecordId, LocalDateTime changedAt,
+                             Long changedBy, boolean checkpoint, Map<String, Object> newData,
+                             List<Map<String, Object>> patch, String status) {
+    }
+}
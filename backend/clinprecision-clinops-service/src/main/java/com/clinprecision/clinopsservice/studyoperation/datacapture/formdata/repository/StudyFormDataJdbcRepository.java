@@ -0,0 +1,308 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataAuditEntity;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC repository for the batched writes performed by FormDataProjector.
+ *
+ * The projector collects every FormDataSubmittedEvent of an event processor batch and
+ * writes the new study_form_data and study_form_data_audit rows with
+ * {@link JdbcTemplate#batchUpdate} in chunks of {@code clinops.projection.jdbc-batch-size}
+ * rows, instead of one JPA save per row during data-entry bursts and replays.
+ *
+ * Before a batch is inserted, the latest existing version of each submitted form is loaded
+ * (one query) so the audit rows can store a JSON patch against it.
+ *
+ * It also serves the visit form status lookup: the latest record per form of a visit,
+ * read without the form_data payload (only its field count).
+ */
+@Repository
+@Slf4j
+public class StudyFormDataJdbcRepository {
+
+    private static final String INSERT_FORM_DATA_SQL =
+        "INSERT INTO study_form_data " +
+        "(aggregate_uuid, build_id, study_id, form_id, subject_id, visit_id, site_id, status, form_data, " +
+        "total_fields, completed_fields, required_fields, completed_required_fields, version, related_record_id, " +
+        "is_locked, created_at, updated_at, created_by, updated_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_AUDIT_SQL =
+        "INSERT INTO study_form_data_audit " +
+        "(study_id, build_id, record_id, base_record_id, aggregate_uuid, action, old_data, new_data, patch, " +
+        "is_checkpoint, patch_depth, changed_by, changed_at, change_reason, ip_address, event_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_VISIT_FORM_STATUSES_SQL =
+        "SELECT form_id, aggregate_uuid, status, COALESCE(JSON_LENGTH(form_data), 0), updated_at, updated_by FROM (" +
+        "SELECT form_id, aggregate_uuid, status, form_data, updated_at, updated_by, ROW_NUMBER() OVER (" +
+        "PARTITION BY form_id ORDER BY created_at DESC, id DESC) AS rn " +
+        "FROM study_form_data WHERE study_id = ? AND visit_id = ?) latest WHERE rn = 1";
+
+    private static final String SELECT_LATEST_VERSIONS_SQL =
+        "SELECT latest.id, latest.study_id, latest.form_id, latest.subject_id, latest.visit_id, latest.form_data, " +
+        "(SELECT MAX(a.patch_depth) FROM study_form_data_audit a " +
+        "WHERE a.study_id = latest.study_id AND a.record_id = latest.id AND a.action = 'INSERT') FROM (" +
+        "SELECT id, study_id, form_id, subject_id, visit_id, form_data, ROW_NUMBER() OVER (" +
+        "PARTITION BY study_id, form_id, subject_id, visit_id ORDER BY created_at DESC, id DESC) AS rn " +
+        "FROM study_form_data WHERE %s) latest WHERE rn = 1";
+
+    private static final String VERSION_KEY_CONDITION =
+        "(study_id = ? AND form_id = ? AND subject_id <=> ? AND visit_id <=> ?)";
+
+    private static final TypeReference<Map<String, Object>> FORM_DATA_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public StudyFormDataJdbcRepository(JdbcTemplate jdbcTemplate,
+                                       ObjectMapper objectMapper,
+                                       @Value("${clinops.projection.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Batch insert study_form_data rows (IDs are assigned by the database)
+     */
+    public int insertFormData(List<StudyFormDataEntity> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_FORM_DATA_SQL, rows, batchSize, (ps, row) -> {
+            ps.setString(1, row.getAggregateUuid());
+            setLong(ps, 2, row.getBuildId());
+            ps.setLong(3, row.getStudyId());
+            ps.setLong(4, row.getFormId());
+            setLong(ps, 5, row.getSubjectId());
+            setLong(ps, 6, row.getVisitId());
+            setLong(ps, 7, row.getSiteId());
+            ps.setString(8, row.getStatus());
+            ps.setString(9, toJson(row.getFormData()));
+            setInt(ps, 10, row.getTotalFields());
+            setInt(ps, 11, row.getCompletedFields());
+            setInt(ps, 12, row.getRequiredFields());
+            setInt(ps, 13, row.getCompletedRequiredFields());
+            setInt(ps, 14, row.getVersion());
+            ps.setString(15, row.getRelatedRecordId());
+            ps.setBoolean(16, Boolean.TRUE.equals(row.getIsLocked()));
+            setTimestamp(ps, 17, row.getCreatedAt());
+            setTimestamp(ps, 18, row.getUpdatedAt());
+            setLong(ps, 19, row.getCreatedBy());
+            setLong(ps, 20, row.getUpdatedBy());
+        });
+        return countRows(results, rows.size());
+    }
+
+    /**
+     * Batch insert study_form_data_audit rows
+     */
+    public int insertAuditRecords(List<StudyFormDataAuditEntity> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_AUDIT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.getStudyId());
+            setLong(ps, 2, row.getBuildId());
+            ps.setLong(3, row.getRecordId());
+            setLong(ps, 4, row.getBaseRecordId());
+            ps.setString(5, row.getAggregateUuid());
+            ps.setString(6, row.getAction());
+            ps.setString(7, toJson(row.getOldData()));
+            ps.setString(8, toJson(row.getNewData()));
+            ps.setString(9, toJson(row.getPatch()));
+            ps.setBoolean(10, Boolean.TRUE.equals(row.getIsCheckpoint()));
+            setInt(ps, 11, row.getPatchDepth());
+            setLong(ps, 12, row.getChangedBy());
+            setTimestamp(ps, 13, row.getChangedAt());
+            ps.setString(14, row.getReason());
+            ps.setString(15, row.getIpAddress());
+            ps.setString(16, row.getEventId());
+        });
+        return countRows(results, rows.size());
+    }
+
+    /**
+     * Load the latest record (by created_at) of every form of a visit in one query
+     * (one row per form: older versions are filtered out by the database)
+     *
+     * @param studyId Study of the visit instance (the query reads its partition only)
+     * @param visitInstanceId ID of the visit instance
+     * @return Latest status per form ID
+     */
+    public Map<Long, FormStatusRow> findLatestFormStatuses(Long studyId, Long visitInstanceId) {
+        Map<Long, FormStatusRow> latestByForm = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_VISIT_FORM_STATUSES_SQL,
+            rs -> {
+                long formId = rs.getLong(1);
+                Timestamp updatedAt = rs.getTimestamp(5);
+                long user = rs.getLong(6);
+                Long updatedBy = rs.wasNull() ? null : user;
+                latestByForm.put(formId, FormStatusRow.builder()
+                    .formId(formId)
+                    .aggregateUuid(rs.getString(2))
+                    .status(rs.getString(3))
+                    .fieldCount(rs.getInt(4))
+                    .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                    .updatedBy(updatedBy)
+                    .build());
+            },
+            studyId, visitInstanceId);
+        return latestByForm;
+    }
+
+    /**
+     * Load the latest existing version of each form (same study, form, subject and visit)
+     * in one query - the base of the audit patch of the next submission
+     *
+     * @param keys Forms about to receive a new version
+     * @return Latest version per key (keys without any record are absent)
+     */
+    public Map<FormVersionKey, FormVersion> findLatestVersions(Collection<FormVersionKey> keys) {
+        Map<FormVersionKey, FormVersion> versions = new HashMap<>();
+        if (keys.isEmpty()) {
+            return versions;
+        }
+        List<Object> args = new ArrayList<>(keys.size() * 4);
+        for (FormVersionKey key : keys) {
+            args.add(key.studyId());
+            args.add(key.formId());
+            args.add(key.subjectId());
+            args.add(key.visitId());
+        }
+        String where = String.join(" OR ", Collections.nCopies(keys.size(), VERSION_KEY_CONDITION));
+        jdbcTemplate.query(String.format(SELECT_LATEST_VERSIONS_SQL, where),
+            rs -> {
+                long subjectId = rs.getLong(4);
+                Long subject = rs.wasNull() ? null : subjectId;
+                long visitId = rs.getLong(5);
+                Long visit = rs.wasNull() ? null : visitId;
+                FormVersionKey key = new FormVersionKey(rs.getLong(2), rs.getLong(3), subject, visit);
+                int depth = rs.getInt(7);
+                Integer patchDepth = rs.wasNull() ? null : depth; // NULL: unknown depth (legacy audit rows)
+                versions.put(key, new FormVersion(rs.getLong(1), fromJson(rs.getString(6)), patchDepth));
+            },
+            args.toArray());
+        return versions;
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, FORM_DATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable form_data JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private String toJson(Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Form data is not serializable to JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        ps.setTimestamp(index, Timestamp.valueOf(value != null ? value : LocalDateTime.now()));
+    }
+
+    /**
+     * Drivers may report SUCCESS_NO_INFO (-2) for batched statements; count those as one row each.
+     */
+    private int countRows(int[][] results, int submitted) {
+        int total = Arrays.stream(results)
+            .flatMapToInt(Arrays::stream)
+            .map(count -> count < 0 ? 1 : count)
+            .sum();
+        log.debug("Batch write complete: submitted={}, affected={}, batchSize={}", submitted, total, batchSize);
+        return total;
+    }
+
+    /**
+     * Identity of a form across its versions: every submission is a new study_form_data row
+     */
+    public record FormVersionKey(Long studyId, Long formId, Long subjectId, Long visitId) {
+    }
+
+    /**
+     * One stored version of a form
+     *
+     * @param patchDepth Patches between this version and the form's last checkpoint (null if unknown)
+     */
+    public record FormVersion(Long recordId, Map<String, Object> formData, Integer patchDepth) {
+    }
+
+    /**
+     * Latest record of a form within a visit (without the form_data payload)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FormStatusRow {
+        private Long formId;
+        private String aggregateUuid;
+        private String status;
+        private int fieldCount;
+        private LocalDateTime updatedAt;
+        private Long updatedBy;
+
+        public boolean isSubmitted() {
+            return "SUBMITTED".equals(status) || "LOCKED".equals(status);
+        }
+
+        public boolean isDraft() {
+            return "DRAFT".equals(status);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,10 @@ import java.util.Optional;
  * - Study-wide queries (all submissions for a study)
  * - Status-based queries (DRAFT, SUBMITTED, LOCKED)
  * 
+ * study_form_data is partitioned by HASH(study_id): every list query is scoped to one or
+ * more studies so it reads only their partitions. Lookups by primary key or aggregate UUID
+ * without a study probe the index of each partition.
+ * 
  * Used by:
  * - FormDataProjector (to persist events)
  * - StudyFormDataService (to retrieve form data)
@@ -29,23 +34,30 @@ import java.util.Optional;
 public interface StudyFormDataRepository extends JpaRepository<StudyFormDataEntity, Long> {
 
     /**
-     * Find form data by aggregate UUID (used by Axon projection handlers)
+     * Find form data of a study by aggregate UUID (used by Axon query handlers, reads one partition)
      * This is the primary lookup for event sourcing integration
      */
-    Optional<StudyFormDataEntity> findByAggregateUuid(String aggregateUuid);
+    Optional<StudyFormDataEntity> findByStudyIdAndAggregateUuid(Long studyId, String aggregateUuid);
+
+    /**
+     * Find form data of the given studies for a set of aggregate UUIDs (one IN query)
+     * Used by FormDataProjector for the idempotency check of a whole event batch
+     */
+    List<StudyFormDataEntity> findByStudyIdInAndAggregateUuidIn(Collection<Long> studyIds,
+                                                                Collection<String> aggregateUuids);
 
     /**
-     * Find all forms for a specific subject
+     * Find all forms of a subject in the given studies
      * Use case: Subject profile page showing all completed forms
      * Returns: All forms ordered by creation date (newest first)
      */
-    List<StudyFormDataEntity> findBySubjectIdOrderByCreatedAtDesc(Long subjectId);
+    List<StudyFormDataEntity> findByStudyIdInAndSubjectIdOrderByCreatedAtDesc(Collection<Long> studyIds, Long subjectId);
 
     /**
      * Find all forms for a specific visit
      * Use case: Visit summary page showing all forms for that visit
      */
-    List<StudyFormDataEntity> findByVisitIdOrderByCreatedAtDesc(Long visitId);
+    List<StudyFormDataEntity> findByStudyIdAndVisitIdOrderByCreatedAtDesc(Long studyId, Long visitId);
 
     /**
      * Find all forms for a specific study
@@ -64,26 +76,20 @@ public interface StudyFormDataRepository extends JpaRepository<StudyFormDataEnti
      * Use case: Check if subject already completed a specific form
      * Returns: Most recent submission if multiple exist
      */
-    Optional<StudyFormDataEntity> findFirstBySubjectIdAndFormIdOrderByCreatedAtDesc(
-        Long subjectId, Long formId);
+    Optional<StudyFormDataEntity> findFirstByStudyIdAndSubjectIdAndFormIdOrderByCreatedAtDesc(
+        Long studyId, Long subjectId, Long formId);
 
     /**
      * Find specific form for a visit
      * Use case: Load existing form data when user opens a form for editing
      * Returns: Most recent submission for this visit+form combination
      */
-    Optional<StudyFormDataEntity> findFirstByVisitIdAndFormIdOrderByCreatedAtDesc(
-        Long visitId, Long formId);
-
-    /**
-     * Find forms by status
-     * Use case: "Show me all draft forms" or "Show me all locked forms"
-     */
-    List<StudyFormDataEntity> findByStatusOrderByCreatedAtDesc(String status);
+    Optional<StudyFormDataEntity> findFirstByStudyIdAndVisitIdAndFormIdOrderByCreatedAtDesc(
+        Long studyId, Long visitId, Long formId);
 
     /**
      * Find forms by study and status
-     * Use case: Study-specific status queries
+     * Use case: Study-specific status queries ("Show me all draft forms")
      */
     List<StudyFormDataEntity> findByStudyIdAndStatusOrderByCreatedAtDesc(Long studyId, String status);
 
@@ -102,37 +108,38 @@ public interface StudyFormDataRepository extends JpaRepository<StudyFormDataEnti
     List<StudyFormDataEntity> findVisitFormsByStudy(@Param("studyId") Long studyId);
 
     /**
-     * Find locked forms
+     * Find locked forms of a study
      * Use case: Database lock verification
      */
-    List<StudyFormDataEntity> findByIsLockedTrue();
+    List<StudyFormDataEntity> findByStudyIdAndIsLockedTrue(Long studyId);
 
     /**
-     * Find forms by site
+     * Find forms of a study by site
      * Use case: Site-specific reports, multi-site studies
      */
-    List<StudyFormDataEntity> findBySiteIdOrderByCreatedAtDesc(Long siteId);
+    List<StudyFormDataEntity> findByStudyIdAndSiteIdOrderByCreatedAtDesc(Long studyId, Long siteId);
 
     /**
-     * Find forms created within date range
+     * Find forms of a study created within date range
      * Use case: Reporting, analytics, audits
      */
-    @Query("SELECT f FROM StudyFormDataEntity f WHERE f.createdAt >= :startDate AND f.createdAt <= :endDate ORDER BY f.createdAt DESC")
-    List<StudyFormDataEntity> findByCreatedAtBetween(
+    @Query("SELECT f FROM StudyFormDataEntity f WHERE f.studyId = :studyId AND f.createdAt >= :startDate AND f.createdAt <= :endDate ORDER BY f.createdAt DESC")
+    List<StudyFormDataEntity> findByStudyIdAndCreatedAtBetween(
+        @Param("studyId") Long studyId,
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate);
 
     /**
-     * Find forms by creator
+     * Find forms of a study by creator
      * Use case: User-specific form list
      */
-    List<StudyFormDataEntity> findByCreatedByOrderByCreatedAtDesc(Long createdBy);
+    List<StudyFormDataEntity> findByStudyIdAndCreatedByOrderByCreatedAtDesc(Long studyId, Long createdBy);
 
     /**
-     * Find forms with related record ID
+     * Find forms of a study with related record ID
      * Use case: Track forms linked to patient status changes, query resolutions
      */
-    List<StudyFormDataEntity> findByRelatedRecordId(String relatedRecordId);
+    List<StudyFormDataEntity> findByStudyIdAndRelatedRecordId(Long studyId, String relatedRecordId);
 
     /**
      * Count forms by status for a study
@@ -142,40 +149,21 @@ public interface StudyFormDataRepository extends JpaRepository<StudyFormDataEnti
     List<Object[]> countFormsByStatusForStudy(@Param("studyId") Long studyId);
 
     /**
-     * Count total forms for a subject
+     * Count total forms for a subject in a study
      * Use case: Subject profile summary
      */
-    Long countBySubjectId(Long subjectId);
+    Long countByStudyIdAndSubjectId(Long studyId, Long subjectId);
 
     /**
      * Check if form exists for subject
      * Use case: Validation - "Has this subject completed screening?"
      */
-    boolean existsBySubjectIdAndFormId(Long subjectId, Long formId);
+    boolean existsByStudyIdAndSubjectIdAndFormId(Long studyId, Long subjectId, Long formId);
 
     /**
-     * Check if aggregate UUID exists (for idempotency)
-     */
-    boolean existsByAggregateUuid(String aggregateUuid);
-
-    /**
-     * Find most recent form submissions
+     * Find most recent form submissions of a study
      * Use case: Dashboard - recent activity
      */
-    @Query(value = "SELECT * FROM study_form_data ORDER BY created_at DESC LIMIT :limit", nativeQuery = true)
-    List<StudyFormDataEntity> findRecentSubmissions(@Param("limit") int limit);
-
-    /**
-     * Search form data by JSON field (PostgreSQL specific)
-     * Use case: "Find all forms where eligibility_age = true"
-     * 
-     * Example usage:
-     * findByFormDataJsonField(studyId, "eligibility_age", "true")
-     */
-    @Query(value = "SELECT * FROM study_form_data WHERE study_id = :studyId " +
-                   "AND form_data->>:fieldName = :fieldValue", nativeQuery = true)
-    List<StudyFormDataEntity> findByFormDataJsonField(
-        @Param("studyId") Long studyId,
-        @Param("fieldName") String fieldName,
-        @Param("fieldValue") String fieldValue);
+    @Query(value = "SELECT * FROM study_form_data WHERE study_id = :studyId ORDER BY created_at DESC LIMIT :limit", nativeQuery = true)
+    List<StudyFormDataEntity> findRecentSubmissions(@Param("studyId") Long studyId, @Param("limit") int limit);
 }
@@ -0,0 +1,247 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search.FieldValueOperator;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search.FieldValueType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository of study_form_field_values, the typed values of searchable form fields
+ *
+ * The table holds the current version of each form only: FormDataProjector deletes the rows of
+ * the version a submission replaces and inserts the rows of the new one (batched, in chunks of
+ * {@code clinops.projection.jdbc-batch-size} rows). Subject search runs on its
+ * (study_id, form_id, field_name, value_*) indexes instead of scanning form_data JSON.
+ */
+@Repository
+@Slf4j
+public class StudyFormFieldValueJdbcRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO study_form_field_values " +
+        "(study_id, form_id, field_name, value_num, value_text, value_date, record_id, subject_id, visit_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_BY_RECORDS_SQL =
+        "DELETE FROM study_form_field_values WHERE record_id IN (%s)";
+
+    private static final String DELETE_BY_STUDY_SQL =
+        "DELETE FROM study_form_field_values WHERE study_id = ?";
+
+    private static final String SELECT_CURRENT_VERSIONS_SQL =
+        "SELECT id, form_id, subject_id, visit_id, build_id, form_data FROM (" +
+        "SELECT id, form_id, subject_id, visit_id, build_id, form_data, ROW_NUMBER() OVER (" +
+        "PARTITION BY form_id, subject_id, visit_id ORDER BY created_at DESC, id DESC) AS rn " +
+        "FROM study_form_data WHERE study_id = ?) latest WHERE rn = 1";
+
+    private static final String CONDITION_SQL = "%1$s.form_id = ? AND %1$s.field_name = ? AND %2$s";
+
+    private static final TypeReference<Map<String, Object>> FORM_DATA_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public StudyFormFieldValueJdbcRepository(JdbcTemplate jdbcTemplate,
+                                             ObjectMapper objectMapper,
+                                             @Value("${clinops.projection.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Batch insert indexed values
+     */
+    public void insertValues(List<FieldValueRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.studyId());
+            ps.setLong(2, row.formId());
+            ps.setString(3, row.fieldName());
+            if (row.type() == FieldValueType.NUMBER) {
+                ps.setBigDecimal(4, (BigDecimal) row.value());
+            } else {
+                ps.setNull(4, Types.DECIMAL);
+            }
+            ps.setString(5, row.type() == FieldValueType.TEXT ? (String) row.value() : null);
+            if (row.type() == FieldValueType.DATE) {
+                ps.setDate(6, Date.valueOf((LocalDate) row.value()));
+            } else {
+                ps.setNull(6, Types.DATE);
+            }
+            ps.setLong(7, row.recordId());
+            setLong(ps, 8, row.subjectId());
+            setLong(ps, 9, row.visitId());
+        });
+        log.debug("Inserted {} form field values", rows.size());
+    }
+
+    /**
+     * Delete the indexed values of form versions that were replaced by a newer version
+     */
+    public int deleteByRecordIds(Collection<Long> recordIds) {
+        if (recordIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(recordIds.size(), "?"));
+        return jdbcTemplate.update(String.format(DELETE_BY_RECORDS_SQL, placeholders), recordIds.toArray());
+    }
+
+    /**
+     * Delete all indexed values of a study (before a rebuild)
+     */
+    public int deleteByStudy(Long studyId) {
+        return jdbcTemplate.update(DELETE_BY_STUDY_SQL, studyId);
+    }
+
+    /**
+     * Stream the current version of every form of a study (latest record per form, subject and visit)
+     *
+     * Rows are streamed from MySQL (fetch size Integer.MIN_VALUE) on a connection of their own:
+     * no other statement can run on a connection while it streams, and the consumer queries and
+     * writes on the caller's transactional connection.
+     */
+    public void forEachCurrentVersion(Long studyId, Consumer<CurrentVersion> consumer) {
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            new JdbcTemplate(new SingleConnectionDataSource(connection, true)).query(
+                con -> {
+                    PreparedStatement statement = con.prepareStatement(SELECT_CURRENT_VERSIONS_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(Integer.MIN_VALUE);
+                    statement.setLong(1, studyId);
+                    return statement;
+                },
+                rs -> {
+                    long subjectId = rs.getLong(3);
+                    Long subject = rs.wasNull() ? null : subjectId;
+                    long visitId = rs.getLong(4);
+                    Long visit = rs.wasNull() ? null : visitId;
+                    long buildId = rs.getLong(5);
+                    Long build = rs.wasNull() ? null : buildId;
+                    consumer.accept(new CurrentVersion(rs.getLong(1), rs.getLong(2), subject, visit, build,
+                        fromJson(rs.getString(6))));
+                });
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Failed to obtain a connection to stream current form versions", e);
+        }
+    }
+
+    /**
+     * Subjects of a study that have, for every condition, a current form value matching it
+     *
+     * @param limit Maximum number of subject IDs returned
+     * @return Subject IDs in ascending order
+     */
+    public List<Long> findSubjects(Long studyId, List<ValueCondition> conditions, int limit) {
+        if (conditions.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+            "SELECT DISTINCT v0.subject_id FROM study_form_field_values v0 " +
+            "WHERE v0.study_id = ? AND v0.subject_id IS NOT NULL AND ");
+        args.add(studyId);
+        appendCondition(sql, "v0", conditions.get(0), args);
+        for (int i = 1; i < conditions.size(); i++) {
+            String alias = "v" + i;
+            sql.append(" AND EXISTS (SELECT 1 FROM study_form_field_values ").append(alias)
+                .append(" WHERE ").append(alias).append(".study_id = v0.study_id AND ")
+                .append(alias).append(".subject_id = v0.subject_id AND ");
+            appendCondition(sql, alias, conditions.get(i), args);
+            sql.append(")");
+        }
+        sql.append(" ORDER BY v0.subject_id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    private void appendCondition(StringBuilder sql, String alias, ValueCondition condition, List<Object> args) {
+        String column = alias + "." + condition.type().getColumn();
+        sql.append(String.format(CONDITION_SQL, alias, condition.operator().toSql(column, condition.values().size())));
+        args.add(condition.formId());
+        args.add(condition.fieldName());
+        for (Object value : condition.values()) {
+            args.add(value instanceof LocalDate date ? Date.valueOf(date) : value);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, FORM_DATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable form_data JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    /**
+     * One indexed value of a form version
+     *
+     * @param value BigDecimal (NUMBER), String (TEXT) or LocalDate (DATE)
+     */
+    public record FieldValueRow(Long studyId, Long formId, String fieldName, FieldValueType type, Object value,
+                                Long recordId, Long subjectId, Long visitId) {
+
+        /**
+         * Row without field/value, identifying the form version the values belong to
+         */
+        public static FieldValueRow of(Long studyId, Long formId, Long recordId, Long subjectId, Long visitId) {
+            return new FieldValueRow(studyId, formId, null, null, null, recordId, subjectId, visitId);
+        }
+
+        public FieldValueRow withValue(String fieldName, FieldValueType type, Object value) {
+            return new FieldValueRow(studyId, formId, fieldName, type, value, recordId, subjectId, visitId);
+        }
+    }
+
+    /**
+     * Current version of a form, as read for an index rebuild
+     */
+    public record CurrentVersion(Long recordId, Long formId, Long subjectId, Long visitId, Long buildId,
+                                 Map<String, Object> formData) {
+    }
+
+    /**
+     * One search criterion: a searchable field of a form compared with typed values
+     *
+     * @param values Converted values (BigDecimal, String or LocalDate), as many as the operator takes
+     */
+    public record ValueCondition(Long formId, String fieldName, FieldValueType type,
+                                 FieldValueOperator operator, List<Object> values) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search;
+
+import java.util.Collections;
+
+/**
+ * Comparison of a search criterion against the typed value column
+ */
+public enum FieldValueOperator {
+
+    EQ("= ?"),
+    NE("<> ?"),
+    GT("> ?"),
+    GE(">= ?"),
+    LT("< ?"),
+    LE("<= ?"),
+    BETWEEN("BETWEEN ? AND ?"),
+    IN(null),
+    STARTS_WITH("LIKE ?");
+
+    private final String predicate;
+
+    FieldValueOperator(String predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * SQL predicate on a column, with one placeholder per value
+     */
+    public String toSql(String column, int valueCount) {
+        if (this == IN) {
+            return column + " IN (" + String.join(", ", Collections.nCopies(valueCount, "?")) + ")";
+        }
+        return column + " " + predicate;
+    }
+}
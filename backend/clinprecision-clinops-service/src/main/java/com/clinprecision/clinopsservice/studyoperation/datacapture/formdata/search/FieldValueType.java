@@ -0,0 +1,71 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Typed column of study_form_field_values holding a searchable field's values
+ */
+public enum FieldValueType {
+
+    NUMBER("value_num"),
+    TEXT("value_text"),
+    DATE("value_date");
+
+    /** value_text is VARCHAR(255) */
+    public static final int MAX_TEXT_LENGTH = 255;
+
+    private final String column;
+
+    FieldValueType(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Type declared in field metadata (search.valueType, or else validation.type / field type)
+     *
+     * @return The type, or null for names that do not map to a typed column
+     */
+    public static FieldValueType fromMetadata(String type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type.toLowerCase()) {
+            case "number", "integer", "decimal", "numeric" -> NUMBER;
+            case "date", "datetime" -> DATE;
+            case "text", "string", "select", "radio", "textarea" -> TEXT;
+            default -> null;
+        };
+    }
+
+    /**
+     * Convert a form data value (or search value) to the column type
+     *
+     * Dates take the ISO date part of date/datetime strings ("2025-10-28T09:30" -> 2025-10-28).
+     *
+     * @return BigDecimal, String or LocalDate; null if the value is empty or not convertible
+     */
+    public Object convert(Object value) {
+        if (value == null || value instanceof Boolean && this != TEXT) {
+            return null;
+        }
+        String text = String.valueOf(value).trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return switch (this) {
+                case NUMBER -> value instanceof BigDecimal number ? number : new BigDecimal(text);
+                case TEXT -> text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+                case DATE -> LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text);
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
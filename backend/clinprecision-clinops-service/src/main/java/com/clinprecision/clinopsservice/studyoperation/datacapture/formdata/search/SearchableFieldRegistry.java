@@ -0,0 +1,132 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search;
+
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
+import com.clinprecision.clinopsservice.studydesign.design.form.dto.metadata.FieldMetadata;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository.ValidationRuleJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository.ValidationRuleJdbcRepository.BuildInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Searchable form fields per study database build
+ *
+ * Read from the "search" section of each field's metadata in form_definitions.fields
+ * (see resources/schemas/form-field-metadata-schema.json). The column type is search.valueType,
+ * or else derived from validation.type / the field type (text when neither maps to a type).
+ *
+ * Only COMPLETED builds are cached (their form definitions no longer change), at most
+ * MAX_CACHED_BUILDS of them; the cache is cleared when full.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchableFieldRegistry {
+
+    private static final int MAX_CACHED_BUILDS = 64;
+
+    private final ValidationRuleJdbcRepository ruleRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, SearchableFields> fieldsByBuild = new ConcurrentHashMap<>();
+
+    /**
+     * Searchable fields of a build
+     *
+     * @throws IllegalArgumentException if the build does not exist
+     */
+    public SearchableFields forBuild(Long buildId) {
+        SearchableFields cached = fieldsByBuild.get(buildId);
+        if (cached != null) {
+            return cached;
+        }
+
+        BuildInfo build = ruleRepository.findBuild(buildId)
+            .orElseThrow(() -> new IllegalArgumentException("Study database build not found: " + buildId));
+        SearchableFields fields = resolve(buildId, build.studyId());
+        if (StudyDatabaseBuildStatus.COMPLETED.name().equals(build.buildStatus())) {
+            if (fieldsByBuild.size() >= MAX_CACHED_BUILDS) {
+                fieldsByBuild.clear();
+            }
+            fieldsByBuild.put(buildId, fields);
+        }
+        return fields;
+    }
+
+    private SearchableFields resolve(Long buildId, Long studyId) {
+        Map<Long, Map<String, FieldValueType>> fieldsByForm = new LinkedHashMap<>();
+        ruleRepository.findFormFields(studyId).forEach((formId, fieldsJson) -> {
+            Map<String, FieldValueType> fields = readSearchableFields(formId, fieldsJson);
+            if (!fields.isEmpty()) {
+                fieldsByForm.put(formId, fields);
+            }
+        });
+        log.info("Resolved searchable fields of build {} (study {}): forms={}, fields={}", buildId, studyId,
+            fieldsByForm.size(), fieldsByForm.values().stream().mapToInt(Map::size).sum());
+        return new SearchableFields(buildId, studyId, fieldsByForm);
+    }
+
+    private Map<String, FieldValueType> readSearchableFields(Long formId, String fieldsJson) {
+        Map<String, FieldValueType> searchable = new LinkedHashMap<>();
+        if (fieldsJson == null || fieldsJson.isBlank()) {
+            return searchable;
+        }
+        List<JsonNode> fields = new ArrayList<>();
+        try {
+            collectFields(objectMapper.readTree(fieldsJson), fields);
+        } catch (Exception e) {
+            log.warn("Cannot parse fields of form {}: {}", formId, e.getMessage());
+            return searchable;
+        }
+
+        for (JsonNode field : fields) {
+            String fieldName = field.path("id").asText(field.path("name").asText(""));
+            JsonNode metadataNode = field.has("metadata") ? field.get("metadata") : field;
+            if (fieldName.isEmpty() || !metadataNode.path("search").path("searchable").asBoolean(false)) {
+                continue;
+            }
+            try {
+                FieldMetadata metadata = objectMapper.treeToValue(metadataNode, FieldMetadata.class);
+                searchable.put(fieldName, valueType(field, metadata));
+            } catch (Exception e) {
+                log.warn("Cannot read metadata of field {} on form {}: {}", fieldName, formId, e.getMessage());
+            }
+        }
+        return searchable;
+    }
+
+    private FieldValueType valueType(JsonNode field, FieldMetadata metadata) {
+        FieldValueType type = FieldValueType.fromMetadata(metadata.getSearch().getValueType());
+        if (type == null && metadata.getValidation() != null) {
+            type = FieldValueType.fromMetadata(metadata.getValidation().getType());
+        }
+        if (type == null) {
+            type = FieldValueType.fromMetadata(field.path("type").asText(null));
+        }
+        return type != null ? type : FieldValueType.TEXT;
+    }
+
+    /**
+     * Flatten the fields array (fields may be nested in sections/groups)
+     */
+    private void collectFields(JsonNode node, List<JsonNode> fields) {
+        if (node.isArray()) {
+            node.forEach(child -> collectFields(child, fields));
+        } else if (node.isObject()) {
+            if (node.has("id") && (node.has("type") || node.has("metadata"))) {
+                fields.add(node);
+            }
+            if (node.has("fields")) {
+                collectFields(node.get("fields"), fields);
+            }
+        }
+    }
+}
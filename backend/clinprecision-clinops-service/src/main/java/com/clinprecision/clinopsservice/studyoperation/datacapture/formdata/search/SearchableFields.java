@@ -0,0 +1,82 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormFieldValueJdbcRepository.FieldValueRow;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The form fields a study database build declares searchable (search.searchable in the field
+ * metadata), with the typed column each one is indexed in
+ *
+ * Immutable; cached by build_id in SearchableFieldRegistry.
+ */
+public final class SearchableFields {
+
+    private final Long buildId;
+    private final Long studyId;
+    private final Map<Long, Map<String, FieldValueType>> fieldsByForm;
+
+    SearchableFields(Long buildId, Long studyId, Map<Long, Map<String, FieldValueType>> fieldsByForm) {
+        this.buildId = buildId;
+        this.studyId = studyId;
+        this.fieldsByForm = Collections.unmodifiableMap(fieldsByForm);
+    }
+
+    public Long getBuildId() {
+        return buildId;
+    }
+
+    public Long getStudyId() {
+        return studyId;
+    }
+
+    public Map<Long, Map<String, FieldValueType>> getFieldsByForm() {
+        return fieldsByForm;
+    }
+
+    public boolean isEmpty() {
+        return fieldsByForm.isEmpty();
+    }
+
+    /**
+     * Column type of a searchable field (empty if the field is not searchable)
+     */
+    public Optional<FieldValueType> typeOf(Long formId, String fieldName) {
+        return Optional.ofNullable(fieldsByForm.getOrDefault(formId, Map.of()).get(fieldName));
+    }
+
+    /**
+     * Indexed values of one form version: one row per searchable field value that converts to the
+     * field's type (multi-valued fields give one row per element; empty and nested values are skipped)
+     *
+     * @param rowTemplate Row carrying study, form, record, subject and visit of the version
+     */
+    public void extract(FieldValueRow rowTemplate, Map<String, Object> formData, List<FieldValueRow> rows) {
+        Map<String, FieldValueType> fields = fieldsByForm.get(rowTemplate.formId());
+        if (fields == null || formData == null) {
+            return;
+        }
+        for (Map.Entry<String, FieldValueType> field : fields.entrySet()) {
+            Object value = formData.get(field.getKey());
+            if (value instanceof List<?> values) {
+                values.forEach(element -> addRow(rowTemplate, field.getKey(), field.getValue(), element, rows));
+            } else {
+                addRow(rowTemplate, field.getKey(), field.getValue(), value, rows);
+            }
+        }
+    }
+
+    private static void addRow(FieldValueRow template, String fieldName, FieldValueType type, Object value,
+                               List<FieldValueRow> rows) {
+        if (value instanceof Map<?, ?> || value instanceof List<?>) {
+            return;
+        }
+        Object converted = type.convert(value);
+        if (converted != null) {
+            rows.add(template.withValue(fieldName, type, converted));
+        }
+    }
+}
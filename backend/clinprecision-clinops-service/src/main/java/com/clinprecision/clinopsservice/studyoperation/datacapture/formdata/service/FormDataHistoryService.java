@@ -0,0 +1,100 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.audit.FormDataDiff;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.audit.JsonPatch;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormDataSnapshotDto;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataHistoryJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataHistoryJdbcRepository.HistoryRow;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository.FormVersionKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Form Data History Service - point-in-time reconstruction of form data
+ *
+ * Rebuilds a form (all study_form_data versions of the same study, form, subject and visit)
+ * as it was at a timestamp or audit record: starts from the nearest checkpoint of
+ * study_form_data_audit and applies the JSON patches recorded after it, in audit order.
+ *
+ * Typical use: "show me this CRF as of the data lock date".
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FormDataHistoryService {
+
+    private final StudyFormDataHistoryJdbcRepository historyRepository;
+
+    /**
+     * Reconstruct a form as of a point in time and/or audit record
+     *
+     * @param recordId Any study_form_data version of the form
+     * @param asOf Latest change time to include (null = no limit)
+     * @param auditId Latest audit record to include (null = no limit)
+     * @return The form's data at that point, or empty if the form had no version yet
+     * @throws IllegalArgumentException if the record does not exist
+     * @throws IllegalStateException if the stored history is inconsistent (a patch does not apply)
+     */
+    public Optional<FormDataSnapshotDto> reconstruct(Long recordId, LocalDateTime asOf, Long auditId) {
+        FormVersionKey key = historyRepository.findVersionKey(recordId)
+            .orElseThrow(() -> new IllegalArgumentException("Form data not found: " + recordId));
+
+        List<HistoryRow> rows = historyRepository.findHistorySinceCheckpoint(key, auditId, asOf);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Versions rebuilt so far, by record: a patch applies to the version it names as base
+        Map<Long, Map<String, Object>> versions = new HashMap<>();
+        Map<String, Object> formData = null;
+        HistoryRow checkpoint = null;
+        HistoryRow last = null;
+        int patchesApplied = 0;
+        for (HistoryRow row : rows) {
+            if (row.checkpoint()) {
+                formData = row.newData() != null ? new LinkedHashMap<>(row.newData()) : new LinkedHashMap<>();
+                checkpoint = row;
+                patchesApplied = 0;
+            } else {
+                Map<String, Object> base = versions.get(row.baseRecordId());
+                if (base == null) {
+                    throw new IllegalStateException("Form data history broken at audit record " + row.auditId()
+                        + ": base record " + row.baseRecordId() + " is not part of the history since checkpoint "
+                        + checkpoint.auditId());
+                }
+                formData = row.patch() != null
+                    ? JsonPatch.apply(base, row.patch())
+                    : FormDataDiff.apply(base, row.newData()); // field diff rows written before patches
+                patchesApplied++;
+            }
+            versions.put(row.recordId(), formData);
+            last = row;
+        }
+
+        log.debug("Reconstructed form data of record {} (asOf={}, auditId={}): version {} from checkpoint {} + {} patches",
+            recordId, asOf, auditId, last.recordId(), checkpoint.auditId(), patchesApplied);
+
+        return Optional.of(FormDataSnapshotDto.builder()
+            .recordId(last.recordId())
+            .studyId(key.studyId())
+            .formId(key.formId())
+            .subjectId(key.subjectId())
+            .visitId(key.visitId())
+            .status(last.status())
+            .formData(formData)
+            .auditId(last.auditId())
+            .changedAt(last.changedAt())
+            .changedBy(last.changedBy())
+            .checkpointAuditId(checkpoint.auditId())
+            .patchesApplied(patchesApplied)
+            .build());
+    }
+}
@@ -0,0 +1,213 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.service.ActiveBuildRegistry;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FieldValueSearchRequest;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FieldValueSearchRequest.Criterion;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FieldValueSearchResponse;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataEntity;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormFieldValueJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormFieldValueJdbcRepository.FieldValueRow;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormFieldValueJdbcRepository.ValueCondition;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search.FieldValueOperator;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search.FieldValueType;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search.SearchableFieldRegistry;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.search.SearchableFields;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Form Field Search Service - subject search by clinical values
+ *
+ * Form fields declared searchable in their metadata (search.searchable) are materialized into
+ * study_form_field_values, one typed row per value of the current version of each form:
+ * - FormDataProjector calls indexVersions for every projected batch
+ * - rebuildStudy re-indexes a study from study_form_data (after searchable fields change)
+ * - searchSubjects filters subjects on the indexed values of the study's active build
+ */
+@Service
+@Slf4j
+public class FormFieldSearchService {
+
+    /** Values inserted per chunk during a rebuild */
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final StudyFormFieldValueJdbcRepository fieldValueRepository;
+    private final SearchableFieldRegistry searchableFieldRegistry;
+    private final ActiveBuildRegistry activeBuildRegistry;
+    private final int maxResults;
+    private final int maxCriteria;
+
+    public FormFieldSearchService(StudyFormFieldValueJdbcRepository fieldValueRepository,
+                                  SearchableFieldRegistry searchableFieldRegistry,
+                                  ActiveBuildRegistry activeBuildRegistry,
+                                  @Value("${clinops.form-data.search.max-results:1000}") int maxResults,
+                                  @Value("${clinops.form-data.search.max-criteria:10}") int maxCriteria) {
+        this.fieldValueRepository = fieldValueRepository;
+        this.searchableFieldRegistry = searchableFieldRegistry;
+        this.activeBuildRegistry = activeBuildRegistry;
+        this.maxResults = Math.max(1, maxResults);
+        this.maxCriteria = Math.max(1, maxCriteria);
+    }
+
+    /**
+     * Replace the indexed values of forms that received a new version
+     *
+     * Runs in the caller's transaction (the projector's unit of work).
+     *
+     * @param replacedRecordIds Previous current versions of the forms (their rows are deleted)
+     * @param currentVersions New current version of each form
+     */
+    public void indexVersions(Collection<Long> replacedRecordIds, Collection<StudyFormDataEntity> currentVersions) {
+        fieldValueRepository.deleteByRecordIds(replacedRecordIds);
+
+        Map<Long, Optional<SearchableFields>> fieldsByBuild = new HashMap<>();
+        List<FieldValueRow> rows = new ArrayList<>();
+        for (StudyFormDataEntity version : currentVersions) {
+            Long buildId = version.getBuildId() != null ? version.getBuildId()
+                : activeBuildRegistry.getActiveBuildId(version.getStudyId()).orElse(null);
+            if (buildId == null) {
+                continue;
+            }
+            fieldsByBuild.computeIfAbsent(buildId, this::searchableFields).ifPresent(fields ->
+                fields.extract(FieldValueRow.of(version.getStudyId(), version.getFormId(), version.getId(),
+                    version.getSubjectId(), version.getVisitId()), version.getFormData(), rows));
+        }
+        fieldValueRepository.insertValues(rows);
+        log.debug("Indexed searchable field values: versions={}, replaced={}, values={}",
+            currentVersions.size(), replacedRecordIds.size(), rows.size());
+    }
+
+    /**
+     * Re-index the current version of every form of a study
+     *
+     * Needed for data submitted before a field was declared searchable.
+     *
+     * @return Number of indexed values
+     */
+    @Transactional
+    public int rebuildStudy(Long studyId) {
+        long start = System.currentTimeMillis();
+        int deleted = fieldValueRepository.deleteByStudy(studyId);
+        Long activeBuildId = activeBuildRegistry.getActiveBuildId(studyId).orElse(null);
+
+        Map<Long, Optional<SearchableFields>> fieldsByBuild = new HashMap<>();
+        List<FieldValueRow> rows = new ArrayList<>();
+        int[] indexed = {0};
+        fieldValueRepository.forEachCurrentVersion(studyId, version -> {
+            Long buildId = version.buildId() != null ? version.buildId() : activeBuildId;
+            if (buildId == null) {
+                return;
+            }
+            fieldsByBuild.computeIfAbsent(buildId, this::searchableFields).ifPresent(fields ->
+                fields.extract(FieldValueRow.of(studyId, version.formId(), version.recordId(),
+                    version.subjectId(), version.visitId()), version.formData(), rows));
+            if (rows.size() >= REBUILD_CHUNK_SIZE) {
+                fieldValueRepository.insertValues(rows);
+                indexed[0] += rows.size();
+                rows.clear();
+            }
+        });
+        fieldValueRepository.insertValues(rows);
+        indexed[0] += rows.size();
+
+        log.info("Rebuilt searchable field values of study {}: deleted={}, indexed={}, took {}ms",
+            studyId, deleted, indexed[0], System.currentTimeMillis() - start);
+        return indexed[0];
+    }
+
+    /**
+     * Subjects of a study whose current form data matches every criterion
+     *
+     * @throws IllegalArgumentException if a criterion is invalid or uses a field that is not searchable
+     * @throws IllegalStateException if the study has no completed build
+     */
+    @Transactional(readOnly = true)
+    public FieldValueSearchResponse searchSubjects(Long studyId, FieldValueSearchRequest request) {
+        if (request.getCriteria().size() > maxCriteria) {
+            throw new IllegalArgumentException("At most " + maxCriteria + " criteria are allowed, got "
+                + request.getCriteria().size());
+        }
+        Long buildId = activeBuildRegistry.getActiveBuildId(studyId)
+            .orElseThrow(() -> new IllegalStateException("No completed study build found for study " + studyId));
+        SearchableFields fields = searchableFieldRegistry.forBuild(buildId);
+
+        List<ValueCondition> conditions = new ArrayList<>(request.getCriteria().size());
+        for (Criterion criterion : request.getCriteria()) {
+            conditions.add(toCondition(fields, criterion));
+        }
+
+        int limit = request.getLimit() != null ? Math.min(Math.max(1, request.getLimit()), maxResults) : maxResults;
+        List<Long> subjectIds = fieldValueRepository.findSubjects(studyId, conditions, limit + 1);
+        boolean truncated = subjectIds.size() > limit;
+
+        log.info("Field value search on study {} (build {}): criteria={}, subjects={}{}", studyId, buildId,
+            conditions.size(), Math.min(subjectIds.size(), limit), truncated ? " (truncated)" : "");
+        return FieldValueSearchResponse.builder()
+            .studyId(studyId)
+            .buildId(buildId)
+            .subjectIds(truncated ? subjectIds.subList(0, limit) : subjectIds)
+            .truncated(truncated)
+            .build();
+    }
+
+    private ValueCondition toCondition(SearchableFields fields, Criterion criterion) {
+        FieldValueType type = fields.typeOf(criterion.getFormId(), criterion.getFieldName())
+            .orElseThrow(() -> new IllegalArgumentException("Field " + criterion.getFieldName() + " of form "
+                + criterion.getFormId() + " is not searchable in build " + fields.getBuildId()));
+
+        FieldValueOperator operator;
+        try {
+            operator = FieldValueOperator.valueOf(criterion.getOperator().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported search operator: " + criterion.getOperator());
+        }
+        if (operator == FieldValueOperator.STARTS_WITH && type != FieldValueType.TEXT) {
+            throw new IllegalArgumentException("STARTS_WITH only applies to text fields: " + criterion.getFieldName());
+        }
+
+        List<Object> rawValues = switch (operator) {
+            case BETWEEN -> Arrays.asList(criterion.getValue(), criterion.getValueTo());
+            case IN -> criterion.getValues() != null ? criterion.getValues() : List.of();
+            default -> Collections.singletonList(criterion.getValue());
+        };
+        if (rawValues.isEmpty()) {
+            throw new IllegalArgumentException("Operator IN requires values: " + criterion.getFieldName());
+        }
+        List<Object> values = new ArrayList<>(rawValues.size());
+        for (Object rawValue : rawValues) {
+            Object value = type.convert(rawValue);
+            if (value == null) {
+                throw new IllegalArgumentException("Invalid " + type.name().toLowerCase(Locale.ROOT) + " value for "
+                    + criterion.getFieldName() + ": " + rawValue);
+            }
+            values.add(operator == FieldValueOperator.STARTS_WITH ? escapeLike((String) value) + "%" : value);
+        }
+        return new ValueCondition(criterion.getFormId(), criterion.getFieldName(), type, operator, values);
+    }
+
+    private Optional<SearchableFields> searchableFields(Long buildId) {
+        try {
+            SearchableFields fields = searchableFieldRegistry.forBuild(buildId);
+            return fields.isEmpty() ? Optional.empty() : Optional.of(fields);
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot resolve searchable fields of build {}: {}", buildId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
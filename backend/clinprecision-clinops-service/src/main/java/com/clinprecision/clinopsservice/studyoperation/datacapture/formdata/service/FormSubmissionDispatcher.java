@@ -0,0 +1,43 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.domain.commands.SubmitFormDataCommand;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Dispatches SubmitFormDataCommands of bulk submissions concurrently
+ * 
+ * Each command runs sendAndWait on the formSubmissionExecutor pool
+ * (clinops.form-data.bulk.dispatch-pool-size), so N forms take roughly
+ * N / pool-size command round trips instead of N.
+ */
+@Component
+@Slf4j
+public class FormSubmissionDispatcher {
+
+    private final CommandGateway commandGateway;
+    private final Executor executor;
+
+    public FormSubmissionDispatcher(CommandGateway commandGateway,
+                                    @Qualifier("formSubmissionExecutor") Executor executor) {
+        this.commandGateway = commandGateway;
+        this.executor = executor;
+    }
+
+    /**
+     * Send a submit command on the dispatch pool
+     * 
+     * @return Future completed once the command handler (aggregate) has completed
+     */
+    public CompletableFuture<Void> dispatch(SubmitFormDataCommand command) {
+        return CompletableFuture.runAsync(() -> {
+            commandGateway.sendAndWait(command);
+            log.debug("SubmitFormDataCommand completed: formDataId={}", command.getFormDataId());
+        }, executor);
+    }
+}
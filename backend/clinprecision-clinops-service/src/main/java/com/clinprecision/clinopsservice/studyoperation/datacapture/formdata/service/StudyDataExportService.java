@@ -0,0 +1,434 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service;
+
+import com.clinprecision.clinopsservice.studydesign.design.form.dto.metadata.CdashMapping;
+import com.clinprecision.clinopsservice.studydesign.design.form.dto.metadata.FieldMetadata;
+import com.clinprecision.clinopsservice.studydesign.design.form.dto.metadata.SdtmMapping;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.StudyDataExportSummary;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.export.CsvWriter;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.export.ExportDataset;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.export.ExportDataset.ExportVariable;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.export.ExportStandard;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataExportJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataExportJdbcRepository.ExportRow;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataExportJdbcRepository.FormDefinitionRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Study Data Export Service - streams the current data of a study as flat CSV datasets
+ *
+ * One dataset per form definition, one row per form instance (latest version per form,
+ * subject and visit), one column per field. Columns and dataset names follow the chosen
+ * standard (see ExportStandard) using the cdash/sdtm/export sections of the field metadata
+ * in form_definitions.fields; fields with export.includeInExport = false are left out.
+ * The datasets and a variables.csv (column metadata) are written as a ZIP archive.
+ *
+ * Rows are read from a streaming JDBC cursor ordered by form and written as they arrive, so
+ * only the current row and the dataset definitions are held in memory regardless of study size.
+ *
+ * Usage: prepare() validates the request and resolves the datasets (errors can still be
+ * returned to the client), write() then streams the archive.
+ */
+@Service
+@Slf4j
+public class StudyDataExportService {
+
+    private static final List<String> IDENTIFIER_COLUMNS = List.of(
+        "STUDYID", "DOMAIN", "SITEID", "SUBJID", "VISIT", "VISITDT", "RECORDID", "FORMSTAT", "FORMVER", "LASTUPDT");
+
+    private static final String RAW_FORM_DATA_COLUMN = "FORMDATA";
+    private static final String VARIABLES_FILE = "variables.csv";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final StudyFormDataExportJdbcRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final Path exportDirectory;
+
+    public StudyDataExportService(StudyFormDataExportJdbcRepository exportRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${clinops.export.directory:${user.home}/clinprecision/clinops/exports}") String exportDirectory) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.exportDirectory = Path.of(exportDirectory);
+    }
+
+    /**
+     * Resolve the datasets of a study export
+     *
+     * @throws IllegalArgumentException if the study does not exist
+     */
+    public ExportPlan prepare(Long studyId, ExportStandard standard) {
+        String studyIdentifier = exportRepository.findStudyIdentifier(studyId)
+            .orElseThrow(() -> new IllegalArgumentException("Study not found: " + studyId));
+
+        Map<Long, ExportDataset> datasets = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        names.add("VARIABLES");
+        for (FormDefinitionRow form : exportRepository.findFormDefinitions(studyId)) {
+            datasets.put(form.id(), toDataset(form, standard, names));
+        }
+        log.info("Prepared {} export of study {}: datasets={}", standard, studyId, datasets.size());
+        return new ExportPlan(studyId, studyIdentifier, standard, datasets);
+    }
+
+    /**
+     * Stream the export archive (the output stream is finished, not closed)
+     */
+    public StudyDataExportSummary write(ExportPlan plan, OutputStream output) throws IOException {
+        LocalDateTime startedAt = LocalDateTime.now();
+        ZipOutputStream zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        CsvWriter csv = new CsvWriter(writer);
+
+        writeVariables(plan, zip, writer, csv);
+
+        DatasetWriter datasetWriter = new DatasetWriter(plan, zip, writer, csv);
+        try {
+            exportRepository.streamCurrentVersions(plan.studyId(), row -> {
+                try {
+                    datasetWriter.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        datasetWriter.finish();
+        zip.finish();
+        output.flush();
+
+        StudyDataExportSummary summary = StudyDataExportSummary.builder()
+            .studyId(plan.studyId())
+            .standard(plan.standard().name())
+            .rowsByDataset(datasetWriter.rowsByDataset)
+            .totalRows(datasetWriter.rowsByDataset.values().stream().mapToLong(Long::longValue).sum())
+            .startedAt(startedAt)
+            .completedAt(LocalDateTime.now())
+            .build();
+        log.info("Exported study {} ({}): datasets={}, rows={}", plan.studyId(), plan.standard(),
+            summary.getRowsByDataset().size(), summary.getTotalRows());
+        return summary;
+    }
+
+    /**
+     * Write the export archive to clinops.export.directory
+     *
+     * @throws IllegalArgumentException if the study does not exist
+     */
+    public StudyDataExportSummary exportToFile(Long studyId, ExportStandard standard) throws IOException {
+        ExportPlan plan = prepare(studyId, standard);
+        Files.createDirectories(exportDirectory);
+        String fileName = String.format("study-%d-%s-%s.zip", studyId, standard.name().toLowerCase(),
+            LocalDateTime.now().format(FILE_TIMESTAMP));
+        Path target = exportDirectory.resolve(fileName);
+        Path partial = exportDirectory.resolve(fileName + ".part");
+
+        StudyDataExportSummary summary;
+        try (OutputStream output = Files.newOutputStream(partial)) {
+            summary = write(plan, output);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        summary.setFile(target.toString());
+        return summary;
+    }
+
+    private void writeVariables(ExportPlan plan, ZipOutputStream zip, Writer writer, CsvWriter csv) throws IOException {
+        zip.putNextEntry(new ZipEntry(VARIABLES_FILE));
+        csv.writeRow(List.of("DATASET", "FORMID", "FORM", "DOMAIN", "VARIABLE", "FIELD", "LABEL", "TYPE", "CODELIST"));
+        for (ExportDataset dataset : plan.datasets().values()) {
+            for (ExportVariable variable : dataset.variables()) {
+                csv.writeRow(nullSafe(dataset.name(), String.valueOf(dataset.formId()), dataset.formName(),
+                    dataset.domain(), variable.name(), variable.fieldName(), variable.label(),
+                    variable.dataType(), variable.codelist()));
+            }
+        }
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private ExportDataset toDataset(FormDefinitionRow form, ExportStandard standard, Set<String> names) {
+        List<ExportVariable> variables = new ArrayList<>();
+        Set<String> columns = new HashSet<>(IDENTIFIER_COLUMNS);
+        String domain = null;
+
+        for (JsonNode field : readFields(form)) {
+            String fieldName = field.path("id").asText(field.path("name").asText(""));
+            if (fieldName.isEmpty()) {
+                continue;
+            }
+            FieldMetadata metadata = readMetadata(form.id(), fieldName, field);
+            if (metadata.getExport() != null && Boolean.FALSE.equals(metadata.getExport().getIncludeInExport())) {
+                continue;
+            }
+
+            String variable = null;
+            String dataType = null;
+            String codelist = null;
+            String fieldDomain = null;
+            if (standard == ExportStandard.SDTM && metadata.getSdtm() != null) {
+                SdtmMapping sdtm = metadata.getSdtm();
+                variable = sdtm.getVariable();
+                dataType = sdtm.getDataType();
+                codelist = firstNonBlank(sdtm.getCodelist(), sdtm.getControlledTerminology());
+                fieldDomain = sdtm.getDomain();
+            } else if (standard == ExportStandard.CDASH && metadata.getCdash() != null) {
+                CdashMapping cdash = metadata.getCdash();
+                variable = cdash.getVariable();
+                dataType = cdash.getDataType();
+                codelist = cdash.getControlledTerminology();
+                fieldDomain = cdash.getDomain();
+            }
+            if (standard != ExportStandard.FIELD && isBlank(variable) && metadata.getExport() != null) {
+                variable = metadata.getExport().getExportVariable();
+            }
+            if (domain == null && !isBlank(fieldDomain)) {
+                domain = fieldDomain.trim().toUpperCase();
+            }
+            if (isBlank(dataType)) {
+                dataType = metadata.getValidation() != null && !isBlank(metadata.getValidation().getType())
+                    ? metadata.getValidation().getType()
+                    : field.path("type").asText(null);
+            }
+
+            String label = firstNonBlank(field.path("label").asText(null), field.path("name").asText(null), fieldName);
+            variables.add(new ExportVariable(fieldName, uniqueColumn(isBlank(variable) ? fieldName : variable.trim(),
+                fieldName, columns), label, dataType, codelist));
+        }
+
+        String name = uniqueName(datasetName(domain != null ? domain : form.name()), form.id(), names);
+        return new ExportDataset(form.id(), name, form.name(), domain, List.copyOf(variables), false);
+    }
+
+    private List<JsonNode> readFields(FormDefinitionRow form) {
+        List<JsonNode> fields = new ArrayList<>();
+        if (form.fieldsJson() == null || form.fieldsJson().isBlank()) {
+            return fields;
+        }
+        try {
+            collectFields(objectMapper.readTree(form.fieldsJson()), fields);
+        } catch (Exception e) {
+            log.warn("Cannot parse fields of form {}: {}", form.id(), e.getMessage());
+        }
+        return fields;
+    }
+
+    private FieldMetadata readMetadata(Long formId, String fieldName, JsonNode field) {
+        JsonNode metadataNode = field.has("metadata") ? field.get("metadata") : field;
+        try {
+            return objectMapper.treeToValue(metadataNode, FieldMetadata.class);
+        } catch (Exception e) {
+            log.warn("Cannot read metadata of field {} on form {}: {}", fieldName, formId, e.getMessage());
+            return new FieldMetadata();
+        }
+    }
+
+    /**
+     * Flatten the fields array (fields may be nested in sections/groups)
+     */
+    private void collectFields(JsonNode node, List<JsonNode> fields) {
+        if (node.isArray()) {
+            node.forEach(child -> collectFields(child, fields));
+        } else if (node.isObject()) {
+            if (node.has("id") && (node.has("type") || node.has("metadata"))) {
+                fields.add(node);
+            }
+            if (node.has("fields")) {
+                collectFields(node.get("fields"), fields);
+            }
+        }
+    }
+
+    private static String uniqueColumn(String preferred, String fieldName, Set<String> columns) {
+        String column = preferred;
+        if (columns.contains(column.toUpperCase())) {
+            column = fieldName;
+        }
+        String candidate = column;
+        for (int suffix = 2; columns.contains(candidate.toUpperCase()); suffix++) {
+            candidate = column + "_" + suffix;
+        }
+        columns.add(candidate.toUpperCase());
+        return candidate;
+    }
+
+    private static String uniqueName(String name, Long formId, Set<String> names) {
+        String unique = names.contains(name) ? name + "_" + formId : name;
+        names.add(unique);
+        return unique;
+    }
+
+    private static String datasetName(String name) {
+        String sanitized = name == null ? "" : name.trim().toUpperCase().replaceAll("[^A-Z0-9_]+", "_");
+        return sanitized.isEmpty() ? "FORM" : sanitized;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String firstNonBlank(String... values) {
+        for (String value : values) {
+            if (!isBlank(value)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> nullSafe(String... values) {
+        List<String> list = new ArrayList<>(values.length);
+        for (String value : values) {
+            list.add(value != null ? value : "");
+        }
+        return list;
+    }
+
+    /**
+     * Writes the rows of one dataset after the other (rows arrive ordered by form)
+     */
+    private final class DatasetWriter {
+
+        private final ExportPlan plan;
+        private final ZipOutputStream zip;
+        private final Writer writer;
+        private final CsvWriter csv;
+        private final Map<String, Long> rowsByDataset = new LinkedHashMap<>();
+        private final Set<String> names;
+
+        private ExportDataset current;
+
+        private DatasetWriter(ExportPlan plan, ZipOutputStream zip, Writer writer, CsvWriter csv) {
+            this.plan = plan;
+            this.zip = zip;
+            this.writer = writer;
+            this.csv = csv;
+            this.names = new HashSet<>();
+            plan.datasets().values().forEach(dataset -> names.add(dataset.name()));
+        }
+
+        void write(ExportRow row) throws IOException {
+            if (current == null || !current.formId().equals(row.formId())) {
+                closeCurrent();
+                current = plan.datasets().get(row.formId());
+                if (current == null) {
+                    // Form definition deleted since the data was captured: export the JSON as is
+                    current = new ExportDataset(row.formId(), uniqueName("FORM_" + row.formId(), row.formId(), names),
+                        null, null, List.of(), true);
+                }
+                open(current);
+            }
+
+            JsonNode formData = readFormData(row);
+            List<String> values = new ArrayList<>(IDENTIFIER_COLUMNS.size() + current.variables().size() + 1);
+            values.add(plan.studyIdentifier());
+            values.add(current.domain());
+            values.add(row.siteId() != null ? row.siteId().toString() : null);
+            values.add(row.subjectNumber() != null ? row.subjectNumber()
+                : row.subjectId() != null ? row.subjectId().toString() : null);
+            values.add(row.visitName());
+            values.add(row.visitDate() != null ? row.visitDate().toString() : null);
+            values.add(row.recordId().toString());
+            values.add(row.status());
+            values.add(row.version() != null ? row.version().toString() : null);
+            values.add(row.updatedAt() != null ? row.updatedAt().toString() : null);
+            for (ExportVariable variable : current.variables()) {
+                values.add(formatValue(formData.get(variable.fieldName())));
+            }
+            if (current.rawFormData()) {
+                values.add(row.formDataJson());
+            }
+            csv.writeRow(values);
+            rowsByDataset.merge(current.name(), 1L, Long::sum);
+        }
+
+        /**
+         * Close the last dataset and add header-only files for forms without data
+         */
+        void finish() throws IOException {
+            closeCurrent();
+            for (ExportDataset dataset : plan.datasets().values()) {
+                if (!rowsByDataset.containsKey(dataset.name())) {
+                    open(dataset);
+                    closeCurrent();
+                }
+            }
+        }
+
+        private void open(ExportDataset dataset) throws IOException {
+            zip.putNextEntry(new ZipEntry(dataset.fileName()));
+            List<String> header = new ArrayList<>(IDENTIFIER_COLUMNS);
+            dataset.variables().forEach(variable -> header.add(variable.name()));
+            if (dataset.rawFormData()) {
+                header.add(RAW_FORM_DATA_COLUMN);
+            }
+            csv.writeRow(header);
+            rowsByDataset.putIfAbsent(dataset.name(), 0L);
+            current = dataset;
+        }
+
+        private void closeCurrent() throws IOException {
+            if (current != null) {
+                writer.flush();
+                zip.closeEntry();
+                current = null;
+            }
+        }
+
+        private JsonNode readFormData(ExportRow row) {
+            if (row.formDataJson() == null || current.variables().isEmpty()) {
+                return objectMapper.missingNode();
+            }
+            try {
+                return objectMapper.readTree(row.formDataJson());
+            } catch (Exception e) {
+                log.warn("Cannot parse form data of record {}: {}", row.recordId(), e.getMessage());
+                return objectMapper.missingNode();
+            }
+        }
+
+        private String formatValue(JsonNode value) {
+            if (value == null || value.isNull() || value.isMissingNode()) {
+                return null;
+            }
+            return value.isValueNode() ? value.asText() : value.toString();
+        }
+    }
+
+    /**
+     * Resolved export of a study
+     *
+     * @param studyIdentifier STUDYID column value (protocol number, else the study ID)
+     * @param datasets Datasets by form definition ID
+     */
+    public record ExportPlan(Long studyId, String studyIdentifier, ExportStandard standard,
+                             Map<Long, ExportDataset> datasets) {
+    }
+}
@@ -1,26 +1,38 @@
 package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service;
 
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.domain.commands.SubmitFormDataCommand;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.domain.queries.FindFormDataByAggregateUuidQuery;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.BulkFormSubmissionItemResult;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.BulkFormSubmissionResponse;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormSubmissionRequest;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormSubmissionResponse;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormDataDto;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataEntity;
 import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataRepository;
-import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationResult;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.service.FormValidationService;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientEnrollmentRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
-import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildEntity;
-import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
-import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import com.clinprecision.clinopsservice.studydesign.build.service.ActiveBuildRegistry;
+import com.clinprecision.clinopsservice.common.projection.ProjectionAwaiter;
 
 import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -58,7 +70,7 @@ import java.util.stream.Collectors;
  * 5. Flexibility: Can collect screening data before status change if needed
  * 
  * Responsibilities:
- * 1. Form submission validation
+ * 1. Form submission validation (request checks, then the build's compiled rules via FormValidationService)
  * 2. Command creation and dispatch (to Axon)
  * 3. Form data retrieval
  * 4. Business rule enforcement
@@ -87,8 +99,15 @@ public class StudyFormDataService {
 
     private final CommandGateway commandGateway;
     private final StudyFormDataRepository formDataRepository;
+    private final ActiveBuildRegistry activeBuildRegistry;
+    private final ProjectionAwaiter projectionAwaiter;
+    private final FormValidationService formValidationService;
+    private final FormSubmissionDispatcher formSubmissionDispatcher;
+    private final PatientEnrollmentRepository patientEnrollmentRepository;
     private final StudyVisitInstanceRepository visitInstanceRepository;
-    private final StudyDatabaseBuildRepository buildRepository;
+
+    @Value("${clinops.form-data.bulk.max-items:500}")
+    private int bulkMaxItems;
 
     /**
      * Submit form data
@@ -131,57 +150,31 @@ public class StudyFormDataService {
             log.info("Build ID determined for form submission: buildId={}, studyId={}, visitId={}", 
                 buildId, request.getStudyId(), request.getVisitId());
             
+            // Step 4b: Validate form data against the build's compiled rules and edit checks
+            validateAgainstBuildRules(request, buildId);
+            
             // Step 5: Create command
-            SubmitFormDataCommand command = SubmitFormDataCommand.builder()
-                .formDataId(formDataId)
-                .studyId(request.getStudyId())
-                .formId(request.getFormId())
-                .subjectId(request.getSubjectId())
-                .visitId(request.getVisitId())
-                .siteId(request.getSiteId())
-                .buildId(buildId)  // ✅ SET BUILD ID
-                .formData(request.getFormData())
-                .status(request.getStatus())
-                .submittedBy(currentUserId)
-                .relatedRecordId(request.getRelatedRecordId())
-                .totalFields(request.getTotalFields())
-                .completedFields(request.getCompletedFields())
-                .requiredFields(request.getRequiredFields())
-                .completedRequiredFields(request.getCompletedRequiredFields())
-                .version(1)
-                .build();
+            SubmitFormDataCommand command = toSubmitCommand(request, formDataId, buildId, currentUserId);
             
             log.info("Sending SubmitFormDataCommand: formDataId={}, buildId={}", formDataId, buildId);
             
-            // Step 6: Send command and wait for completion (synchronous)
-            commandGateway.sendAndWait(command);
-            
-            log.info("SubmitFormDataCommand completed successfully: formDataId={}", formDataId);
-            
-            // Step 6: Wait for projection to complete (with retry)
-            // Event sourcing: Command completes immediately, but projection may take a few ms
-            StudyFormDataEntity savedEntity = waitForFormDataProjection(formDataId.toString());
+            // Step 6: Send command (synchronous) and wait for projection to complete
+            // Event sourcing: Command completes immediately, FormDataProjector emits the row when it commits
+            StudyFormDataEntity savedEntity = submitAndWaitForFormDataProjection(request.getStudyId(), formDataId.toString(), () -> {
+                commandGateway.sendAndWait(command);
+                log.info("SubmitFormDataCommand completed successfully: formDataId={}", formDataId);
+            });
             
             // Step 7: Build response
-            FormSubmissionResponse response = FormSubmissionResponse.builder()
-                .formDataId(formDataId)
-                .recordId(savedEntity.getId())
-                .studyId(savedEntity.getStudyId())
-                .formId(savedEntity.getFormId())
-                .subjectId(savedEntity.getSubjectId())
-                .visitId(savedEntity.getVisitId())
-                .status(savedEntity.getStatus())
-                .submittedAt(savedEntity.getCreatedAt())
-                .submittedBy(savedEntity.getCreatedBy())
-                .version(savedEntity.getVersion())
-                .relatedRecordId(savedEntity.getRelatedRecordId())
-                .message("Form submitted successfully")
-                .build();
+            FormSubmissionResponse response = toSubmissionResponse(formDataId, savedEntity);
             
             log.info("Form submission completed: formDataId={}, recordId={}", formDataId, savedEntity.getId());
             
             return response;
             
+        } catch (IllegalArgumentException e) {
+            // Invalid request or failed validation rules - reported as a validation error (400)
+            throw e;
         } catch (Exception e) {
             log.error("Error submitting form data: studyId={}, formId={}, error={}", 
                 request.getStudyId(), request.getFormId(), e.getMessage(), e);
@@ -189,17 +182,178 @@ public class StudyFormDataService {
         }
     }
 
+    /**
+     * Submit many forms in one call (source-document catch-up, lab imports)
+     * 
+     * Process:
+     * 1. Validate each request (request checks + compiled build rules)
+     * 2. Resolve build_id once per distinct visit (or study, for forms without a visit)
+     * 3. Dispatch all SubmitFormDataCommands concurrently (FormSubmissionDispatcher)
+     * 4. Load the projected rows with one query; wait for the stragglers until
+     *    clinops.projection.await-timeout-ms has elapsed for the whole batch
+     * 5. Report a result per item, in request order
+     * 
+     * Items are independent: a rejected item does not prevent the others from being submitted.
+     * 
+     * @param requests Form submission requests (at most clinops.form-data.bulk.max-items)
+     * @return Per-item results
+     */
+    // DO NOT ADD @Transactional - see submitFormData
+    public BulkFormSubmissionResponse submitFormDataBatch(List<FormSubmissionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one submission is required");
+        }
+        if (requests.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("Too many submissions in one request: " + requests.size() 
+                + " (max " + bulkMaxItems + ")");
+        }
+        
+        long start = System.currentTimeMillis();
+        log.info("Submitting {} forms in bulk", requests.size());
+        
+        Long currentUserId = getCurrentUserId();
+        BulkFormSubmissionItemResult[] results = new BulkFormSubmissionItemResult[requests.size()];
+        Map<BuildKey, Long> buildIds = new HashMap<>();
+        Map<BuildKey, String> buildErrors = new HashMap<>();
+        Map<Integer, UUID> formDataIds = new LinkedHashMap<>();
+        Map<Integer, CompletableFuture<Void>> dispatched = new LinkedHashMap<>();
+        
+        // Steps 1-3: validate, resolve build (memoized per visit/study) and dispatch
+        for (int i = 0; i < requests.size(); i++) {
+            FormSubmissionRequest request = requests.get(i);
+            try {
+                validateFormSubmissionRequest(request);
+                
+                BuildKey key = new BuildKey(request.getStudyId(), request.getVisitId(), request.getBuildId());
+                if (!buildIds.containsKey(key) && !buildErrors.containsKey(key)) {
+                    try {
+                        buildIds.put(key, determineBuildId(request));
+                    } catch (RuntimeException e) {
+                        buildErrors.put(key, e.getMessage());
+                    }
+                }
+                if (buildErrors.containsKey(key)) {
+                    results[i] = BulkFormSubmissionItemResult.failure(i, buildErrors.get(key));
+                    continue;
+                }
+                Long buildId = buildIds.get(key);
+                
+                validateAgainstBuildRules(request, buildId);
+                
+                UUID formDataId = UUID.randomUUID();
+                formDataIds.put(i, formDataId);
+                dispatched.put(i, formSubmissionDispatcher.dispatch(
+                    toSubmitCommand(request, formDataId, buildId, currentUserId)));
+                
+            } catch (RuntimeException e) {
+                results[i] = BulkFormSubmissionItemResult.failure(i, e.getMessage());
+            }
+        }
+        log.info("Bulk submission: {} commands dispatched, {} distinct builds resolved", 
+            dispatched.size(), buildIds.size() + buildErrors.size());
+        
+        // Wait for the aggregates
+        List<Integer> accepted = new ArrayList<>();
+        for (Map.Entry<Integer, CompletableFuture<Void>> entry : dispatched.entrySet()) {
+            try {
+                entry.getValue().join();
+                accepted.add(entry.getKey());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("Bulk submission item {} rejected: {}", entry.getKey(), cause.getMessage());
+                results[entry.getKey()] = BulkFormSubmissionItemResult.failure(entry.getKey(), cause.getMessage());
+            }
+        }
+        
+        // Step 4: projected rows - one query, then wait for rows not yet committed
+        Map<String, StudyFormDataEntity> projected = accepted.isEmpty() ? new HashMap<>() 
+            : formDataRepository.findByStudyIdInAndAggregateUuidIn(
+                    accepted.stream().map(i -> requests.get(i).getStudyId()).collect(Collectors.toSet()),
+                    accepted.stream().map(i -> formDataIds.get(i).toString()).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(StudyFormDataEntity::getAggregateUuid, e -> e, (a, b) -> a));
+        long deadline = System.currentTimeMillis() + projectionAwaiter.getDefaultTimeoutMs();
+        
+        for (Integer i : accepted) {
+            UUID formDataId = formDataIds.get(i);
+            StudyFormDataEntity entity = projected.get(formDataId.toString());
+            if (entity == null) {
+                long remaining = deadline - System.currentTimeMillis();
+                Long studyId = requests.get(i).getStudyId();
+                FindFormDataByAggregateUuidQuery query = new FindFormDataByAggregateUuidQuery(studyId, formDataId.toString());
+                entity = (remaining > 0
+                        ? projectionAwaiter.sendAndAwait(query, StudyFormDataEntity.class, remaining, () -> { })
+                        : formDataRepository.findByStudyIdAndAggregateUuid(studyId, formDataId.toString()))
+                    .orElse(null);
+            }
+            if (entity != null) {
+                results[i] = BulkFormSubmissionItemResult.success(i, toSubmissionResponse(formDataId, entity));
+            } else {
+                // The event is stored; only the read model is behind
+                FormSubmissionRequest request = requests.get(i);
+                results[i] = BulkFormSubmissionItemResult.success(i, FormSubmissionResponse.builder()
+                    .formDataId(formDataId)
+                    .studyId(request.getStudyId())
+                    .formId(request.getFormId())
+                    .subjectId(request.getSubjectId())
+                    .visitId(request.getVisitId())
+                    .status(request.getStatus())
+                    .message("Form submitted; record not yet available")
+                    .build());
+            }
+        }
+        
+        List<BulkFormSubmissionItemResult> resultList = Arrays.asList(results);
+        int succeeded = (int) resultList.stream().filter(BulkFormSubmissionItemResult::isSuccess).count();
+        BulkFormSubmissionResponse response = BulkFormSubmissionResponse.builder()
+            .total(requests.size())
+            .succeeded(succeeded)
+            .failed(requests.size() - succeeded)
+            .durationMs(System.currentTimeMillis() - start)
+            .results(resultList)
+            .build();
+        
+        log.info("Bulk submission completed: total={}, succeeded={}, failed={}, took {}ms", 
+            response.getTotal(), response.getSucceeded(), response.getFailed(), response.getDurationMs());
+        return response;
+    }
+
+    /**
+     * Validate form data without submitting it
+     * 
+     * Runs the same request checks and compiled build rules as submitFormData.
+     * 
+     * @param request Form submission request from frontend
+     * @return Validation result with errors and warnings
+     */
+    public ValidationResult validateFormData(FormSubmissionRequest request) {
+        validateFormSubmissionRequest(request);
+        Long buildId = determineBuildId(request);
+        return formValidationService.validate(buildId, request.getFormId(), request.getFormData(), request.getStatus());
+    }
+
     /**
      * Get all form submissions for a subject
      * 
+     * study_form_data is partitioned by study: without a study, the submissions are read from
+     * the studies the subject is enrolled in.
+     * 
      * @param subjectId Subject ID
+     * @param studyId Study ID (optional)
      * @return List of form submissions
      */
     @Transactional(readOnly = true)
-    public List<FormDataDto> getSubjectFormData(Long subjectId) {
-        log.info("Retrieving form data for subject: {}", subjectId);
+    public List<FormDataDto> getSubjectFormData(Long subjectId, Long studyId) {
+        log.info("Retrieving form data for subject: {}, study: {}", subjectId, studyId);
         
-        List<StudyFormDataEntity> entities = formDataRepository.findBySubjectIdOrderByCreatedAtDesc(subjectId);
+        List<Long> studyIds = studyId != null
+            ? List.of(studyId)
+            : patientEnrollmentRepository.findStudyIdsByPatientId(subjectId);
+        if (studyIds.isEmpty()) {
+            return List.of();
+        }
+        List<StudyFormDataEntity> entities = formDataRepository
+            .findByStudyIdInAndSubjectIdOrderByCreatedAtDesc(studyIds, subjectId);
         
         log.info("Found {} form submissions for subject {}", entities.size(), subjectId);
         
@@ -269,14 +423,16 @@ public class StudyFormDataService {
      * 
      * @param visitId Visit instance ID
      * @param formId Form definition ID
+     * @param studyId Study ID (optional; looked up from the visit instance when absent)
      * @return Form data if exists, null otherwise
      */
     @Transactional(readOnly = true)
-    public FormDataDto getFormDataByVisitAndForm(Long visitId, Long formId) {
+    public FormDataDto getFormDataByVisitAndForm(Long visitId, Long formId, Long studyId) {
         log.info("Retrieving form data for visit {} and form {}", visitId, formId);
         
-        Optional<StudyFormDataEntity> entity = formDataRepository
-            .findFirstByVisitIdAndFormIdOrderByCreatedAtDesc(visitId, formId);
+        Long visitStudyId = studyId != null ? studyId : visitInstanceRepository.findStudyIdById(visitId).orElse(null);
+        Optional<StudyFormDataEntity> entity = visitStudyId == null ? Optional.empty() : formDataRepository
+            .findFirstByStudyIdAndVisitIdAndFormIdOrderByCreatedAtDesc(visitStudyId, visitId, formId);
         
         if (entity.isPresent()) {
             log.info("Found form data: visitId={}, formId={}, status={}", 
@@ -296,6 +452,8 @@ public class StudyFormDataService {
      * 2. If buildId in request → Use provided build_id (EXPLICIT)
      * 3. Fallback → Get active build for study (LAST RESORT)
      * 
+     * Visit and study lookups go through ActiveBuildRegistry (in memory once resolved).
+     * 
      * Why this matters:
      * - Patient enrolled in Build 1 (5 visits, Demographics v1)
      * - Protocol amended → Build 2 (7 visits, Demographics v2)
@@ -313,17 +471,13 @@ public class StudyFormDataService {
         // Strategy 1: Get from visit instance (PREFERRED)
         if (visitId != null) {
             log.debug("Looking up build_id from visit instance: visitId={}", visitId);
-            Optional<StudyVisitInstanceEntity> visit = visitInstanceRepository.findById(visitId);
+            Optional<Long> visitBuildId = activeBuildRegistry.getVisitBuildId(studyId, visitId);
             
-            if (visit.isPresent() && visit.get().getBuildId() != null) {
-                Long buildId = visit.get().getBuildId();
-                log.info("Build ID retrieved from visit instance: visitId={}, buildId={}", visitId, buildId);
-                return buildId;
-            } else if (visit.isPresent()) {
-                log.warn("Visit instance found but build_id is NULL: visitId={}. Falling back to active build.", visitId);
-            } else {
-                log.warn("Visit instance not found: visitId={}. Falling back to active build.", visitId);
+            if (visitBuildId.isPresent()) {
+                log.debug("Build ID retrieved from visit instance: visitId={}, buildId={}", visitId, visitBuildId.get());
+                return visitBuildId.get();
             }
+            log.warn("Visit instance not found or build_id is NULL: visitId={}. Falling back to active build.", visitId);
         }
         
         // Strategy 2: Use explicit build_id from request (if provided)
@@ -334,16 +488,11 @@ public class StudyFormDataService {
         
         // Strategy 3: Get active build for study (FALLBACK)
         log.debug("No visit or explicit build_id. Looking up active build for study: studyId={}", studyId);
-        Optional<StudyDatabaseBuildEntity> activeBuild = buildRepository
-                .findTopByStudyIdAndBuildStatusOrderByBuildEndTimeDesc(
-                        studyId, 
-                        StudyDatabaseBuildStatus.COMPLETED);
-        
-        if (activeBuild.isPresent()) {
-            Long buildId = activeBuild.get().getId();
-            log.info("Using active study build: studyId={}, buildId={}, status={}", 
-                studyId, buildId, activeBuild.get().getBuildStatus());
-            return buildId;
+        Optional<Long> activeBuildId = activeBuildRegistry.getActiveBuildId(studyId);
+        
+        if (activeBuildId.isPresent()) {
+            log.info("Using active study build: studyId={}, buildId={}", studyId, activeBuildId.get());
+            return activeBuildId.get();
         }
         
         // NO BUILD FOUND - This is a critical error
@@ -389,6 +538,82 @@ public class StudyFormDataService {
             request.getStudyId(), request.getFormId());
     }
 
+    /**
+     * Validate form data against the compiled validation rules and edit checks of its build
+     * 
+     * ERROR findings reject SUBMITTED/LOCKED submissions; drafts are saved regardless
+     * (their findings are only logged) so partial data entry is never lost.
+     */
+    private void validateAgainstBuildRules(FormSubmissionRequest request, Long buildId) {
+        ValidationResult result = formValidationService.validate(
+            buildId, request.getFormId(), request.getFormData(), request.getStatus());
+        
+        if (!result.getWarnings().isEmpty()) {
+            log.info("Form data validation warnings: formId={}, buildId={}, warnings={}", 
+                request.getFormId(), buildId, result.getWarnings().size());
+        }
+        
+        if (!result.isValid()) {
+            if ("DRAFT".equals(request.getStatus())) {
+                log.info("Draft saved with {} validation errors: formId={}, buildId={}", 
+                    result.getErrors().size(), request.getFormId(), buildId);
+                return;
+            }
+            throw new IllegalArgumentException("Form data failed validation: " + result.getErrorSummary());
+        }
+    }
+
+    /**
+     * Create the submit command of a request
+     */
+    private SubmitFormDataCommand toSubmitCommand(FormSubmissionRequest request, UUID formDataId, 
+                                                  Long buildId, Long submittedBy) {
+        return SubmitFormDataCommand.builder()
+            .formDataId(formDataId)
+            .studyId(request.getStudyId())
+            .formId(request.getFormId())
+            .subjectId(request.getSubjectId())
+            .visitId(request.getVisitId())
+            .siteId(request.getSiteId())
+            .buildId(buildId)  // ✅ SET BUILD ID
+            .formData(request.getFormData())
+            .status(request.getStatus())
+            .submittedBy(submittedBy)
+            .relatedRecordId(request.getRelatedRecordId())
+            .totalFields(request.getTotalFields())
+            .completedFields(request.getCompletedFields())
+            .requiredFields(request.getRequiredFields())
+            .completedRequiredFields(request.getCompletedRequiredFields())
+            .version(1)
+            .build();
+    }
+
+    /**
+     * Build the submission response from the projected record
+     */
+    private FormSubmissionResponse toSubmissionResponse(UUID formDataId, StudyFormDataEntity savedEntity) {
+        return FormSubmissionResponse.builder()
+            .formDataId(formDataId)
+            .recordId(savedEntity.getId())
+            .studyId(savedEntity.getStudyId())
+            .formId(savedEntity.getFormId())
+            .subjectId(savedEntity.getSubjectId())
+            .visitId(savedEntity.getVisitId())
+            .status(savedEntity.getStatus())
+            .submittedAt(savedEntity.getCreatedAt())
+            .submittedBy(savedEntity.getCreatedBy())
+            .version(savedEntity.getVersion())
+            .relatedRecordId(savedEntity.getRelatedRecordId())
+            .message("Form submitted successfully")
+            .build();
+    }
+
+    /**
+     * Inputs of determineBuildId - bulk submissions resolve each distinct key once
+     */
+    private record BuildKey(Long studyId, Long visitId, Long buildId) {
+    }
+
     /**
      * Convert entity to DTO
      */
@@ -431,56 +656,38 @@ public class StudyFormDataService {
     }
 
     /**
-     * Wait for form data projection to complete
+     * Send the submit command and wait for form data projection to complete
      * 
      * Event sourcing pattern: Commands complete immediately, but projections
-     * are asynchronous and may take a few milliseconds. This method polls
-     * the database until the projection is found or timeout occurs.
+     * are asynchronous. A FindFormDataByAggregateUuidQuery subscription is opened
+     * before the command is sent and FormDataProjector emits the row as soon as its
+     * unit of work commits, so this returns at commit time instead of polling.
      * 
-     * Polling Strategy (same as PatientStatusService):
-     * - Attempt 1-3: 50ms, 100ms, 200ms (exponential backoff)
-     * - Attempt 4-13: 500ms each (steady polling)
-     * - Total timeout: ~5 seconds
+     * Timeout: clinops.projection.await-timeout-ms (default 5 seconds), followed by
+     * one direct query of the read model.
      * 
+     * @param studyId Study of the submission
      * @param aggregateUuid UUID of FormData aggregate
+     * @param command Command dispatch
      * @return StudyFormDataEntity from projection
      * @throws RuntimeException if projection not found after timeout
      */
-    private StudyFormDataEntity waitForFormDataProjection(String aggregateUuid) {
+    private StudyFormDataEntity submitAndWaitForFormDataProjection(Long studyId, String aggregateUuid, Runnable command) {
         log.info("Waiting for form data projection: aggregateUuid={}", aggregateUuid);
+        long start = System.currentTimeMillis();
         
-        int maxAttempts = 13;
-        int attempt = 0;
-        long totalWaitTime = 0;
+        Optional<StudyFormDataEntity> formData = projectionAwaiter.sendAndAwait(
+            new FindFormDataByAggregateUuidQuery(studyId, aggregateUuid), StudyFormDataEntity.class,
+            projectionAwaiter.getDefaultTimeoutMs(), command);
         
-        while (attempt < maxAttempts) {
-            attempt++;
-            
-            // Check if projection exists
-            Optional<StudyFormDataEntity> formData = formDataRepository.findByAggregateUuid(aggregateUuid);
-            
-            if (formData.isPresent()) {
-                log.info("Form data projection found: aggregateUuid={}, recordId={}, attempts={}, totalWait={}ms", 
-                    aggregateUuid, formData.get().getId(), attempt, totalWaitTime);
-                return formData.get();
-            }
-            
-            // Calculate delay (exponential backoff, then steady)
-            long delay = attempt <= 3 ? (long) Math.pow(2, attempt - 1) * 50 : 500;
-            totalWaitTime += delay;
-            
-            log.debug("Form data projection not found yet, attempt {}, waiting {}ms", attempt, delay);
-            
-            try {
-                Thread.sleep(delay);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Interrupted while waiting for form data projection", e);
-            }
+        if (formData.isPresent()) {
+            log.info("Form data projection found: aggregateUuid={}, recordId={}, wait={}ms", 
+                aggregateUuid, formData.get().getId(), System.currentTimeMillis() - start);
+            return formData.get();
         }
         
-        log.error("Form data projection not found after {}ms and {} attempts: aggregateUuid={}", 
-            totalWaitTime, maxAttempts, aggregateUuid);
+        log.error("Form data projection not found after {}ms: aggregateUuid={}", 
+            System.currentTimeMillis() - start, aggregateUuid);
         throw new RuntimeException("Form data not found after submission timeout: " + aggregateUuid);
     }
 }
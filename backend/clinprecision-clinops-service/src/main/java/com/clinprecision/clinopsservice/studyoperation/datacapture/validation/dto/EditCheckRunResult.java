@@ -0,0 +1,32 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of running a build's edit checks in bulk across all subjects of a study
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EditCheckRunResult {
+
+    private Long studyId;
+    private Long buildId;
+    private int editChecks;
+    private int subjectsChecked;
+    private int checksEvaluated;
+    private int checksFailed;
+    private long durationMs;
+
+    /** Findings per subject ID (subjects without findings are omitted) */
+    @Builder.Default
+    private Map<Long, List<ValidationFinding>> findingsBySubject = new LinkedHashMap<>();
+}
@@ -0,0 +1,41 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One failed validation rule or edit check
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationFinding {
+
+    public static final String ERROR = "ERROR";
+    public static final String WARNING = "WARNING";
+    public static final String INFO = "INFO";
+
+    /** Field the finding is about (null for form/subject level edit checks) */
+    private String field;
+
+    /** Rule identifier (REQUIRED, MIN_VALUE, rule ID from metadata, edit check name, ...) */
+    private String ruleId;
+
+    /** Rule type (required, type, range, pattern, custom, editCheck, ...) */
+    private String type;
+
+    /** ERROR, WARNING or INFO */
+    private String severity;
+
+    private String message;
+
+    /** Visit instance the finding is about (bulk edit check runs; null otherwise) */
+    private Long visitId;
+
+    public boolean isError() {
+        return ERROR.equals(severity);
+    }
+}
@@ -0,0 +1,59 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Result of validating one form submission against its compiled build rules
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationResult {
+
+    private Long buildId;
+    private Long formId;
+
+    /** True when no ERROR finding was raised */
+    private boolean valid;
+
+    @Builder.Default
+    private List<ValidationFinding> errors = new ArrayList<>();
+
+    @Builder.Default
+    private List<ValidationFinding> warnings = new ArrayList<>();
+
+    public static ValidationResult of(Long buildId, Long formId, List<ValidationFinding> findings) {
+        List<ValidationFinding> errors = findings.stream()
+            .filter(ValidationFinding::isError)
+            .collect(Collectors.toList());
+        List<ValidationFinding> warnings = findings.stream()
+            .filter(f -> !f.isError())
+            .collect(Collectors.toList());
+        return ValidationResult.builder()
+            .buildId(buildId)
+            .formId(formId)
+            .valid(errors.isEmpty())
+            .errors(errors)
+            .warnings(warnings)
+            .build();
+    }
+
+    /**
+     * One-line summary of the errors, for exception messages
+     */
+    @JsonIgnore
+    public String getErrorSummary() {
+        return errors.stream()
+            .map(e -> e.getField() != null ? e.getField() + ": " + e.getMessage() : e.getMessage())
+            .collect(Collectors.joining("; "));
+    }
+}
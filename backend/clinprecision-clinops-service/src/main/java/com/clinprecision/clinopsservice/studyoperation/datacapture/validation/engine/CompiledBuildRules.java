@@ -0,0 +1,73 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationFinding;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All compiled validation rules and edit checks of one study database build
+ *
+ * Immutable; cached by build_id in FormValidationService.
+ */
+public final class CompiledBuildRules {
+
+    private final Long buildId;
+    private final Long studyId;
+    private final Map<Long, CompiledFormValidator> formValidators;
+    private final List<CompiledEditCheck> editChecks;
+    private final LocalDateTime compiledAt;
+
+    CompiledBuildRules(Long buildId, Long studyId, Map<Long, CompiledFormValidator> formValidators,
+                       List<CompiledEditCheck> editChecks) {
+        this.buildId = buildId;
+        this.studyId = studyId;
+        this.formValidators = Collections.unmodifiableMap(formValidators);
+        this.editChecks = Collections.unmodifiableList(editChecks);
+        this.compiledAt = LocalDateTime.now();
+    }
+
+    public Long getBuildId() {
+        return buildId;
+    }
+
+    public Long getStudyId() {
+        return studyId;
+    }
+
+    public Map<Long, CompiledFormValidator> getFormValidators() {
+        return formValidators;
+    }
+
+    public List<CompiledEditCheck> getEditChecks() {
+        return editChecks;
+    }
+
+    public LocalDateTime getCompiledAt() {
+        return compiledAt;
+    }
+
+    /**
+     * Validate one form submission: field rules of the form, plus the edit checks
+     * that can be evaluated on this form's data alone
+     *
+     * @param complete True for SUBMITTED/LOCKED submissions, false for drafts
+     */
+    public List<ValidationFinding> validate(Long formId, Map<String, Object> formData, boolean complete) {
+        CompiledFormValidator validator = formValidators.get(formId);
+        List<ValidationFinding> findings = validator != null
+            ? validator.validate(formData, complete)
+            : new ArrayList<>();
+        if (formData != null) {
+            for (CompiledEditCheck check : editChecks) {
+                if (check.appliesTo(formData)) {
+                    check.evaluate(formData, findings);
+                }
+            }
+        }
+        return findings;
+    }
+}
@@ -0,0 +1,98 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationFinding;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable compiled study_edit_checks row
+ *
+ * An edit check evaluates a set of field values: the data of one submitted form, or the
+ * merged latest data of all forms of a subject when checks run in bulk across a study.
+ *
+ * - RANGE: {"field": "age", "min": 18, "max": 85}
+ * - MISSING: {"requiredFields": ["subject_id", "visit_date"]} (subject level, bulk runs only)
+ * - CONSISTENCY / CROSS_FORM / other: {"rule": "visit_date >= consent_date"} (or "expression")
+ *
+ * RANGE and expression checks are only evaluated when every field they reference has a value;
+ * missing data is reported by MISSING checks.
+ */
+public final class CompiledEditCheck {
+
+    private final String name;
+    private final String type;
+    private final String severity;
+    private final String message;
+    private final Set<String> fields;
+    private final boolean subjectLevel;
+    private final Function<Map<String, Object>, String> evaluator;
+
+    CompiledEditCheck(String name, String type, String severity, String message, Set<String> fields,
+                      boolean subjectLevel, Function<Map<String, Object>, String> evaluator) {
+        this.name = name;
+        this.type = type;
+        this.severity = severity;
+        this.message = message;
+        this.fields = fields;
+        this.subjectLevel = subjectLevel;
+        this.evaluator = evaluator;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * True for checks that need all forms of a subject (MISSING)
+     */
+    public boolean isSubjectLevel() {
+        return subjectLevel;
+    }
+
+    /**
+     * True when the check can be evaluated on a single form's data
+     * (not subject level, and every referenced field is present)
+     */
+    public boolean appliesTo(Map<String, Object> formData) {
+        if (subjectLevel || fields.isEmpty()) {
+            return false;
+        }
+        for (String field : fields) {
+            if (ExpressionCompiler.isBlank(formData.get(field))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluate the check and append a finding when it fails
+     *
+     * @return True when the check failed
+     */
+    public boolean evaluate(Map<String, Object> values, List<ValidationFinding> findings) {
+        String detail = evaluator.apply(values);
+        if (detail == null) {
+            return false;
+        }
+        findings.add(ValidationFinding.builder()
+            .field(fields.size() == 1 ? fields.iterator().next() : null)
+            .ruleId(name)
+            .type("editCheck")
+            .severity(severity)
+            .message(message != null ? message : detail)
+            .build());
+        return true;
+    }
+}
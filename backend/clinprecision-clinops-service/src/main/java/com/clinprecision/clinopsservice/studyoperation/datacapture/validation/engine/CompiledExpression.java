@@ -0,0 +1,57 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A rule expression compiled once into an evaluation tree
+ *
+ * Expressions are the JavaScript-style rule strings of the form designer
+ * (e.g. "systolicBP > diastolicBP", "visit_date >= consent_date", "value >= 0 && value <= 10"),
+ * see ExpressionCompiler for the supported syntax. Instances are immutable and thread-safe.
+ */
+public final class CompiledExpression {
+
+    private final String source;
+    private final ExpressionCompiler.Node root;
+    private final Set<String> referencedFields;
+
+    CompiledExpression(String source, ExpressionCompiler.Node root, Set<String> referencedFields) {
+        this.source = source;
+        this.root = root;
+        this.referencedFields = referencedFields;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Field names the expression reads (first segment of dotted names)
+     */
+    public Set<String> getReferencedFields() {
+        return referencedFields;
+    }
+
+    /**
+     * Evaluate the expression against a set of field values
+     *
+     * @param values Field name → value (form data, plus "value" for the field being validated)
+     * @return Raw result (Boolean, Double, String or null)
+     */
+    public Object evaluate(Map<String, Object> values) {
+        return root.evaluate(values);
+    }
+
+    /**
+     * Evaluate the expression as a condition (JavaScript truthiness)
+     */
+    public boolean test(Map<String, Object> values) {
+        return ExpressionCompiler.isTruthy(root.evaluate(values));
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
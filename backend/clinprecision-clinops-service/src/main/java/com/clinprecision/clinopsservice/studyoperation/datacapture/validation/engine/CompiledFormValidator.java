@@ -0,0 +1,63 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationFinding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable validator of one form of one build
+ *
+ * Holds the compiled checks of every field (field metadata validation/dataQuality sections
+ * plus the build's study_form_validation_rules rows). Validating a submission only walks
+ * these checks; no JSON is parsed and no regex or expression is compiled at submission time.
+ */
+public final class CompiledFormValidator {
+
+    private final Long formId;
+    private final Map<String, List<FieldCheck>> fieldChecks;
+    private final int checkCount;
+
+    CompiledFormValidator(Long formId, Map<String, List<FieldCheck>> fieldChecks) {
+        this.formId = formId;
+        this.fieldChecks = Collections.unmodifiableMap(fieldChecks);
+        this.checkCount = fieldChecks.values().stream().mapToInt(List::size).sum();
+    }
+
+    public Long getFormId() {
+        return formId;
+    }
+
+    /**
+     * Fields defined on the form (fields with at least one check)
+     */
+    public Set<String> getFieldNames() {
+        return fieldChecks.keySet();
+    }
+
+    public int getCheckCount() {
+        return checkCount;
+    }
+
+    /**
+     * Validate form data
+     *
+     * @param formData Submitted field values
+     * @param complete True for SUBMITTED/LOCKED submissions (required checks apply), false for drafts
+     * @return Findings (empty when everything passed)
+     */
+    public List<ValidationFinding> validate(Map<String, Object> formData, boolean complete) {
+        List<ValidationFinding> findings = new ArrayList<>();
+        Map<String, Object> data = formData != null ? formData : Collections.emptyMap();
+        for (Map.Entry<String, List<FieldCheck>> entry : fieldChecks.entrySet()) {
+            FieldScope scope = new FieldScope(entry.getKey(), data.get(entry.getKey()), data, complete);
+            for (FieldCheck check : entry.getValue()) {
+                check.check(scope, findings);
+            }
+        }
+        return findings;
+    }
+}
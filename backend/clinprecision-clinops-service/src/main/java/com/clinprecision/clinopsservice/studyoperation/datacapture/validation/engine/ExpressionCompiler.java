@@ -0,0 +1,480 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles rule expressions into evaluation trees
+ *
+ * Supported syntax (the subset of JavaScript used by form designer rules):
+ * - Literals: numbers, 'single' or "double" quoted strings, true, false, null
+ * - Field references: fieldName, or dotted paths (field.value, vitals.systolic)
+ * - Operators: || && ! == != === !== < <= > >= + - * / % and parentheses
+ *
+ * Comparison semantics:
+ * - Two numeric values (numbers or numeric strings) compare as numbers
+ * - Otherwise values compare as strings, so ISO dates and times compare chronologically
+ * - Any ordering comparison involving null/blank is false
+ *
+ * Parsing happens once per rule when a build is compiled; evaluation only walks the tree.
+ */
+public final class ExpressionCompiler {
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Evaluation tree node
+     */
+    @FunctionalInterface
+    interface Node {
+        Object evaluate(Map<String, Object> values);
+    }
+
+    /**
+     * Compile an expression
+     *
+     * @param source Expression text
+     * @return Compiled expression
+     * @throws IllegalArgumentException if the expression is empty or not in the supported syntax
+     */
+    public static CompiledExpression compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Expression is empty");
+        }
+        Parser parser = new Parser(source, tokenize(source));
+        Node root = parser.parseExpression();
+        if (!parser.atEnd()) {
+            throw new IllegalArgumentException(
+                "Unexpected token '" + parser.peek().text + "' in expression: " + source);
+        }
+        return new CompiledExpression(source, root, Collections.unmodifiableSet(parser.referencedFields));
+    }
+
+    // ========== Value semantics ==========
+
+    static boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        if (value instanceof Number n) {
+            double d = n.doubleValue();
+            return d != 0 && !Double.isNaN(d);
+        }
+        if (value instanceof String s) {
+            return !s.isEmpty();
+        }
+        return true;
+    }
+
+    static boolean isBlank(Object value) {
+        return value == null || (value instanceof String s && s.isBlank());
+    }
+
+    /**
+     * Numeric view of a value (numbers, numeric strings and booleans), or null
+     */
+    static Double toNumber(Object value) {
+        if (value instanceof Number n) {
+            return n.doubleValue();
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1.0 : 0.0;
+        }
+        if (value instanceof String s && !s.isBlank()) {
+            try {
+                return Double.parseDouble(s.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean looselyEquals(Object left, Object right) {
+        if (isBlank(left) || isBlank(right)) {
+            return isBlank(left) && isBlank(right);
+        }
+        Double l = toNumber(left);
+        Double r = toNumber(right);
+        if (l != null && r != null) {
+            return l.doubleValue() == r.doubleValue();
+        }
+        return String.valueOf(left).equals(String.valueOf(right));
+    }
+
+    private static boolean strictlyEquals(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left instanceof Number l && right instanceof Number r) {
+            return l.doubleValue() == r.doubleValue();
+        }
+        return left.getClass() == right.getClass() && left.equals(right);
+    }
+
+    /**
+     * Ordering comparison; null when the values are not comparable
+     */
+    private static Integer compare(Object left, Object right) {
+        if (isBlank(left) || isBlank(right)) {
+            return null;
+        }
+        Double l = toNumber(left);
+        Double r = toNumber(right);
+        if (l != null && r != null) {
+            return Double.compare(l, r);
+        }
+        return String.valueOf(left).compareTo(String.valueOf(right));
+    }
+
+    private static Object add(Object left, Object right) {
+        if (left instanceof String || right instanceof String) {
+            Double l = toNumber(left);
+            Double r = toNumber(right);
+            if (l == null || r == null) {
+                return String.valueOf(left) + right;
+            }
+            return l + r;
+        }
+        return arithmetic(left, right, '+');
+    }
+
+    private static Object arithmetic(Object left, Object right, char operator) {
+        Double l = toNumber(left);
+        Double r = toNumber(right);
+        if (l == null || r == null) {
+            return null;
+        }
+        return switch (operator) {
+            case '+' -> l + r;
+            case '-' -> l - r;
+            case '*' -> l * r;
+            case '/' -> l / r;
+            case '%' -> l % r;
+            default -> throw new IllegalStateException("Unknown operator: " + operator);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object resolve(Map<String, Object> values, String path, String[] segments) {
+        if (values.containsKey(path)) {
+            return values.get(path);
+        }
+        Object current = values.get(segments[0]);
+        for (int i = 1; i < segments.length && current != null; i++) {
+            if (current instanceof Map<?, ?> map) {
+                current = ((Map<String, Object>) map).get(segments[i]);
+            } else if ("value".equals(segments[i])) {
+                // field.value refers to the field's own value
+                continue;
+            } else {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    // ========== Tokenizer ==========
+
+    private enum TokenType { NUMBER, STRING, IDENTIFIER, OPERATOR, LPAREN, RPAREN }
+
+    private record Token(TokenType type, String text) {
+    }
+
+    private static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = source.length();
+        while (i < length) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(source.charAt(i + 1)))) {
+                int start = i;
+                while (i < length && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.NUMBER, source.substring(start, i)));
+            } else if (c == '\'' || c == '"') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (i < length && source.charAt(i) != c) {
+                    if (source.charAt(i) == '\\' && i + 1 < length) {
+                        i++;
+                    }
+                    text.append(source.charAt(i++));
+                }
+                if (i >= length) {
+                    throw new IllegalArgumentException("Unterminated string in expression: " + source);
+                }
+                i++;
+                tokens.add(new Token(TokenType.STRING, text.toString()));
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                int start = i;
+                while (i < length && (Character.isLetterOrDigit(source.charAt(i))
+                        || source.charAt(i) == '_' || source.charAt(i) == '$' || source.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.IDENTIFIER, source.substring(start, i)));
+            } else if (c == '(') {
+                tokens.add(new Token(TokenType.LPAREN, "("));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(TokenType.RPAREN, ")"));
+                i++;
+            } else {
+                String operator = matchOperator(source, i);
+                if (operator == null) {
+                    throw new IllegalArgumentException("Unsupported character '" + c + "' in expression: " + source);
+                }
+                tokens.add(new Token(TokenType.OPERATOR, operator));
+                i += operator.length();
+            }
+        }
+        return tokens;
+    }
+
+    private static final String[] OPERATORS = {
+        "===", "!==", "==", "!=", "<=", ">=", "&&", "||", "<", ">", "!", "+", "-", "*", "/", "%"
+    };
+
+    private static String matchOperator(String source, int index) {
+        for (String operator : OPERATORS) {
+            if (source.startsWith(operator, index)) {
+                return operator;
+            }
+        }
+        return null;
+    }
+
+    // ========== Parser (recursive descent, lowest precedence first) ==========
+
+    private static final class Parser {
+        private final String source;
+        private final List<Token> tokens;
+        private final Set<String> referencedFields = new LinkedHashSet<>();
+        private int position;
+
+        Parser(String source, List<Token> tokens) {
+            this.source = source;
+            this.tokens = tokens;
+        }
+
+        boolean atEnd() {
+            return position >= tokens.size();
+        }
+
+        Token peek() {
+            return tokens.get(position);
+        }
+
+        private boolean matchOperator(String operator) {
+            if (!atEnd() && peek().type == TokenType.OPERATOR && peek().text.equals(operator)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        Node parseExpression() {
+            return parseOr();
+        }
+
+        private Node parseOr() {
+            Node left = parseAnd();
+            while (matchOperator("||")) {
+                Node l = left;
+                Node r = parseAnd();
+                left = values -> {
+                    Object value = l.evaluate(values);
+                    return isTruthy(value) ? value : r.evaluate(values);
+                };
+            }
+            return left;
+        }
+
+        private Node parseAnd() {
+            Node left = parseEquality();
+            while (matchOperator("&&")) {
+                Node l = left;
+                Node r = parseEquality();
+                left = values -> {
+                    Object value = l.evaluate(values);
+                    return isTruthy(value) ? r.evaluate(values) : value;
+                };
+            }
+            return left;
+        }
+
+        private Node parseEquality() {
+            Node left = parseRelational();
+            while (true) {
+                Node l = left;
+                if (matchOperator("===")) {
+                    Node r = parseRelational();
+                    left = values -> strictlyEquals(l.evaluate(values), r.evaluate(values));
+                } else if (matchOperator("!==")) {
+                    Node r = parseRelational();
+                    left = values -> !strictlyEquals(l.evaluate(values), r.evaluate(values));
+                } else if (matchOperator("==")) {
+                    Node r = parseRelational();
+                    left = values -> looselyEquals(l.evaluate(values), r.evaluate(values));
+                } else if (matchOperator("!=")) {
+                    Node r = parseRelational();
+                    left = values -> !looselyEquals(l.evaluate(values), r.evaluate(values));
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseRelational() {
+            Node left = parseAdditive();
+            while (true) {
+                Node l = left;
+                if (matchOperator("<=")) {
+                    Node r = parseAdditive();
+                    left = values -> {
+                        Integer c = compare(l.evaluate(values), r.evaluate(values));
+                        return c != null && c <= 0;
+                    };
+                } else if (matchOperator(">=")) {
+                    Node r = parseAdditive();
+                    left = values -> {
+                        Integer c = compare(l.evaluate(values), r.evaluate(values));
+                        return c != null && c >= 0;
+                    };
+                } else if (matchOperator("<")) {
+                    Node r = parseAdditive();
+                    left = values -> {
+                        Integer c = compare(l.evaluate(values), r.evaluate(values));
+                        return c != null && c < 0;
+                    };
+                } else if (matchOperator(">")) {
+                    Node r = parseAdditive();
+                    left = values -> {
+                        Integer c = compare(l.evaluate(values), r.evaluate(values));
+                        return c != null && c > 0;
+                    };
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseAdditive() {
+            Node left = parseMultiplicative();
+            while (true) {
+                Node l = left;
+                if (matchOperator("+")) {
+                    Node r = parseMultiplicative();
+                    left = values -> add(l.evaluate(values), r.evaluate(values));
+                } else if (matchOperator("-")) {
+                    Node r = parseMultiplicative();
+                    left = values -> arithmetic(l.evaluate(values), r.evaluate(values), '-');
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node parseMultiplicative() {
+            Node left = parseUnary();
+            while (true) {
+                Node l = left;
+                char operator;
+                if (matchOperator("*")) {
+                    operator = '*';
+                } else if (matchOperator("/")) {
+                    operator = '/';
+                } else if (matchOperator("%")) {
+                    operator = '%';
+                } else {
+                    return left;
+                }
+                Node r = parseUnary();
+                left = values -> arithmetic(l.evaluate(values), r.evaluate(values), operator);
+            }
+        }
+
+        private Node parseUnary() {
+            if (matchOperator("!")) {
+                Node operand = parseUnary();
+                return values -> !isTruthy(operand.evaluate(values));
+            }
+            if (matchOperator("-")) {
+                Node operand = parseUnary();
+                return values -> {
+                    Double number = toNumber(operand.evaluate(values));
+                    return number != null ? -number : null;
+                };
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            if (atEnd()) {
+                throw new IllegalArgumentException("Unexpected end of expression: " + source);
+            }
+            Token token = tokens.get(position++);
+            switch (token.type) {
+                case NUMBER -> {
+                    Double number;
+                    try {
+                        number = Double.parseDouble(token.text);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid number '" + token.text + "' in expression: " + source);
+                    }
+                    return values -> number;
+                }
+                case STRING -> {
+                    String text = token.text;
+                    return values -> text;
+                }
+                case IDENTIFIER -> {
+                    return identifier(token.text);
+                }
+                case LPAREN -> {
+                    Node inner = parseExpression();
+                    if (atEnd() || peek().type != TokenType.RPAREN) {
+                        throw new IllegalArgumentException("Missing ')' in expression: " + source);
+                    }
+                    position++;
+                    return inner;
+                }
+                default -> throw new IllegalArgumentException(
+                    "Unexpected token '" + token.text + "' in expression: " + source);
+            }
+        }
+
+        private Node identifier(String name) {
+            switch (name) {
+                case "true" -> {
+                    return values -> Boolean.TRUE;
+                }
+                case "false" -> {
+                    return values -> Boolean.FALSE;
+                }
+                case "null", "undefined" -> {
+                    return values -> null;
+                }
+                default -> {
+                    if (name.endsWith(".") || name.contains("..")) {
+                        throw new IllegalArgumentException("Invalid field reference '" + name + "' in expression: " + source);
+                    }
+                    String[] segments = name.split("\\.");
+                    referencedFields.add(segments[0]);
+                    return values -> resolve(values, name, segments);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationFinding;
+
+import java.util.List;
+
+/**
+ * One compiled check of a field value
+ */
+@FunctionalInterface
+interface FieldCheck {
+
+    /**
+     * @param scope Value being validated plus the rest of the form data
+     * @param findings Findings of the submission (appended to)
+     */
+    void check(FieldScope scope, List<ValidationFinding> findings);
+}
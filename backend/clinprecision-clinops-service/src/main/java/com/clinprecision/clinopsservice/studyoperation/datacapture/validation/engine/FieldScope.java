@@ -0,0 +1,64 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluation scope of one field: the form data plus "value" / "field.value" bound to the
+ * field being validated, without copying the form data map
+ */
+final class FieldScope extends AbstractMap<String, Object> {
+
+    private static final String VALUE = "value";
+    private static final String FIELD = "field";
+
+    private final String fieldName;
+    private final Object value;
+    private final Map<String, Object> formData;
+    private final boolean complete;
+
+    FieldScope(String fieldName, Object value, Map<String, Object> formData, boolean complete) {
+        this.fieldName = fieldName;
+        this.value = value;
+        this.formData = formData;
+        this.complete = complete;
+    }
+
+    String getFieldName() {
+        return fieldName;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    /**
+     * True for SUBMITTED/LOCKED submissions (required checks apply), false for drafts
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (VALUE.equals(key)) {
+            return value;
+        }
+        if (FIELD.equals(key) && !formData.containsKey(FIELD)) {
+            return Collections.singletonMap(VALUE, value);
+        }
+        return formData.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return VALUE.equals(key) || FIELD.equals(key) || formData.containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return formData.entrySet();
+    }
+}
@@ -0,0 +1,644 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine;
+
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.EditCheckRow;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.ValidationRuleRow;
+import com.clinprecision.clinopsservice.studydesign.design.form.dto.metadata.DataQualityRules;
+import com.clinprecision.clinopsservice.studydesign.design.form.dto.metadata.FieldMetadata;
+import com.clinprecision.clinopsservice.studydesign.design.form.dto.metadata.ValidationConfig;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationFinding;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles the validation configuration of a study database build into immutable evaluators
+ *
+ * Sources (all parsed once per build):
+ * - form_definitions.fields: "validation" and "dataQuality" sections of each field's metadata
+ *   (see resources/schemas/form-field-metadata-schema.json)
+ * - study_form_validation_rules rows of the build (REQUIRED, RANGE, REGEX, DATE_RANGE, LENGTH, CUSTOM)
+ * - study_edit_checks rows of the build (RANGE, MISSING, CONSISTENCY, CROSS_FORM)
+ *
+ * Rules that cannot be compiled (unknown type, invalid regex or expression) are skipped with a
+ * warning, like the browser engine does. Rule rows for fields the form does not define are
+ * dropped at compile time.
+ */
+@Component
+@Slf4j
+public class ValidationRuleCompiler {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+?[0-9 ()\\-.]{7,20}$");
+    private static final Set<String> SCOPE_NAMES = Set.of("value", "field");
+
+    private final ObjectMapper objectMapper;
+    private final boolean businessRulesEnabled;
+    private final int maxRulesPerField;
+
+    public ValidationRuleCompiler(ObjectMapper objectMapper,
+                                  @Value("${validation.rules.business-rules.enabled:true}") boolean businessRulesEnabled,
+                                  @Value("${validation.rules.business-rules.max-rules-per-field:10}") int maxRulesPerField) {
+        this.objectMapper = objectMapper;
+        this.businessRulesEnabled = businessRulesEnabled;
+        this.maxRulesPerField = Math.max(0, maxRulesPerField);
+    }
+
+    /**
+     * Compile the rules of one build
+     *
+     * @param formFields form_definitions.fields JSON per form ID
+     * @param rules Active study_form_validation_rules rows of the build
+     * @param checks Active study_edit_checks rows of the build
+     */
+    public CompiledBuildRules compile(Long buildId, Long studyId, Map<Long, String> formFields,
+                                      Collection<ValidationRuleRow> rules, Collection<EditCheckRow> checks) {
+        Map<Long, Map<String, List<FieldCheck>>> checksByForm = new LinkedHashMap<>();
+        formFields.forEach((formId, fieldsJson) ->
+            checksByForm.put(formId, compileFormFields(formId, fieldsJson)));
+
+        int skippedRules = 0;
+        for (ValidationRuleRow rule : rules) {
+            List<FieldCheck> fieldChecks = checksByForm
+                .getOrDefault(rule.getFormId(), Collections.emptyMap())
+                .get(rule.getFieldName());
+            FieldCheck check = fieldChecks != null ? compileRuleRow(rule) : null;
+            if (check == null) {
+                skippedRules++;
+                continue;
+            }
+            fieldChecks.add(check);
+        }
+
+        Map<Long, CompiledFormValidator> validators = new LinkedHashMap<>();
+        checksByForm.forEach((formId, fieldChecks) -> {
+            fieldChecks.replaceAll((field, list) -> List.copyOf(list));
+            validators.put(formId, new CompiledFormValidator(formId, fieldChecks));
+        });
+
+        List<CompiledEditCheck> editChecks = new ArrayList<>(checks.size());
+        for (EditCheckRow row : checks) {
+            CompiledEditCheck check = compileEditCheck(row);
+            if (check != null) {
+                editChecks.add(check);
+            }
+        }
+
+        log.info("Compiled validation rules for build {}: forms={}, fieldChecks={}, editChecks={}, skippedRuleRows={}",
+            buildId, validators.size(),
+            validators.values().stream().mapToInt(CompiledFormValidator::getCheckCount).sum(),
+            editChecks.size(), skippedRules);
+        return new CompiledBuildRules(buildId, studyId, validators, editChecks);
+    }
+
+    // ========== Field metadata ==========
+
+    private Map<String, List<FieldCheck>> compileFormFields(Long formId, String fieldsJson) {
+        Map<String, List<FieldCheck>> fieldChecks = new LinkedHashMap<>();
+        if (fieldsJson == null || fieldsJson.isBlank()) {
+            return fieldChecks;
+        }
+        List<JsonNode> fields = new ArrayList<>();
+        try {
+            collectFields(objectMapper.readTree(fieldsJson), fields);
+        } catch (Exception e) {
+            log.warn("Cannot parse fields of form {}: {}", formId, e.getMessage());
+            return fieldChecks;
+        }
+
+        for (JsonNode field : fields) {
+            String fieldName = field.path("id").asText(field.path("name").asText(""));
+            if (fieldName.isEmpty()) {
+                continue;
+            }
+            List<FieldCheck> checks = fieldChecks.computeIfAbsent(fieldName, k -> new ArrayList<>());
+            JsonNode metadataNode = field.has("metadata") ? field.get("metadata") : field;
+            try {
+                FieldMetadata metadata = objectMapper.treeToValue(metadataNode, FieldMetadata.class);
+                if (metadata.getValidation() != null) {
+                    compileValidationConfig(formId, fieldName, metadata.getValidation(), checks);
+                }
+                if (metadata.getDataQuality() != null) {
+                    compileDataQuality(formId, fieldName, metadata.getDataQuality(), checks);
+                }
+            } catch (Exception e) {
+                log.warn("Cannot read metadata of field {} on form {}: {}", fieldName, formId, e.getMessage());
+            }
+        }
+        return fieldChecks;
+    }
+
+    /**
+     * Flatten the fields array (fields may be nested in sections/groups)
+     */
+    private void collectFields(JsonNode node, List<JsonNode> fields) {
+        if (node.isArray()) {
+            node.forEach(child -> collectFields(child, fields));
+        } else if (node.isObject()) {
+            if (node.has("id") && (node.has("type") || node.has("metadata"))) {
+                fields.add(node);
+            }
+            if (node.has("fields")) {
+                collectFields(node.get("fields"), fields);
+            }
+        }
+    }
+
+    private void compileValidationConfig(Long formId, String fieldName, ValidationConfig config, List<FieldCheck> checks) {
+        if (Boolean.TRUE.equals(config.getRequired())) {
+            checks.add(required("REQUIRED", ValidationFinding.ERROR, "This field is required"));
+        }
+        if (config.getType() != null) {
+            FieldCheck typeCheck = typeCheck(config.getType());
+            if (typeCheck != null) {
+                checks.add(typeCheck);
+            }
+        }
+        if (config.getMinLength() != null && config.getMinLength() > 0) {
+            int minLength = config.getMinLength();
+            checks.add(valueCheck("MIN_LENGTH", "minLength", ValidationFinding.ERROR,
+                "Minimum length is " + minLength + " characters",
+                value -> !(value instanceof String s) || s.length() >= minLength));
+        }
+        if (config.getMaxLength() != null && config.getMaxLength() > 0) {
+            int maxLength = config.getMaxLength();
+            checks.add(valueCheck("MAX_LENGTH", "maxLength", ValidationFinding.ERROR,
+                "Maximum length is " + maxLength + " characters",
+                value -> !(value instanceof String s) || s.length() <= maxLength));
+        }
+        if (config.getMinValue() != null) {
+            double min = config.getMinValue();
+            checks.add(valueCheck("MIN_VALUE", "range", ValidationFinding.ERROR, "Minimum value is " + formatNumber(min),
+                value -> numberOr(value, n -> n >= min)));
+        }
+        if (config.getMaxValue() != null) {
+            double max = config.getMaxValue();
+            checks.add(valueCheck("MAX_VALUE", "range", ValidationFinding.ERROR, "Maximum value is " + formatNumber(max),
+                value -> numberOr(value, n -> n <= max)));
+        }
+        if (Boolean.FALSE.equals(config.getAllowNegative())) {
+            checks.add(valueCheck("NO_NEGATIVE", "range", ValidationFinding.ERROR, "Negative values are not allowed",
+                value -> numberOr(value, n -> n >= 0)));
+        }
+        if (config.getDecimalPlaces() != null) {
+            int decimalPlaces = config.getDecimalPlaces();
+            checks.add(valueCheck("DECIMAL_PLACES", "format", ValidationFinding.ERROR,
+                "Maximum " + decimalPlaces + " decimal places allowed",
+                value -> decimalPlaces(value) <= decimalPlaces));
+        }
+        if (config.getPattern() != null && !config.getPattern().isEmpty()) {
+            FieldCheck patternCheck = patternCheck(formId, fieldName, config.getPattern(),
+                config.getPatternDescription() != null ? config.getPatternDescription() : "Invalid format",
+                "PATTERN", ValidationFinding.ERROR);
+            if (patternCheck != null) {
+                checks.add(patternCheck);
+            }
+        }
+        if (businessRulesEnabled && config.getCustomRules() != null) {
+            int compiled = 0;
+            for (ValidationConfig.CustomValidationRule rule : config.getCustomRules()) {
+                if (compiled >= maxRulesPerField) {
+                    log.warn("Form {} field {}: more than {} custom rules, remaining rules ignored",
+                        formId, fieldName, maxRulesPerField);
+                    break;
+                }
+                FieldCheck check = expressionCheck(formId, fieldName, rule.getExpression(), rule.getRuleId(),
+                    rule.getRuleType() != null ? rule.getRuleType() : "custom",
+                    severity(rule.getSeverity(), ValidationFinding.ERROR), rule.getErrorMessage());
+                if (check != null) {
+                    checks.add(check);
+                    compiled++;
+                }
+            }
+        }
+        if (config.getConditionalValidation() != null) {
+            for (ValidationConfig.ConditionalValidation conditional : config.getConditionalValidation()) {
+                FieldCheck check = conditionalCheck(formId, fieldName, conditional);
+                if (check != null) {
+                    checks.add(check);
+                }
+            }
+        }
+    }
+
+    private void compileDataQuality(Long formId, String fieldName, DataQualityRules rules, List<FieldCheck> checks) {
+        if (rules.getRangeChecks() != null) {
+            for (DataQualityRules.RangeCheck range : rules.getRangeChecks()) {
+                Double min = range.getMin();
+                Double max = range.getMax();
+                if (min == null && max == null) {
+                    continue;
+                }
+                String message = range.getMessage() != null ? range.getMessage()
+                    : "Value outside " + (range.getType() != null ? range.getType() : "expected") + " range";
+                checks.add(valueCheck(range.getCheckId() != null ? range.getCheckId() : "RANGE_CHECK", "rangeCheck",
+                    severity(range.getAction(), ValidationFinding.WARNING), message,
+                    value -> numberOr(value, n -> (min == null || n >= min) && (max == null || n <= max))));
+            }
+        }
+        if (!businessRulesEnabled) {
+            return;
+        }
+        if (rules.getConsistencyRules() != null) {
+            for (DataQualityRules.ConsistencyRule rule : rules.getConsistencyRules()) {
+                FieldCheck check = expressionCheck(formId, fieldName, rule.getExpression(), rule.getRuleId(),
+                    "consistency", ValidationFinding.WARNING, rule.getMessage());
+                if (check != null) {
+                    checks.add(check);
+                }
+            }
+        }
+        if (rules.getCrossFieldValidation() != null) {
+            for (DataQualityRules.CrossFieldValidation rule : rules.getCrossFieldValidation()) {
+                FieldCheck check = expressionCheck(formId, fieldName, rule.getExpression(), rule.getRuleId(),
+                    "crossField", severity(rule.getSeverity(), ValidationFinding.ERROR), rule.getMessage());
+                if (check != null) {
+                    checks.add(check);
+                }
+            }
+        }
+    }
+
+    private FieldCheck conditionalCheck(Long formId, String fieldName, ValidationConfig.ConditionalValidation conditional) {
+        if (conditional.getCondition() == null || conditional.getRules() == null) {
+            return null;
+        }
+        CompiledExpression condition = compileExpression(formId, fieldName, conditional.getCondition());
+        if (condition == null) {
+            return null;
+        }
+        List<FieldCheck> nested = new ArrayList<>();
+        compileValidationConfig(formId, fieldName, conditional.getRules(), nested);
+        if (nested.isEmpty()) {
+            return null;
+        }
+        List<FieldCheck> rules = List.copyOf(nested);
+        return (scope, findings) -> {
+            if (condition.test(scope)) {
+                for (FieldCheck check : rules) {
+                    check.check(scope, findings);
+                }
+            }
+        };
+    }
+
+    // ========== study_form_validation_rules rows ==========
+
+    private FieldCheck compileRuleRow(ValidationRuleRow rule) {
+        String severity = severity(rule.getSeverity(), ValidationFinding.ERROR);
+        String ruleType = rule.getRuleType() != null ? rule.getRuleType().toUpperCase() : "";
+        JsonNode value;
+        try {
+            value = rule.getRuleValue() != null ? objectMapper.readTree(rule.getRuleValue()) : objectMapper.createObjectNode();
+        } catch (Exception e) {
+            log.warn("Cannot parse rule_value of {} rule on form {} field {}: {}",
+                ruleType, rule.getFormId(), rule.getFieldName(), e.getMessage());
+            return null;
+        }
+        String message = rule.getErrorMessage();
+
+        switch (ruleType) {
+            case "REQUIRED" -> {
+                return required(ruleType, severity, message != null ? message : "This field is required");
+            }
+            case "RANGE" -> {
+                Double min = value.hasNonNull("min") ? value.get("min").asDouble() : null;
+                Double max = value.hasNonNull("max") ? value.get("max").asDouble() : null;
+                return valueCheck(ruleType, "range", severity, message != null ? message : "Value out of range",
+                    v -> numberOr(v, n -> (min == null || n >= min) && (max == null || n <= max)));
+            }
+            case "LENGTH" -> {
+                Integer min = value.hasNonNull("minLength") ? value.get("minLength").asInt() : null;
+                Integer max = value.hasNonNull("maxLength") ? value.get("maxLength").asInt() : null;
+                return valueCheck(ruleType, "length", severity, message != null ? message : "Invalid length",
+                    v -> !(v instanceof String s) || ((min == null || s.length() >= min) && (max == null || s.length() <= max)));
+            }
+            case "REGEX" -> {
+                return patternCheck(rule.getFormId(), rule.getFieldName(), value.path("pattern").asText(""),
+                    message != null ? message : "Invalid format", ruleType, severity);
+            }
+            case "DATE_RANGE" -> {
+                String minDate = value.hasNonNull("minDate") ? value.get("minDate").asText() : null;
+                String maxDate = value.hasNonNull("maxDate") ? value.get("maxDate").asText() : null;
+                return valueCheck(ruleType, "dateRange", severity, message != null ? message : "Date out of range",
+                    v -> {
+                        // ISO dates compare chronologically as strings; non-dates are left to the type check
+                        String date = String.valueOf(v);
+                        if (!isDate(date)) {
+                            return true;
+                        }
+                        String day = date.length() > 10 ? date.substring(0, 10) : date;
+                        return (minDate == null || day.compareTo(minDate) >= 0)
+                            && (maxDate == null || day.compareTo(maxDate) <= 0);
+                    });
+            }
+            case "CUSTOM" -> {
+                if (!businessRulesEnabled) {
+                    return null;
+                }
+                String expression = value.hasNonNull("expression") ? value.get("expression").asText()
+                    : value.path("rule").asText(null);
+                return expressionCheck(rule.getFormId(), rule.getFieldName(), expression, ruleType, "custom",
+                    severity, message);
+            }
+            default -> {
+                log.warn("Unsupported validation rule type {} on form {} field {} - skipped",
+                    ruleType, rule.getFormId(), rule.getFieldName());
+                return null;
+            }
+        }
+    }
+
+    // ========== study_edit_checks rows ==========
+
+    private CompiledEditCheck compileEditCheck(EditCheckRow row) {
+        String checkType = row.getCheckType() != null ? row.getCheckType().toUpperCase() : "";
+        // Action decides whether a failed check blocks a submission
+        String severity = "BLOCK".equalsIgnoreCase(row.getActionRequired())
+            ? ValidationFinding.ERROR : ValidationFinding.WARNING;
+        JsonNode logic;
+        try {
+            logic = row.getCheckLogic() != null ? objectMapper.readTree(row.getCheckLogic()) : objectMapper.createObjectNode();
+        } catch (Exception e) {
+            log.warn("Cannot parse check_logic of edit check '{}': {}", row.getCheckName(), e.getMessage());
+            return null;
+        }
+
+        switch (checkType) {
+            case "RANGE" -> {
+                String field = logic.path("field").asText("");
+                if (field.isEmpty()) {
+                    return null;
+                }
+                Double min = logic.hasNonNull("min") ? logic.get("min").asDouble() : null;
+                Double max = logic.hasNonNull("max") ? logic.get("max").asDouble() : null;
+                Function<Map<String, Object>, String> evaluator = values -> {
+                    Double n = ExpressionCompiler.toNumber(values.get(field));
+                    if (n == null || ((min == null || n >= min) && (max == null || n <= max))) {
+                        return null;
+                    }
+                    return field + " = " + formatNumber(n) + " is outside the expected range";
+                };
+                return new CompiledEditCheck(row.getCheckName(), checkType, severity, row.getErrorMessage(),
+                    Set.of(field), false, evaluator);
+            }
+            case "MISSING" -> {
+                Set<String> requiredFields = new LinkedHashSet<>();
+                logic.path("requiredFields").forEach(node -> requiredFields.add(node.asText()));
+                if (requiredFields.isEmpty()) {
+                    return null;
+                }
+                Function<Map<String, Object>, String> evaluator = values -> {
+                    List<String> missing = requiredFields.stream()
+                        .filter(field -> ExpressionCompiler.isBlank(values.get(field)))
+                        .toList();
+                    return missing.isEmpty() ? null : "Missing: " + String.join(", ", missing);
+                };
+                return new CompiledEditCheck(row.getCheckName(), checkType, severity, row.getErrorMessage(),
+                    Collections.unmodifiableSet(requiredFields), true, evaluator);
+            }
+            default -> {
+                String source = logic.hasNonNull("rule") ? logic.get("rule").asText() : logic.path("expression").asText(null);
+                if (source == null) {
+                    log.warn("Edit check '{}' ({}) has no rule expression - skipped", row.getCheckName(), checkType);
+                    return null;
+                }
+                CompiledExpression expression;
+                try {
+                    expression = ExpressionCompiler.compile(source);
+                } catch (IllegalArgumentException e) {
+                    log.warn("Cannot compile edit check '{}': {}", row.getCheckName(), e.getMessage());
+                    return null;
+                }
+                Function<Map<String, Object>, String> evaluator = values -> {
+                    for (String field : expression.getReferencedFields()) {
+                        if (ExpressionCompiler.isBlank(values.get(field))) {
+                            return null;
+                        }
+                    }
+                    return expression.test(values) ? null : "Failed: " + source;
+                };
+                return new CompiledEditCheck(row.getCheckName(), checkType, severity, row.getErrorMessage(),
+                    expression.getReferencedFields(), false, evaluator);
+            }
+        }
+    }
+
+    // ========== Check factories ==========
+
+    private static FieldCheck required(String ruleId, String severity, String message) {
+        return (scope, findings) -> {
+            if (scope.isComplete() && isEmpty(scope.getValue())) {
+                findings.add(finding(scope, ruleId, "required", severity, message));
+            }
+        };
+    }
+
+    /**
+     * Check of a non-empty value (empty values are only reported by required checks)
+     */
+    private static FieldCheck valueCheck(String ruleId, String type, String severity, String message,
+                                         Predicate<Object> valid) {
+        return (scope, findings) -> {
+            Object value = scope.getValue();
+            if (!isEmpty(value) && !valid.test(value)) {
+                findings.add(finding(scope, ruleId, type, severity, message));
+            }
+        };
+    }
+
+    private FieldCheck typeCheck(String type) {
+        Predicate<Object> valid = switch (type) {
+            case "integer" -> value -> {
+                Double n = ExpressionCompiler.toNumber(value);
+                return n != null && n == Math.rint(n) && !(value instanceof Boolean);
+            };
+            case "decimal" -> value -> ExpressionCompiler.toNumber(value) != null && !(value instanceof Boolean);
+            case "date" -> value -> isDate(String.valueOf(value));
+            case "datetime" -> value -> isDateTime(String.valueOf(value));
+            case "time" -> value -> isTime(String.valueOf(value));
+            case "email" -> value -> EMAIL_PATTERN.matcher(String.valueOf(value)).matches();
+            case "phone" -> value -> PHONE_PATTERN.matcher(String.valueOf(value)).matches();
+            case "url" -> value -> isUrl(String.valueOf(value));
+            default -> null;
+        };
+        if (valid == null) {
+            return null;
+        }
+        return valueCheck("TYPE", "type", ValidationFinding.ERROR, "Invalid " + type + " value", valid);
+    }
+
+    private FieldCheck patternCheck(Long formId, String fieldName, String regex, String message,
+                                    String ruleId, String severity) {
+        if (regex == null || regex.isEmpty()) {
+            return null;
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            log.warn("Invalid pattern on form {} field {}: {}", formId, fieldName, e.getDescription());
+            return null;
+        }
+        // Same semantics as RegExp.test in the browser engine
+        return valueCheck(ruleId, "pattern", severity, message, value -> pattern.matcher(String.valueOf(value)).find());
+    }
+
+    /**
+     * Expression rule: fails when the expression is false. Skipped while the field or any other
+     * field it references is still empty, so partially entered forms do not raise false positives.
+     */
+    private FieldCheck expressionCheck(Long formId, String fieldName, String source, String ruleId, String type,
+                                       String severity, String message) {
+        CompiledExpression expression = compileExpression(formId, fieldName, source);
+        if (expression == null) {
+            return null;
+        }
+        List<String> otherFields = expression.getReferencedFields().stream()
+            .filter(field -> !SCOPE_NAMES.contains(field))
+            .toList();
+        String text = message != null ? message : "Validation rule failed: " + source;
+        return (scope, findings) -> {
+            if (isEmpty(scope.getValue())) {
+                return;
+            }
+            for (String field : otherFields) {
+                if (ExpressionCompiler.isBlank(scope.get(field))) {
+                    return;
+                }
+            }
+            if (!expression.test(scope)) {
+                findings.add(finding(scope, ruleId != null ? ruleId : "CUSTOM", type, severity, text));
+            }
+        };
+    }
+
+    private CompiledExpression compileExpression(Long formId, String fieldName, String source) {
+        if (source == null || source.isBlank()) {
+            return null;
+        }
+        try {
+            return ExpressionCompiler.compile(source);
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot compile rule on form {} field {}: {}", formId, fieldName, e.getMessage());
+            return null;
+        }
+    }
+
+    // ========== Helpers ==========
+
+    private static ValidationFinding finding(FieldScope scope, String ruleId, String type, String severity, String message) {
+        return ValidationFinding.builder()
+            .field(scope.getFieldName())
+            .ruleId(ruleId)
+            .type(type)
+            .severity(severity)
+            .message(message)
+            .build();
+    }
+
+    /**
+     * Map a metadata severity/action (error, warning, query, info) or rule row severity to a finding severity
+     */
+    static String severity(String value, String defaultSeverity) {
+        if (value == null || value.isBlank()) {
+            return defaultSeverity;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "error", "critical", "block" -> ValidationFinding.ERROR;
+            case "warning", "warn", "query", "major", "minor" -> ValidationFinding.WARNING;
+            case "info" -> ValidationFinding.INFO;
+            default -> defaultSeverity;
+        };
+    }
+
+    private static boolean isEmpty(Object value) {
+        return ExpressionCompiler.isBlank(value) || (value instanceof Collection<?> c && c.isEmpty());
+    }
+
+    /**
+     * Numeric predicate; non-numeric values pass (they are reported by the type check)
+     */
+    private static boolean numberOr(Object value, Predicate<Double> valid) {
+        Double n = ExpressionCompiler.toNumber(value);
+        return n == null || valid.test(n);
+    }
+
+    private static int decimalPlaces(Object value) {
+        if (ExpressionCompiler.toNumber(value) == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, new BigDecimal(String.valueOf(value).trim()).stripTrailingZeros().scale());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String formatNumber(double n) {
+        return n == Math.rint(n) ? String.valueOf((long) n) : String.valueOf(n);
+    }
+
+    private static boolean isDate(String value) {
+        try {
+            LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDateTime(String value) {
+        try {
+            LocalDateTime.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            try {
+                OffsetDateTime.parse(value);
+                return true;
+            } catch (DateTimeParseException ex) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean isTime(String value) {
+        try {
+            LocalTime.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean isUrl(String value) {
+        try {
+            URI uri = new URI(value);
+            return uri.getScheme() != null && uri.getHost() != null
+                && ("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository;
+
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.EditCheckRow;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.ValidationRuleRow;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC reads of the validation configuration written by the study database build
+ * (study_form_validation_rules, study_edit_checks, form_definitions.fields), and of the
+ * latest submitted form data per subject for bulk edit check runs.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class ValidationRuleJdbcRepository {
+
+    private static final String SELECT_BUILD_SQL =
+        "SELECT study_id, build_status FROM study_database_builds WHERE id = ?";
+
+    private static final String SELECT_FORM_FIELDS_SQL =
+        "SELECT id, fields FROM form_definitions WHERE study_id = ?";
+
+    private static final String SELECT_VALIDATION_RULES_SQL =
+        "SELECT study_id, build_id, form_id, field_name, rule_type, rule_value, error_message, severity " +
+        "FROM study_form_validation_rules WHERE build_id = ? AND is_active = TRUE ORDER BY id";
+
+    private static final String SELECT_EDIT_CHECKS_SQL =
+        "SELECT study_id, build_id, check_name, check_type, check_logic, severity, error_message, action_required " +
+        "FROM study_edit_checks WHERE build_id = ? AND is_active = TRUE ORDER BY id";
+
+    private static final String SELECT_SUBJECTS_WITH_DATA_SQL =
+        "SELECT DISTINCT subject_id FROM study_form_data " +
+        "WHERE study_id = ? AND subject_id IS NOT NULL AND status IN ('SUBMITTED', 'LOCKED') ORDER BY subject_id";
+
+    private static final String SELECT_SUBJECT_FORM_DATA_SQL =
+        "SELECT subject_id, visit_id, form_data FROM (" +
+        "SELECT subject_id, visit_id, form_data, created_at, id, ROW_NUMBER() OVER (" +
+        "PARTITION BY subject_id, visit_id, form_id ORDER BY created_at DESC, id DESC) AS rn " +
+        "FROM study_form_data WHERE study_id = ? AND subject_id IN (%s) AND status IN ('SUBMITTED', 'LOCKED')" +
+        ") latest WHERE rn = 1 ORDER BY subject_id, created_at, id";
+
+    private static final TypeReference<Map<String, Object>> FORM_DATA_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Study ID and status of a build
+     */
+    public Optional<BuildInfo> findBuild(Long buildId) {
+        try {
+            return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_BUILD_SQL,
+                (rs, rowNum) -> new BuildInfo(rs.getLong(1), rs.getString(2)), buildId));
+        } catch (EmptyResultDataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * form_definitions.fields JSON of every form of a study
+     */
+    public Map<Long, String> findFormFields(Long studyId) {
+        Map<Long, String> fields = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_FORM_FIELDS_SQL,
+            rs -> {
+                fields.put(rs.getLong(1), rs.getString(2));
+            },
+            studyId);
+        return fields;
+    }
+
+    public List<ValidationRuleRow> findValidationRules(Long buildId) {
+        return jdbcTemplate.query(SELECT_VALIDATION_RULES_SQL,
+            (rs, rowNum) -> ValidationRuleRow.builder()
+                .studyId(rs.getLong(1))
+                .buildId(rs.getLong(2))
+                .formId(rs.getLong(3))
+                .fieldName(rs.getString(4))
+                .ruleType(rs.getString(5))
+                .ruleValue(rs.getString(6))
+                .errorMessage(rs.getString(7))
+                .severity(rs.getString(8))
+                .build(),
+            buildId);
+    }
+
+    public List<EditCheckRow> findEditChecks(Long buildId) {
+        return jdbcTemplate.query(SELECT_EDIT_CHECKS_SQL,
+            (rs, rowNum) -> EditCheckRow.builder()
+                .studyId(rs.getLong(1))
+                .buildId(rs.getLong(2))
+                .checkName(rs.getString(3))
+                .checkType(rs.getString(4))
+                .checkLogic(rs.getString(5))
+                .severity(rs.getString(6))
+                .errorMessage(rs.getString(7))
+                .actionRequired(rs.getString(8))
+                .build(),
+            buildId);
+    }
+
+    /**
+     * Subjects of a study with at least one submitted/locked form
+     */
+    public List<Long> findSubjectsWithSubmittedData(Long studyId) {
+        return jdbcTemplate.queryForList(SELECT_SUBJECTS_WITH_DATA_SQL, Long.class, studyId);
+    }
+
+    /**
+     * Latest submitted/locked version of each form of each subject, merged per visit
+     *
+     * Only the latest version of a form counts (values removed by a later version are gone), and
+     * values of repeated forms at different visits are kept apart. Within one visit, a field on
+     * several forms keeps the value of the form submitted last.
+     *
+     * @return Subject ID → form data of the subject
+     */
+    public Map<Long, SubjectFormData> findLatestSubjectFormData(Long studyId, Collection<Long> subjectIds) {
+        if (subjectIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String placeholders = String.join(",", Collections.nCopies(subjectIds.size(), "?"));
+        Object[] args = new Object[subjectIds.size() + 1];
+        args[0] = studyId;
+        int i = 1;
+        for (Long subjectId : subjectIds) {
+            args[i++] = subjectId;
+        }
+
+        Map<Long, SubjectFormData> subjects = new LinkedHashMap<>();
+        jdbcTemplate.query(String.format(SELECT_SUBJECT_FORM_DATA_SQL, placeholders),
+            rs -> {
+                long subjectId = rs.getLong(1);
+                long visit = rs.getLong(2);
+                Long visitId = rs.wasNull() ? null : visit;
+                String json = rs.getString(3);
+                if (json == null) {
+                    return;
+                }
+                Map<String, Object> formData;
+                try {
+                    formData = objectMapper.readValue(json, FORM_DATA_TYPE);
+                } catch (Exception e) {
+                    log.warn("Skipping unreadable form_data of subject {}: {}", subjectId, e.getMessage());
+                    return;
+                }
+                SubjectFormData subject = subjects.computeIfAbsent(subjectId,
+                    k -> new SubjectFormData(new HashMap<>(), new HashMap<>(), new LinkedHashMap<>()));
+                subject.merged().putAll(formData);
+                if (visitId == null) {
+                    subject.unscheduled().putAll(formData);
+                } else {
+                    subject.visits().computeIfAbsent(visitId, k -> new HashMap<>()).putAll(formData);
+                }
+            },
+            args);
+        return subjects;
+    }
+
+    /**
+     * Study and status of a build
+     */
+    public record BuildInfo(Long studyId, String buildStatus) {
+    }
+
+    /**
+     * Latest submitted/locked form data of a subject
+     *
+     * @param merged Fields of all forms and visits (the form submitted last wins), for subject level checks
+     * @param unscheduled Fields of forms not attached to a visit
+     * @param visits Visit instance ID → fields of the forms of that visit
+     */
+    public record SubjectFormData(Map<String, Object> merged, Map<String, Object> unscheduled,
+                                  Map<Long, Map<String, Object>> visits) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
+import com.clinprecision.clinopsservice.studydesign.build.service.ActiveBuildRegistry;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.EditCheckRunResult;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationFinding;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationResult;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine.CompiledBuildRules;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine.CompiledEditCheck;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine.ValidationRuleCompiler;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository.ValidationRuleJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository.ValidationRuleJdbcRepository.BuildInfo;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository.ValidationRuleJdbcRepository.SubjectFormData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Form Validation Service - server-side validation of form submissions
+ *
+ * The validation rules and edit checks of a study database build are compiled once
+ * (ValidationRuleCompiler) and cached by build_id, so a submission is validated by walking
+ * immutable per-form evaluators without reading or parsing any rule JSON.
+ *
+ * - Only COMPLETED builds are cached: their rule rows no longer change
+ * - The cache keeps at most validation.rules.compiled-cache-max-builds builds (oldest compiled evicted)
+ * - Edit checks can also run in bulk across all subjects of a study
+ *   (validation.rules.cross-form.*), per visit on the latest version of each of the subject's forms
+ */
+@Service
+@Slf4j
+public class FormValidationService {
+
+    private final ValidationRuleJdbcRepository ruleRepository;
+    private final ValidationRuleCompiler ruleCompiler;
+    private final ActiveBuildRegistry activeBuildRegistry;
+    private final boolean crossFormEnabled;
+    private final int crossFormBatchSize;
+    private final int maxCachedBuilds;
+
+    private final Map<Long, CompiledBuildRules> compiledRules = new ConcurrentHashMap<>();
+
+    public FormValidationService(ValidationRuleJdbcRepository ruleRepository,
+                                 ValidationRuleCompiler ruleCompiler,
+                                 ActiveBuildRegistry activeBuildRegistry,
+                                 @Value("${validation.rules.cross-form.enabled:true}") boolean crossFormEnabled,
+                                 @Value("${validation.rules.cross-form.batch-size:100}") int crossFormBatchSize,
+                                 @Value("${validation.rules.compiled-cache-max-builds:64}") int maxCachedBuilds) {
+        this.ruleRepository = ruleRepository;
+        this.ruleCompiler = ruleCompiler;
+        this.activeBuildRegistry = activeBuildRegistry;
+        this.crossFormEnabled = crossFormEnabled;
+        this.crossFormBatchSize = Math.max(1, crossFormBatchSize);
+        this.maxCachedBuilds = Math.max(1, maxCachedBuilds);
+    }
+
+    /**
+     * Validate form data against the compiled rules of a build
+     *
+     * @param buildId Build the submission belongs to
+     * @param formId Form definition ID
+     * @param formData Submitted field values
+     * @param status DRAFT, SUBMITTED or LOCKED (required checks do not apply to drafts)
+     * @return Validation result (valid when no ERROR finding was raised)
+     */
+    public ValidationResult validate(Long buildId, Long formId, Map<String, Object> formData, String status) {
+        CompiledBuildRules rules = getCompiledRules(buildId);
+        boolean complete = !"DRAFT".equals(status);
+        List<ValidationFinding> findings = rules.validate(formId, formData, complete);
+        ValidationResult result = ValidationResult.of(buildId, formId, findings);
+        log.debug("Validated form {} (build {}): errors={}, warnings={}",
+            formId, buildId, result.getErrors().size(), result.getWarnings().size());
+        return result;
+    }
+
+    /**
+     * Run the edit checks of a build across all subjects of a study
+     *
+     * Only the latest submitted/locked version of each form is read. Edit checks are evaluated per
+     * visit, on the fields of the visit's forms plus those of forms without a visit, so repeated
+     * visit forms do not overwrite each other; a check referencing no field of any visit is
+     * evaluated once on the forms without a visit. Subject level checks (MISSING) are evaluated
+     * once on all fields of the subject. Subjects are loaded in chunks of
+     * validation.rules.cross-form.batch-size.
+     *
+     * @param studyId Study ID
+     * @param buildId Build whose edit checks to run (null = latest completed build of the study)
+     */
+    public EditCheckRunResult runStudyEditChecks(Long studyId, Long buildId) {
+        if (!crossFormEnabled) {
+            throw new IllegalStateException("Cross-form edit checks are disabled (validation.rules.cross-form.enabled=false)");
+        }
+        long start = System.currentTimeMillis();
+        Long resolvedBuildId = buildId != null ? buildId : findLatestCompletedBuildId(studyId);
+        CompiledBuildRules rules = getCompiledRules(resolvedBuildId);
+        if (!studyId.equals(rules.getStudyId())) {
+            throw new IllegalArgumentException("Build " + resolvedBuildId + " does not belong to study " + studyId);
+        }
+        List<CompiledEditCheck> checks = rules.getEditChecks();
+
+        EditCheckRunResult result = EditCheckRunResult.builder()
+            .studyId(studyId)
+            .buildId(resolvedBuildId)
+            .editChecks(checks.size())
+            .build();
+        if (checks.isEmpty()) {
+            result.setDurationMs(System.currentTimeMillis() - start);
+            return result;
+        }
+
+        List<Long> subjectIds = ruleRepository.findSubjectsWithSubmittedData(studyId);
+        int checksEvaluated = 0;
+        int checksFailed = 0;
+        for (int from = 0; from < subjectIds.size(); from += crossFormBatchSize) {
+            List<Long> chunk = subjectIds.subList(from, Math.min(from + crossFormBatchSize, subjectIds.size()));
+            Map<Long, SubjectFormData> subjectData = ruleRepository.findLatestSubjectFormData(studyId, chunk);
+            for (Map.Entry<Long, SubjectFormData> subject : subjectData.entrySet()) {
+                SubjectFormData data = subject.getValue();
+                Map<Long, Map<String, Object>> visitScopes = new HashMap<>();
+                data.visits().forEach((visitId, visitData) -> {
+                    Map<String, Object> scope = new HashMap<>(data.unscheduled());
+                    scope.putAll(visitData);
+                    visitScopes.put(visitId, scope);
+                });
+
+                List<ValidationFinding> findings = new ArrayList<>();
+                for (CompiledEditCheck check : checks) {
+                    if (check.isSubjectLevel()) {
+                        checksEvaluated++;
+                        checksFailed += evaluate(check, data.merged(), null, findings);
+                        continue;
+                    }
+                    boolean evaluated = false;
+                    for (Map.Entry<Long, Map<String, Object>> visit : data.visits().entrySet()) {
+                        if (check.getFields().stream().noneMatch(visit.getValue()::containsKey)) {
+                            continue;
+                        }
+                        checksEvaluated++;
+                        checksFailed += evaluate(check, visitScopes.get(visit.getKey()), visit.getKey(), findings);
+                        evaluated = true;
+                    }
+                    if (!evaluated) {
+                        checksEvaluated++;
+                        checksFailed += evaluate(check, data.unscheduled(), null, findings);
+                    }
+                }
+                if (!findings.isEmpty()) {
+                    result.getFindingsBySubject().put(subject.getKey(), findings);
+                }
+            }
+        }
+
+        result.setSubjectsChecked(subjectIds.size());
+        result.setChecksEvaluated(checksEvaluated);
+        result.setChecksFailed(checksFailed);
+        result.setDurationMs(System.currentTimeMillis() - start);
+        log.info("Ran {} edit checks of build {} across {} subjects of study {}: failed={}, took {}ms",
+            checks.size(), resolvedBuildId, subjectIds.size(), studyId, checksFailed, result.getDurationMs());
+        return result;
+    }
+
+    /**
+     * Evaluate an edit check on one scope of a subject's data
+     *
+     * @param visitId Visit instance of the scope (null for forms without a visit / subject level)
+     * @return 1 when the check failed, 0 otherwise
+     */
+    private static int evaluate(CompiledEditCheck check, Map<String, Object> values, Long visitId,
+                                List<ValidationFinding> findings) {
+        int before = findings.size();
+        if (!check.evaluate(values, findings)) {
+            return 0;
+        }
+        findings.subList(before, findings.size()).forEach(finding -> finding.setVisitId(visitId));
+        return 1;
+    }
+
+    /**
+     * Compiled rules of a build (compiled on first use, cached once the build is COMPLETED)
+     *
+     * @throws IllegalArgumentException if the build does not exist
+     */
+    public CompiledBuildRules getCompiledRules(Long buildId) {
+        CompiledBuildRules cached = compiledRules.get(buildId);
+        if (cached != null) {
+            return cached;
+        }
+
+        BuildInfo build = ruleRepository.findBuild(buildId)
+            .orElseThrow(() -> new IllegalArgumentException("Study database build not found: " + buildId));
+        if (!StudyDatabaseBuildStatus.COMPLETED.name().equals(build.buildStatus())) {
+            // Rules of a running/failed build may still change - compile without caching
+            return compile(buildId, build);
+        }
+
+        CompiledBuildRules rules = compiledRules.computeIfAbsent(buildId, id -> compile(id, build));
+        evictOverflow();
+        return rules;
+    }
+
+    /**
+     * Drop the compiled rules of a build (next validation recompiles them)
+     */
+    public void evict(Long buildId) {
+        if (compiledRules.remove(buildId) != null) {
+            log.info("Evicted compiled validation rules of build {}", buildId);
+        }
+    }
+
+    private CompiledBuildRules compile(Long buildId, BuildInfo build) {
+        long start = System.currentTimeMillis();
+        CompiledBuildRules rules = ruleCompiler.compile(buildId, build.studyId(),
+            ruleRepository.findFormFields(build.studyId()),
+            ruleRepository.findValidationRules(buildId),
+            ruleRepository.findEditChecks(buildId));
+        log.info("Compiled validation rules of build {} (study {}) in {}ms",
+            buildId, build.studyId(), System.currentTimeMillis() - start);
+        return rules;
+    }
+
+    private void evictOverflow() {
+        while (compiledRules.size() > maxCachedBuilds) {
+            compiledRules.values().stream()
+                .min(Comparator.comparing(CompiledBuildRules::getCompiledAt))
+                .ifPresent(oldest -> compiledRules.remove(oldest.getBuildId()));
+        }
+    }
+
+    private Long findLatestCompletedBuildId(Long studyId) {
+        return activeBuildRegistry.getActiveBuildId(studyId)
+            .orElseThrow(() -> new IllegalStateException("No completed study build found for study " + studyId));
+    }
+}
@@ -35,7 +35,7 @@ import java.util.UUID;
  * 
  * This aggregate handles the complete lifecycle of a patient
  */
-@Aggregate
+@Aggregate(snapshotTriggerDefinition = "patientSnapshotTriggerDefinition")
 public class PatientAggregate {
     
     private static final Logger logger = LoggerFactory.getLogger(PatientAggregate.class);
@@ -3,7 +3,9 @@ package com.clinprecision.clinopsservice.studyoperation.patientenrollment.contro
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.RegisterPatientDto;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.UpdatePatientDemographicsDto;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.EnrollPatientDto;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.EnrollmentCapacityDto;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.PatientDto;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.PatientRosterPageDto;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEnrollmentEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.service.PatientEnrollmentService;
 import com.clinprecision.common.entity.SiteStudyEntity;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST API Controller for Patient Enrollment functionality
@@ -285,6 +288,42 @@ public class PatientEnrollmentController {
         }
     }
 
+    /**
+     * Get one page of a patient roster by study and/or site
+     * Pages are keyed on the enrollment ID: pass the previous page's nextAfter as "after"
+     * 
+     * @param studyId Study ID (optional if siteId is given)
+     * @param siteId Site ID (study_site_id, optional if studyId is given)
+     * @param after Enrollment ID of the last entry of the previous page
+     * @param limit Page size (default 100, max 1000)
+     * @return Page of patients
+     */
+    @GetMapping("/roster")
+    public ResponseEntity<?> getPatientRoster(
+            @RequestParam(required = false) Long studyId,
+            @RequestParam(required = false) Long siteId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        
+        log.info("API Request: Get patient roster for study ID {} at site ID {} after {}", studyId, siteId, after);
+        
+        try {
+            PatientRosterPageDto result = patientEnrollmentService.getPatientRosterPage(studyId, siteId, after, limit);
+            
+            log.info("API Response: Roster page with {} patients (hasMore={})", 
+                     result.getPatients().size(), result.isHasMore());
+            return ResponseEntity.ok(result);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid patient roster request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error retrieving patient roster for study {} at site {}: {}", 
+                     studyId, siteId, e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve patient roster", e);
+        }
+    }
+
     /**
      * Search patients by name
      * 
@@ -381,7 +420,25 @@ public class PatientEnrollmentController {
             throw new RuntimeException("Failed to retrieve site studies", e);
         }
     }
-}
-
-
 
+    /**
+     * Get the enrollment caps and slot counters of a study and its sites
+     * 
+     * @param studyId Study ID
+     * @return Study target enrollment, per-site cap/count and remaining slots
+     */
+    @GetMapping("/enrollment-capacity/study/{studyId}")
+    public ResponseEntity<EnrollmentCapacityDto> getEnrollmentCapacity(@PathVariable Long studyId) {
+        log.info("API Request: Get enrollment capacity for study ID {}", studyId);
+        
+        try {
+            EnrollmentCapacityDto result = patientEnrollmentService.getEnrollmentCapacity(studyId);
+            log.info("API Response: Study {} has {} enrolled subjects across {} sites", 
+                     studyId, result.getEnrolledSubjects(), result.getSites().size());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error retrieving enrollment capacity for study {}: {}", studyId, e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve enrollment capacity", e);
+        }
+    }
+}
@@ -4,12 +4,19 @@ import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.ChangePatientStatusRequest;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.PatientStatusHistoryResponse;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.PatientStatusSummaryResponse;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.StatusChangeDailyResponse;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.StatusChangeUserSummaryResponse;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.StatusDurationHistogramResponse;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.StatusTransitionSummaryResponse;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEnrollmentEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientStatusHistoryEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientRepository;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusHistoryRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.DailyTransitionRow;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.DurationHistogramRow;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.TransitionSummaryRow;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.UserChangeCountRow;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.service.PatientStatusService;
 
 import jakarta.validation.Valid;
@@ -20,6 +27,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -292,36 +300,43 @@ public class PatientStatusController {
     /**
      * Get status transition summary (analytics)
      * 
-     * GET /api/v1/patients/status/transitions/summary
+     * GET /api/v1/patients/status/transitions/summary?studyId=1&startDate=2025-01-01&endDate=2025-12-31
      * 
-     * Returns: Aggregated statistics on status transitions across all patients
+     * Returns: Aggregated statistics on status transitions across all patients,
+     *          read from the daily status rollups
      * 
      * Used for:
      * - Dashboards
      * - Conversion rate analysis
      * - Bottleneck identification
      * 
+     * @param studyId Optional study filter
+     * @param startDate Optional first day (ISO date)
+     * @param endDate Optional last day (ISO date)
      * @return List of transition summaries
      */
     @GetMapping("/status/transitions/summary")
-    public ResponseEntity<List<StatusTransitionSummaryResponse>> getStatusTransitionSummary() {
+    public ResponseEntity<List<StatusTransitionSummaryResponse>> getStatusTransitionSummary(
+            @RequestParam(required = false) Long studyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         
-        log.info("API Request: Get status transition summary");
+        log.info("API Request: Get status transition summary: study {}, {} to {}", studyId, startDate, endDate);
         
         try {
-            List<PatientStatusHistoryRepository.StatusTransitionSummary> summaries = 
-                patientStatusService.getStatusTransitionSummary();
+            List<TransitionSummaryRow> summaries = 
+                patientStatusService.getStatusTransitionSummary(studyId, startDate, endDate);
             
             // Convert to response DTOs
             List<StatusTransitionSummaryResponse> responses = summaries.stream()
                 .map(s -> StatusTransitionSummaryResponse.builder()
-                    .previousStatus(s.getPreviousStatus() != null ? s.getPreviousStatus().name() : null)
-                    .newStatus(s.getNewStatus().name())
-                    .transitionCount(s.getTransitionCount())
-                    .uniquePatientCount(s.getTransitionCount()) // Use transition count as proxy
-                    .transitionLabel(String.format("%s → %s", 
-                        s.getPreviousStatus() != null ? s.getPreviousStatus().name() : "INITIAL",
-                        s.getNewStatus().name()))
+                    .previousStatus(s.previousStatus())
+                    .newStatus(s.newStatus())
+                    .transitionCount(s.transitionCount())
+                    .uniquePatientCount(s.transitionCount()) // Use transition count as proxy
+                    .transitionLabel(transitionLabel(s.previousStatus(), s.newStatus()))
+                    .averageDaysInPreviousStatus(s.durationCount() > 0
+                        ? (double) s.durationDaysTotal() / s.durationCount() : null)
                     .build())
                 .collect(Collectors.toList());
             
@@ -329,33 +344,170 @@ public class PatientStatusController {
             
             return ResponseEntity.ok(responses);
             
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error retrieving status transition summary: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve transition summary", e);
         }
     }
 
+    /**
+     * Get status transition counts per day (analytics)
+     * 
+     * GET /api/v1/patients/status/changes/daily?studyId=1&startDate=2025-10-01&endDate=2025-10-31
+     * 
+     * Read from the daily status rollups. For the individual status change records
+     * use GET /api/v1/patients/status/changes.
+     * 
+     * @param studyId Optional study filter
+     * @param startDate Optional first day (ISO date)
+     * @param endDate Optional last day (ISO date)
+     * @return Transition counts per day and transition
+     */
+    @GetMapping("/status/changes/daily")
+    public ResponseEntity<List<StatusChangeDailyResponse>> getDailyStatusChanges(
+            @RequestParam(required = false) Long studyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("API Request: Get daily status changes: study {}, {} to {}", studyId, startDate, endDate);
+        
+        try {
+            List<DailyTransitionRow> rows = patientStatusService.getDailyStatusChanges(studyId, startDate, endDate);
+            
+            List<StatusChangeDailyResponse> responses = rows.stream()
+                .map(r -> StatusChangeDailyResponse.builder()
+                    .date(r.activityDate())
+                    .previousStatus(r.previousStatus())
+                    .newStatus(r.newStatus())
+                    .transitionLabel(transitionLabel(r.previousStatus(), r.newStatus()))
+                    .transitionCount(r.transitionCount())
+                    .build())
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(responses);
+            
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error retrieving daily status changes: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve daily status changes", e);
+        }
+    }
+
+    /**
+     * Get status change counts per user (analytics)
+     * 
+     * GET /api/v1/patients/status/changes/by-user/summary?studyId=1&startDate=2025-10-01&endDate=2025-10-31
+     * 
+     * Read from the daily status rollups. For the individual status change records of a user
+     * use GET /api/v1/patients/status/changes/by-user.
+     * 
+     * @param studyId Optional study filter
+     * @param startDate Optional first day (ISO date)
+     * @param endDate Optional last day (ISO date)
+     * @return Status change counts per user, most active first
+     */
+    @GetMapping("/status/changes/by-user/summary")
+    public ResponseEntity<List<StatusChangeUserSummaryResponse>> getStatusChangeCountsByUser(
+            @RequestParam(required = false) Long studyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("API Request: Get status change counts by user: study {}, {} to {}", studyId, startDate, endDate);
+        
+        try {
+            List<UserChangeCountRow> rows = patientStatusService.getStatusChangeCountsByUser(studyId, startDate, endDate);
+            
+            List<StatusChangeUserSummaryResponse> responses = rows.stream()
+                .map(r -> StatusChangeUserSummaryResponse.builder()
+                    .changedBy(r.changedBy())
+                    .changeCount(r.changeCount())
+                    .firstActivityDate(r.firstActivityDate())
+                    .lastActivityDate(r.lastActivityDate())
+                    .build())
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(responses);
+            
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error retrieving status change counts by user: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve status change counts", e);
+        }
+    }
+
+    /**
+     * Get the distribution of days spent in each status (analytics)
+     * 
+     * GET /api/v1/patients/status/durations?studyId=1&startDate=2025-01-01&endDate=2025-12-31
+     * 
+     * Counts the transitions out of each status in the range by days spent in the status
+     * (0-7, 8-30, 31-90, over 90). Read from the daily status rollups.
+     * 
+     * @param studyId Optional study filter
+     * @param startDate Optional first day (ISO date)
+     * @param endDate Optional last day (ISO date)
+     * @return Duration histogram per status
+     */
+    @GetMapping("/status/durations")
+    public ResponseEntity<List<StatusDurationHistogramResponse>> getStatusDurationHistogram(
+            @RequestParam(required = false) Long studyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("API Request: Get status duration histogram: study {}, {} to {}", studyId, startDate, endDate);
+        
+        try {
+            List<DurationHistogramRow> rows = patientStatusService.getStatusDurationHistogram(studyId, startDate, endDate);
+            
+            List<StatusDurationHistogramResponse> responses = rows.stream()
+                .map(r -> StatusDurationHistogramResponse.builder()
+                    .status(r.status())
+                    .transitions(r.transitions())
+                    .averageDays(r.transitions() > 0 ? (double) r.durationDaysTotal() / r.transitions() : null)
+                    .days0To7(r.days0To7())
+                    .days8To30(r.days8To30())
+                    .days31To90(r.days31To90())
+                    .daysOver90(r.daysOver90())
+                    .build())
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(responses);
+            
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error retrieving status duration histogram: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve status durations", e);
+        }
+    }
+
     /**
      * Find patients currently in a specific status
      * 
      * GET /api/v1/patients/status/{status}/patients
      * 
-     * Example: GET /api/v1/patients/status/SCREENING/patients
+     * Example: GET /api/v1/patients/status/SCREENING/patients?studyId=1
      * 
      * @param status Status to filter by (REGISTERED, SCREENING, ENROLLED, ACTIVE, COMPLETED, WITHDRAWN)
-     * @return List of patients in the specified status
+     * @param studyId Optional study filter
+     * @return List of patients in the specified status (longest in status first)
      */
     @GetMapping("/status/{status}/patients")
     public ResponseEntity<List<PatientStatusHistoryResponse>> findPatientsInStatus(
-            @PathVariable String status) {
+            @PathVariable String status,
+            @RequestParam(required = false) Long studyId) {
         
-        log.info("API Request: Find patients in status {}", status);
+        log.info("API Request: Find patients in status {}, study {}", status, studyId);
         
         try {
             PatientStatus patientStatus = PatientStatus.valueOf(status.toUpperCase());
             
             List<PatientStatusHistoryEntity> patients = 
-                patientStatusService.findPatientsInStatus(patientStatus);
+                patientStatusService.findPatientsInStatus(studyId, patientStatus);
             
             // Convert to response DTOs
             List<PatientStatusHistoryResponse> responses = patients.stream()
@@ -381,7 +533,7 @@ public class PatientStatusController {
      * 
      * GET /api/v1/patients/status/{status}/stuck?days={days}
      * 
-     * Example: GET /api/v1/patients/status/SCREENING/stuck?days=14
+     * Example: GET /api/v1/patients/status/SCREENING/stuck?days=14&studyId=1
      * 
      * Returns: List of patient IDs who have been in the specified status 
      *          longer than the threshold
@@ -393,12 +545,14 @@ public class PatientStatusController {
      * 
      * @param status Status to check
      * @param days Threshold in days
+     * @param studyId Optional study filter
      * @return List of stuck patient IDs
      */
     @GetMapping("/status/{status}/stuck")
     public ResponseEntity<List<Long>> findPatientsStuckInStatus(
             @PathVariable String status,
-            @RequestParam(defaultValue = "14") int days) {
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(required = false) Long studyId) {
         
         log.info("API Request: Find patients stuck in status {} for more than {} days", 
                  status, days);
@@ -407,7 +561,7 @@ public class PatientStatusController {
             PatientStatus patientStatus = PatientStatus.valueOf(status.toUpperCase());
             
             List<Long> stuckPatientIds = 
-                patientStatusService.findPatientsStuckInStatus(patientStatus, days);
+                patientStatusService.findPatientsStuckInStatus(studyId, patientStatus, days);
             
             log.info("API Response: Found {} patients stuck in status {} for more than {} days", 
                      stuckPatientIds.size(), status, days);
@@ -608,6 +762,13 @@ public class PatientStatusController {
 
     // ==================== Helper Methods ====================
 
+    /**
+     * Human-readable transition label, e.g. "SCREENING → ENROLLED" ("INITIAL" for registrations)
+     */
+    private String transitionLabel(String previousStatus, String newStatus) {
+        return String.format("%s → %s", previousStatus != null ? previousStatus : "INITIAL", newStatus);
+    }
+
     /**
      * Map PatientStatusHistoryEntity to PatientStatusHistoryResponse DTO
      * 
@@ -0,0 +1,17 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.queries;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Query for an enrollment (patient_enrollments) by enrollment aggregate UUID
+ * Result: PatientEnrollmentEntity (null if not projected yet); subscription updates: PatientEnrollmentEntity
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class FindEnrollmentByAggregateUuidQuery {
+
+    private final String aggregateUuid;
+}
@@ -0,0 +1,17 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.queries;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Query for a patient (patients) by Patient aggregate UUID
+ * Result: PatientEntity (null if not projected yet); subscription updates: PatientEntity
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class FindPatientByAggregateUuidQuery {
+
+    private final String aggregateUuid;
+}
@@ -0,0 +1,58 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Enrollment caps and slot counters of a study and its sites
+ * (read from site_studies counters, not by counting enrollments)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentCapacityDto {
+
+    private Long studyId;
+
+    private Integer targetEnrollment; // studies.target_enrollment
+
+    private int enrolledSubjects; // Sum of the site counters
+
+    /**
+     * Sum of the site caps (null if any site is uncapped)
+     */
+    private Integer totalSiteCap;
+
+    /**
+     * Slots left across the sites (null if any site is uncapped)
+     */
+    private Integer remainingSlots;
+
+    private List<SiteCapacity> sites;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SiteCapacity {
+
+        private Long studySiteId; // site_studies.id
+
+        private Long siteId;
+
+        private String siteName;
+
+        private String status;
+
+        private Integer enrollmentCap; // Null = no cap
+
+        private int enrollmentCount;
+
+        private Integer remainingSlots; // Null = no cap
+    }
+}
@@ -0,0 +1,29 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a study / site patient roster (keyset pagination on the enrollment ID)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientRosterPageDto {
+
+    private List<PatientDto> patients;
+
+    private int limit;
+
+    private boolean hasMore;
+
+    /**
+     * Pass as "after" to fetch the next page (enrollment ID of the last entry; null if no more pages)
+     */
+    private Long nextAfter;
+}
@@ -0,0 +1,52 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for daily status transition counts
+ * 
+ * Read from the patient status rollups (one entry per day and transition)
+ * 
+ * Example Response:
+ * <pre>
+ * {
+ *   "date": "2025-10-15",
+ *   "previousStatus": "SCREENING",
+ *   "newStatus": "ENROLLED",
+ *   "transitionLabel": "SCREENING → ENROLLED",
+ *   "transitionCount": 4
+ * }
+ * </pre>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusChangeDailyResponse {
+
+    /**
+     * Day the status changes happened (date of changed_at)
+     */
+    private LocalDate date;
+
+    /**
+     * Previous status in the transition
+     * Null for initial registrations
+     */
+    private String previousStatus;
+
+    private String newStatus;
+
+    /**
+     * Human-readable transition label
+     * Example: "SCREENING → ENROLLED"
+     */
+    private String transitionLabel;
+
+    private Long transitionCount;
+}
@@ -0,0 +1,47 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for per-user status change counts
+ * 
+ * Read from the patient status rollups. Used for user activity reports.
+ * 
+ * Example Response:
+ * <pre>
+ * {
+ *   "changedBy": "coordinator@example.com",
+ *   "changeCount": 57,
+ *   "firstActivityDate": "2025-09-02",
+ *   "lastActivityDate": "2025-10-28"
+ * }
+ * </pre>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusChangeUserSummaryResponse {
+
+    /**
+     * User who performed the status changes
+     */
+    private String changedBy;
+
+    /**
+     * Number of status changes (including registrations) in the requested range
+     */
+    private Long changeCount;
+
+    /**
+     * First and last day with status changes by the user in the requested range
+     */
+    private LocalDate firstActivityDate;
+
+    private LocalDate lastActivityDate;
+}
@@ -0,0 +1,55 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Data Transfer Object for the time patients spend in a status
+ * 
+ * Counts the transitions out of a status in the requested range by the number of days the
+ * patient had been in the status. Read from the patient status rollups.
+ * 
+ * Example Response:
+ * <pre>
+ * {
+ *   "status": "SCREENING",
+ *   "transitions": 52,
+ *   "averageDays": 11.4,
+ *   "days0To7": 20,
+ *   "days8To30": 27,
+ *   "days31To90": 5,
+ *   "daysOver90": 0
+ * }
+ * </pre>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusDurationHistogramResponse {
+
+    /**
+     * Status the patients left
+     */
+    private String status;
+
+    /**
+     * Number of transitions out of the status
+     */
+    private Long transitions;
+
+    /**
+     * Average days spent in the status before leaving it
+     */
+    private Double averageDays;
+
+    private Long days0To7;
+
+    private Long days8To30;
+
+    private Long days31To90;
+
+    private Long daysOver90;
+}
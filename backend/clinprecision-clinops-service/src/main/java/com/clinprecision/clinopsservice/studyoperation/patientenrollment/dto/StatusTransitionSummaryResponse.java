@@ -1,6 +1,6 @@
 package com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto;
 
-import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusHistoryRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository;
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -12,7 +12,8 @@ import lombok.AllArgsConstructor;
  * Provides aggregated statistics about status transitions across all patients
  * Used for dashboards, reports, and analytics
  * 
- * Maps from StatusTransitionSummary repository projection to API response
+ * Maps from the daily status rollups (PatientStatusRollupJdbcRepository.TransitionSummaryRow)
+ * to API response
  * 
  * Example Response:
  * <pre>
@@ -26,7 +27,7 @@ import lombok.AllArgsConstructor;
  * }
  * </pre>
  * 
- * @see PatientStatusHistoryRepository.StatusTransitionSummary
+ * @see PatientStatusRollupJdbcRepository.TransitionSummaryRow
  */
 @Data
 @Builder
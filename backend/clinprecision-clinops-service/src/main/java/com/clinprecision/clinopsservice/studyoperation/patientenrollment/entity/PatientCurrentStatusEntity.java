@@ -0,0 +1,83 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Patient Current Status Entity - one row per patient with its current status (read model)
+ * 
+ * <p>Maintained by PatientEnrollmentProjector on every PatientRegisteredEvent and
+ * PatientStatusChangedEvent, next to the patient_status_history record. Current-status
+ * queries ("who is in SCREENING for more than 30 days") read this table through
+ * idx_pcs_study_status_since / idx_pcs_status_since instead of searching the history for the
+ * latest record of each patient.</p>
+ * 
+ * @see PatientStatusHistoryEntity
+ */
+@Entity
+@Table(
+    name = "patient_current_status",
+    indexes = {
+        @Index(name = "idx_pcs_study_status_since", columnList = "study_id, current_status, status_since"),
+        @Index(name = "idx_pcs_status_since", columnList = "current_status, status_since")
+    }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientCurrentStatusEntity {
+
+    /**
+     * Patient database ID (patients.id)
+     */
+    @Id
+    @Column(name = "patient_id")
+    private Long patientId;
+
+    @Column(name = "aggregate_uuid", nullable = false)
+    private String aggregateUuid;
+
+    /**
+     * Study of the patient's enrollment (null until the patient is enrolled)
+     */
+    @Column(name = "study_id")
+    private Long studyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_status", nullable = false, length = 50)
+    private PatientStatus currentStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status", length = 50)
+    private PatientStatus previousStatus;
+
+    /**
+     * When the current status was entered (changed_at of the status change)
+     */
+    @Column(name = "status_since", nullable = false)
+    private LocalDateTime statusSince;
+
+    /**
+     * patient_status_history record of the current status
+     */
+    @Column(name = "status_history_id")
+    private Long statusHistoryId;
+
+    @Column(name = "changed_by", length = 100)
+    private String changedBy;
+
+    /**
+     * Number of status history records of the patient (including registration)
+     */
+    @Column(name = "status_change_count", nullable = false)
+    private int statusChangeCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -55,6 +55,12 @@ public class PatientEnrollmentAuditEntity {
 
     @Column(name = "reason")
     private String reason;
+
+    /**
+     * Identifier of the event the record was projected from (idempotency on replay)
+     */
+    @Column(name = "event_id", unique = true)
+    private String eventId;
 }
 
 
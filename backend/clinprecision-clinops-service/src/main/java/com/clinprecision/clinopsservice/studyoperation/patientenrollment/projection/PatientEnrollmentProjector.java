@@ -1,5 +1,6 @@
 package com.clinprecision.clinopsservice.studyoperation.patientenrollment.projection;
 
+import com.clinprecision.clinopsservice.common.config.AxonEventProcessingConfig;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.events.PatientRegisteredEvent;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.events.PatientEnrolledEvent;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.events.PatientStatusChangedEvent;
@@ -7,6 +8,7 @@ import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEnrollmentEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEnrollmentAuditEntity;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientCurrentStatusEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientStatusHistoryEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.EnrollmentStatus;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientStatus;
@@ -15,11 +17,17 @@ import com.clinprecision.clinopsservice.studyoperation.patientenrollment.reposit
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientEnrollmentRepository;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientEnrollmentAuditRepository;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusHistoryRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientCurrentStatusRepository;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.SiteStudyRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.service.ProtocolVisitInstantiationService;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.queries.FindEnrollmentByAggregateUuidQuery;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.queries.FindPatientByAggregateUuidQuery;
 
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.messaging.annotation.MessageIdentifier;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -33,13 +41,21 @@ import java.util.List;
  * Projector for Patient Enrollment Events
  * 
  * Handles event sourcing projections to build read models:
+ * - patients table (patient registration, demographics and status updates)
  * - patient_enrollments table (enrollment records)
- * - patients table (patient status updates)
  * - patient_enrollment_audit table (audit trail)
+ * - patient_current_status table (current status per patient)
+ * 
+ * All patient events are applied by PatientAggregate, so the processing group's
+ * SequentialPerAggregatePolicy projects them in order: a PatientRegisteredEvent (which
+ * creates the patients row) is fully projected before the patient's enrollment and status
+ * events are handled. The patients row is therefore written here rather than by a separate
+ * projection, and no handler has to wait for another one.
  * 
  * Follows established ClinPrecision projector patterns
  */
 @Component
+@ProcessingGroup(AxonEventProcessingConfig.PATIENT_ENROLLMENT_PROJECTION)
 @RequiredArgsConstructor
 @Slf4j
 public class PatientEnrollmentProjector {
@@ -48,18 +64,18 @@ public class PatientEnrollmentProjector {
     private final PatientRepository patientRepository;
     private final PatientEnrollmentAuditRepository auditRepository;
     private final PatientStatusHistoryRepository statusHistoryRepository;
+    private final PatientCurrentStatusRepository currentStatusRepository;
     private final SiteStudyRepository siteStudyRepository;
     private final ProtocolVisitInstantiationService protocolVisitInstantiationService;
+    private final QueryUpdateEmitter queryUpdateEmitter;
     
     /**
-     * Handle PatientRegisteredEvent - Create initial status history record
+     * Handle PatientRegisteredEvent - Create patient and initial status history record
      * 
      * This is the first event in a patient's lifecycle. We create:
-     * 1. Initial status history record with REGISTERED status
-     * 2. Audit record for patient creation
-     * 
-     * Note: The patient entity itself is already created by the patient service
-     * before the command is sent, so we just need to create the status history.
+     * 1. Patient entity (patients table), or update it on replay
+     * 2. Initial status history record with REGISTERED status
+     * 3. Audit record for patient creation
      */
     @EventHandler
     @Transactional
@@ -68,15 +84,19 @@ public class PatientEnrollmentProjector {
             event.getPatientId(), event.getFirstName(), event.getLastName());
         
         try {
-            // Wait for patient entity to be created by PatientProjectionHandler
-            // Since both handlers process PatientRegisteredEvent in parallel,
-            // we need to retry until the patient entity exists
-            PatientEntity patient = waitForPatientEntity(event.getPatientId().toString(), 3000); // 3 second timeout
-            
-            if (patient == null) {
-                log.error("Patient entity not created after waiting: {}", event.getPatientId());
-                return; // Give up after timeout
-            }
+            // Create or update the patient entity and notify subscription queries
+            PatientEntity projected = patientRepository.findByAggregateUuid(event.getPatientId().toString())
+                .map(existing -> {
+                    updatePatientEntity(existing, event);
+                    return existing;
+                })
+                .orElseGet(() -> createPatientEntity(event));
+            PatientEntity patient = patientRepository.save(projected);
+            queryUpdateEmitter.emit(FindPatientByAggregateUuidQuery.class,
+                query -> patient.getAggregateUuid().equals(query.getAggregateUuid()),
+                patient);
+            
+            log.info("Patient entity projected: id={}, aggregateUuid={}", patient.getId(), patient.getAggregateUuid());
             
             // Generate event identifier for idempotency
             String eventId = generateEventIdForRegistration(event);
@@ -106,6 +126,8 @@ public class PatientEnrollmentProjector {
             log.info("Initial status history record created: id={}, patient={}, status=REGISTERED", 
                 savedHistory.getId(), patient.getId());
             
+            updateCurrentStatus(patient.getId(), savedHistory, null);
+            
             // Create audit record for patient registration
             createAuditRecord(
                 patient.getId(),
@@ -122,7 +144,8 @@ public class PatientEnrollmentProjector {
             
         } catch (Exception e) {
             log.error("Error projecting PatientRegisteredEvent: {}", e.getMessage(), e);
-            // Don't throw - allow processing to continue
+            // Throw exception to ensure transaction rollback and retry
+            throw new RuntimeException("Failed to project PatientRegisteredEvent", e);
         }
     }
     
@@ -147,6 +170,7 @@ public class PatientEnrollmentProjector {
         if (existingEnrollment.isPresent()) {
             log.info("Enrollment already exists (idempotent replay): enrollmentId={}, screening={}", 
                 event.getEnrollmentId(), existingEnrollment.get().getScreeningNumber());
+            emitEnrollmentUpdate(existingEnrollment.get());
             return;
         }
         
@@ -188,6 +212,15 @@ public class PatientEnrollmentProjector {
             PatientEnrollmentEntity saved = patientEnrollmentRepository.save(enrollment);
             log.info("Enrollment record created: id={}, screening={}", saved.getId(), saved.getScreeningNumber());
             
+            // Current status of patients registered before enrollment has no study yet
+            currentStatusRepository.findById(patient.getId())
+                .filter(current -> current.getStudyId() == null)
+                .ifPresent(current -> {
+                    current.setStudyId(realStudyId);
+                    current.setUpdatedAt(LocalDateTime.now());
+                    currentStatusRepository.save(current);
+                });
+            
             // NOTE: Do NOT automatically change patient status during study enrollment
             // Patient status and study enrollment are separate concepts:
             // - Enrollment = Association with a study (patient_enrollments table)
@@ -210,6 +243,9 @@ public class PatientEnrollmentProjector {
             
             log.info("PatientEnrolledEvent projection completed successfully");
             
+            // Notify subscription queries (delivered once this unit of work commits)
+            emitEnrollmentUpdate(saved);
+            
         } catch (Exception e) {
             log.error("Error projecting PatientEnrolledEvent: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to project enrollment event", e);
@@ -236,8 +272,9 @@ public class PatientEnrollmentProjector {
             // Find patient entity
             Optional<PatientEntity> patientOpt = patientRepository.findByAggregateUuid(event.getPatientId().toString());
             if (patientOpt.isEmpty()) {
+                // PatientRegisteredEvent is projected first, so the patient should exist
                 log.error("Patient not found for UUID: {}", event.getPatientId());
-                return; // Don't throw - patient might not be in projection yet
+                return;
             }
             
             PatientEntity patient = patientOpt.get();
@@ -259,6 +296,8 @@ public class PatientEnrollmentProjector {
             // ============================================================================
             // STEP 2: Create Status History Record - Audit Trail
             // ============================================================================
+            PatientStatusHistoryEntity savedHistory = null;
+            Long enrollmentStudyId = null;
             try {
                 PatientStatus previousStatus = PatientStatus.valueOf(event.getPreviousStatus());
                 
@@ -269,6 +308,7 @@ public class PatientEnrollmentProjector {
                         patientEnrollmentRepository.findByAggregateUuid(event.getEnrollmentId().toString());
                     if (enrollmentOpt.isPresent()) {
                         enrollmentId = enrollmentOpt.get().getId();
+                        enrollmentStudyId = enrollmentOpt.get().getStudyId();
                     }
                 }
                 
@@ -288,7 +328,7 @@ public class PatientEnrollmentProjector {
                     .build();
                 
                 // Save status history
-                PatientStatusHistoryEntity savedHistory = statusHistoryRepository.save(statusHistory);
+                savedHistory = statusHistoryRepository.save(statusHistory);
                 
                 log.info("Status history record created: id={}, {} → {}, reason={}", 
                     savedHistory.getId(), previousStatus, newStatus, event.getReason());
@@ -312,6 +352,13 @@ public class PatientEnrollmentProjector {
             log.info("Patient status updated: patientId={}, {} → {}", 
                 patient.getId(), oldStatus, newStatus);
             
+            // ============================================================================
+            // STEP 3.5: Update Current Status Read Model (patient_current_status)
+            // ============================================================================
+            if (savedHistory != null) {
+                updateCurrentStatus(patient.getId(), savedHistory, enrollmentStudyId);
+            }
+            
             // ============================================================================
             // STEP 4: Update Enrollment Status (if enrollment-specific)
             // ============================================================================
@@ -423,14 +470,20 @@ public class PatientEnrollmentProjector {
      * This handler updates the patient entity with new demographic information.
      * Maintains complete audit trail through event sourcing.
      * 
-     * Idempotency: Safe to replay - updates are idempotent
+     * Idempotency: The audit record carries the event identifier; an event that already has
+     * one is skipped, so a replay neither duplicates audit records nor re-applies old values
      */
     @EventHandler
     @Transactional
-    public void on(PatientDemographicsUpdatedEvent event) {
+    public void on(PatientDemographicsUpdatedEvent event, @MessageIdentifier String eventId) {
         log.info("Projecting PatientDemographicsUpdatedEvent: patient={}, updatedBy={}", 
             event.getPatientId(), event.getUpdatedBy());
         
+        if (auditRepository.existsByEventId(eventId)) {
+            log.info("Demographics update already projected (idempotency check): eventId={}", eventId);
+            return;
+        }
+        
         try {
             // Find patient entity
             Optional<PatientEntity> patientOpt = patientRepository.findByAggregateUuid(event.getPatientId().toString());
@@ -464,8 +517,11 @@ public class PatientEnrollmentProjector {
             
             patient.setUpdatedAt(event.getUpdatedAt() != null ? event.getUpdatedAt() : LocalDateTime.now());
             
-            // Save updated patient
-            patientRepository.save(patient);
+            // Save updated patient and notify subscription queries
+            PatientEntity savedPatient = patientRepository.save(patient);
+            queryUpdateEmitter.emit(FindPatientByAggregateUuidQuery.class,
+                query -> savedPatient.getAggregateUuid().equals(query.getAggregateUuid()),
+                savedPatient);
             
             log.info("Patient demographics updated: patientId={}, name={} {}", 
                 patient.getId(), patient.getFirstName(), patient.getLastName());
@@ -483,7 +539,8 @@ public class PatientEnrollmentProjector {
                 oldValues,
                 newValues,
                 event.getUpdatedBy(),
-                "Patient demographics updated"
+                "Patient demographics updated",
+                eventId
             );
             
             log.info("PatientDemographicsUpdatedEvent projection completed successfully: patient={}", 
@@ -496,6 +553,61 @@ public class PatientEnrollmentProjector {
         }
     }
     
+    /**
+     * Upsert the patient_current_status row of a patient from a new status history record
+     * 
+     * Records older than the current status (events replayed out of order) only increase the
+     * change count. The study is taken from the status change's enrollment, else kept, else
+     * resolved from the patient's latest enrollment.
+     */
+    private void updateCurrentStatus(Long patientId, PatientStatusHistoryEntity history, Long enrollmentStudyId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<PatientCurrentStatusEntity> existing = currentStatusRepository.findById(patientId);
+        
+        PatientCurrentStatusEntity current = existing.orElseGet(() -> PatientCurrentStatusEntity.builder()
+            .patientId(patientId)
+            .statusChangeCount(0)
+            .build());
+        current.setStatusChangeCount(current.getStatusChangeCount() + 1);
+        current.setUpdatedAt(now);
+        
+        if (existing.isPresent() && current.getStatusSince() != null
+                && history.getChangedAt().isBefore(current.getStatusSince())) {
+            log.debug("Older status history record, current status kept: patientId={}, historyId={}",
+                patientId, history.getId());
+            currentStatusRepository.save(current);
+            return;
+        }
+        
+        Long studyId = enrollmentStudyId != null ? enrollmentStudyId : current.getStudyId();
+        if (studyId == null) {
+            studyId = patientEnrollmentRepository.findTopByPatientIdOrderByEnrollmentDateDesc(patientId)
+                .map(PatientEnrollmentEntity::getStudyId)
+                .orElse(null);
+        }
+        
+        current.setAggregateUuid(history.getAggregateUuid());
+        current.setStudyId(studyId);
+        current.setCurrentStatus(history.getNewStatus());
+        current.setPreviousStatus(history.getPreviousStatus());
+        current.setStatusSince(history.getChangedAt());
+        current.setStatusHistoryId(history.getId());
+        current.setChangedBy(history.getChangedBy());
+        currentStatusRepository.save(current);
+        
+        log.debug("Current status updated: patientId={}, status={}, since={}",
+            patientId, current.getCurrentStatus(), current.getStatusSince());
+    }
+    
+    /**
+     * Notify FindEnrollmentByAggregateUuidQuery subscribers (delivered after the unit of work commits)
+     */
+    private void emitEnrollmentUpdate(PatientEnrollmentEntity enrollment) {
+        queryUpdateEmitter.emit(FindEnrollmentByAggregateUuidQuery.class,
+            query -> enrollment.getAggregateUuid().equals(query.getAggregateUuid()),
+            enrollment);
+    }
+    
     /**
      * Generate event identifier for idempotency checks
      * 
@@ -539,45 +651,49 @@ public class PatientEnrollmentProjector {
     }
     
     /**
-     * Wait for patient entity to be created by PatientProjectionHandler.
-     * 
-     * Since multiple event handlers process PatientRegisteredEvent in parallel,
-     * this projector may execute before the patient entity is created.
-     * This method implements exponential backoff retry logic.
-     * 
-     * @param patientAggregateUuid the patient aggregate UUID
-     * @param timeoutMs maximum time to wait in milliseconds
-     * @return patient entity if found, null if timeout
+     * Create new patient entity from registration event
      */
-    private PatientEntity waitForPatientEntity(String patientAggregateUuid, long timeoutMs) {
-        long startTime = System.currentTimeMillis();
-        int attempt = 0;
-        long[] delays = {10, 20, 50, 100, 200, 500}; // Exponential backoff
-        
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            Optional<PatientEntity> patientOpt = patientRepository.findByAggregateUuid(patientAggregateUuid);
-            
-            if (patientOpt.isPresent()) {
-                log.info("Patient entity found after {}ms (attempt {})", 
-                    System.currentTimeMillis() - startTime, attempt + 1);
-                return patientOpt.get();
-            }
-            
-            // Exponential backoff
-            long delay = attempt < delays.length ? delays[attempt] : delays[delays.length - 1];
-            attempt++;
-            
-            try {
-                Thread.sleep(delay);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("Wait for patient entity interrupted");
-                return null;
-            }
-        }
-        
-        log.error("Patient entity not found after {}ms and {} attempts", timeoutMs, attempt);
-        return null;
+    private PatientEntity createPatientEntity(PatientRegisteredEvent event) {
+        return PatientEntity.builder()
+            .aggregateUuid(event.getPatientId().toString())
+            .patientNumber(generatePatientNumber(event))
+            .firstName(event.getFirstName())
+            .middleName(event.getMiddleName())
+            .lastName(event.getLastName())
+            .dateOfBirth(event.getDateOfBirth())
+            .gender(PatientGender.valueOf(event.getGender().toUpperCase()))
+            .phoneNumber(event.getPhoneNumber())
+            .email(event.getEmail())
+            .status(PatientStatus.REGISTERED)
+            .createdBy(event.getCreatedBy() != null ? event.getCreatedBy() : event.getRegisteredBy())
+            .createdAt(event.getRegisteredAt() != null ? event.getRegisteredAt() : LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    }
+    
+    /**
+     * Update existing patient entity from registration event (replay)
+     */
+    private void updatePatientEntity(PatientEntity patient, PatientRegisteredEvent event) {
+        patient.setFirstName(event.getFirstName());
+        patient.setMiddleName(event.getMiddleName());
+        patient.setLastName(event.getLastName());
+        patient.setDateOfBirth(event.getDateOfBirth());
+        patient.setGender(PatientGender.valueOf(event.getGender().toUpperCase()));
+        patient.setPhoneNumber(event.getPhoneNumber());
+        patient.setEmail(event.getEmail());
+        patient.setUpdatedAt(LocalDateTime.now());
+    }
+    
+    /**
+     * Generate a human-readable patient number
+     * In production, this would use a more sophisticated numbering scheme
+     */
+    private String generatePatientNumber(PatientRegisteredEvent event) {
+        // Simple implementation - use first letter of last name + first letter of first name + timestamp
+        String initials = (event.getLastName().substring(0, 1) + event.getFirstName().substring(0, 1)).toUpperCase();
+        String timestamp = String.valueOf(System.currentTimeMillis()).substring(8); // Last 5 digits
+        return "P" + initials + timestamp;
     }
     
     /**
@@ -643,6 +759,24 @@ public class PatientEnrollmentProjector {
         String newValues,
         String performedBy,
         String reason
+    ) {
+        createAuditRecord(entityId, entityUuid, actionType, oldValues, newValues, performedBy, reason, null);
+    }
+    
+    /**
+     * Helper method to create audit records for an event
+     * 
+     * @param eventId Identifier of the projected event (null if not tracked)
+     */
+    private void createAuditRecord(
+        Long entityId,
+        String entityUuid,
+        PatientEnrollmentAuditEntity.AuditActionType actionType,
+        String oldValues,
+        String newValues,
+        String performedBy,
+        String reason,
+        String eventId
     ) {
         try {
             PatientEnrollmentAuditEntity audit = PatientEnrollmentAuditEntity.builder()
@@ -655,6 +789,7 @@ public class PatientEnrollmentProjector {
                 .performedBy(performedBy)
                 .performedAt(LocalDateTime.now())
                 .reason(reason)
+                .eventId(eventId)
                 .build();
             
             auditRepository.save(audit);
@@ -0,0 +1,40 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.projection;
+
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.queries.FindEnrollmentByAggregateUuidQuery;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.queries.FindPatientByAggregateUuidQuery;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEnrollmentEntity;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEntity;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientEnrollmentRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientRepository;
+
+import org.axonframework.queryhandling.QueryHandler;
+import org.springframework.stereotype.Component;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Patient Query Handler - Axon query side of the patient and enrollment read models
+ * 
+ * Subscription updates are emitted by PatientEnrollmentProjector (registration, enrollment,
+ * demographics) after its transactions commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PatientQueryHandler {
+
+    private final PatientRepository patientRepository;
+    private final PatientEnrollmentRepository patientEnrollmentRepository;
+
+    @QueryHandler
+    public PatientEntity handle(FindPatientByAggregateUuidQuery query) {
+        log.debug("Handling {}", query);
+        return patientRepository.findByAggregateUuid(query.getAggregateUuid()).orElse(null);
+    }
+
+    @QueryHandler
+    public PatientEnrollmentEntity handle(FindEnrollmentByAggregateUuidQuery query) {
+        log.debug("Handling {}", query);
+        return patientEnrollmentRepository.findByAggregateUuid(query.getAggregateUuid()).orElse(null);
+    }
+}
@@ -0,0 +1,118 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.projection;
+
+import com.clinprecision.clinopsservice.common.config.AxonEventProcessingConfig;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.events.PatientEnrolledEvent;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.events.PatientRegisteredEvent;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.events.PatientStatusChangedEvent;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientStatus;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.PatientRollupState;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.SiteStudyRepository;
+
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.eventhandling.ResetHandler;
+import org.axonframework.eventhandling.Timestamp;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Projector for patient status analytics rollups
+ *
+ * Builds the patient_status_transition_daily counters (transitions per day, study and user,
+ * with a histogram of days spent in the previous status) read by the status reporting
+ * endpoints. Runs in its own processing group: the counters are additive, so a replay starts
+ * by clearing them (ResetHandler) and the group can be rebuilt without touching the
+ * patient and enrollment read models. A new deployment starts at the beginning of the event
+ * store, so existing status history is rolled up on first start.
+ *
+ * Only patient aggregate events are handled and they are projected in order per aggregate,
+ * so the registration time and enrollment study of a patient are known before its status
+ * changes are counted.
+ */
+@Component
+@ProcessingGroup(AxonEventProcessingConfig.PATIENT_STATUS_ROLLUP_PROJECTION)
+@RequiredArgsConstructor
+@Slf4j
+public class PatientStatusRollupProjector {
+
+    private final PatientStatusRollupJdbcRepository rollupRepository;
+    private final SiteStudyRepository siteStudyRepository;
+
+    /**
+     * Count the initial REGISTERED status
+     */
+    @EventHandler
+    @Transactional
+    public void on(PatientRegisteredEvent event, @Timestamp Instant timestamp) {
+        LocalDateTime registeredAt = event.getRegisteredAt() != null
+            ? event.getRegisteredAt()
+            : LocalDateTime.ofInstant(timestamp, ZoneId.systemDefault());
+        String patientUuid = event.getPatientId().toString();
+
+        rollupRepository.recordTransition(registeredAt.toLocalDate(), null, null,
+            PatientStatus.REGISTERED.name(), event.getRegisteredBy(), null);
+        rollupRepository.recordStatusChange(patientUuid, registeredAt);
+
+        log.debug("Status rollup: patient {} registered at {}", patientUuid, registeredAt);
+    }
+
+    /**
+     * Count later status changes of the patient for the enrollment's study
+     */
+    @EventHandler
+    @Transactional
+    public void on(PatientEnrolledEvent event) {
+        if (event.getStudySiteId() == null) {
+            return; // Old events without studySiteId are not projected (see PatientEnrollmentProjector)
+        }
+
+        siteStudyRepository.findById(event.getStudySiteId())
+            .ifPresentOrElse(
+                siteStudy -> rollupRepository.assignStudy(event.getPatientId().toString(), siteStudy.getStudyId()),
+                () -> log.warn("Status rollup: site-study association not found: {}", event.getStudySiteId()));
+    }
+
+    /**
+     * Count a status transition and the days spent in the previous status
+     */
+    @EventHandler
+    @Transactional
+    public void on(PatientStatusChangedEvent event, @Timestamp Instant timestamp) {
+        LocalDateTime changedAt = event.getChangedAt() != null
+            ? event.getChangedAt()
+            : LocalDateTime.ofInstant(timestamp, ZoneId.systemDefault());
+        String patientUuid = event.getPatientId().toString();
+
+        Optional<PatientRollupState> state = rollupRepository.findPatientState(patientUuid);
+        Long studyId = state.map(PatientRollupState::studyId).orElse(null);
+        Long durationDays = state
+            .map(PatientRollupState::lastStatusAt)
+            .map(since -> ChronoUnit.DAYS.between(since, changedAt))
+            .orElse(null);
+
+        rollupRepository.recordTransition(changedAt.toLocalDate(), studyId, event.getPreviousStatus(),
+            event.getNewStatus(), event.getChangedBy(), durationDays);
+        rollupRepository.recordStatusChange(patientUuid, changedAt);
+
+        log.debug("Status rollup: patient {} {} → {} after {} days",
+            patientUuid, event.getPreviousStatus(), event.getNewStatus(), durationDays);
+    }
+
+    /**
+     * Clear the rollups before a replay rebuilds them
+     */
+    @ResetHandler
+    public void onReset() {
+        log.info("Resetting patient status rollups for replay");
+        rollupRepository.deleteAll();
+    }
+}
@@ -0,0 +1,91 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Enrollment slot counters of site-study associations (site_studies.subject_enrollment_count)
+ *
+ * A slot is reserved with one conditional UPDATE of the association row: the count is only
+ * incremented while it is below subject_enrollment_cap, so concurrent enrollments at a site
+ * serialize on that single row and can never exceed the cap. Enrollments at different sites
+ * touch different rows. The counters are the enrollment totals of a site (and, summed over
+ * its sites, of a study), so capacity is read without counting patient_enrollments rows.
+ */
+@Repository
+@Slf4j
+public class EnrollmentSlotJdbcRepository {
+
+    private static final String RESERVE_SLOT_SQL =
+        "UPDATE site_studies SET subject_enrollment_count = subject_enrollment_count + 1, updated_at = NOW(6) " +
+        "WHERE id = ? AND study_id = ? " +
+        "AND (subject_enrollment_cap IS NULL OR subject_enrollment_count < subject_enrollment_cap)";
+
+    private static final String RELEASE_SLOT_SQL =
+        "UPDATE site_studies SET subject_enrollment_count = subject_enrollment_count - 1, updated_at = NOW(6) " +
+        "WHERE id = ? AND subject_enrollment_count > 0";
+
+    private static final String SELECT_SITE_CAPACITY_SQL =
+        "SELECT ss.id, ss.site_id, s.name, ss.status, ss.subject_enrollment_cap, ss.subject_enrollment_count " +
+        "FROM site_studies ss JOIN sites s ON s.id = ss.site_id WHERE ss.study_id = ? ORDER BY ss.id";
+
+    private static final String SELECT_TARGET_ENROLLMENT_SQL =
+        "SELECT target_enrollment FROM studies WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EnrollmentSlotJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserve one enrollment slot of a site-study association
+     *
+     * @return true if a slot was reserved, false if the site is at its cap (or the association
+     *         does not belong to the study)
+     */
+    public boolean reserveSlot(Long studySiteId, Long studyId) {
+        return jdbcTemplate.update(RESERVE_SLOT_SQL, studySiteId, studyId) == 1;
+    }
+
+    /**
+     * Give back a slot reserved for an enrollment that failed
+     */
+    public void releaseSlot(Long studySiteId) {
+        int released = jdbcTemplate.update(RELEASE_SLOT_SQL, studySiteId);
+        if (released == 0) {
+            log.warn("No enrollment slot to release for study site {}", studySiteId);
+        }
+    }
+
+    /**
+     * Cap and enrollment count of every site of a study
+     */
+    public List<SiteSlotRow> findSiteSlots(Long studyId) {
+        return jdbcTemplate.query(SELECT_SITE_CAPACITY_SQL, (rs, rowNum) -> {
+            int cap = rs.getInt(5);
+            Integer enrollmentCap = rs.wasNull() ? null : cap;
+            return new SiteSlotRow(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                enrollmentCap, rs.getInt(6));
+        }, studyId);
+    }
+
+    /**
+     * Target enrollment of a study (null if the study does not exist)
+     */
+    public Integer findTargetEnrollment(Long studyId) {
+        try {
+            return jdbcTemplate.queryForObject(SELECT_TARGET_ENROLLMENT_SQL, Integer.class, studyId);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    public record SiteSlotRow(Long studySiteId, Long siteId, String siteName, String status,
+                              Integer enrollmentCap, int enrollmentCount) {
+    }
+}
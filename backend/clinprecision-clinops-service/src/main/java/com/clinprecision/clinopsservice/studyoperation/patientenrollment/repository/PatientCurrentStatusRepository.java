@@ -0,0 +1,50 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository;
+
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientCurrentStatusEntity;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the patient_current_status read model (one row per patient)
+ */
+@Repository
+public interface PatientCurrentStatusRepository extends JpaRepository<PatientCurrentStatusEntity, Long> {
+
+    /**
+     * Patients currently in a status, longest in it first
+     */
+    List<PatientCurrentStatusEntity> findByCurrentStatusOrderByStatusSinceAsc(PatientStatus currentStatus);
+
+    /**
+     * Patients of a study currently in a status, longest in it first
+     */
+    List<PatientCurrentStatusEntity> findByStudyIdAndCurrentStatusOrderByStatusSinceAsc(Long studyId,
+                                                                                        PatientStatus currentStatus);
+
+    /**
+     * Patients in a status since before a cutoff (idx_pcs_status_since range)
+     * Use case: "Show patients in SCREENING for more than 14 days"
+     */
+    @Query("SELECT pcs.patientId FROM PatientCurrentStatusEntity pcs " +
+           "WHERE pcs.currentStatus = :status AND pcs.statusSince < :cutoff " +
+           "ORDER BY pcs.statusSince")
+    List<Long> findPatientIdsInStatusSince(@Param("status") PatientStatus status,
+                                           @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Patients of a study in a status since before a cutoff (idx_pcs_study_status_since range)
+     */
+    @Query("SELECT pcs.patientId FROM PatientCurrentStatusEntity pcs " +
+           "WHERE pcs.studyId = :studyId AND pcs.currentStatus = :status AND pcs.statusSince < :cutoff " +
+           "ORDER BY pcs.statusSince")
+    List<Long> findPatientIdsInStudyStatusSince(@Param("studyId") Long studyId,
+                                                @Param("status") PatientStatus status,
+                                                @Param("cutoff") LocalDateTime cutoff);
+
+}
@@ -6,6 +6,8 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PatientEnrollmentAuditRepository extends JpaRepository<PatientEnrollmentAuditEntity, Long> {
+
+    boolean existsByEventId(String eventId);
 }
 
 
@@ -31,6 +31,13 @@ public interface PatientEnrollmentRepository extends JpaRepository<PatientEnroll
      */
     List<PatientEnrollmentEntity> findByPatientId(Long patientId);
 
+    /**
+     * IDs of the studies a patient is enrolled in
+     * Used to scope subject queries of the study-partitioned tables when no study is given
+     */
+    @Query("SELECT DISTINCT e.studyId FROM PatientEnrollmentEntity e WHERE e.patientId = :patientId")
+    List<Long> findStudyIdsByPatientId(@Param("patientId") Long patientId);
+
     /**
      * Find the most recent enrollment by patient ID
      */
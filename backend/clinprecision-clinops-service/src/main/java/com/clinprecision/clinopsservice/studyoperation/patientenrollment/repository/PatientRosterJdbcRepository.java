@@ -0,0 +1,144 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository;
+
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.PatientDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Patient roster reads: enrollments of a study and/or study site joined with their patient,
+ * study and site in one query, mapped straight to PatientDto (no entities are loaded)
+ *
+ * Pages are keyed on patient_enrollments.id. The filters use idx_enrollments_study /
+ * idx_enrollments_site, whose entries are ordered by (study_id | study_site_id, id), so a
+ * page is an index range scan of its own size however large the study is.
+ */
+@Repository
+@Slf4j
+public class PatientRosterJdbcRepository {
+
+    private static final String SELECT_ROSTER_SQL =
+        "SELECT p.id, p.aggregate_uuid, p.patient_number, p.first_name, p.middle_name, p.last_name, " +
+        "p.date_of_birth, p.gender, p.phone_number, p.email, p.status, p.created_by, p.created_at, p.updated_at, " +
+        "pe.id, pe.study_id, pe.study_site_id, pe.enrollment_status, pe.enrollment_date, pe.screening_number, " +
+        "s.name, s.protocol_number, si.name " +
+        "FROM patient_enrollments pe " +
+        "JOIN patients p ON p.id = pe.patient_id " +
+        "LEFT JOIN studies s ON s.id = pe.study_id " +
+        "LEFT JOIN site_studies ss ON ss.id = pe.study_site_id " +
+        "LEFT JOIN sites si ON si.id = ss.site_id " +
+        "WHERE ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PatientRosterJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Roster of a study, a study site, or a study site within a study (all enrollments, in enrollment ID order)
+     *
+     * @param studyId Study ID (null = any study)
+     * @param studySiteId Study site ID (site_studies.id, null = any site)
+     */
+    public List<PatientDto> findRoster(Long studyId, Long studySiteId) {
+        return query(studyId, studySiteId, null, null);
+    }
+
+    /**
+     * One page of a roster
+     *
+     * @param afterEnrollmentId Enrollment ID of the last entry of the previous page (null for the first page)
+     * @param limit Page size
+     */
+    public List<PatientDto> findRosterPage(Long studyId, Long studySiteId, Long afterEnrollmentId, int limit) {
+        return query(studyId, studySiteId, afterEnrollmentId != null ? afterEnrollmentId : 0L, limit);
+    }
+
+    private List<PatientDto> query(Long studyId, Long studySiteId, Long afterEnrollmentId, Integer limit) {
+        if (studyId == null && studySiteId == null) {
+            throw new IllegalArgumentException("A study or study site is required");
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_ROSTER_SQL);
+        List<Object> parameters = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (studySiteId != null) {
+            conditions.add("pe.study_site_id = ?");
+            parameters.add(studySiteId);
+        }
+        if (studyId != null) {
+            conditions.add("pe.study_id = ?");
+            parameters.add(studyId);
+        }
+        if (afterEnrollmentId != null) {
+            conditions.add("pe.id > ?");
+            parameters.add(afterEnrollmentId);
+        }
+        sql.append(String.join(" AND ", conditions)).append(" ORDER BY pe.id");
+        if (limit != null) {
+            sql.append(" LIMIT ?");
+            parameters.add(limit);
+        }
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toDto(rs), parameters.toArray());
+    }
+
+    private PatientDto toDto(ResultSet rs) throws SQLException {
+        String firstName = rs.getString(4);
+        String middleName = rs.getString(5);
+        String lastName = rs.getString(6);
+        Date dateOfBirth = rs.getDate(7);
+        Timestamp createdAt = rs.getTimestamp(13);
+        Timestamp updatedAt = rs.getTimestamp(14);
+        Date enrollmentDate = rs.getDate(19);
+        String studyName = rs.getString(21);
+        String protocolNumber = rs.getString(22);
+
+        return PatientDto.builder()
+            .id(rs.getLong(1))
+            .aggregateUuid(rs.getString(2))
+            .patientNumber(rs.getString(3))
+            .firstName(firstName)
+            .middleName(middleName)
+            .lastName(lastName)
+            .dateOfBirth(dateOfBirth != null ? dateOfBirth.toLocalDate() : null)
+            .gender(rs.getString(8))
+            .phoneNumber(rs.getString(9))
+            .email(rs.getString(10))
+            .fullName(fullName(firstName, middleName, lastName))
+            // Same as PatientEntity.getAge()
+            .age(dateOfBirth != null ? LocalDate.now().getYear() - dateOfBirth.toLocalDate().getYear() : 0)
+            .status(rs.getString(11))
+            .createdBy(rs.getString(12))
+            .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+            .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+            .enrollmentId(rs.getLong(15))
+            .studyId(rs.getObject(16, Long.class))
+            .siteId(rs.getObject(17, Long.class))
+            .enrollmentStatus(rs.getString(18))
+            .enrollmentDate(enrollmentDate != null ? enrollmentDate.toLocalDate() : null)
+            .screeningNumber(rs.getString(20))
+            .studyName(studyName != null && protocolNumber != null ? protocolNumber + " - " + studyName : studyName)
+            .siteName(rs.getString(23))
+            .build();
+    }
+
+    // Same as PatientEntity.getFullName()
+    private static String fullName(String firstName, String middleName, String lastName) {
+        StringBuilder fullName = new StringBuilder(String.valueOf(firstName));
+        if (middleName != null && !middleName.trim().isEmpty()) {
+            fullName.append(" ").append(middleName);
+        }
+        fullName.append(" ").append(lastName);
+        return fullName.toString();
+    }
+}
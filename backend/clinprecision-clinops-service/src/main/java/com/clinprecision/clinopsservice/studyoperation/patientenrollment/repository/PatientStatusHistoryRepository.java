@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -75,6 +76,19 @@ public interface PatientStatusHistoryRepository extends JpaRepository<PatientSta
            "LIMIT 1")
     Optional<PatientStatusHistoryEntity> findMostRecentByPatientId(@Param("patientId") Long patientId);
 
+    /**
+     * Load status history records by ID with their patient and enrollment
+     * Use case: Current status records referenced by patient_current_status (one query, no lazy loads)
+     * 
+     * @param ids status history record IDs
+     * @return the records found (in no particular order)
+     */
+    @Query("SELECT psh FROM PatientStatusHistoryEntity psh " +
+           "LEFT JOIN FETCH psh.patient " +
+           "LEFT JOIN FETCH psh.enrollment " +
+           "WHERE psh.id IN :ids")
+    List<PatientStatusHistoryEntity> findWithPatientByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Count total status changes for a patient
      * Use case: Identify patients with unusual number of status changes
@@ -0,0 +1,242 @@
+package com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Patient status analytics rollups (patient_status_transition_daily, patient_status_rollup_state)
+ *
+ * PatientStatusRollupProjector adds every status transition to one counter row per
+ * (day, study, previous status, new status, user) with an atomic upsert, together with a
+ * histogram of the days spent in the previous status. Reports aggregate these rows instead of
+ * patient_status_history, so their cost depends on the number of days and status
+ * combinations in the range, not on the number of status changes.
+ *
+ * patient_status_rollup_state keeps, per patient aggregate, the study and the time of the
+ * first and latest status change needed to compute durations.
+ *
+ * Studies and previous statuses are part of the unique key, so "no study" is stored as 0
+ * and "no previous status" (registration) as ''.
+ */
+@Repository
+@Slf4j
+public class PatientStatusRollupJdbcRepository {
+
+    private static final long NO_STUDY = 0L;
+    private static final String NO_PREVIOUS_STATUS = "";
+
+    private static final String UPSERT_TRANSITION_SQL =
+        "INSERT INTO patient_status_transition_daily " +
+        "(activity_date, study_id, previous_status, new_status, changed_by, transition_count, duration_count, " +
+        "duration_days_total, days_0_7, days_8_30, days_31_90, days_over_90, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, 1, ?, ?, ?, ?, ?, ?, NOW(6)) " +
+        "ON DUPLICATE KEY UPDATE transition_count = transition_count + 1, " +
+        "duration_count = duration_count + VALUES(duration_count), " +
+        "duration_days_total = duration_days_total + VALUES(duration_days_total), " +
+        "days_0_7 = days_0_7 + VALUES(days_0_7), days_8_30 = days_8_30 + VALUES(days_8_30), " +
+        "days_31_90 = days_31_90 + VALUES(days_31_90), days_over_90 = days_over_90 + VALUES(days_over_90), " +
+        "updated_at = NOW(6)";
+
+    private static final String UPSERT_STATUS_CHANGE_SQL =
+        "INSERT INTO patient_status_rollup_state " +
+        "(patient_aggregate_uuid, first_status_at, last_status_at, status_change_count, updated_at) " +
+        "VALUES (?, ?, ?, 1, NOW(6)) " +
+        "ON DUPLICATE KEY UPDATE first_status_at = LEAST(COALESCE(first_status_at, VALUES(first_status_at)), VALUES(first_status_at)), " +
+        "last_status_at = GREATEST(COALESCE(last_status_at, VALUES(last_status_at)), VALUES(last_status_at)), " +
+        "status_change_count = status_change_count + 1, updated_at = NOW(6)";
+
+    private static final String UPSERT_STUDY_SQL =
+        "INSERT INTO patient_status_rollup_state (patient_aggregate_uuid, study_id, status_change_count, updated_at) " +
+        "VALUES (?, ?, 0, NOW(6)) " +
+        "ON DUPLICATE KEY UPDATE study_id = VALUES(study_id), updated_at = NOW(6)";
+
+    private static final String SELECT_STATE_SQL =
+        "SELECT study_id, first_status_at, last_status_at, status_change_count " +
+        "FROM patient_status_rollup_state WHERE patient_aggregate_uuid = ?";
+
+    private static final String SELECT_TRANSITION_SUMMARY_SQL =
+        "SELECT previous_status, new_status, SUM(transition_count), SUM(duration_count), SUM(duration_days_total) " +
+        "FROM patient_status_transition_daily %s " +
+        "GROUP BY previous_status, new_status ORDER BY SUM(transition_count) DESC, previous_status, new_status";
+
+    private static final String SELECT_DAILY_CHANGES_SQL =
+        "SELECT activity_date, previous_status, new_status, SUM(transition_count) " +
+        "FROM patient_status_transition_daily %s " +
+        "GROUP BY activity_date, previous_status, new_status ORDER BY activity_date, previous_status, new_status";
+
+    private static final String SELECT_CHANGES_BY_USER_SQL =
+        "SELECT changed_by, SUM(transition_count), MIN(activity_date), MAX(activity_date) " +
+        "FROM patient_status_transition_daily %s " +
+        "GROUP BY changed_by ORDER BY SUM(transition_count) DESC, changed_by";
+
+    private static final String SELECT_DURATION_HISTOGRAM_SQL =
+        "SELECT previous_status, SUM(duration_count), SUM(duration_days_total), " +
+        "SUM(days_0_7), SUM(days_8_30), SUM(days_31_90), SUM(days_over_90) " +
+        "FROM patient_status_transition_daily %s AND previous_status <> '' " +
+        "GROUP BY previous_status ORDER BY previous_status";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PatientStatusRollupJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add one status transition to the daily rollup
+     *
+     * @param studyId Study of the patient (null if not enrolled)
+     * @param previousStatus Previous status (null for registration)
+     * @param durationDays Days spent in the previous status (null if unknown)
+     */
+    public void recordTransition(LocalDate activityDate, Long studyId, String previousStatus, String newStatus,
+                                 String changedBy, Long durationDays) {
+        boolean timed = durationDays != null;
+        long days = timed ? Math.max(0, durationDays) : 0;
+        jdbcTemplate.update(UPSERT_TRANSITION_SQL,
+            Date.valueOf(activityDate),
+            studyId != null ? studyId : NO_STUDY,
+            previousStatus != null ? previousStatus : NO_PREVIOUS_STATUS,
+            newStatus,
+            changedBy != null ? changedBy : "",
+            timed ? 1 : 0,
+            days,
+            timed && days <= 7 ? 1 : 0,
+            timed && days > 7 && days <= 30 ? 1 : 0,
+            timed && days > 30 && days <= 90 ? 1 : 0,
+            timed && days > 90 ? 1 : 0);
+    }
+
+    /**
+     * Record the time of a status change of a patient
+     */
+    public void recordStatusChange(String patientAggregateUuid, LocalDateTime changedAt) {
+        Timestamp timestamp = Timestamp.valueOf(changedAt);
+        jdbcTemplate.update(UPSERT_STATUS_CHANGE_SQL, patientAggregateUuid, timestamp, timestamp);
+    }
+
+    /**
+     * Set the study later status changes of a patient are counted for
+     */
+    public void assignStudy(String patientAggregateUuid, Long studyId) {
+        jdbcTemplate.update(UPSERT_STUDY_SQL, patientAggregateUuid, studyId);
+    }
+
+    public Optional<PatientRollupState> findPatientState(String patientAggregateUuid) {
+        return jdbcTemplate.query(SELECT_STATE_SQL, (rs, rowNum) -> {
+            long studyId = rs.getLong(1);
+            Long study = rs.wasNull() ? null : studyId;
+            Timestamp first = rs.getTimestamp(2);
+            Timestamp last = rs.getTimestamp(3);
+            return new PatientRollupState(study,
+                first != null ? first.toLocalDateTime() : null,
+                last != null ? last.toLocalDateTime() : null,
+                rs.getInt(4));
+        }, patientAggregateUuid).stream().findFirst();
+    }
+
+    /**
+     * Transition counts and total days in the previous status per (previous, new) status
+     */
+    public List<TransitionSummaryRow> findTransitionSummary(Long studyId, LocalDate from, LocalDate to) {
+        List<Object> parameters = new ArrayList<>();
+        return jdbcTemplate.query(String.format(SELECT_TRANSITION_SUMMARY_SQL, where(studyId, from, to, parameters)),
+            (rs, rowNum) -> new TransitionSummaryRow(previousStatus(rs.getString(1)), rs.getString(2),
+                rs.getLong(3), rs.getLong(4), rs.getLong(5)),
+            parameters.toArray());
+    }
+
+    /**
+     * Transition counts per day and (previous, new) status
+     */
+    public List<DailyTransitionRow> findDailyTransitions(Long studyId, LocalDate from, LocalDate to) {
+        List<Object> parameters = new ArrayList<>();
+        return jdbcTemplate.query(String.format(SELECT_DAILY_CHANGES_SQL, where(studyId, from, to, parameters)),
+            (rs, rowNum) -> new DailyTransitionRow(rs.getDate(1).toLocalDate(), previousStatus(rs.getString(2)),
+                rs.getString(3), rs.getLong(4)),
+            parameters.toArray());
+    }
+
+    /**
+     * Status change counts per user
+     */
+    public List<UserChangeCountRow> findChangeCountsByUser(Long studyId, LocalDate from, LocalDate to) {
+        List<Object> parameters = new ArrayList<>();
+        return jdbcTemplate.query(String.format(SELECT_CHANGES_BY_USER_SQL, where(studyId, from, to, parameters)),
+            (rs, rowNum) -> new UserChangeCountRow(rs.getString(1), rs.getLong(2),
+                rs.getDate(3).toLocalDate(), rs.getDate(4).toLocalDate()),
+            parameters.toArray());
+    }
+
+    /**
+     * Histogram of the days spent in each status before leaving it
+     */
+    public List<DurationHistogramRow> findDurationHistogram(Long studyId, LocalDate from, LocalDate to) {
+        List<Object> parameters = new ArrayList<>();
+        return jdbcTemplate.query(String.format(SELECT_DURATION_HISTOGRAM_SQL, where(studyId, from, to, parameters)),
+            (rs, rowNum) -> new DurationHistogramRow(rs.getString(1), rs.getLong(2), rs.getLong(3),
+                rs.getLong(4), rs.getLong(5), rs.getLong(6), rs.getLong(7)),
+            parameters.toArray());
+    }
+
+    /**
+     * Remove all rollups (replay of PatientStatusRollupProjector)
+     */
+    public void deleteAll() {
+        int transitions = jdbcTemplate.update("DELETE FROM patient_status_transition_daily");
+        int states = jdbcTemplate.update("DELETE FROM patient_status_rollup_state");
+        log.info("Patient status rollups cleared: {} transition rows, {} patient states", transitions, states);
+    }
+
+    private static String where(Long studyId, LocalDate from, LocalDate to, List<Object> parameters) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1");
+        if (studyId != null) {
+            where.append(" AND study_id = ?");
+            parameters.add(studyId);
+        }
+        if (from != null) {
+            where.append(" AND activity_date >= ?");
+            parameters.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            where.append(" AND activity_date <= ?");
+            parameters.add(Date.valueOf(to));
+        }
+        return where.toString();
+    }
+
+    private static String previousStatus(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Study and status change times of a patient aggregate
+     */
+    public record PatientRollupState(Long studyId, LocalDateTime firstStatusAt, LocalDateTime lastStatusAt,
+                                     int statusChangeCount) {
+    }
+
+    public record TransitionSummaryRow(String previousStatus, String newStatus, long transitionCount,
+                                       long durationCount, long durationDaysTotal) {
+    }
+
+    public record DailyTransitionRow(LocalDate activityDate, String previousStatus, String newStatus,
+                                     long transitionCount) {
+    }
+
+    public record UserChangeCountRow(String changedBy, long changeCount, LocalDate firstActivityDate,
+                                     LocalDate lastActivityDate) {
+    }
+
+    public record DurationHistogramRow(String status, long transitions, long durationDaysTotal,
+                                       long days0To7, long days8To30, long days31To90, long daysOver90) {
+    }
+}
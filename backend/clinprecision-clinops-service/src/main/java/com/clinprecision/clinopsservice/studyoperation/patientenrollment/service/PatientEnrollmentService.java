@@ -3,10 +3,14 @@ package com.clinprecision.clinopsservice.studyoperation.patientenrollment.servic
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.commands.RegisterPatientCommand;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.commands.EnrollPatientCommand;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.commands.UpdatePatientDemographicsCommand;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.queries.FindEnrollmentByAggregateUuidQuery;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.queries.FindPatientByAggregateUuidQuery;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.EnrollPatientDto;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.EnrollmentCapacityDto;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.RegisterPatientDto;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.UpdatePatientDemographicsDto;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.PatientDto;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.dto.PatientRosterPageDto;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEnrollmentEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.EnrollmentStatus;
@@ -14,9 +18,12 @@ import com.clinprecision.clinopsservice.studyoperation.patientenrollment.reposit
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientEnrollmentRepository;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientEnrollmentAuditRepository;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.SiteStudyRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.EnrollmentSlotJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientRosterJdbcRepository;
 import com.clinprecision.common.entity.SiteStudyEntity;
 import com.clinprecision.clinopsservice.studydesign.studymgmt.repository.StudyRepository;
 import com.clinprecision.clinopsservice.studydesign.design.arm.repository.StudyArmRepository;
+import com.clinprecision.clinopsservice.common.projection.ProjectionAwaiter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,10 +31,13 @@ import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -41,7 +51,7 @@ import java.util.stream.Collectors;
  * 
  * NOTE: No class-level @Transactional - Axon handles transactions for command processing.
  * Adding @Transactional prevents projections from seeing committed events due to transaction
- * isolation - the waitForPatientProjection() and waitForEnrollmentProjection() methods can't
+ * isolation - the registerAndWaitForPatientProjection() and enrollAndWaitForEnrollmentProjection() methods can't
  * see the INSERT until transaction commits, but the transaction can't commit because the
  * method is still waiting (circular deadlock).
  */
@@ -50,6 +60,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PatientEnrollmentService {
 
+    private static final int DEFAULT_ROSTER_PAGE_SIZE = 100;
+    private static final int MAX_ROSTER_PAGE_SIZE = 1000;
+
     private final CommandGateway commandGateway;
     private final PatientRepository patientRepository;
     private final PatientEnrollmentRepository patientEnrollmentRepository;
@@ -57,6 +70,9 @@ public class PatientEnrollmentService {
     private final PatientEnrollmentAuditRepository auditRepository;
     private final StudyRepository studyRepository;
     private final StudyArmRepository studyArmRepository;
+    private final ProjectionAwaiter projectionAwaiter;
+    private final EnrollmentSlotJdbcRepository enrollmentSlotRepository;
+    private final PatientRosterJdbcRepository patientRosterRepository;
 
     /**
      * Register a new patient in the system
@@ -73,30 +89,11 @@ public class PatientEnrollmentService {
             UUID patientUuid = UUID.randomUUID();
             log.info("Generated patient UUID: {} for registration", patientUuid);
             
-            // Send command in separate transaction context
-            sendPatientRegistrationCommand(patientUuid, registerDto, createdBy);
-            
-            log.info("RegisterPatientCommand completed successfully for UUID: {}", patientUuid);
-            
-            // Simple approach: wait a moment for projection, then fetch directly
-            try {
-                Thread.sleep(100); // Give projection a moment to process
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            
-            // Try direct fetch first
-            Optional<PatientEntity> optionalEntity = patientRepository.findByAggregateUuid(patientUuid.toString());
-            PatientEntity entity;
-            
-            if (optionalEntity.isPresent()) {
-                log.info("Patient projection found immediately for UUID: {}", patientUuid);
-                entity = optionalEntity.get();
-            } else {
-                log.warn("Patient projection not found immediately, using retry mechanism for UUID: {}", patientUuid);
-                // Fallback to retry mechanism if immediate fetch fails
-                entity = waitForPatientProjection(patientUuid.toString(), 5000); // 5 second timeout
-            }
+            // Send command in separate transaction context and wait for the patient projection
+            PatientEntity entity = registerAndWaitForPatientProjection(patientUuid.toString(), 5000, () -> {
+                sendPatientRegistrationCommand(patientUuid, registerDto, createdBy);
+                log.info("RegisterPatientCommand completed successfully for UUID: {}", patientUuid);
+            });
             
             PatientDto result = mapToDto(entity);
             
@@ -183,19 +180,7 @@ public class PatientEnrollmentService {
     public List<PatientDto> getPatientsByStudy(Long studyId) {
         log.info("Fetching patients for study: {}", studyId);
         
-        List<PatientEnrollmentEntity> enrollments = patientEnrollmentRepository.findByStudyId(studyId);
-        
-        return enrollments.stream()
-                .map(enrollment -> {
-                    PatientEntity patient = patientRepository.findById(enrollment.getPatientId())
-                            .orElse(null);
-                    if (patient != null) {
-                        return mapToDtoWithEnrollment(patient, enrollment);
-                    }
-                    return null;
-                })
-                .filter(dto -> dto != null)
-                .collect(Collectors.toList());
+        return patientRosterRepository.findRoster(studyId, null);
     }
     
     /**
@@ -207,19 +192,7 @@ public class PatientEnrollmentService {
     public List<PatientDto> getPatientsBySite(Long siteId) {
         log.info("Fetching patients for site: {}", siteId);
         
-        List<PatientEnrollmentEntity> enrollments = patientEnrollmentRepository.findByStudySiteId(siteId);
-        
-        return enrollments.stream()
-                .map(enrollment -> {
-                    PatientEntity patient = patientRepository.findById(enrollment.getPatientId())
-                            .orElse(null);
-                    if (patient != null) {
-                        return mapToDtoWithEnrollment(patient, enrollment);
-                    }
-                    return null;
-                })
-                .filter(dto -> dto != null)
-                .collect(Collectors.toList());
+        return patientRosterRepository.findRoster(null, siteId);
     }
     
     /**
@@ -233,23 +206,36 @@ public class PatientEnrollmentService {
     public List<PatientDto> getPatientsByStudyAndSite(Long studyId, Long siteId) {
         log.info("Fetching patients for study: {} at site: {}", studyId, siteId);
         
-        // Get all enrollments for the study
-        List<PatientEnrollmentEntity> enrollments = patientEnrollmentRepository.findByStudyId(studyId);
-        
-        // Filter by site
-        return enrollments.stream()
-                .filter(enrollment -> enrollment.getStudySiteId() != null && 
-                                    enrollment.getStudySiteId().equals(siteId))
-                .map(enrollment -> {
-                    PatientEntity patient = patientRepository.findById(enrollment.getPatientId())
-                            .orElse(null);
-                    if (patient != null) {
-                        return mapToDtoWithEnrollment(patient, enrollment);
-                    }
-                    return null;
-                })
-                .filter(dto -> dto != null)
-                .collect(Collectors.toList());
+        return patientRosterRepository.findRoster(studyId, siteId);
+    }
+    
+    /**
+     * Get one page of a study and/or site patient roster
+     * 
+     * @param studyId Study ID (optional if siteId is given)
+     * @param siteId Site ID (study_site_id, optional if studyId is given)
+     * @param after Enrollment ID of the last entry of the previous page (null for the first page)
+     * @param limit Page size (capped at MAX_ROSTER_PAGE_SIZE)
+     * @return Page of patients with the key of the next page
+     * @throws IllegalArgumentException if neither a study nor a site is given
+     */
+    public PatientRosterPageDto getPatientRosterPage(Long studyId, Long siteId, Long after, Integer limit) {
+        int pageSize = limit == null || limit < 1 ? DEFAULT_ROSTER_PAGE_SIZE : Math.min(limit, MAX_ROSTER_PAGE_SIZE);
+        log.debug("Fetching roster page: studyId={}, siteId={}, after={}, limit={}", studyId, siteId, after, pageSize);
+        
+        // One extra row tells whether another page follows
+        List<PatientDto> patients = patientRosterRepository.findRosterPage(studyId, siteId, after, pageSize + 1);
+        boolean hasMore = patients.size() > pageSize;
+        if (hasMore) {
+            patients = patients.subList(0, pageSize);
+        }
+        
+        return PatientRosterPageDto.builder()
+                .patients(patients)
+                .limit(pageSize)
+                .hasMore(hasMore)
+                .nextAfter(hasMore ? patients.get(patients.size() - 1).getEnrollmentId() : null)
+                .build();
     }
     
     /**
@@ -285,18 +271,15 @@ public class PatientEnrollmentService {
             
             log.info("Sending UpdatePatientDemographicsCommand to Axon for UUID: {}", patientUuid);
             
-            // Send command and wait for completion
-            CompletableFuture<Void> future = commandGateway.send(command);
-            future.get(); // Wait for event to be processed
-            
-            log.info("UpdatePatientDemographicsCommand completed successfully for UUID: {}", patientUuid);
-            
-            // Wait a moment for projection to update
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // Send command and wait for the projector to write the updated patient
+            LocalDateTime updatedBefore = patient.getUpdatedAt();
+            projectionAwaiter.sendAndAwaitUpdate(new FindPatientByAggregateUuidQuery(patientUuid.toString()),
+                    PatientEntity.class, projectionAwaiter.getDefaultTimeoutMs(), () -> {
+                        commandGateway.send(command).join(); // Wait for event to be processed
+                        log.info("UpdatePatientDemographicsCommand completed successfully for UUID: {}", patientUuid);
+                    },
+                    updated -> updatedBefore == null
+                        || (updated.getUpdatedAt() != null && updated.getUpdatedAt().isAfter(updatedBefore)));
             
             // Fetch and return updated patient
             patient = patientRepository.findById(patientId)
@@ -490,14 +473,6 @@ public class PatientEnrollmentService {
         UUID siteAggregateUuid = UUID.fromString(siteAggregateUuidStr);
         log.info("Site UUID: {}", siteAggregateUuid);
 
-        // Enforce site enrollment cap if configured
-        if (association.getSubjectEnrollmentCap() != null) {
-            long currentCount = patientEnrollmentRepository.countByStudySiteId(association.getId());
-            if (currentCount >= association.getSubjectEnrollmentCap()) {
-                throw new IllegalArgumentException("Site enrollment cap reached for this study site");
-            }
-        }
-
         // Generate enrollment UUID
         UUID enrollmentUuid = UUID.randomUUID();
         log.info("Enrollment UUID: {}", enrollmentUuid);
@@ -519,24 +494,42 @@ public class PatientEnrollmentService {
                 .createdBy(createdBy != null ? createdBy : "system")
                 .build();
         
+        // Reserve an enrollment slot at the site: one conditional UPDATE of the association row,
+        // so concurrent enrollments cannot exceed the site cap (no transaction - the row lock is
+        // released as soon as the statement completes)
+        if (!enrollmentSlotRepository.reserveSlot(association.getId(), dto.getStudyId())) {
+            throw new IllegalArgumentException("Site enrollment cap reached for this study site");
+        }
+        
         log.info("Sending EnrollPatientCommand to aggregate with studySiteId={}: {}", association.getId(), command);
         
+        // Send command and wait for projection to complete
+        AtomicBoolean commandProcessed = new AtomicBoolean(false);
+        PatientEnrollmentEntity enrollment;
         try {
-            // Send command and wait for completion
-            CompletableFuture<Object> future = commandGateway.send(command);
-            Object result = future.join(); // Wait for command to be processed
-            
-            log.info("EnrollPatientCommand processed successfully: {}", result);
-            
-        } catch (Exception e) {
-            log.error("Failed to process EnrollPatientCommand: {}", e.getMessage(), e);
-            throw new RuntimeException("Enrollment failed: " + e.getMessage(), e);
+            enrollment = enrollAndWaitForEnrollmentProjection(enrollmentUuid.toString(), 10000, () -> {
+                try {
+                    // Send command and wait for completion
+                    CompletableFuture<Object> future = commandGateway.send(command);
+                    Object result = future.join(); // Wait for command to be processed
+                    commandProcessed.set(true);
+                    
+                    log.info("EnrollPatientCommand processed successfully: {}", result);
+                    
+                } catch (Exception e) {
+                    log.error("Failed to process EnrollPatientCommand: {}", e.getMessage(), e);
+                    throw new RuntimeException("Enrollment failed: " + e.getMessage(), e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The enrollment was not recorded: give the slot back
+            if (!commandProcessed.get()) {
+                enrollmentSlotRepository.releaseSlot(association.getId());
+                log.info("Released enrollment slot of study site {} after failed enrollment", association.getId());
+            }
+            throw e;
         }
         
-        // Wait for projection to complete (with retry logic)
-        log.info("Waiting for enrollment projection to complete...");
-        PatientEnrollmentEntity enrollment = waitForEnrollmentProjection(enrollmentUuid.toString(), 10000); // Increased timeout to 10s
-        
         if (enrollment == null) {
             log.warn("Enrollment projection not found after timeout - projection may still be processing");
             log.warn("Enrollment UUID: {} - you can query later using: GET /api/v1/patient-enrollments?aggregateUuid={}", 
@@ -554,67 +547,38 @@ public class PatientEnrollmentService {
         
         log.info("Enrollment projection found: id={}, screening={}", enrollment.getId(), enrollment.getScreeningNumber());
         
-        // Update association enrollment count (best-effort)
-        try {
-            Integer count = association.getSubjectEnrollmentCount();
-            association.setSubjectEnrollmentCount((count == null ? 0 : count) + 1);
-            siteStudyRepository.save(association);
-            log.info("Updated association enrollment count: {}", association.getSubjectEnrollmentCount());
-        } catch (Exception ex) {
-            log.warn("Failed to update subjectEnrollmentCount for association {}: {}", association.getId(), ex.getMessage());
-        }
-        
         log.info("=== ENROLLMENT FLOW COMPLETE ===");
         return enrollment;
     }
     
     /**
-     * Wait for enrollment projection to be updated with retry logic
+     * Send the enrollment command and wait for the enrollment projection to be committed
      * 
-     * <p>Pattern matches PatientStatusService.waitForStatusHistoryProjection()</p>
-     * <p>Uses exponential backoff with graceful degradation if projection is delayed.</p>
+     * <p>A FindEnrollmentByAggregateUuidQuery subscription is opened before the command is sent;
+     * PatientEnrollmentProjector emits the enrollment once its unit of work commits. On timeout
+     * the read model is queried once more directly.</p>
+     * <p>Graceful degradation: returns null if the projection is delayed or failed
+     * (command failures still propagate).</p>
      * 
      * @param enrollmentUuid the enrollment aggregate UUID to wait for
      * @param timeoutMs maximum time to wait in milliseconds
+     * @param command command dispatch
      * @return the projected enrollment entity, or null if not found within timeout
      */
-    private PatientEnrollmentEntity waitForEnrollmentProjection(String enrollmentUuid, long timeoutMs) {
+    private PatientEnrollmentEntity enrollAndWaitForEnrollmentProjection(String enrollmentUuid, long timeoutMs,
+                                                                         Runnable command) {
         long startTime = System.currentTimeMillis();
-        long delay = 50; // Start with 50ms delay
-        int attempts = 0;
-        
         log.info("Waiting for enrollment projection with UUID: {}", enrollmentUuid);
         
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            try {
-                attempts++;
-                Optional<PatientEnrollmentEntity> entity = patientEnrollmentRepository.findByAggregateUuid(enrollmentUuid);
-                if (entity.isPresent()) {
-                    log.info("Enrollment projection found after {}ms and {} attempts", 
-                        System.currentTimeMillis() - startTime, attempts);
-                    return entity.get();
-                }
-                
-                // Log every 5 attempts to reduce log spam
-                if (attempts % 5 == 0 || attempts <= 3) {
-                    log.info("Enrollment projection not found yet, attempt {}, waiting {}ms", attempts, delay);
-                }
-                
-                // Wait before retrying
-                Thread.sleep(delay);
-                
-                // Exponential backoff up to 500ms
-                delay = Math.min(delay * 2, 500);
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("Interrupted while waiting for enrollment projection");
-                return null; // Don't throw - graceful degradation
-            }
+        Optional<PatientEnrollmentEntity> entity = projectionAwaiter.sendAndAwait(
+            new FindEnrollmentByAggregateUuidQuery(enrollmentUuid), PatientEnrollmentEntity.class, timeoutMs, command);
+        if (entity.isPresent()) {
+            log.info("Enrollment projection found after {}ms", System.currentTimeMillis() - startTime);
+            return entity.get();
         }
         
-        log.warn("Enrollment projection not found after {}ms and {} attempts - projection may still be processing asynchronously", 
-            timeoutMs, attempts);
+        log.warn("Enrollment projection not found after {}ms - projection may still be processing asynchronously", 
+            timeoutMs);
         return null;
     }
     
@@ -647,44 +611,26 @@ public class PatientEnrollmentService {
     }
 
     /**
-     * Wait for patient projection to be updated with retry logic
+     * Send the registration command and wait for the patient projection
      * 
      * @param patientUuid The patient UUID to look for
      * @param timeoutMs Maximum time to wait in milliseconds
+     * @param command Command dispatch
      * @return The patient entity when found
      * @throws RuntimeException if patient not found within timeout
      */
-    private PatientEntity waitForPatientProjection(String patientUuid, long timeoutMs) {
+    private PatientEntity registerAndWaitForPatientProjection(String patientUuid, long timeoutMs, Runnable command) {
         long startTime = System.currentTimeMillis();
-        long delay = 50; // Start with 50ms delay
-        int attempts = 0;
-        
         log.info("Waiting for patient projection with UUID: {}", patientUuid);
         
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            try {
-                attempts++;
-                Optional<PatientEntity> entity = patientRepository.findByAggregateUuid(patientUuid);
-                if (entity.isPresent()) {
-                    log.info("Patient projection found after {}ms and {} attempts", System.currentTimeMillis() - startTime, attempts);
-                    return entity.get();
-                }
-                
-                log.debug("Patient projection not found yet, attempt {}, waiting {}ms", attempts, delay);
-                
-                // Wait before retrying
-                Thread.sleep(delay);
-                
-                // Exponential backoff up to 500ms
-                delay = Math.min(delay * 2, 500);
-                
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Interrupted while waiting for patient projection", e);
-            }
+        Optional<PatientEntity> entity = projectionAwaiter.sendAndAwait(
+            new FindPatientByAggregateUuidQuery(patientUuid), PatientEntity.class, timeoutMs, command);
+        if (entity.isPresent()) {
+            log.info("Patient projection found after {}ms", System.currentTimeMillis() - startTime);
+            return entity.get();
         }
         
-        log.error("Patient projection timeout after {}ms and {} attempts for UUID: {}", timeoutMs, attempts, patientUuid);
+        log.error("Patient projection timeout after {}ms for UUID: {}", timeoutMs, patientUuid);
         throw new RuntimeException("Patient not found after creation - projection timeout after " + timeoutMs + "ms");
     }
 
@@ -748,6 +694,49 @@ public class PatientEnrollmentService {
         }
     }
     
+    /**
+     * Get the enrollment caps and slot counters of a study and its sites
+     * Reads the site_studies counters (no COUNT over patient_enrollments)
+     * 
+     * @param studyId Study ID
+     * @return Study target, per-site caps/counts and remaining slots
+     */
+    public EnrollmentCapacityDto getEnrollmentCapacity(Long studyId) {
+        List<EnrollmentSlotJdbcRepository.SiteSlotRow> slots = enrollmentSlotRepository.findSiteSlots(studyId);
+        
+        List<EnrollmentCapacityDto.SiteCapacity> sites = new ArrayList<>();
+        int enrolled = 0;
+        Integer totalCap = 0;
+        for (EnrollmentSlotJdbcRepository.SiteSlotRow slot : slots) {
+            enrolled += slot.enrollmentCount();
+            totalCap = totalCap != null && slot.enrollmentCap() != null ? totalCap + slot.enrollmentCap() : null;
+            sites.add(EnrollmentCapacityDto.SiteCapacity.builder()
+                .studySiteId(slot.studySiteId())
+                .siteId(slot.siteId())
+                .siteName(slot.siteName())
+                .status(slot.status())
+                .enrollmentCap(slot.enrollmentCap())
+                .enrollmentCount(slot.enrollmentCount())
+                .remainingSlots(slot.enrollmentCap() != null
+                    ? Math.max(0, slot.enrollmentCap() - slot.enrollmentCount()) : null)
+                .build());
+        }
+        
+        Integer remaining = null;
+        if (totalCap != null) {
+            remaining = sites.stream().mapToInt(EnrollmentCapacityDto.SiteCapacity::getRemainingSlots).sum();
+        }
+        
+        return EnrollmentCapacityDto.builder()
+            .studyId(studyId)
+            .targetEnrollment(enrollmentSlotRepository.findTargetEnrollment(studyId))
+            .enrolledSubjects(enrolled)
+            .totalSiteCap(totalCap)
+            .remainingSlots(remaining)
+            .sites(sites)
+            .build();
+    }
+    
     /**
      * Get site studies (site-study associations) for a specific study
      * 
@@ -1,11 +1,18 @@
 package com.clinprecision.clinopsservice.studyoperation.patientenrollment.service;
 
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.domain.commands.ChangePatientStatusCommand;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientCurrentStatusEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientEntity;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientStatus;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.entity.PatientStatusHistoryEntity;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientCurrentStatusRepository;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientRepository;
 import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusHistoryRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.DailyTransitionRow;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.DurationHistogramRow;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.TransitionSummaryRow;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientStatusRollupJdbcRepository.UserChangeCountRow;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,11 +20,17 @@ import org.axonframework.commandhandling.gateway.CommandGateway;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Patient Status Management Service
@@ -35,7 +48,8 @@ import java.util.concurrent.CompletableFuture;
  * <ul>
  *   <li>getPatientStatusHistory() - Complete audit trail for a patient</li>
  *   <li>getCurrentPatientStatus() - Most recent status details</li>
- *   <li>getStatusTransitionSummary() - Analytics aggregations</li>
+ *   <li>getStatusTransitionSummary(), getDailyStatusChanges(), getStatusChangeCountsByUser(),
+ *       getStatusDurationHistogram() - Analytics from the status rollups</li>
  *   <li>findPatientsInStatus() - Filter by status</li>
  *   <li>findPatientsStuckInStatus() - Identify bottlenecks</li>
  * </ul>
@@ -46,9 +60,10 @@ import java.util.concurrent.CompletableFuture;
  *                                              ↓
  *                                      PatientStatusChangedEvent
  *                                              ↓
- *                                   PatientEnrollmentProjector
+ *                 PatientEnrollmentProjector, PatientStatusRollupProjector
  *                                              ↓
- *                         [patients, patient_status_history tables]
+ *          [patients, patient_status_history, patient_current_status tables,
+ *           patient_status_transition_daily rollups]
  *                                              ↓
  *                                   PatientStatusService (Query)
  * </pre>
@@ -64,6 +79,7 @@ import java.util.concurrent.CompletableFuture;
  * 
  * @see ChangePatientStatusCommand
  * @see PatientStatusHistoryEntity
+ * @see PatientCurrentStatusEntity
  * @see PatientStatus
  * 
  * NOTE: No class-level @Transactional - Axon handles transactions for command processing.
@@ -78,6 +94,8 @@ public class PatientStatusService {
 
     private final CommandGateway commandGateway;
     private final PatientRepository patientRepository;
+    private final PatientCurrentStatusRepository currentStatusRepository;
+    private final PatientStatusRollupJdbcRepository rollupRepository;
     private final PatientStatusHistoryRepository statusHistoryRepository;
 
     // ==================== Command Operations (Write) ====================
@@ -417,7 +435,9 @@ public class PatientStatusService {
      * Get current patient status details
      * 
      * <p>Returns the most recent status change record for a patient.
-     * Provides more context than just the status enum value.</p>
+     * Provides more context than just the status enum value. The record is looked up
+     * through the patient_current_status read model (by primary key), falling back to the
+     * history of patients the projector has not recorded a current status for.</p>
      * 
      * @param patientId Patient database ID
      * @return Most recent status history record
@@ -431,7 +451,10 @@ public class PatientStatusService {
             throw new IllegalArgumentException("Patient ID is required");
         }
         
-        return statusHistoryRepository.findMostRecentByPatientId(patientId)
+        return currentStatusRepository.findById(patientId)
+                .map(PatientCurrentStatusEntity::getStatusHistoryId)
+                .flatMap(statusHistoryRepository::findById)
+                .or(() -> statusHistoryRepository.findMostRecentByPatientId(patientId))
                 .orElseThrow(() -> new IllegalArgumentException(
                     "No status history found for patient: " + patientId
                 ));
@@ -441,36 +464,126 @@ public class PatientStatusService {
      * Get status transition summary statistics
      * 
      * <p>Returns aggregated data on status transitions across all patients.
-     * Useful for dashboard analytics and identifying common transition patterns.</p>
+     * Useful for dashboard analytics and identifying common transition patterns.
+     * Read from the daily status rollups (PatientStatusRollupProjector), not from the history.</p>
      * 
-     * @return List of transition summaries with counts
+     * @param studyId Study to filter by (null for all studies)
+     * @param startDate First day of the range (null for no lower bound)
+     * @param endDate Last day of the range (null for no upper bound)
+     * @return List of transition summaries with counts and total days in the previous status
      */
     @Transactional(readOnly = true)
-    public List<PatientStatusHistoryRepository.StatusTransitionSummary> getStatusTransitionSummary() {
-        log.info("Fetching status transition summary");
+    public List<TransitionSummaryRow> getStatusTransitionSummary(Long studyId, LocalDate startDate, LocalDate endDate) {
+        log.info("Fetching status transition summary: study={}, {} to {}", studyId, startDate, endDate);
+        validateDateRange(startDate, endDate);
         
-        List<PatientStatusHistoryRepository.StatusTransitionSummary> summary = 
-            statusHistoryRepository.getStatusTransitionSummary();
+        List<TransitionSummaryRow> summary = rollupRepository.findTransitionSummary(studyId, startDate, endDate);
         
         log.info("Found {} transition types", summary.size());
         return summary;
     }
 
+    /**
+     * Get status transition counts per day
+     * 
+     * @param studyId Study to filter by (null for all studies)
+     * @param startDate First day of the range (null for no lower bound)
+     * @param endDate Last day of the range (null for no upper bound)
+     * @return Transition counts per day and transition
+     */
+    @Transactional(readOnly = true)
+    public List<DailyTransitionRow> getDailyStatusChanges(Long studyId, LocalDate startDate, LocalDate endDate) {
+        log.info("Fetching daily status changes: study={}, {} to {}", studyId, startDate, endDate);
+        validateDateRange(startDate, endDate);
+        
+        return rollupRepository.findDailyTransitions(studyId, startDate, endDate);
+    }
+
+    /**
+     * Get status change counts per user
+     * 
+     * @param studyId Study to filter by (null for all studies)
+     * @param startDate First day of the range (null for no lower bound)
+     * @param endDate Last day of the range (null for no upper bound)
+     * @return Status change counts per user, most active first
+     */
+    @Transactional(readOnly = true)
+    public List<UserChangeCountRow> getStatusChangeCountsByUser(Long studyId, LocalDate startDate, LocalDate endDate) {
+        log.info("Fetching status change counts by user: study={}, {} to {}", studyId, startDate, endDate);
+        validateDateRange(startDate, endDate);
+        
+        return rollupRepository.findChangeCountsByUser(studyId, startDate, endDate);
+    }
+
+    /**
+     * Get the distribution of days spent in each status before leaving it
+     * 
+     * @param studyId Study to filter by (null for all studies)
+     * @param startDate First day of the range (null for no lower bound)
+     * @param endDate Last day of the range (null for no upper bound)
+     * @return Duration histogram per status
+     */
+    @Transactional(readOnly = true)
+    public List<DurationHistogramRow> getStatusDurationHistogram(Long studyId, LocalDate startDate, LocalDate endDate) {
+        log.info("Fetching status duration histogram: study={}, {} to {}", studyId, startDate, endDate);
+        validateDateRange(startDate, endDate);
+        
+        return rollupRepository.findDurationHistogram(studyId, startDate, endDate);
+    }
+
+    private void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before end date");
+        }
+    }
+
     /**
      * Find all patients currently in a specific status
      * 
      * @param status The status to filter by
-     * @return List of status history records (most recent per patient)
+     * @return List of status history records (most recent per patient, longest in status first)
      */
     @Transactional(readOnly = true)
     public List<PatientStatusHistoryEntity> findPatientsInStatus(PatientStatus status) {
-        log.info("Finding patients in status: {}", status);
+        return findPatientsInStatus(null, status);
+    }
+
+    /**
+     * Find the patients of a study currently in a specific status
+     * 
+     * <p>Reads the patient_current_status read model, so only each patient's current status
+     * record is returned (not every record that ever entered the status).</p>
+     * 
+     * @param studyId Study to filter by (null for all studies)
+     * @param status The status to filter by
+     * @return List of status history records (most recent per patient, longest in status first)
+     */
+    @Transactional(readOnly = true)
+    public List<PatientStatusHistoryEntity> findPatientsInStatus(Long studyId, PatientStatus status) {
+        log.info("Finding patients in status: {}, study: {}", status, studyId);
         
         if (status == null) {
             throw new IllegalArgumentException("Status is required");
         }
         
-        return statusHistoryRepository.findByNewStatusOrderByChangedAtDesc(status);
+        List<PatientCurrentStatusEntity> current = studyId != null
+            ? currentStatusRepository.findByStudyIdAndCurrentStatusOrderByStatusSinceAsc(studyId, status)
+            : currentStatusRepository.findByCurrentStatusOrderByStatusSinceAsc(status);
+        
+        List<Long> historyIds = current.stream()
+            .map(PatientCurrentStatusEntity::getStatusHistoryId)
+            .filter(Objects::nonNull)
+            .toList();
+        Map<Long, PatientStatusHistoryEntity> historyById = statusHistoryRepository.findWithPatientByIdIn(historyIds).stream()
+            .collect(Collectors.toMap(PatientStatusHistoryEntity::getId, Function.identity()));
+        
+        List<PatientStatusHistoryEntity> records = historyIds.stream()
+            .map(historyById::get)
+            .filter(Objects::nonNull)
+            .toList();
+        
+        log.info("Found {} patients in status {}", records.size(), status);
+        return records;
     }
 
     /**
@@ -485,7 +598,23 @@ public class PatientStatusService {
      */
     @Transactional(readOnly = true)
     public List<Long> findPatientsStuckInStatus(PatientStatus status, int days) {
-        log.info("Finding patients stuck in {} for more than {} days", status, days);
+        return findPatientsStuckInStatus(null, status, days);
+    }
+
+    /**
+     * Find the patients of a study stuck in a status for more than specified days
+     * 
+     * <p>A range scan of patient_current_status on (study_id, current_status, status_since)
+     * instead of a per-patient search of the status history.</p>
+     * 
+     * @param studyId Study to filter by (null for all studies)
+     * @param status The status to check
+     * @param days Number of days threshold
+     * @return List of patient IDs that have been in status longer than threshold (longest first)
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findPatientsStuckInStatus(Long studyId, PatientStatus status, int days) {
+        log.info("Finding patients stuck in {} for more than {} days, study: {}", status, days, studyId);
         
         if (status == null) {
             throw new IllegalArgumentException("Status is required");
@@ -494,7 +623,10 @@ public class PatientStatusService {
             throw new IllegalArgumentException("Days must be positive");
         }
         
-        List<Long> patientIds = statusHistoryRepository.findPatientsInStatusLongerThan(status, days);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        List<Long> patientIds = studyId != null
+            ? currentStatusRepository.findPatientIdsInStudyStatusSince(studyId, status, cutoff)
+            : currentStatusRepository.findPatientIdsInStatusSince(status, cutoff);
         
         log.info("Found {} patients stuck in {} for more than {} days", 
             patientIds.size(), status, days);
@@ -584,7 +716,16 @@ public class PatientStatusService {
             throw new IllegalArgumentException("Patient ID is required");
         }
         
-        return statusHistoryRepository.getAverageDaysBetweenChanges(patientId);
+        // First/last change time and change count from the status rollups: the average gap
+        // between consecutive changes is the time between the first and last change divided
+        // by the number of gaps
+        return patientRepository.findById(patientId)
+                .flatMap(patient -> rollupRepository.findPatientState(patient.getAggregateUuid()))
+                .filter(state -> state.statusChangeCount() > 1
+                    && state.firstStatusAt() != null && state.lastStatusAt() != null)
+                .map(state -> Duration.between(state.firstStatusAt(), state.lastStatusAt()).toMinutes()
+                    / (24.0 * 60.0) / (state.statusChangeCount() - 1))
+                .orElse(null);
     }
 
     // ==================== Utility Methods ====================
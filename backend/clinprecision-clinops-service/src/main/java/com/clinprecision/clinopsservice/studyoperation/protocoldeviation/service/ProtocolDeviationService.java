@@ -131,6 +131,73 @@ public class ProtocolDeviationService {
         return recordDeviation(deviation);
     }
 
+    /**
+     * Record a missed visit (window closed without the visit being completed) as a protocol deviation
+     * Called when VisitWindowSweeper moves a visit to MISSED; a visit gets at most one
+     * visit window deviation, so a repeated event is ignored
+     * 
+     * @param patientId Patient ID
+     * @param studyId Study ID
+     * @param studySiteId Study site ID
+     * @param visitInstanceId Visit instance ID
+     * @param windowEnd Last day of the visit window
+     * @param daysOverdue Number of days past the visit window on detection
+     * @param detectionDate Date the visit was found missed
+     * @return Saved deviation entity, or the existing one if the visit is already flagged
+     */
+    public ProtocolDeviationEntity recordMissedVisit(
+            Long patientId, Long studyId, Long studySiteId, Long visitInstanceId,
+            LocalDate windowEnd, long daysOverdue, LocalDate detectionDate) {
+
+        List<ProtocolDeviationEntity> existing = deviationRepository.findByVisitInstanceIdOrderByDeviationDateDesc(visitInstanceId);
+        for (ProtocolDeviationEntity deviation : existing) {
+            if (deviation.getDeviationType() == DeviationType.VISIT_WINDOW) {
+                log.debug("Visit {} already has visit window deviation {}", visitInstanceId, deviation.getId());
+                return deviation;
+            }
+        }
+
+        log.info("Auto-flagging missed visit - Patient: {}, Visit: {}, Days overdue: {}", 
+                patientId, visitInstanceId, daysOverdue);
+
+        // Same severity scale as recordVisitWindowViolation
+        DeviationSeverity severity;
+        if (Math.abs(daysOverdue) < 3) {
+            severity = DeviationSeverity.MINOR;
+        } else if (Math.abs(daysOverdue) <= 7) {
+            severity = DeviationSeverity.MAJOR;
+        } else {
+            severity = DeviationSeverity.CRITICAL;
+        }
+
+        String description = String.format(
+            "Visit not performed within protocol-defined visit window. " +
+            "Window closed on %s; no visit recorded %d days later.",
+            windowEnd, daysOverdue
+        );
+
+        ProtocolDeviationEntity deviation = ProtocolDeviationEntity.builder()
+                .patientId(patientId)
+                .studyId(studyId)
+                .studySiteId(studySiteId)
+                .visitInstanceId(visitInstanceId)
+                .deviationType(DeviationType.VISIT_WINDOW)
+                .severity(severity)
+                .deviationStatus(DeviationStatus.OPEN)
+                .title("Missed Visit")
+                .description(description)
+                .protocolSection("Visit Schedule")
+                .expectedProcedure(String.format("Visit on or before %s", windowEnd))
+                .actualProcedure("Visit not performed")
+                .deviationDate(windowEnd)
+                .detectionDate(detectionDate)
+                .detectedBy(1L) // System user (sweep has no security context)
+                .requiresReporting(severity != DeviationSeverity.MINOR)
+                .build();
+
+        return recordDeviation(deviation);
+    }
+
     /**
      * Update deviation status
      * Follows workflow: OPEN → UNDER_REVIEW → RESOLVED → CLOSED
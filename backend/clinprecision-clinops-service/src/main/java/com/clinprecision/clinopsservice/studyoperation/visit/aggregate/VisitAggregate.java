@@ -176,7 +176,8 @@ public class VisitAggregate {
             command.getUpdatedBy(),
             command.getNotes(),
             System.currentTimeMillis(),
-            normalizedActualDate
+            normalizedActualDate,
+            this.studyId
         ));
         
         logger.info("VisitStatusChangedEvent emitted for visitId: {}", this.visitId);
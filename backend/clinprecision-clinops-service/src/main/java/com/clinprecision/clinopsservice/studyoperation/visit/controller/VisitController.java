@@ -7,21 +7,29 @@ import com.clinprecision.clinopsservice.studydesign.build.repository.VisitFormRe
 import com.clinprecision.clinopsservice.studydesign.design.form.entity.FormDefinitionEntity;
 import com.clinprecision.clinopsservice.studydesign.design.form.repository.FormDefinitionRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.CreateVisitRequest;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.ProtocolVisitInstantiationResult;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.ProtocolVisitScheduleRequest;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.UnscheduledVisitTypeDto;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitDto;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitFormDto;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitResponse;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitWindowSweepResult;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitEntity;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
 import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.service.PatientVisitService;
+import com.clinprecision.clinopsservice.studyoperation.visit.service.ProtocolVisitInstantiationService;
 import com.clinprecision.clinopsservice.studyoperation.visit.service.VisitFormQueryService;
+import com.clinprecision.clinopsservice.studyoperation.visit.service.VisitFormStatusStreamService;
+import com.clinprecision.clinopsservice.studyoperation.visit.service.VisitWindowSweeper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
@@ -40,7 +48,11 @@ import java.util.stream.Collectors;
  *   <li>GET /api/v1/visits/patient/{patientId} - Get all visits for a patient</li>
  *   <li>GET /api/v1/visits/study/{studyId} - Get all visits for a study</li>
  *   <li>GET /api/v1/visits/type/{visitType} - Get visits by type</li>
+ *   <li>GET /api/v1/visits/study/{studyId}/compliance/{complianceStatus} - Get visits by compliance status (e.g., OVERDUE)</li>
+ *   <li>POST /api/v1/visits/window-sweep - Run the visit window sweep now</li>
+ *   <li>POST /api/v1/visits/study/{studyId}/protocol-visits - Instantiate protocol visits for a cohort of patients</li>
  *   <li>GET /api/v1/visits/{visitId} - Get a specific visit</li>
+ *   <li>GET /api/v1/visits/{visitInstanceId}/forms/stream - Live form completion status (SSE)</li>
  * </ul>
  * 
  * <p><b>Usage Flow:</b></p>
@@ -78,6 +90,9 @@ public class VisitController {
 
     private final PatientVisitService visitService;
     private final VisitFormQueryService visitFormQueryService;
+    private final VisitFormStatusStreamService visitFormStatusStreamService;
+    private final VisitWindowSweeper visitWindowSweeper;
+    private final ProtocolVisitInstantiationService protocolVisitInstantiationService;
     private final VisitDefinitionRepository visitDefinitionRepository;
     private final VisitRepository visitRepository;
     private final StudyVisitInstanceRepository studyVisitInstanceRepository;
@@ -148,13 +163,15 @@ public class VisitController {
      * Get all visits for a patient
      * 
      * @param patientId Patient ID
+     * @param studyId Study ID (optional; defaults to the studies the patient is enrolled in)
      * @return ResponseEntity with List<VisitDto>
      */
     @GetMapping("/patient/{patientId}")
-    public ResponseEntity<List<VisitDto>> getPatientVisits(@PathVariable Long patientId) {
+    public ResponseEntity<List<VisitDto>> getPatientVisits(@PathVariable Long patientId,
+                                                           @RequestParam(required = false) Long studyId) {
         log.debug("REST: Getting visits for patientId: {}", patientId);
         
-        List<VisitDto> visits = visitService.getPatientVisits(patientId);
+        List<VisitDto> visits = visitService.getPatientVisits(patientId, studyId);
         
         log.debug("REST: Found {} visits for patientId: {}", visits.size(), patientId);
         return ResponseEntity.ok(visits);
@@ -177,21 +194,94 @@ public class VisitController {
     }
 
     /**
-     * Get visits by type
+     * Get visits of a study by type/status
      * 
-     * @param visitType Visit type (SCREENING, ENROLLMENT, etc.)
-     * @return ResponseEntity with List<VisitDto>
+     * @param visitType Visit status (SCHEDULED, COMPLETED, etc.)
+     * @param studyId Study ID
+     * @return ResponseEntity with List<VisitDto>, or 400 for an unknown status
      */
     @GetMapping("/type/{visitType}")
-    public ResponseEntity<List<VisitDto>> getVisitsByType(@PathVariable String visitType) {
-        log.debug("REST: Getting visits by type: {}", visitType);
+    public ResponseEntity<?> getVisitsByType(@PathVariable String visitType, @RequestParam Long studyId) {
+        log.debug("REST: Getting visits by type: {}, studyId: {}", visitType, studyId);
         
-        List<VisitDto> visits = visitService.getVisitsByType(visitType);
+        try {
+            List<VisitDto> visits = visitService.getVisitsByType(studyId, visitType);
+            
+            log.debug("REST: Found {} visits for type: {}", visits.size(), visitType);
+            return ResponseEntity.ok(visits);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get visits of a study by compliance status
+     * The status is the one written by the last visit window sweep
+     * 
+     * @param studyId Study ID
+     * @param complianceStatus Compliance status (WINDOW_OPEN, APPROACHING_DEADLINE, OVERDUE, MISSED, etc.)
+     * @return ResponseEntity with List<VisitDto>
+     */
+    @GetMapping("/study/{studyId}/compliance/{complianceStatus}")
+    public ResponseEntity<List<VisitDto>> getVisitsByComplianceStatus(@PathVariable Long studyId,
+                                                                      @PathVariable String complianceStatus) {
+        log.debug("REST: Getting visits by compliance status: {}, studyId: {}", complianceStatus, studyId);
+        
+        List<VisitDto> visits = visitService.getVisitsByComplianceStatus(studyId, complianceStatus);
         
-        log.debug("REST: Found {} visits for type: {}", visits.size(), visitType);
+        log.debug("REST: Found {} {} visits for studyId: {}", visits.size(), complianceStatus, studyId);
         return ResponseEntity.ok(visits);
     }
 
+    /**
+     * Run the visit window sweep now (normally scheduled daily)
+     * Sweeps up to today; returns UP_TO_DATE if today was already swept
+     * 
+     * @return ResponseEntity with VisitWindowSweepResult
+     */
+    @PostMapping("/window-sweep")
+    public ResponseEntity<?> runVisitWindowSweep() {
+        log.info("REST: Running visit window sweep");
+        
+        try {
+            VisitWindowSweepResult result = visitWindowSweeper.sweep(LocalDate.now());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("REST: Visit window sweep failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Visit window sweep failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Instantiate protocol visits for a cohort of patients in one call
+     * (e.g. patients imported from a screening log); patients with visits are skipped
+     * 
+     * @param studyId Study ID
+     * @param patients Patients with site, arm and baseline date
+     * @return ResponseEntity with ProtocolVisitInstantiationResult, 400 for an invalid request,
+     *         409 if the study has no completed build
+     */
+    @PostMapping("/study/{studyId}/protocol-visits")
+    public ResponseEntity<?> instantiateCohortProtocolVisits(@PathVariable Long studyId,
+                                                             @RequestBody List<ProtocolVisitScheduleRequest> patients) {
+        log.info("REST: Instantiating protocol visits for {} patients of studyId: {}", patients.size(), studyId);
+        
+        try {
+            ProtocolVisitInstantiationResult result =
+                    protocolVisitInstantiationService.instantiateCohortProtocolVisits(studyId, patients);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("REST: Error instantiating protocol visits for studyId: {}", studyId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Failed to instantiate protocol visits: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get a specific visit by ID
      * 
@@ -250,6 +340,21 @@ public class VisitController {
         }
     }
 
+    /**
+     * Stream form completion status for a visit instance (server-sent events)
+     * 
+     * Sends the current form list ("visit-forms") and then a "form-status" event
+     * each time form data of the visit is saved or submitted.
+     * 
+     * @param visitInstanceId Visit instance Long ID
+     * @return SSE stream of VisitFormDto list / VisitFormStatusUpdateDto
+     */
+    @GetMapping(value = "/{visitInstanceId}/forms/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamVisitFormStatus(@PathVariable Long visitInstanceId) {
+        log.info("REST: Opening form status stream for visit instance: {}", visitInstanceId);
+        return visitFormStatusStreamService.subscribe(visitInstanceId);
+    }
+
     /**
      * Get only required forms for a visit instance
      * 
@@ -431,7 +536,7 @@ public class VisitController {
         
         try {
             Double completionPercentage = visitFormQueryService.calculateVisitCompletionPercentage(visitInstanceId);
-            boolean isComplete = visitFormQueryService.isVisitComplete(visitInstanceId);
+            boolean isComplete = completionPercentage >= 100.0;
             
             var response = new VisitCompletionResponse(completionPercentage, isComplete);
             
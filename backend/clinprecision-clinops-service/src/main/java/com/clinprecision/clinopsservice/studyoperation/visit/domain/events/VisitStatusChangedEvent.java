@@ -37,4 +37,6 @@ public class VisitStatusChangedEvent {
     private Long timestamp; // Event timestamp
 
     private LocalDate actualVisitDate; // Actual date visit occurred (for COMPLETED status)
+
+    private Long studyId; // Study of the visit (null in events stored before it was recorded)
 }
@@ -0,0 +1,45 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.domain.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Event indicating the time-driven compliance status of an open visit has changed
+ *
+ * <p>Published by VisitWindowSweeper (not by an aggregate: protocol visits have none) when
+ * a visit window boundary is crossed, e.g. WINDOW_OPEN → OVERDUE → MISSED. The status is
+ * already written to study_visit_instances when the event is published; handlers react
+ * to it (VisitProjector records a protocol deviation for MISSED visits).</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitWindowStatusChangedEvent {
+
+    private Long visitInstanceId; // study_visit_instances.id
+
+    private Long studyId;
+
+    private Long subjectId;
+
+    private Long studySiteId;
+
+    private Long visitDefinitionId;
+
+    private String oldComplianceStatus;
+
+    private String newComplianceStatus; // SCHEDULED, WINDOW_OPEN, APPROACHING_DEADLINE, OVERDUE, MISSED
+
+    private LocalDate visitWindowStart;
+
+    private LocalDate visitWindowEnd;
+
+    private Long daysOverdue; // Days past visit_window_end on the sweep date (negative = days remaining)
+
+    private LocalDate sweepDate; // Date the status was evaluated at
+}
@@ -0,0 +1,19 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.domain.queries;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Query for a visit instance (study_visit_instances) of a study by Visit aggregate UUID
+ * (study scoped: reads one partition)
+ * Result: StudyVisitInstanceEntity (null if not projected yet); subscription updates: StudyVisitInstanceEntity
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class FindVisitByAggregateUuidQuery {
+
+    private final Long studyId;
+    private final String aggregateUuid;
+}
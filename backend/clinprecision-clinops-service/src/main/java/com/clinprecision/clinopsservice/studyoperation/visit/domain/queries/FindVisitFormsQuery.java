@@ -0,0 +1,17 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.domain.queries;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Query for the forms of a visit instance with their completion status
+ * Result: List of VisitFormDto; subscription updates: VisitFormStatusUpdateDto (one per form submission)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class FindVisitFormsQuery {
+
+    private final Long visitInstanceId;
+}
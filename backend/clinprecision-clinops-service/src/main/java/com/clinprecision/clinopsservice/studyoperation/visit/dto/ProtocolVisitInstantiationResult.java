@@ -0,0 +1,33 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk protocol visit instantiation for a cohort of patients
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProtocolVisitInstantiationResult {
+
+    private Long studyId;
+
+    private Long buildId; // Study build the visits were created from
+
+    private int patientsRequested;
+
+    private int patientsScheduled;
+
+    /**
+     * Patients skipped because they already have visits in the study
+     */
+    private List<Long> skippedPatientIds;
+
+    private int visitsCreated;
+}
@@ -0,0 +1,27 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One patient of a cohort whose protocol visits are instantiated in bulk
+ * (ProtocolVisitInstantiationService.instantiateCohortProtocolVisits)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProtocolVisitScheduleRequest {
+
+    private Long patientId;
+
+    private Long siteId; // study_site_id
+
+    private Long armId; // Null for common visits only
+
+    private LocalDate baselineDate; // Usually the enrollment date
+}
@@ -0,0 +1,45 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Live change of one form's status within a visit instance
+ * 
+ * Emitted by FormDataProjector to subscribers of FindVisitFormsQuery and streamed
+ * by GET /api/v1/visits/{visitInstanceId}/forms/stream; the UI merges it into the
+ * VisitFormDto list it received initially (matched on formId).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitFormStatusUpdateDto {
+
+    private Long visitInstanceId;
+
+    private Long formId;
+
+    /**
+     * FormData aggregate UUID of the submission that caused the change
+     */
+    private String formDataId;
+
+    /**
+     * Raw form data status (DRAFT, SUBMITTED, LOCKED)
+     */
+    private String status;
+
+    /**
+     * Same vocabulary as VisitFormDto.completionStatus: "not_started", "in_progress" or "complete"
+     */
+    private String completionStatus;
+
+    private LocalDateTime lastUpdated;
+
+    private Long updatedBy;
+}
@@ -0,0 +1,39 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Result of a visit window sweep (VisitWindowSweeper)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitWindowSweepResult {
+
+    /**
+     * Date the compliance status was evaluated at
+     */
+    private LocalDate sweepDate;
+
+    /**
+     * Date of the previous completed sweep (null for the first sweep, which reads every open visit)
+     */
+    private LocalDate previousSweepDate;
+
+    /**
+     * NOT_CLAIMED (another instance is sweeping), UP_TO_DATE (already swept for the date) or COMPLETED
+     */
+    private String outcome;
+
+    private int scannedVisits;
+
+    private int updatedVisits;
+
+    private int eventsPublished;
+}
@@ -50,7 +50,8 @@ public class StudyVisitInstanceEntity {
     @Column(name = "window_status", length = 50)
     private String windowStatus; // ON_TIME, EARLY, LATE, OUT_OF_WINDOW
 
-    @Column(name = "completion_percentage")
+    // Derived from study_visit_form_completion counters (VisitFormCompletionJdbcRepository), never updated through JPA
+    @Column(name = "completion_percentage", updatable = false)
     private Double completionPercentage;
 
     // Visit window compliance tracking (Gap #4)
@@ -0,0 +1,61 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity for study_visit_form_completion table
+ * Per-visit-instance form counters, maintained incrementally by the projectors
+ * (see VisitFormCompletionJdbcRepository). Read-only on the JPA side.
+ */
+@Entity
+@Table(name = "study_visit_form_completion")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitFormCompletionEntity {
+
+    @Id
+    @Column(name = "visit_instance_id")
+    private Long visitInstanceId; // FK to study_visit_instances
+
+    @Column(name = "study_id", nullable = false)
+    private Long studyId;
+
+    @Column(name = "required_forms", nullable = false)
+    private Integer requiredForms; // Forms assigned to the visit definition in the visit's build
+
+    @Column(name = "submitted_forms", nullable = false)
+    private Integer submittedForms; // Distinct forms with a SUBMITTED or LOCKED record
+
+    @Column(name = "locked_forms", nullable = false)
+    private Integer lockedForms; // Distinct forms with a LOCKED record
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Completion percentage (submitted / required), rounded to 1 decimal place
+     */
+    public double getCompletionPercentage() {
+        if (requiredForms == null || requiredForms == 0 || submittedForms == null) {
+            return 0.0;
+        }
+        double percentage = Math.min(100.0, (double) submittedForms / requiredForms * 100.0);
+        return Math.round(percentage * 10.0) / 10.0;
+    }
+
+    /**
+     * True when every required form has been submitted (visits without required forms are never complete)
+     */
+    public boolean isComplete() {
+        return requiredForms != null && requiredForms > 0
+            && submittedForms != null && submittedForms >= requiredForms;
+    }
+}
@@ -1,22 +1,30 @@
 package com.clinprecision.clinopsservice.studyoperation.visit.projector;
 
-import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
-import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import com.clinprecision.clinopsservice.common.config.AxonEventProcessingConfig;
+import com.clinprecision.clinopsservice.common.projection.ProjectionReferenceValidator;
+import com.clinprecision.clinopsservice.common.projection.ProjectionReferenceValidator.StudyReference;
+import com.clinprecision.clinopsservice.studydesign.build.service.ActiveBuildRegistry;
 import com.clinprecision.clinopsservice.studydesign.design.visitdefinition.entity.VisitDefinitionEntity;
 import com.clinprecision.clinopsservice.studydesign.design.visitdefinition.repository.VisitDefinitionRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.domain.events.VisitCreatedEvent;
+import com.clinprecision.clinopsservice.studyoperation.visit.domain.events.VisitWindowStatusChangedEvent;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitStatus;
 import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitFormCompletionJdbcRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.service.VisitComplianceService;
 import com.clinprecision.clinopsservice.studyoperation.protocoldeviation.service.ProtocolDeviationService;
+import com.clinprecision.clinopsservice.studyoperation.visit.domain.queries.FindVisitByAggregateUuidQuery;
+import org.axonframework.config.ProcessingGroup;
 import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -31,6 +39,8 @@ import java.util.Optional;
  * USAGE CONTEXT:
  * This projector processes VisitCreatedEvent to:
  * - Create unscheduled visit instances in study_visit_instances table
+ * - Seed the visit's form completion counters (study_visit_form_completion)
+ * - Keep ActiveBuildRegistry's visit → build_id entries in step with the read model
  * - Enable unified view of scheduled + unscheduled visits
  * - Support form collection workflow (visitId available for forms)
  * 
@@ -41,7 +51,11 @@ import java.util.Optional;
  * - Scheduled visits: Created during patient enrollment (visit_id references visit_definitions)
  * - Unscheduled visits: Created via events (visit_id ALSO references visit_definitions)
  *   → Unscheduled visit definitions are created during study build from configuration
- *   → Maintains foreign key integrity and enables form bindings for all visit types
+ *   → Enables form bindings for all visit types
+ * - study_visit_instances is partitioned by study (no foreign keys): the study, build and
+ *   visit definition of a new visit are checked by ProjectionReferenceValidator
+ * - VisitWindowStatusChangedEvent (published by VisitWindowSweeper): visits that become
+ *   MISSED are recorded as protocol deviations
  * 
  * Future Events (to be added):
  * - VisitCompletedEvent (when visit status changes to COMPLETED)
@@ -49,26 +63,36 @@ import java.util.Optional;
  * - VisitRescheduledEvent (when visit date changes)
  */
 @Component
+@ProcessingGroup(AxonEventProcessingConfig.VISIT_PROJECTION)
 public class VisitProjector {
     
     private static final Logger logger = LoggerFactory.getLogger(VisitProjector.class);
     
     private final StudyVisitInstanceRepository studyVisitInstanceRepository;
-    private final StudyDatabaseBuildRepository studyDatabaseBuildRepository;
+    private final ActiveBuildRegistry activeBuildRegistry;
     private final VisitDefinitionRepository visitDefinitionRepository;
     private final VisitComplianceService visitComplianceService;
     private final ProtocolDeviationService protocolDeviationService;
+    private final QueryUpdateEmitter queryUpdateEmitter;
+    private final VisitFormCompletionJdbcRepository completionJdbcRepository;
+    private final ProjectionReferenceValidator referenceValidator;
     
     public VisitProjector(StudyVisitInstanceRepository studyVisitInstanceRepository,
-                         StudyDatabaseBuildRepository studyDatabaseBuildRepository,
+                         ActiveBuildRegistry activeBuildRegistry,
                          VisitDefinitionRepository visitDefinitionRepository,
                          VisitComplianceService visitComplianceService,
-                         ProtocolDeviationService protocolDeviationService) {
+                         ProtocolDeviationService protocolDeviationService,
+                         QueryUpdateEmitter queryUpdateEmitter,
+                         VisitFormCompletionJdbcRepository completionJdbcRepository,
+                         ProjectionReferenceValidator referenceValidator) {
         this.studyVisitInstanceRepository = studyVisitInstanceRepository;
-        this.studyDatabaseBuildRepository = studyDatabaseBuildRepository;
+        this.activeBuildRegistry = activeBuildRegistry;
         this.visitDefinitionRepository = visitDefinitionRepository;
         this.visitComplianceService = visitComplianceService;
         this.protocolDeviationService = protocolDeviationService;
+        this.queryUpdateEmitter = queryUpdateEmitter;
+        this.completionJdbcRepository = completionJdbcRepository;
+        this.referenceValidator = referenceValidator;
     }
     
     /**
@@ -84,9 +108,11 @@ public class VisitProjector {
         
         try {
             // Check for idempotency - avoid duplicate projections
-            var existingVisit = studyVisitInstanceRepository.findByAggregateUuid(event.getVisitId().toString());
+            var existingVisit = studyVisitInstanceRepository.findByStudyIdAndAggregateUuid(
+                event.getStudyId(), event.getVisitId().toString());
             if (existingVisit.isPresent()) {
                 logger.info("Visit instance already exists (idempotent replay): visitId={}", event.getVisitId());
+                emitVisitUpdate(existingVisit.get());
                 return;
             }
 
@@ -114,6 +140,11 @@ public class VisitProjector {
                 );
             }
 
+            // Reference checks formerly done by the foreign keys of study_visit_instances
+            referenceValidator.requireStudies(List.of(event.getStudyId()));
+            referenceValidator.requireBuilds(List.of(new StudyReference(event.getStudyId(), buildId)));
+            referenceValidator.requireVisitDefinitions(List.of(new StudyReference(event.getStudyId(), visitDefinitionId)));
+
             // Create unscheduled visit instance from event
             StudyVisitInstanceEntity visit = StudyVisitInstanceEntity.builder()
                 .studyId(event.getStudyId())
@@ -132,7 +163,12 @@ public class VisitProjector {
             visit.setWindowStatus(calculateWindowStatus(visit));
             
             // Save to read model
-            studyVisitInstanceRepository.save(visit);
+            StudyVisitInstanceEntity savedVisit = studyVisitInstanceRepository.save(visit);
+            
+            // Seed form completion counters (required forms of the visit definition in this build)
+            completionJdbcRepository.seedCounters(savedVisit.getStudyId(), List.of(savedVisit.getId()));
+            activeBuildRegistry.registerVisit(savedVisit.getStudyId(), savedVisit.getId(), buildId);
+            emitVisitUpdate(savedVisit);
             
             logger.info("Unscheduled visit instance created successfully: visitId={}, subjectId={}, visitType={}, buildId={}", 
                        event.getVisitId(), event.getPatientId(), event.getVisitType(), buildId);
@@ -143,9 +179,20 @@ public class VisitProjector {
         }
     }
     
+    /**
+     * Notify FindVisitByAggregateUuidQuery subscribers (delivered after the unit of work commits)
+     */
+    private void emitVisitUpdate(StudyVisitInstanceEntity visit) {
+        queryUpdateEmitter.emit(FindVisitByAggregateUuidQuery.class,
+            query -> visit.getStudyId().equals(query.getStudyId())
+                && visit.getAggregateUuid().equals(query.getAggregateUuid()),
+            visit);
+    }
+    
     /**
      * Get the active (most recent COMPLETED) build ID for a study
      * This is used to associate visits with the correct protocol version
+     * (resolved through ActiveBuildRegistry)
      * 
      * @param studyId Study ID
      * @return Build ID (Long) of the most recent COMPLETED build, or null if no completed builds exist
@@ -153,12 +200,11 @@ public class VisitProjector {
     private Long getActiveBuildIdForStudy(Long studyId) {
         logger.debug("Fetching active build ID for study: {}", studyId);
         
-        return studyDatabaseBuildRepository
-            .findTopByStudyIdAndBuildStatusOrderByBuildEndTimeDesc(studyId, StudyDatabaseBuildStatus.COMPLETED)
+        return activeBuildRegistry.getActiveBuild(studyId)
             .map(build -> {
                 logger.info("Found active build for study {}: buildId={}, buildRequestId={}", 
-                           studyId, build.getId(), build.getBuildRequestId());
-                return build.getId();
+                           studyId, build.buildId(), build.buildRequestId());
+                return build.buildId();
             })
             .orElse(null);
     }
@@ -243,8 +289,13 @@ public class VisitProjector {
                    event.getAggregateUuid(), event.getOldStatus(), event.getNewStatus());
         
         try {
-            // Find visit by aggregate UUID
-            var visitOpt = studyVisitInstanceRepository.findByAggregateUuid(event.getAggregateUuid());
+            // Find visit of the study by aggregate UUID (older events carry no study: resolve it first)
+            Long studyId = event.getStudyId() != null
+                ? event.getStudyId()
+                : studyVisitInstanceRepository.findStudyIdByAggregateUuid(event.getAggregateUuid()).orElse(null);
+            var visitOpt = studyId != null
+                ? studyVisitInstanceRepository.findByStudyIdAndAggregateUuid(studyId, event.getAggregateUuid())
+                : java.util.Optional.<StudyVisitInstanceEntity>empty();
             
             if (visitOpt.isEmpty()) {
                 logger.error("Visit not found for aggregateUuid: {}. Cannot update status.", event.getAggregateUuid());
@@ -273,6 +324,7 @@ public class VisitProjector {
             
             // Save updated visit (updatedAt will be auto-set by @PreUpdate)
             studyVisitInstanceRepository.save(visit);
+            activeBuildRegistry.evictVisit(visit.getId());
             
             // AUTO-FLAG VISIT WINDOW VIOLATIONS (Feature #9 - Oct 2025)
             // When visit status changes to COMPLETED, check if it's outside protocol window
@@ -290,6 +342,39 @@ public class VisitProjector {
         }
     }
 
+    /**
+     * Event handler for VisitWindowStatusChangedEvent
+     * The sweep has already written the compliance status; a visit that became MISSED is
+     * flagged as a protocol deviation
+     * 
+     * @param event VisitWindowStatusChangedEvent published by VisitWindowSweeper
+     */
+    @EventHandler
+    public void on(VisitWindowStatusChangedEvent event) {
+        if (!"MISSED".equals(event.getNewComplianceStatus()) || "MISSED".equals(event.getOldComplianceStatus())) {
+            return;
+        }
+
+        try {
+            logger.info("Auto-flagging missed visit: visitId={}, subjectId={}, windowEnd={}", 
+                       event.getVisitInstanceId(), event.getSubjectId(), event.getVisitWindowEnd());
+
+            protocolDeviationService.recordMissedVisit(
+                event.getSubjectId(),
+                event.getStudyId(),
+                event.getStudySiteId(),
+                event.getVisitInstanceId(),
+                event.getVisitWindowEnd(),
+                event.getDaysOverdue() != null ? event.getDaysOverdue() : 0L,
+                event.getSweepDate()
+            );
+
+        } catch (Exception e) {
+            // Log error but don't block the visit projection
+            logger.error("Failed to auto-flag missed visit for visitId: {}", event.getVisitInstanceId(), e);
+        }
+    }
+
     private String calculateWindowStatus(StudyVisitInstanceEntity visit) {
         if (visit.getActualVisitDate() == null || visit.getVisitWindowStart() == null || visit.getVisitWindowEnd() == null) {
             return null;
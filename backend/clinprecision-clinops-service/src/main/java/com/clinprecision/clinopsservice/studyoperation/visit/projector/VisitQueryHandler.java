@@ -0,0 +1,47 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.projector;
+
+import com.clinprecision.clinopsservice.studyoperation.visit.domain.queries.FindVisitByAggregateUuidQuery;
+import com.clinprecision.clinopsservice.studyoperation.visit.domain.queries.FindVisitFormsQuery;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitFormDto;
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.service.VisitFormQueryService;
+import org.axonframework.queryhandling.QueryHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Visit Query Handler - Axon query side of the visit read models
+ * 
+ * - FindVisitByAggregateUuidQuery: study_visit_instances row (updates emitted by VisitProjector)
+ * - FindVisitFormsQuery: forms of a visit with completion status (updates emitted by FormDataProjector)
+ */
+@Component
+public class VisitQueryHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisitQueryHandler.class);
+
+    private final StudyVisitInstanceRepository studyVisitInstanceRepository;
+    private final VisitFormQueryService visitFormQueryService;
+
+    public VisitQueryHandler(StudyVisitInstanceRepository studyVisitInstanceRepository,
+                             VisitFormQueryService visitFormQueryService) {
+        this.studyVisitInstanceRepository = studyVisitInstanceRepository;
+        this.visitFormQueryService = visitFormQueryService;
+    }
+
+    @QueryHandler
+    public StudyVisitInstanceEntity handle(FindVisitByAggregateUuidQuery query) {
+        logger.debug("Handling {}", query);
+        return studyVisitInstanceRepository.findByStudyIdAndAggregateUuid(query.getStudyId(), query.getAggregateUuid()).orElse(null);
+    }
+
+    @QueryHandler
+    public List<VisitFormDto> handle(FindVisitFormsQuery query) {
+        logger.debug("Handling {}", query);
+        return visitFormQueryService.getFormsForVisitInstance(query.getVisitInstanceId());
+    }
+}
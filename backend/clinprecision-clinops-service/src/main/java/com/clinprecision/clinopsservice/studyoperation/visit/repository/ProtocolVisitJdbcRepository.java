@@ -0,0 +1,198 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.repository;
+
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC writes of ProtocolVisitInstantiationService on study_visit_instances
+ *
+ * study_visit_instances uses IDENTITY keys, so Hibernate inserts protocol visits one
+ * statement at a time. Here the visits of a patient (or a whole cohort) are inserted with
+ * batched INSERTs (rewritten to multi-row inserts by the driver), and their IDs are read
+ * back with one query per chunk of patients. All statements are scoped to one study, so
+ * they touch a single partition.
+ */
+@Repository
+@Slf4j
+public class ProtocolVisitJdbcRepository {
+
+    private static final String INSERT_VISIT_SQL =
+        "INSERT INTO study_visit_instances " +
+        "(study_id, visit_id, subject_id, site_id, visit_date, visit_status, window_status, completion_percentage, " +
+        "visit_window_start, visit_window_end, window_days_before, window_days_after, compliance_status, " +
+        "build_id, notes, created_by, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SUBJECTS_WITH_VISITS_SQL =
+        "SELECT DISTINCT subject_id FROM study_visit_instances WHERE study_id = ? AND subject_id IN (%s)";
+
+    private static final String SELECT_PROTOCOL_VISIT_IDS_SQL =
+        "SELECT id, subject_id, visit_id FROM study_visit_instances " +
+        "WHERE study_id = ? AND subject_id IN (%s) AND aggregate_uuid IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ProtocolVisitJdbcRepository(JdbcTemplate jdbcTemplate,
+                                       @Value("${clinops.projection.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Patients of a study that already have visit instances (protocol or unscheduled)
+     */
+    public Set<Long> findSubjectsWithVisits(Long studyId, Collection<Long> subjectIds) {
+        Set<Long> subjects = new HashSet<>();
+        for (List<Long> chunk : chunks(subjectIds)) {
+            jdbcTemplate.query(String.format(SELECT_SUBJECTS_WITH_VISITS_SQL, placeholders(chunk.size())),
+                rs -> {
+                    subjects.add(rs.getLong(1));
+                },
+                parameters(studyId, chunk));
+        }
+        return subjects;
+    }
+
+    /**
+     * Batch insert new visit instances of one study and set their generated IDs
+     *
+     * The IDs are read back by (subject, visit definition), so the patients must not have had
+     * protocol visits before (see {@link #findSubjectsWithVisits}).
+     *
+     * @param studyId Study of the visit instances
+     * @return Inserted rows
+     */
+    public int insertVisits(Long studyId, List<StudyVisitInstanceEntity> instances) {
+        if (instances.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        instances.forEach(instance -> {
+            instance.setCreatedAt(now);
+            instance.setUpdatedAt(now);
+        });
+
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_VISIT_SQL, instances, batchSize, this::bindVisit);
+        int inserted = Arrays.stream(results)
+            .flatMapToInt(Arrays::stream)
+            .map(count -> count < 0 ? 1 : count)
+            .sum();
+
+        Map<String, Long> ids = findProtocolVisitIds(studyId,
+            instances.stream().map(StudyVisitInstanceEntity::getSubjectId).toList());
+        for (StudyVisitInstanceEntity instance : instances) {
+            instance.setId(ids.get(visitKey(instance.getSubjectId(), instance.getVisitId())));
+        }
+
+        log.debug("Protocol visits inserted: studyId={}, visits={}", studyId, inserted);
+        return inserted;
+    }
+
+    private Map<String, Long> findProtocolVisitIds(Long studyId, Collection<Long> subjectIds) {
+        Map<String, Long> ids = new HashMap<>();
+        for (List<Long> chunk : chunks(subjectIds)) {
+            jdbcTemplate.query(String.format(SELECT_PROTOCOL_VISIT_IDS_SQL, placeholders(chunk.size())),
+                rs -> {
+                    ids.put(visitKey(rs.getLong(2), rs.getLong(3)), rs.getLong(1));
+                },
+                parameters(studyId, chunk));
+        }
+        return ids;
+    }
+
+    private void bindVisit(PreparedStatement ps, StudyVisitInstanceEntity instance) throws SQLException {
+        ps.setLong(1, instance.getStudyId());
+        ps.setLong(2, instance.getVisitId());
+        ps.setLong(3, instance.getSubjectId());
+        setLong(ps, 4, instance.getStudySiteId());
+        setDate(ps, 5, instance.getVisitDate());
+        ps.setString(6, instance.getVisitStatus() != null ? instance.getVisitStatus().name() : null);
+        ps.setString(7, instance.getWindowStatus());
+        if (instance.getCompletionPercentage() != null) {
+            ps.setDouble(8, instance.getCompletionPercentage());
+        } else {
+            ps.setNull(8, Types.DECIMAL);
+        }
+        setDate(ps, 9, instance.getVisitWindowStart());
+        setDate(ps, 10, instance.getVisitWindowEnd());
+        setInt(ps, 11, instance.getWindowDaysBefore());
+        setInt(ps, 12, instance.getWindowDaysAfter());
+        ps.setString(13, instance.getComplianceStatus());
+        setLong(ps, 14, instance.getBuildId());
+        ps.setString(15, instance.getNotes());
+        setLong(ps, 16, instance.getCreatedBy());
+        ps.setTimestamp(17, Timestamp.valueOf(instance.getCreatedAt()));
+        ps.setTimestamp(18, Timestamp.valueOf(instance.getUpdatedAt()));
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static void setInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate value) throws SQLException {
+        if (value != null) {
+            ps.setDate(index, Date.valueOf(value));
+        } else {
+            ps.setNull(index, Types.DATE);
+        }
+    }
+
+    private List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int start = 0; start < distinctIds.size(); start += batchSize) {
+            chunks.add(new ArrayList<>(distinctIds.subList(start, Math.min(start + batchSize, distinctIds.size()))));
+        }
+        return chunks;
+    }
+
+    private static String visitKey(Long subjectId, Long visitDefinitionId) {
+        return subjectId + ":" + visitDefinitionId;
+    }
+
+    private static Object[] parameters(Long studyId, List<Long> ids) {
+        Object[] parameters = new Object[ids.size() + 1];
+        parameters[0] = studyId;
+        for (int i = 0; i < ids.size(); i++) {
+            parameters[i + 1] = ids.get(i);
+        }
+        return parameters;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -1,26 +1,33 @@
 package com.clinprecision.clinopsservice.studyoperation.visit.repository;
 
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository for study_visit_instances table queries
  * Used for scheduled visits created from visit definitions
+ *
+ * study_visit_instances is partitioned by HASH(study_id): every list query is scoped to one
+ * or more studies so it reads only their partitions. Lookups by primary key or aggregate UUID
+ * without a study probe the unique index of each partition.
  */
 @Repository
 public interface StudyVisitInstanceRepository extends JpaRepository<StudyVisitInstanceEntity, Long> {
 
     /**
-     * Find all visit instances for a specific subject/patient
+     * Find all visit instances of a subject/patient in the given studies
      * Ordered by visit date descending (most recent first)
      */
-    @Query("SELECT v FROM StudyVisitInstanceEntity v WHERE v.subjectId = :subjectId ORDER BY v.visitDate DESC")
-    List<StudyVisitInstanceEntity> findBySubjectIdOrderByVisitDateDesc(@Param("subjectId") Long subjectId);
+    @Query("SELECT v FROM StudyVisitInstanceEntity v WHERE v.studyId IN :studyIds AND v.subjectId = :subjectId ORDER BY v.visitDate DESC")
+    List<StudyVisitInstanceEntity> findByStudyIdInAndSubjectIdOrderByVisitDateDesc(@Param("studyIds") Collection<Long> studyIds,
+                                                                                   @Param("subjectId") Long subjectId);
 
     /**
      * Find all visit instances for a specific study
@@ -28,9 +35,14 @@ public interface StudyVisitInstanceRepository extends JpaRepository<StudyVisitIn
     List<StudyVisitInstanceEntity> findByStudyId(Long studyId);
 
     /**
-     * Find visit instances by status
+     * Find visit instances of a study by status
      */
-    List<StudyVisitInstanceEntity> findByVisitStatus(String visitStatus);
+    List<StudyVisitInstanceEntity> findByStudyIdAndVisitStatus(Long studyId, VisitStatus visitStatus);
+
+    /**
+     * Find visit instances of a study by materialized compliance status (idx_compliance_status)
+     */
+    List<StudyVisitInstanceEntity> findByStudyIdAndComplianceStatus(Long studyId, String complianceStatus);
 
     /**
      * Find visit instances for a subject by study
@@ -39,8 +51,33 @@ public interface StudyVisitInstanceRepository extends JpaRepository<StudyVisitIn
     List<StudyVisitInstanceEntity> findBySubjectIdAndStudyId(@Param("subjectId") Long subjectId, @Param("studyId") Long studyId);
 
     /**
-     * Find visit instance by aggregate UUID (for event sourcing / unscheduled visits)
+     * Check whether a subject has any visit instance in a study
+     */
+    boolean existsByStudyIdAndSubjectId(Long studyId, Long subjectId);
+
+    /**
+     * study_id of a visit instance by aggregate UUID (reads every partition)
+     * Only for VisitStatusChangedEvents stored before the event carried its study
+     */
+    @Query("SELECT v.studyId FROM StudyVisitInstanceEntity v WHERE v.aggregateUuid = :aggregateUuid")
+    java.util.Optional<Long> findStudyIdByAggregateUuid(@Param("aggregateUuid") String aggregateUuid);
+
+    /**
+     * Find visit instance of a study by aggregate UUID (reads one partition)
+     */
+    @Query("SELECT v FROM StudyVisitInstanceEntity v WHERE v.studyId = :studyId AND v.aggregateUuid = :aggregateUuid")
+    java.util.Optional<StudyVisitInstanceEntity> findByStudyIdAndAggregateUuid(@Param("studyId") Long studyId,
+                                                                             @Param("aggregateUuid") String aggregateUuid);
+
+    /**
+     * build_id of a visit instance of a study (without loading the entity)
+     */
+    @Query("SELECT v.buildId FROM StudyVisitInstanceEntity v WHERE v.studyId = :studyId AND v.id = :id AND v.buildId IS NOT NULL")
+    java.util.Optional<Long> findBuildIdByStudyIdAndId(@Param("studyId") Long studyId, @Param("id") Long id);
+
+    /**
+     * study_id of a visit instance (primary key lookup, for callers that only know the visit)
      */
-    @Query("SELECT v FROM StudyVisitInstanceEntity v WHERE v.aggregateUuid = :aggregateUuid")
-    java.util.Optional<StudyVisitInstanceEntity> findByAggregateUuid(@Param("aggregateUuid") String aggregateUuid);
+    @Query("SELECT v.studyId FROM StudyVisitInstanceEntity v WHERE v.id = :id")
+    java.util.Optional<Long> findStudyIdById(@Param("id") Long id);
 }
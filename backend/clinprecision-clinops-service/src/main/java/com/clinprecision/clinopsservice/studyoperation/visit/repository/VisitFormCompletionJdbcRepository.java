@@ -0,0 +1,184 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * JDBC repository for the study_visit_form_completion counters.
+ *
+ * Counters are seeded once per visit instance (required forms from visit_forms, plus any
+ * forms already submitted) and then only incremented by FormDataProjector as forms are
+ * submitted/locked for the first time. study_visit_instances.completion_percentage is
+ * derived from the counters, so visit lists never read study_form_data to compute it.
+ *
+ * Queries of the partitioned study_visit_instances / study_form_data tables are scoped to
+ * one study, so they read a single partition.
+ */
+@Repository
+@Slf4j
+public class VisitFormCompletionJdbcRepository {
+
+    private static final String SEED_COUNTERS_SQL =
+        "INSERT INTO study_visit_form_completion " +
+        "(visit_instance_id, study_id, required_forms, submitted_forms, locked_forms, updated_at) " +
+        "SELECT svi.id, svi.study_id, " +
+        "(SELECT COUNT(*) FROM visit_forms vf WHERE vf.visit_definition_id = svi.visit_id " +
+        "AND (svi.build_id IS NULL OR vf.build_id = svi.build_id)), " +
+        "(SELECT COUNT(DISTINCT sfd.form_id) FROM study_form_data sfd WHERE sfd.study_id = svi.study_id " +
+        "AND sfd.visit_id = svi.id AND sfd.status IN ('SUBMITTED', 'LOCKED')), " +
+        "(SELECT COUNT(DISTINCT sfd.form_id) FROM study_form_data sfd WHERE sfd.study_id = svi.study_id " +
+        "AND sfd.visit_id = svi.id AND sfd.status = 'LOCKED'), " +
+        "NOW() " +
+        "FROM study_visit_instances svi WHERE svi.study_id = ? AND svi.id IN (%s) " +
+        "ON DUPLICATE KEY UPDATE visit_instance_id = visit_instance_id";
+
+    private static final String SELECT_COMPLETED_FORMS_SQL =
+        "SELECT visit_id, form_id, MAX(CASE WHEN status = 'LOCKED' THEN 1 ELSE 0 END) " +
+        "FROM study_form_data WHERE study_id = ? AND visit_id IN (%s) AND status IN ('SUBMITTED', 'LOCKED') " +
+        "GROUP BY visit_id, form_id";
+
+    private static final String INCREMENT_COUNTERS_SQL =
+        "UPDATE study_visit_form_completion " +
+        "SET submitted_forms = submitted_forms + ?, locked_forms = locked_forms + ?, updated_at = NOW() " +
+        "WHERE visit_instance_id = ?";
+
+    private static final String UPDATE_COMPLETION_PERCENTAGE_SQL =
+        "UPDATE study_visit_instances svi " +
+        "JOIN study_visit_form_completion c ON c.visit_instance_id = svi.id " +
+        "SET svi.completion_percentage = CASE WHEN c.required_forms = 0 THEN 0 " +
+        "ELSE LEAST(100, ROUND(c.submitted_forms * 100 / c.required_forms, 1)) END " +
+        "WHERE svi.study_id = ? AND svi.id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public VisitFormCompletionJdbcRepository(JdbcTemplate jdbcTemplate,
+                                             @Value("${clinops.projection.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Create the counters of visit instances that have none yet (existing counters are left untouched)
+     * and refresh their completion_percentage
+     *
+     * @param studyId Study of the visit instances
+     * @return Number of counter rows created
+     */
+    public int seedCounters(Long studyId, Collection<Long> visitInstanceIds) {
+        int seeded = updateInChunks(SEED_COUNTERS_SQL, studyId, visitInstanceIds);
+        if (seeded > 0) {
+            updateCompletionPercentage(studyId, visitInstanceIds);
+        }
+        return seeded;
+    }
+
+    /**
+     * Load the forms that already have a SUBMITTED or LOCKED record, per visit, in one grouped query
+     * (the form_data payload is not read)
+     *
+     * @param studyId Study of the visit instances
+     * @return "Locked" flag keyed by {@link #formKey(Long, Long)}
+     */
+    public Map<String, Boolean> findCompletedForms(Long studyId, Collection<Long> visitInstanceIds) {
+        Map<String, Boolean> completed = new HashMap<>();
+        forEachChunk(visitInstanceIds, chunk -> {
+            jdbcTemplate.query(String.format(SELECT_COMPLETED_FORMS_SQL, placeholders(chunk.size())),
+                rs -> {
+                    completed.put(formKey(rs.getLong(1), rs.getLong(2)), rs.getInt(3) == 1);
+                },
+                parameters(studyId, chunk));
+            return 0;
+        });
+        return completed;
+    }
+
+    /**
+     * Key used to diff visit-form pairs in memory
+     */
+    public static String formKey(Long visitInstanceId, Long formId) {
+        return visitInstanceId + ":" + formId;
+    }
+
+    /**
+     * Batch apply counter increments
+     */
+    public int incrementCounters(List<CounterDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INCREMENT_COUNTERS_SQL, deltas, batchSize, (ps, delta) -> {
+            ps.setInt(1, delta.getSubmittedForms());
+            ps.setInt(2, delta.getLockedForms());
+            ps.setLong(3, delta.getVisitInstanceId());
+        });
+        int total = Arrays.stream(results)
+            .flatMapToInt(Arrays::stream)
+            .map(count -> count < 0 ? 1 : count)
+            .sum();
+        log.debug("Visit form counters incremented: visits={}, affected={}", deltas.size(), total);
+        return total;
+    }
+
+    /**
+     * Derive study_visit_instances.completion_percentage from the counters
+     *
+     * @param studyId Study of the visit instances
+     */
+    public int updateCompletionPercentage(Long studyId, Collection<Long> visitInstanceIds) {
+        return updateInChunks(UPDATE_COMPLETION_PERCENTAGE_SQL, studyId, visitInstanceIds);
+    }
+
+    private int updateInChunks(String sql, Long studyId, Collection<Long> visitInstanceIds) {
+        return forEachChunk(visitInstanceIds,
+            chunk -> jdbcTemplate.update(String.format(sql, placeholders(chunk.size())), parameters(studyId, chunk)));
+    }
+
+    private int forEachChunk(Collection<Long> ids, Function<List<Long>, Integer> action) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int total = 0;
+        for (int start = 0; start < distinctIds.size(); start += batchSize) {
+            total += action.apply(new ArrayList<>(distinctIds.subList(start, Math.min(start + batchSize, distinctIds.size()))));
+        }
+        return total;
+    }
+
+    private static Object[] parameters(Long studyId, List<Long> ids) {
+        Object[] parameters = new Object[ids.size() + 1];
+        parameters[0] = studyId;
+        for (int i = 0; i < ids.size(); i++) {
+            parameters[i + 1] = ids.get(i);
+        }
+        return parameters;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CounterDelta {
+        private Long studyId;
+        private Long visitInstanceId;
+        private int submittedForms;
+        private int lockedForms;
+    }
+}
@@ -0,0 +1,13 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.repository;
+
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitFormCompletionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for study_visit_form_completion table queries
+ * Writes go through VisitFormCompletionJdbcRepository (counter increments)
+ */
+@Repository
+public interface VisitFormCompletionRepository extends JpaRepository<VisitFormCompletionEntity, Long> {
+}
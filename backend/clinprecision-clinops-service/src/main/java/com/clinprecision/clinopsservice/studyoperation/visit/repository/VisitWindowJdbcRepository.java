@@ -0,0 +1,111 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JDBC reads/writes of VisitWindowSweeper on study_visit_instances
+ *
+ * Open visits (not COMPLETED or CANCELLED) are read by range on one window boundary
+ * (idx_window_end / idx_window_dates) in id order, one page at a time, and their compliance
+ * status is written back with batched updates addressed by (study_id, id) so each update
+ * touches a single partition.
+ */
+@Repository
+@Slf4j
+public class VisitWindowJdbcRepository {
+
+    private static final String SELECT_OPEN_VISITS_SQL =
+        "SELECT id, study_id, subject_id, site_id, visit_id, visit_status, visit_window_start, visit_window_end, " +
+        "compliance_status, window_status FROM study_visit_instances " +
+        "WHERE %s BETWEEN ? AND ? AND id > ? " +
+        "AND (visit_status IS NULL OR UPPER(visit_status) NOT IN ('COMPLETED', 'CANCELLED')) " +
+        "ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_COMPLIANCE_SQL =
+        "UPDATE study_visit_instances SET compliance_status = ?, window_status = ?, updated_at = NOW() " +
+        "WHERE study_id = ? AND id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public VisitWindowJdbcRepository(JdbcTemplate jdbcTemplate,
+                                     @Value("${clinops.projection.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Open visits whose window ends in [from, to], after a given visit ID
+     */
+    public List<OpenVisitRow> findOpenVisitsByWindowEnd(LocalDate from, LocalDate to, long afterId, int limit) {
+        return findOpenVisits("visit_window_end", from, to, afterId, limit);
+    }
+
+    /**
+     * Open visits whose window starts in [from, to], after a given visit ID
+     */
+    public List<OpenVisitRow> findOpenVisitsByWindowStart(LocalDate from, LocalDate to, long afterId, int limit) {
+        return findOpenVisits("visit_window_start", from, to, afterId, limit);
+    }
+
+    /**
+     * Write the materialized compliance status of visits
+     *
+     * @return Updated rows
+     */
+    public int updateCompliance(List<ComplianceUpdate> updates) {
+        int updated = 0;
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<ComplianceUpdate> chunk = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_COMPLIANCE_SQL, chunk, chunk.size(), (ps, update) -> {
+                ps.setString(1, update.complianceStatus());
+                ps.setString(2, update.windowStatus());
+                ps.setLong(3, update.studyId());
+                ps.setLong(4, update.visitInstanceId());
+            });
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    updated += Math.max(count, 0);
+                }
+            }
+        }
+        return updated;
+    }
+
+    private List<OpenVisitRow> findOpenVisits(String column, LocalDate from, LocalDate to, long afterId, int limit) {
+        return jdbcTemplate.query(String.format(SELECT_OPEN_VISITS_SQL, column),
+            (rs, rowNum) -> toRow(rs),
+            Date.valueOf(from), Date.valueOf(to), afterId, limit);
+    }
+
+    private OpenVisitRow toRow(ResultSet rs) throws SQLException {
+        long siteId = rs.getLong(4);
+        Long site = rs.wasNull() ? null : siteId;
+        Date windowStart = rs.getDate(7);
+        Date windowEnd = rs.getDate(8);
+        return new OpenVisitRow(rs.getLong(1), rs.getLong(2), rs.getLong(3), site, rs.getLong(5), rs.getString(6),
+            windowStart != null ? windowStart.toLocalDate() : null,
+            windowEnd != null ? windowEnd.toLocalDate() : null,
+            rs.getString(9), rs.getString(10));
+    }
+
+    /**
+     * Window and current compliance status of an open visit
+     */
+    public record OpenVisitRow(Long id, Long studyId, Long subjectId, Long studySiteId, Long visitDefinitionId,
+                               String visitStatus, LocalDate visitWindowStart, LocalDate visitWindowEnd,
+                               String complianceStatus, String windowStatus) {
+    }
+
+    public record ComplianceUpdate(Long studyId, Long visitInstanceId, String complianceStatus, String windowStatus) {
+    }
+}
@@ -1,15 +1,18 @@
 package com.clinprecision.clinopsservice.studyoperation.visit.service;
 
-import com.clinprecision.clinopsservice.studydesign.build.repository.VisitFormRepository;
+import com.clinprecision.clinopsservice.common.projection.ProjectionAwaiter;
 import com.clinprecision.clinopsservice.studydesign.design.visitdefinition.repository.VisitDefinitionRepository;
-import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataEntity;
-import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataRepository;
+import com.clinprecision.clinopsservice.studyoperation.patientenrollment.repository.PatientEnrollmentRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.domain.commands.CreateVisitCommand;
+import com.clinprecision.clinopsservice.studyoperation.visit.domain.queries.FindVisitByAggregateUuidQuery;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.CreateVisitRequest;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitDto;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitResponse;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitFormCompletionEntity;
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitStatus;
 import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitFormCompletionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.axonframework.commandhandling.gateway.CommandGateway;
@@ -17,7 +20,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -79,9 +84,10 @@ public class PatientVisitService {
     private final CommandGateway commandGateway;
     private final StudyVisitInstanceRepository studyVisitInstanceRepository;
     private final VisitDefinitionRepository visitDefinitionRepository;
-    private final VisitFormRepository visitFormRepository;
-    private final StudyFormDataRepository formDataRepository;
+    private final VisitFormCompletionRepository visitFormCompletionRepository;
     private final VisitComplianceService complianceService;
+    private final ProjectionAwaiter projectionAwaiter;
+    private final PatientEnrollmentRepository patientEnrollmentRepository;
 
     // ==================== Command Operations (Write) ====================
 
@@ -125,12 +131,11 @@ public class PatientVisitService {
         );
 
         try {
-            // Send command to aggregate (synchronous - wait for event to be stored)
-            commandGateway.sendAndWait(command);
-            log.info("CreateVisitCommand sent successfully for visitId: {}", visitId);
-
-            // Wait for projection (with timeout to avoid infinite wait)
-            StudyVisitInstanceEntity visitEntity = waitForVisitProjection(visitId, 5000);
+            // Send command to aggregate (synchronous) and wait for projection (with timeout to avoid infinite wait)
+            StudyVisitInstanceEntity visitEntity = createVisitAndWaitForProjection(request.getStudyId(), visitId, 5000, () -> {
+                commandGateway.sendAndWait(command);
+                log.info("CreateVisitCommand sent successfully for visitId: {}", visitId);
+            });
 
             if (visitEntity != null) {
                 log.info("Visit created successfully: visitId={}, patientId={}, visitType={}", 
@@ -253,18 +258,27 @@ public class PatientVisitService {
     /**
      * Get all visits for a patient
      * 
+     * study_visit_instances is partitioned by study: without a study, the visits are read from
+     * the studies the patient is enrolled in.
+     * 
      * @param patientId Patient ID
+     * @param studyId Study ID (optional)
      * @return List of VisitDto
      */
-    public List<VisitDto> getPatientVisits(Long patientId) {
-        log.debug("Getting visits for patientId: {}", patientId);
+    public List<VisitDto> getPatientVisits(Long patientId, Long studyId) {
+        log.debug("Getting visits for patientId: {}, studyId: {}", patientId, studyId);
+        
+        List<Long> studyIds = studyId != null
+                ? List.of(studyId)
+                : patientEnrollmentRepository.findStudyIdsByPatientId(patientId);
+        if (studyIds.isEmpty()) {
+            return List.of();
+        }
         
         List<StudyVisitInstanceEntity> visits = studyVisitInstanceRepository
-                .findBySubjectIdOrderByVisitDateDesc(patientId);
+                .findByStudyIdInAndSubjectIdOrderByVisitDateDesc(studyIds, patientId);
         
-        return visits.stream()
-                .map(this::mapToVisitDto)
-                .collect(Collectors.toList());
+        return mapToVisitDtos(visits);
     }
 
     /**
@@ -278,25 +292,44 @@ public class PatientVisitService {
         
         List<StudyVisitInstanceEntity> visits = studyVisitInstanceRepository.findByStudyId(studyId);
         
-        return visits.stream()
-                .map(this::mapToVisitDto)
-                .collect(Collectors.toList());
+        return mapToVisitDtos(visits);
     }
 
     /**
-     * Get visits by type (e.g., all SCREENING visits)
+     * Get visits of a study by type/status (e.g., all SCHEDULED visits)
      * 
-     * @param visitType Visit type (SCREENING, ENROLLMENT, etc.)
+     * @param studyId Study ID
+     * @param visitType Visit status (SCHEDULED, COMPLETED, etc.)
      * @return List of VisitDto
+     * @throws IllegalArgumentException if the status is unknown
      */
-    public List<VisitDto> getVisitsByType(String visitType) {
-        log.debug("Getting visits by type: {}", visitType);
+    public List<VisitDto> getVisitsByType(Long studyId, String visitType) {
+        log.debug("Getting visits by type: {}, studyId: {}", visitType, studyId);
         
-        List<StudyVisitInstanceEntity> visits = studyVisitInstanceRepository.findByVisitStatus(visitType);
+        VisitStatus status = VisitStatus.fromString(visitType);
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown visit status: " + visitType);
+        }
+        List<StudyVisitInstanceEntity> visits = studyVisitInstanceRepository.findByStudyIdAndVisitStatus(studyId, status);
         
-        return visits.stream()
-                .map(this::mapToVisitDto)
-                .collect(Collectors.toList());
+        return mapToVisitDtos(visits);
+    }
+
+    /**
+     * Get visits of a study by compliance status (e.g., all OVERDUE visits)
+     * Reads the status materialized by VisitWindowSweeper, as of its last sweep
+     * 
+     * @param studyId Study ID
+     * @param complianceStatus Compliance status (WINDOW_OPEN, APPROACHING_DEADLINE, OVERDUE, MISSED, etc.)
+     * @return List of VisitDto
+     */
+    public List<VisitDto> getVisitsByComplianceStatus(Long studyId, String complianceStatus) {
+        log.debug("Getting visits by compliance status: {}, studyId: {}", complianceStatus, studyId);
+        
+        List<StudyVisitInstanceEntity> visits = studyVisitInstanceRepository.findByStudyIdAndComplianceStatus(
+            studyId, complianceStatus.trim().toUpperCase());
+        
+        return mapToVisitDtos(visits);
     }
 
     /**
@@ -310,7 +343,7 @@ public class PatientVisitService {
         log.debug("Getting visit by visitId: {}", visitId);
         
         return studyVisitInstanceRepository.findById(visitId)
-                .map(this::mapToVisitDto)
+                .map(visit -> mapToVisitDtos(List.of(visit)).get(0))
                 .orElse(null);
     }
 
@@ -338,50 +371,54 @@ public class PatientVisitService {
     }
 
     /**
-     * Wait for visit projection to be available (with timeout)
-     * Looks for study_visit_instances created by event projector
+     * Send the create command and wait for the visit projection (with timeout)
+     * Subscribes to FindVisitByAggregateUuidQuery before the command is sent; VisitProjector
+     * emits the study_visit_instances row once it is committed. On timeout the row is
+     * queried once directly.
      * 
+     * @param studyId Study of the visit
      * @param visitId UUID of the visit (stored in aggregate_uuid column)
      * @param timeoutMs Maximum wait time in milliseconds
+     * @param command Command dispatch
      * @return StudyVisitInstanceEntity or null if not found within timeout
      */
-    private StudyVisitInstanceEntity waitForVisitProjection(UUID visitId, long timeoutMs) {
+    private StudyVisitInstanceEntity createVisitAndWaitForProjection(Long studyId, UUID visitId, long timeoutMs, Runnable command) {
         log.debug("Waiting for visit projection: visitId={}", visitId);
         
         long startTime = System.currentTimeMillis();
-        int attempts = 0;
+        StudyVisitInstanceEntity visit = projectionAwaiter.sendAndAwait(
+                new FindVisitByAggregateUuidQuery(studyId, visitId.toString()), StudyVisitInstanceEntity.class,
+                timeoutMs, command)
+            .orElse(null);
         
-        while (System.currentTimeMillis() - startTime < timeoutMs) {
-            attempts++;
-            
-            // Query by aggregate_uuid (for unscheduled visits created via events)
-            var visitOpt = studyVisitInstanceRepository.findByAggregateUuid(visitId.toString());
-            if (visitOpt.isPresent()) {
-                log.debug("Visit projection found after {} attempts ({}ms)", 
-                         attempts, System.currentTimeMillis() - startTime);
-                return visitOpt.get();
-            }
-            
-            // Wait 50ms before next attempt
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("Interrupted while waiting for visit projection");
-                return null;
-            }
+        if (visit != null) {
+            log.debug("Visit projection found after {}ms", System.currentTimeMillis() - startTime);
+        } else {
+            log.warn("Visit projection not found after {}ms: visitId={}", timeoutMs, visitId);
         }
+        return visit;
+    }
+
+    /**
+     * Map visit instances to VisitDtos
+     * Form completion counters of all visits are loaded in one query
+     */
+    private List<VisitDto> mapToVisitDtos(List<StudyVisitInstanceEntity> visits) {
+        Map<Long, VisitFormCompletionEntity> completionByVisit = visitFormCompletionRepository
+                .findAllById(visits.stream().map(StudyVisitInstanceEntity::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(VisitFormCompletionEntity::getVisitInstanceId, Function.identity()));
         
-        log.warn("Visit projection not found after {}ms ({} attempts): visitId={}", 
-                timeoutMs, attempts, visitId);
-        return null;
+        return visits.stream()
+                .map(visit -> mapToVisitDto(visit, completionByVisit.get(visit.getId())))
+                .collect(Collectors.toList());
     }
 
     /**
      * Map StudyVisitInstanceEntity to VisitDto
      * Looks up visit definition to get visit name and type
      */
-    private VisitDto mapToVisitDto(StudyVisitInstanceEntity entity) {
+    private VisitDto mapToVisitDto(StudyVisitInstanceEntity entity, VisitFormCompletionEntity completion) {
         VisitDto dto = new VisitDto();
         
         // Map primary key (Long ID)
@@ -417,7 +454,7 @@ public class PatientVisitService {
         }
         
         // Calculate form completion percentage
-        calculateFormCompletion(entity, dto);
+        setFormCompletion(entity, completion, dto);
         
         // Add visit window compliance data (Gap #4)
         dto.setVisitWindowStart(entity.getVisitWindowStart());
@@ -438,72 +475,28 @@ public class PatientVisitService {
     }
     
     /**
-     * Calculate form completion metrics for a visit
+     * Set form completion metrics for a visit from its study_visit_form_completion counters
+     * (maintained by FormDataProjector; no form data is loaded here)
      * 
      * @param entity Visit instance entity
+     * @param completion Form counters of the visit (null if not seeded yet)
      * @param dto VisitDto to populate with completion data
      */
-    private void calculateFormCompletion(StudyVisitInstanceEntity entity, VisitDto dto) {
-        try {
-            // Get total number of forms for this visit from visit_forms table
-            Long visitDefinitionId = entity.getVisitId();
-            if (visitDefinitionId == null) {
-                // Unscheduled visit - no predefined forms
-                dto.setTotalForms(0);
-                dto.setCompletedForms(0);
-                dto.setCompletionPercentage(0.0);
-                return;
-            }
-            
-            // Count total forms defined for this visit IN THIS BUILD VERSION
-            // CRITICAL FIX: Must filter by buildId to get correct form count for this patient's enrollment version
-            Long buildId = entity.getBuildId();
-            int totalForms;
-            if (buildId != null) {
-                // Use build-aware query (correct approach for versioned protocols)
-                totalForms = (int) visitFormRepository.countByVisitDefinitionIdAndBuildId(visitDefinitionId, buildId);
-            } else {
-                // Fallback for visits without buildId (should not happen in production)
-                totalForms = (int) visitFormRepository.countByVisitDefinitionId(visitDefinitionId);
-                log.warn("Visit instance {} has no buildId - using non-versioned form count (this may be incorrect)", entity.getId());
-            }
-            dto.setTotalForms(totalForms);
-            
-            if (totalForms == 0) {
-                dto.setCompletedForms(0);
-                dto.setCompletionPercentage(0.0);
-                return;
-            }
-            
-            // Count completed forms (status = SUBMITTED or LOCKED)
-            // Get unique forms by formId (not total submissions - a form may have multiple drafts/revisions)
-            Long visitInstanceId = entity.getId();
-            List<StudyFormDataEntity> allForms = formDataRepository.findByVisitIdOrderByCreatedAtDesc(visitInstanceId);
-            
-            // Count DISTINCT formIds with SUBMITTED or LOCKED status
-            int completedCount = (int) allForms.stream()
-                .filter(form -> "SUBMITTED".equals(form.getStatus()) || "LOCKED".equals(form.getStatus()))
-                .map(StudyFormDataEntity::getFormId)  // Get formId
-                .distinct()                            // Count unique forms only
-                .count();
-            
-            dto.setCompletedForms(completedCount);
-            
-            // Calculate percentage
-            double percentage = (double) completedCount / totalForms * 100.0;
-            dto.setCompletionPercentage(Math.round(percentage * 10.0) / 10.0); // Round to 1 decimal place
-            
-            // Debug logging to diagnose percentage calculation issues
-            log.debug("Visit {} form completion: totalForms={}, allSubmissions={}, uniqueCompleted={}, percentage={}%", 
-                visitInstanceId, totalForms, allForms.size(), completedCount, dto.getCompletionPercentage());
-            
-        } catch (Exception e) {
-            log.warn("Error calculating form completion for visit {}: {}", entity.getId(), e.getMessage());
-            // Set defaults on error
+    private void setFormCompletion(StudyVisitInstanceEntity entity, VisitFormCompletionEntity completion, VisitDto dto) {
+        if (completion == null) {
+            log.debug("No form completion counters for visit instance {}", entity.getId());
             dto.setTotalForms(0);
             dto.setCompletedForms(0);
             dto.setCompletionPercentage(0.0);
+            return;
         }
+        
+        dto.setTotalForms(completion.getRequiredForms());
+        dto.setCompletedForms(completion.getSubmittedForms());
+        dto.setCompletionPercentage(completion.getCompletionPercentage());
+        
+        log.debug("Visit {} form completion: totalForms={}, completed={}, percentage={}%", 
+            entity.getId(), completion.getRequiredForms(), completion.getSubmittedForms(), dto.getCompletionPercentage());
     }
 
     /**
@@ -1,13 +1,18 @@
 package com.clinprecision.clinopsservice.studyoperation.visit.service;
 
+import com.clinprecision.clinopsservice.common.projection.ProjectionReferenceValidator;
+import com.clinprecision.clinopsservice.common.projection.ProjectionReferenceValidator.StudyReference;
 import com.clinprecision.clinopsservice.studydesign.design.visitdefinition.entity.VisitDefinitionEntity;
 import com.clinprecision.clinopsservice.studydesign.design.visitdefinition.repository.VisitDefinitionRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.ProtocolVisitInstantiationResult;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.ProtocolVisitScheduleRequest;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitStatus;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.ProtocolVisitJdbcRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
-import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildEntity;
-import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
-import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitFormCompletionJdbcRepository;
+import com.clinprecision.clinopsservice.studydesign.build.service.ActiveBuildRegistry;
+import com.clinprecision.clinopsservice.studydesign.build.service.ActiveBuildRegistry.ActiveBuild;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,7 +21,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for instantiating protocol visits from visit definitions
@@ -29,6 +38,10 @@ import java.util.List;
  * - Create study_visit_instances for patient
  * - Calculate visit dates from baseline + day offset
  * - Set initial status to "Scheduled"
+ * - Check the study / build / visit definition references (study_visit_instances is
+ *   partitioned by study and has no foreign keys)
+ * - Seed the form completion counters of the new visits
+ * - Bulk-instantiate the visits of a cohort (batched JDBC inserts via ProtocolVisitJdbcRepository)
  * 
  * Gap #1 Resolution: Protocol Visit Instantiation
  * Industry Standard: Medidata Rave, Oracle InForm auto-create visits from protocol
@@ -40,7 +53,11 @@ public class ProtocolVisitInstantiationService {
 
     private final VisitDefinitionRepository visitDefinitionRepository;
     private final StudyVisitInstanceRepository studyVisitInstanceRepository;
-    private final StudyDatabaseBuildRepository studyDatabaseBuildRepository;
+    private final ActiveBuildRegistry activeBuildRegistry;
+    private final VisitFormCompletionJdbcRepository completionJdbcRepository;
+    private final ProjectionReferenceValidator referenceValidator;
+    private final VisitComplianceService visitComplianceService;
+    private final ProtocolVisitJdbcRepository protocolVisitJdbcRepository;
 
     /**
      * Instantiate protocol visits for a patient
@@ -67,83 +84,176 @@ public class ProtocolVisitInstantiationService {
                 patientId, studyId, armId, baselineDate);
 
         // CRITICAL FIX: Get active study database build FIRST
-        StudyDatabaseBuildEntity activeBuild = getActiveStudyBuild(studyId);
-        
-        if (activeBuild == null) {
-            throw new IllegalStateException(
-                "No active study database build found for studyId: " + studyId + ". " +
-                "Study must have a COMPLETED database build before enrolling patients. " +
-                "Please build the study database first.");
-        }
-        
-        log.info("Using study build: id={}, version={}, status={}, completedAt={}", 
-                 activeBuild.getId(), activeBuild.getBuildRequestId(), 
-                 activeBuild.getBuildStatus(), activeBuild.getBuildEndTime());
+        ActiveBuild activeBuild = requireActiveStudyBuild(studyId);
 
         // 1. Check if visits already instantiated (idempotency check)
-        if (hasProtocolVisitsInstantiated(patientId)) {
-            log.warn("Protocol visits already instantiated for patientId: {}. Skipping.", patientId);
-            return studyVisitInstanceRepository.findBySubjectIdOrderByVisitDateDesc(patientId);
+        if (hasProtocolVisitsInstantiated(studyId, patientId)) {
+            log.warn("Protocol visits already instantiated for patientId: {}, studyId: {}. Skipping.", patientId, studyId);
+            return getPatientVisits(studyId, patientId);
         }
 
-        // 2. Query visit_definitions for this study
-        List<VisitDefinitionEntity> protocolVisits = getProtocolVisits(studyId, armId);
+        List<StudyVisitInstanceEntity> instances = instantiate(studyId, activeBuild, List.of(
+                ProtocolVisitScheduleRequest.builder()
+                        .patientId(patientId)
+                        .siteId(siteId)
+                        .armId(armId)
+                        .baselineDate(baselineDate)
+                        .build()));
 
-        if (protocolVisits.isEmpty()) {
-            log.warn("No protocol visits found for studyId: {}, armId: {}. No visits created.", studyId, armId);
-            return List.of();
+        log.info("Successfully instantiated {} protocol visits for patientId: {} using build {}",
+                instances.size(), patientId, activeBuild.buildId());
+
+        return instances;
+    }
+
+    /**
+     * Instantiate protocol visits for a cohort of patients (e.g. imported from a screening log)
+     * 
+     * The visit definitions are read once per arm, all visit dates and windows are computed in
+     * memory and the visits of the whole cohort are inserted with batched JDBC statements.
+     * Patients that already have visits in the study are skipped.
+     * 
+     * @param studyId Study database ID
+     * @param patients Patients with their site, arm and baseline date
+     * @return Counts of scheduled / skipped patients and created visits
+     * @throws IllegalArgumentException if a patient has no ID or baseline date
+     * @throws IllegalStateException if the study has no completed build
+     */
+    @Transactional
+    public ProtocolVisitInstantiationResult instantiateCohortProtocolVisits(
+            Long studyId,
+            List<ProtocolVisitScheduleRequest> patients) {
+
+        for (ProtocolVisitScheduleRequest patient : patients) {
+            if (patient.getPatientId() == null || patient.getBaselineDate() == null) {
+                throw new IllegalArgumentException("Each patient requires a patientId and a baselineDate");
+            }
+        }
+
+        log.info("Instantiating protocol visits for cohort: studyId={}, patients={}", studyId, patients.size());
+
+        ActiveBuild activeBuild = requireActiveStudyBuild(studyId);
+
+        // 1. Idempotency check for the whole cohort (one query per chunk of patients)
+        Set<Long> patientsWithVisits = protocolVisitJdbcRepository.findSubjectsWithVisits(studyId,
+                patients.stream().map(ProtocolVisitScheduleRequest::getPatientId).toList());
+
+        Map<Long, ProtocolVisitScheduleRequest> toSchedule = new LinkedHashMap<>();
+        List<Long> skipped = new ArrayList<>();
+        for (ProtocolVisitScheduleRequest patient : patients) {
+            if (patientsWithVisits.contains(patient.getPatientId())) {
+                skipped.add(patient.getPatientId());
+            } else {
+                toSchedule.putIfAbsent(patient.getPatientId(), patient);
+            }
+        }
+        if (!skipped.isEmpty()) {
+            log.warn("Protocol visits already instantiated for {} patients of studyId: {}. Skipping them.",
+                    skipped.size(), studyId);
         }
 
-        log.info("Found {} protocol visits to instantiate", protocolVisits.size());
+        List<StudyVisitInstanceEntity> instances = instantiate(studyId, activeBuild, new ArrayList<>(toSchedule.values()));
 
-        // 3. For each protocol visit, create a study_visit_instance
+        log.info("Successfully instantiated {} protocol visits for {} patients of studyId: {} using build {}",
+                instances.size(), toSchedule.size(), studyId, activeBuild.buildId());
+
+        return ProtocolVisitInstantiationResult.builder()
+                .studyId(studyId)
+                .buildId(activeBuild.buildId())
+                .patientsRequested(patients.size())
+                .patientsScheduled(toSchedule.size())
+                .skippedPatientIds(skipped)
+                .visitsCreated(instances.size())
+                .build();
+    }
+
+    /**
+     * Create, batch insert and seed the protocol visits of patients without visits
+     */
+    private List<StudyVisitInstanceEntity> instantiate(Long studyId, ActiveBuild activeBuild,
+                                                       List<ProtocolVisitScheduleRequest> patients) {
+        // 2. Query visit_definitions for this study (once per arm)
+        Map<Long, List<VisitDefinitionEntity>> protocolVisitsByArm = new HashMap<>();
+
+        // 3. For each patient and protocol visit, create a study_visit_instance (in memory)
         List<StudyVisitInstanceEntity> instances = new ArrayList<>();
+        for (ProtocolVisitScheduleRequest patient : patients) {
+            List<VisitDefinitionEntity> protocolVisits = protocolVisitsByArm.computeIfAbsent(
+                    patient.getArmId(), armId -> getProtocolVisits(studyId, armId));
+
+            if (protocolVisits.isEmpty()) {
+                log.warn("No protocol visits found for studyId: {}, armId: {}. No visits created for patientId: {}.",
+                        studyId, patient.getArmId(), patient.getPatientId());
+                continue;
+            }
 
-        for (VisitDefinitionEntity visitDef : protocolVisits) {
-            try {
-                StudyVisitInstanceEntity instance = createVisitInstance(
-                        patientId,
+            for (VisitDefinitionEntity visitDef : protocolVisits) {
+                instances.add(createVisitInstance(
+                        patient.getPatientId(),
                         studyId,
-                        siteId,
+                        patient.getSiteId(),
                         visitDef,
-                        baselineDate,
-                        activeBuild.getId() // CRITICAL: Pass build ID
-                );
+                        patient.getBaselineDate(),
+                        activeBuild.buildId() // CRITICAL: Pass build ID
+                ));
+            }
+        }
 
-                instances.add(studyVisitInstanceRepository.save(instance));
+        if (instances.isEmpty()) {
+            return List.of();
+        }
 
-                log.debug("Created visit instance: visitDefId={}, name={}, date={}, buildId={}",
-                        visitDef.getId(), visitDef.getName(), instance.getVisitDate(), activeBuild.getId());
+        // Reference checks formerly done by the foreign keys of study_visit_instances
+        referenceValidator.requireStudies(List.of(studyId));
+        referenceValidator.requireBuilds(List.of(new StudyReference(studyId, activeBuild.buildId())));
+        referenceValidator.requireVisitDefinitions(protocolVisitsByArm.values().stream()
+                .flatMap(List::stream)
+                .map(visitDef -> new StudyReference(studyId, visitDef.getId()))
+                .distinct()
+                .toList());
 
-            } catch (Exception e) {
-                log.error("Error creating visit instance for visitDefId: {}, name: {}",
-                        visitDef.getId(), visitDef.getName(), e);
-                // Continue with other visits even if one fails
-            }
-        }
+        // 4. Insert all visits with batched statements (IDENTITY keys rule out Hibernate batching)
+        protocolVisitJdbcRepository.insertVisits(studyId, instances);
 
-        log.info("Successfully instantiated {} protocol visits for patientId: {} using build {}",
-                instances.size(), patientId, activeBuild.getId());
+        log.debug("Created {} visit instances for {} patients, buildId={}",
+                instances.size(), patients.size(), activeBuild.buildId());
+
+        // 5. Seed form completion counters (required forms per visit in this build)
+        completionJdbcRepository.seedCounters(studyId, instances.stream().map(StudyVisitInstanceEntity::getId).toList());
+        instances.forEach(instance -> activeBuildRegistry.registerVisit(studyId, instance.getId(), activeBuild.buildId()));
 
         return instances;
     }
 
+    /**
+     * Active build of a study; visits cannot be instantiated without one
+     */
+    private ActiveBuild requireActiveStudyBuild(Long studyId) {
+        ActiveBuild activeBuild = getActiveStudyBuild(studyId);
+        
+        if (activeBuild == null) {
+            throw new IllegalStateException(
+                "No active study database build found for studyId: " + studyId + ". " +
+                "Study must have a COMPLETED database build before enrolling patients. " +
+                "Please build the study database first.");
+        }
+        
+        log.info("Using study build: id={}, version={}, completedAt={}", 
+                 activeBuild.buildId(), activeBuild.buildRequestId(), activeBuild.completedAt());
+        return activeBuild;
+    }
+
     /**
      * Get active study database build (CRITICAL for data integrity)
-     * Returns the most recent COMPLETED build for the study
+     * Returns the most recent COMPLETED build for the study (resolved through ActiveBuildRegistry)
      * 
      * @param studyId Study database ID
-     * @return Active build entity, or null if no completed builds exist
+     * @return Active build, or null if no completed builds exist
      */
-    private StudyDatabaseBuildEntity getActiveStudyBuild(Long studyId) {
+    private ActiveBuild getActiveStudyBuild(Long studyId) {
         log.debug("Looking for active build for studyId: {}", studyId);
         
-        return studyDatabaseBuildRepository
-                .findTopByStudyIdAndBuildStatusOrderByBuildEndTimeDesc(
-                    studyId, 
-                    StudyDatabaseBuildStatus.COMPLETED
-                )
-                .orElse(null);
+        return activeBuildRegistry.getActiveBuild(studyId).orElse(null);
     }
 
     /**
@@ -222,7 +332,7 @@ public class ProtocolVisitInstantiationService {
         log.debug("Visit window calculated: visitDate={}, windowBefore={}, windowAfter={}, windowStart={}, windowEnd={}",
                 visitDate, windowBefore, windowAfter, windowStart, windowEnd);
 
-        return StudyVisitInstanceEntity.builder()
+        StudyVisitInstanceEntity instance = StudyVisitInstanceEntity.builder()
                 .subjectId(patientId)
                 .studyId(studyId)
                 .studySiteId(siteId)
@@ -242,6 +352,15 @@ public class ProtocolVisitInstantiationService {
                 .notes(null)
                 .createdBy(1L) // System user (TODO: get from security context)
                 .build();
+
+        // Initial compliance status; VisitWindowSweeper only re-reads visits whose window
+        // boundary is crossed after its last sweep, so a visit created with a past window
+        // would otherwise never get one
+        instance.setComplianceStatus(visitComplianceService.calculateComplianceStatus(instance));
+        if (windowEnd.isBefore(LocalDate.now())) {
+            instance.setWindowStatus("OUT_OF_WINDOW");
+        }
+        return instance;
     }
 
     /**
@@ -266,22 +385,23 @@ public class ProtocolVisitInstantiationService {
      * Check if protocol visits already instantiated for patient
      * Prevents duplicate instantiation
      * 
+     * @param studyId Study database ID
      * @param patientId Patient database ID
-     * @return true if patient has any visits (protocol or unscheduled)
+     * @return true if patient has any visits (protocol or unscheduled) in the study
      */
-    public boolean hasProtocolVisitsInstantiated(Long patientId) {
-        List<StudyVisitInstanceEntity> visits = studyVisitInstanceRepository.findBySubjectIdOrderByVisitDateDesc(patientId);
-        return !visits.isEmpty();
+    public boolean hasProtocolVisitsInstantiated(Long studyId, Long patientId) {
+        return studyVisitInstanceRepository.existsByStudyIdAndSubjectId(studyId, patientId);
     }
 
     /**
-     * Get all visit instances for a patient (for display)
+     * Get all visit instances of a patient in a study (for display)
      * 
+     * @param studyId Study database ID
      * @param patientId Patient database ID
      * @return List of visit instances ordered by visit date (most recent first)
      */
-    public List<StudyVisitInstanceEntity> getPatientVisits(Long patientId) {
-        return studyVisitInstanceRepository.findBySubjectIdOrderByVisitDateDesc(patientId);
+    public List<StudyVisitInstanceEntity> getPatientVisits(Long studyId, Long patientId) {
+        return studyVisitInstanceRepository.findByStudyIdInAndSubjectIdOrderByVisitDateDesc(List.of(studyId), patientId);
     }
 
     /**
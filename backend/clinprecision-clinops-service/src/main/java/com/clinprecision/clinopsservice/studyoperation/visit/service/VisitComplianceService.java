@@ -36,6 +36,18 @@ public class VisitComplianceService {
      * @return Compliance status string
      */
     public String calculateComplianceStatus(StudyVisitInstanceEntity visit) {
+        return calculateComplianceStatus(visit, LocalDate.now());
+    }
+
+    /**
+     * Calculate compliance status for a visit instance as of a given date
+     * (used by VisitWindowSweeper to materialize the status)
+     * 
+     * @param visit The visit instance to check
+     * @param today Date the status is evaluated at
+     * @return Compliance status string
+     */
+    public String calculateComplianceStatus(StudyVisitInstanceEntity visit, LocalDate today) {
         if (visit == null) {
             return "UNKNOWN";
         }
@@ -50,8 +62,6 @@ public class VisitComplianceService {
             return "SCHEDULED";
         }
 
-        LocalDate today = LocalDate.now();
-
         // Visit completed - check if within window
         if ("COMPLETED".equals(visitStatus) && actualDate != null) {
             if (actualDate.isBefore(windowStart)) {
@@ -105,6 +115,17 @@ public class VisitComplianceService {
      * @return Days overdue (positive = late, negative = days remaining, 0 = due today)
      */
     public long getDaysOverdue(StudyVisitInstanceEntity visit) {
+        return getDaysOverdue(visit, LocalDate.now());
+    }
+
+    /**
+     * Calculate days overdue for a visit as of a given date
+     * 
+     * @param visit The visit instance to check
+     * @param today Date the delay is evaluated at
+     * @return Days overdue (positive = late, negative = days remaining, 0 = due today)
+     */
+    public long getDaysOverdue(StudyVisitInstanceEntity visit, LocalDate today) {
         if (visit == null || visit.getVisitWindowEnd() == null) {
             return 0;
         }
@@ -125,7 +146,6 @@ public class VisitComplianceService {
         }
 
         // Visit not completed - check today vs window end
-        LocalDate today = LocalDate.now();
         // Positive = overdue, negative = days remaining
         return ChronoUnit.DAYS.between(windowEnd, today);
     }
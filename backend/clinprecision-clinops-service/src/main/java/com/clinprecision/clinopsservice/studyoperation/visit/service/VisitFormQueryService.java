@@ -6,17 +6,16 @@ import com.clinprecision.clinopsservice.studydesign.build.repository.VisitFormRe
 import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
 import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitFormDto;
 import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
-import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.entity.StudyFormDataEntity;
-import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository.FormStatusRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,6 +24,10 @@ import java.util.stream.Collectors;
  * Resolves Gap #2: Visit-Form Association
  * 
  * Returns forms associated with a visit instance based on protocol schedule
+ * 
+ * Form status (completion, last update) comes from one query per call that loads the
+ * latest study_form_data record of every form of the visit without its payload
+ * (StudyFormDataJdbcRepository.findLatestFormStatuses).
  */
 @Service
 @RequiredArgsConstructor
@@ -33,7 +36,7 @@ public class VisitFormQueryService {
 
     private final StudyVisitInstanceRepository visitInstanceRepository;
     private final VisitFormRepository visitFormRepository;
-    private final StudyFormDataRepository formDataRepository;
+    private final StudyFormDataJdbcRepository formDataJdbcRepository;
 
     /**
      * Get all forms associated with a visit instance
@@ -44,7 +47,7 @@ public class VisitFormQueryService {
      * 1. Get visit instance by Long ID
      * 2. Get visit_definition_id AND build_id from the instance
      * 3. Query visit_forms table for forms assigned to this visit definition IN THIS BUILD VERSION
-     * 4. For each form, check completion status in form_data table (TODO: Phase 2)
+     * 4. Load the latest form data status of every form of the visit (one query)
      * 5. Return enriched DTOs with form metadata and completion status
      * 
      * @param visitInstanceId Long ID of the visit instance (from study_visit_instances.id)
@@ -76,9 +79,7 @@ public class VisitFormQueryService {
             log.info("Found {} forms assigned to unscheduled visit {} (UUID: {})", 
                      visitForms.size(), visitInstanceId, visitUuid);
             
-            return visitForms.stream()
-                    .map(vf -> mapToDto(vf, visitInstance))
-                    .collect(Collectors.toList());
+            return mapToDtos(visitForms, visitInstance);
         }
 
         // CRITICAL: Extract build_id from visit instance
@@ -99,10 +100,8 @@ public class VisitFormQueryService {
         log.info("Found {} form assignments for visit definition {} in build {}", 
                  visitForms.size(), visitDefinitionId, buildId);
 
-        // Step 4: Map to DTOs
-        return visitForms.stream()
-                .map(vf -> mapToDto(vf, visitInstance))
-                .collect(Collectors.toList());
+        // Step 4: Load form statuses (one query) and map to DTOs
+        return mapToDtos(visitForms, visitInstance);
     }
 
     /**
@@ -134,9 +133,7 @@ public class VisitFormQueryService {
         log.info("Found {} required forms for visit definition {} in build {}", 
                  requiredForms.size(), visitDefinitionId, buildId);
 
-        return requiredForms.stream()
-                .map(vf -> mapToDto(vf, visitInstance))
-                .collect(Collectors.toList());
+        return mapToDtos(requiredForms, visitInstance);
     }
 
     /**
@@ -168,23 +165,30 @@ public class VisitFormQueryService {
         log.info("Found {} optional forms for visit definition {} in build {}", 
                  optionalForms.size(), visitDefinitionId, buildId);
 
-        return optionalForms.stream()
-                .map(vf -> mapToDto(vf, visitInstance))
+        return mapToDtos(optionalForms, visitInstance);
+    }
+
+    /**
+     * Map the form assignments of a visit to DTOs
+     * The latest form data status of every form of the visit is loaded once (one query, no payload)
+     */
+    private List<VisitFormDto> mapToDtos(List<VisitFormEntity> visitForms, StudyVisitInstanceEntity visitInstance) {
+        Map<Long, FormStatusRow> formStatuses = formDataJdbcRepository.findLatestFormStatuses(
+                visitInstance.getStudyId(), visitInstance.getId());
+        return visitForms.stream()
+                .map(vf -> mapToDto(vf, visitInstance, formStatuses))
                 .collect(Collectors.toList());
     }
 
     /**
      * Map VisitFormEntity to VisitFormDto with completion status
      * 
-     * Queries study_form_data table to get real completion status
+     * @param formStatuses Latest study_form_data status per form ID of the visit
      */
-    private VisitFormDto mapToDto(VisitFormEntity visitForm, StudyVisitInstanceEntity visitInstance) {
+    private VisitFormDto mapToDto(VisitFormEntity visitForm, StudyVisitInstanceEntity visitInstance,
+                                  Map<Long, FormStatusRow> formStatuses) {
         FormDefinitionEntity formDef = visitForm.getFormDefinition();
-
-        // Get real completion status from study_form_data table
-        String completionStatus = getFormCompletionStatus(visitInstance.getId(), formDef.getId());
-        LocalDateTime lastUpdated = getLastUpdated(visitInstance.getId(), formDef.getId());
-        Long updatedBy = getUpdatedBy(visitInstance.getId(), formDef.getId());
+        FormStatusRow formStatus = formStatuses.get(formDef.getId());
 
         return VisitFormDto.builder()
                 .formId(formDef.getId())
@@ -194,9 +198,9 @@ public class VisitFormQueryService {
                 .isRequired(visitForm.getIsRequired())
                 .displayOrder(visitForm.getDisplayOrder())
                 .instructions(visitForm.getInstructions())
-                .completionStatus(completionStatus)
-                .lastUpdated(lastUpdated)
-                .updatedBy(updatedBy)
+                .completionStatus(getFormCompletionStatus(visitInstance.getId(), formDef.getId(), formStatus))
+                .lastUpdated(formStatus != null ? formStatus.getUpdatedAt() : null)
+                .updatedBy(formStatus != null ? formStatus.getUpdatedBy() : null)
                 // TODO Phase 3: Get field counts from form template
                 .fieldCount(null)
                 .completedFieldCount(null)
@@ -204,88 +208,46 @@ public class VisitFormQueryService {
     }
 
     /**
-     * Get form completion status from study_form_data table
+     * Get form completion status from the latest study_form_data record of the form
      * 
      * Logic:
-     * 1. Query for most recent form submission for this visit+form
-     * 2. If no record → "not_started"
-     * 3. If status = SUBMITTED or LOCKED → "complete"
-     * 4. If status = DRAFT with data → "in_progress"
-     * 5. Else → "not_started"
+     * 1. If no record → "not_started"
+     * 2. If status = SUBMITTED or LOCKED → "complete"
+     * 3. If status = DRAFT with data → "in_progress"
+     * 4. Else → "not_started"
      * 
      * @param visitInstanceId ID of the visit instance
      * @param formId ID of the form definition
+     * @param formStatus Latest record of this visit+form (null if none)
      * @return Completion status: "not_started", "in_progress", or "complete"
      */
-    private String getFormCompletionStatus(Long visitInstanceId, Long formId) {
-        log.debug("Checking completion status for visitInstanceId={}, formId={}", visitInstanceId, formId);
-        
-        // Query study_form_data for this visit + form combination
-        List<StudyFormDataEntity> formDataList = formDataRepository
-                .findByVisitIdOrderByCreatedAtDesc(visitInstanceId);
-        
-        // Find matching form (most recent by created_at DESC ordering)
-        Optional<StudyFormDataEntity> formData = formDataList.stream()
-                .filter(fd -> fd.getFormId().equals(formId))
-                .findFirst();
-        
-        if (formData.isEmpty()) {
-            log.debug("No form data found → not_started");
+    private String getFormCompletionStatus(Long visitInstanceId, Long formId, FormStatusRow formStatus) {
+        if (formStatus == null) {
+            log.debug("No form data found for visitInstanceId={}, formId={} → not_started", visitInstanceId, formId);
             return "not_started";
         }
         
-        StudyFormDataEntity data = formData.get();
-        
         // Check if form is submitted or locked
-        if (data.isSubmitted()) {
-            log.debug("Form status={} → complete", data.getStatus());
+        if (formStatus.isSubmitted()) {
+            log.debug("Form status={} → complete", formStatus.getStatus());
             return "complete";
         }
         
         // Check if form is draft with data
-        if (data.isDraft() && data.getFieldCount() > 0) {
-            log.debug("Form is DRAFT with {} fields → in_progress", data.getFieldCount());
+        if (formStatus.isDraft() && formStatus.getFieldCount() > 0) {
+            log.debug("Form is DRAFT with {} fields → in_progress", formStatus.getFieldCount());
             return "in_progress";
         }
         
         log.debug("Form status={}, fields={} → not_started", 
-                  data.getStatus(), data.getFieldCount());
+                  formStatus.getStatus(), formStatus.getFieldCount());
         return "not_started";
     }
-    
-    /**
-     * Get last updated timestamp for form
-     */
-    private LocalDateTime getLastUpdated(Long visitInstanceId, Long formId) {
-        List<StudyFormDataEntity> formDataList = formDataRepository
-                .findByVisitIdOrderByCreatedAtDesc(visitInstanceId);
-        
-        return formDataList.stream()
-                .filter(fd -> fd.getFormId().equals(formId))
-                .findFirst()
-                .map(StudyFormDataEntity::getUpdatedAt)
-                .orElse(null);
-    }
-    
-    /**
-     * Get user ID who last updated form
-     */
-    private Long getUpdatedBy(Long visitInstanceId, Long formId) {
-        List<StudyFormDataEntity> formDataList = formDataRepository
-                .findByVisitIdOrderByCreatedAtDesc(visitInstanceId);
-        
-        return formDataList.stream()
-                .filter(fd -> fd.getFormId().equals(formId))
-                .findFirst()
-                .map(StudyFormDataEntity::getUpdatedBy)
-                .orElse(null);
-    }
 
     /**
      * Calculate visit completion percentage
      * Returns percentage of required forms that are complete
-     * 
-     * TODO: Implement after form_data querying is added
+     * (required forms and their statuses are loaded with one query each)
      */
     public Double calculateVisitCompletionPercentage(Long visitInstanceId) {
         List<VisitFormDto> requiredForms = getRequiredFormsForVisitInstance(visitInstanceId);
@@ -325,9 +287,7 @@ public class VisitFormQueryService {
         List<VisitFormEntity> visitForms = visitFormRepository
                 .findByVisitDefinitionIdOrderByDisplayOrderAsc(visitDefinitionId);
         
-        return visitForms.stream()
-                .map(vf -> mapToDto(vf, visitInstance))
-                .collect(Collectors.toList());
+        return mapToDtos(visitForms, visitInstance);
     }
 
     /**
@@ -342,9 +302,7 @@ public class VisitFormQueryService {
         List<VisitFormEntity> requiredForms = visitFormRepository
                 .findByVisitDefinitionIdAndIsRequiredTrueOrderByDisplayOrderAsc(visitDefinitionId);
         
-        return requiredForms.stream()
-                .map(vf -> mapToDto(vf, visitInstance))
-                .collect(Collectors.toList());
+        return mapToDtos(requiredForms, visitInstance);
     }
 
     /**
@@ -359,8 +317,6 @@ public class VisitFormQueryService {
         List<VisitFormEntity> optionalForms = visitFormRepository
                 .findByVisitDefinitionIdAndIsRequiredFalseOrderByDisplayOrderAsc(visitDefinitionId);
         
-        return optionalForms.stream()
-                .map(vf -> mapToDto(vf, visitInstance))
-                .collect(Collectors.toList());
+        return mapToDtos(optionalForms, visitInstance);
     }
 }
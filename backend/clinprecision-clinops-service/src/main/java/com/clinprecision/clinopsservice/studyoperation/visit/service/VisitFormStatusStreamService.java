@@ -0,0 +1,86 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.service;
+
+import com.clinprecision.clinopsservice.studyoperation.visit.domain.queries.FindVisitFormsQuery;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitFormDto;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitFormStatusUpdateDto;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.queryhandling.QueryGateway;
+import org.axonframework.queryhandling.SubscriptionQueryResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Visit Form Status Stream Service
+ *
+ * Streams the form completion state of a visit instance as server-sent events, so data
+ * entry screens see forms move to in_progress / complete without re-fetching the form list.
+ *
+ * Backed by an Axon subscription query on FindVisitFormsQuery:
+ * - the initial result is the current form list (VisitFormQueryService)
+ * - FormDataProjector emits a VisitFormStatusUpdateDto whenever form data of the visit is projected
+ *
+ * Events:
+ * - "visit-forms": List of VisitFormDto, sent once when the stream opens
+ * - "form-status": VisitFormStatusUpdateDto for every projected form change
+ */
+@Service
+@Slf4j
+public class VisitFormStatusStreamService {
+
+    public static final String VISIT_FORMS_EVENT = "visit-forms";
+    public static final String FORM_STATUS_EVENT = "form-status";
+
+    private final QueryGateway queryGateway;
+    private final long streamTimeoutMs;
+
+    public VisitFormStatusStreamService(QueryGateway queryGateway,
+            @Value("${clinops.visit.form-status-stream-timeout-ms:1800000}") long streamTimeoutMs) {
+        this.queryGateway = queryGateway;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    /**
+     * Open a form status stream for a visit instance
+     *
+     * @param visitInstanceId Visit instance ID (study_visit_instances.id)
+     * @return SSE emitter; the subscription query is closed when the stream ends
+     */
+    public SseEmitter subscribe(Long visitInstanceId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        SubscriptionQueryResult<List<VisitFormDto>, VisitFormStatusUpdateDto> subscription =
+                queryGateway.subscriptionQuery(new FindVisitFormsQuery(visitInstanceId),
+                        ResponseTypes.multipleInstancesOf(VisitFormDto.class),
+                        ResponseTypes.instanceOf(VisitFormStatusUpdateDto.class));
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        subscription.initialResult().subscribe(
+                forms -> send(emitter, VISIT_FORMS_EVENT, forms),
+                e -> {
+                    log.warn("Initial visit forms query failed for visit {}: {}", visitInstanceId, e.getMessage());
+                    emitter.completeWithError(e);
+                });
+        subscription.updates().subscribe(update -> send(emitter, FORM_STATUS_EVENT, update));
+
+        log.debug("Form status stream opened for visit instance {}", visitInstanceId);
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String eventName, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(payload));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away
+            log.debug("Dropping form status subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+}
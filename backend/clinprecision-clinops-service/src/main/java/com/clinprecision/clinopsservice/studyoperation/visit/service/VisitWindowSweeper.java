@@ -0,0 +1,217 @@
+package com.clinprecision.clinopsservice.studyoperation.visit.service;
+
+import com.clinprecision.clinopsservice.common.scheduling.ScheduledJobLease;
+import com.clinprecision.clinopsservice.studyoperation.visit.domain.events.VisitWindowStatusChangedEvent;
+import com.clinprecision.clinopsservice.studyoperation.visit.dto.VisitWindowSweepResult;
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.StudyVisitInstanceEntity;
+import com.clinprecision.clinopsservice.studyoperation.visit.entity.VisitStatus;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitWindowJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitWindowJdbcRepository.ComplianceUpdate;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.VisitWindowJdbcRepository.OpenVisitRow;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.eventhandling.gateway.EventGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Visit Window Sweeper - materializes the time-driven compliance status of open visits
+ *
+ * VisitComplianceService derives WINDOW_OPEN / APPROACHING_DEADLINE / OVERDUE / MISSED from
+ * the current date, so without a sweep these statuses only exist when a visit is read. Once a
+ * day (clinops.visit.window-sweep.cron) the sweeper writes them to
+ * study_visit_instances.compliance_status (indexed with study_id, so dashboards can filter on
+ * OVERDUE) and sets window_status = OUT_OF_WINDOW on open visits whose window has closed.
+ *
+ * Only visits whose status can have changed since the previous sweep date are read:
+ * - window_start in [last, today - 1] (window opened)
+ * - window_end in [last - 7, today + 2] (approaching deadline, overdue, missed after 7 days)
+ * The first sweep reads every open visit with a window. Rows are read in pages and updated
+ * in batches; a VisitWindowStatusChangedEvent is published for every changed status
+ * (VisitProjector records a protocol deviation for MISSED visits).
+ *
+ * The sweep runs on one instance at a time (ScheduledJobLease) and records the swept date,
+ * so restarts and other instances resume from it.
+ */
+@Service
+@Slf4j
+public class VisitWindowSweeper {
+
+    static final String JOB_NAME = "visit-window-sweep";
+
+    private static final String OUT_OF_WINDOW = "OUT_OF_WINDOW";
+    // Same thresholds as VisitComplianceService (OVERDUE -> MISSED, WINDOW_OPEN -> APPROACHING_DEADLINE)
+    private static final int MISSED_THRESHOLD_DAYS = 7;
+    private static final int APPROACHING_DEADLINE_DAYS = 2;
+    private static final LocalDate FIRST_SWEEP_FROM = LocalDate.of(1900, 1, 1);
+    private static final LocalDate FIRST_SWEEP_TO = LocalDate.of(9999, 12, 31);
+
+    private final VisitWindowJdbcRepository visitWindowRepository;
+    private final VisitComplianceService visitComplianceService;
+    private final ScheduledJobLease jobLease;
+    private final EventGateway eventGateway;
+    private final boolean enabled;
+    private final int pageSize;
+    private final Duration leaseDuration;
+
+    public VisitWindowSweeper(VisitWindowJdbcRepository visitWindowRepository,
+                              VisitComplianceService visitComplianceService,
+                              ScheduledJobLease jobLease,
+                              EventGateway eventGateway,
+                              @Value("${clinops.visit.window-sweep.enabled:true}") boolean enabled,
+                              @Value("${clinops.visit.window-sweep.page-size:1000}") int pageSize,
+                              @Value("${clinops.visit.window-sweep.lease-minutes:60}") long leaseMinutes) {
+        this.visitWindowRepository = visitWindowRepository;
+        this.visitComplianceService = visitComplianceService;
+        this.jobLease = jobLease;
+        this.eventGateway = eventGateway;
+        this.enabled = enabled;
+        this.pageSize = Math.max(1, pageSize);
+        this.leaseDuration = Duration.ofMinutes(Math.max(1, leaseMinutes));
+    }
+
+    @Scheduled(cron = "${clinops.visit.window-sweep.cron:0 5 0 * * *}")
+    public void scheduledSweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            sweep(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Visit window sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sweep the visits whose window boundary was crossed since the previous sweep
+     *
+     * @param today Date the compliance status is evaluated at
+     */
+    public VisitWindowSweepResult sweep(LocalDate today) {
+        if (!jobLease.claim(JOB_NAME, leaseDuration)) {
+            return VisitWindowSweepResult.builder().sweepDate(today).outcome("NOT_CLAIMED").build();
+        }
+
+        LocalDate previous = null;
+        try {
+            previous = jobLease.getLastRunDate(JOB_NAME).orElse(null);
+            if (previous != null && !previous.isBefore(today)) {
+                jobLease.release(JOB_NAME);
+                return VisitWindowSweepResult.builder()
+                    .sweepDate(today).previousSweepDate(previous).outcome("UP_TO_DATE").build();
+            }
+
+            SweepCounts counts = new SweepCounts();
+            if (previous == null) {
+                sweepByWindowEnd(FIRST_SWEEP_FROM, FIRST_SWEEP_TO, today, counts);
+            } else {
+                sweepByWindowEnd(previous.minusDays(MISSED_THRESHOLD_DAYS), today.plusDays(APPROACHING_DEADLINE_DAYS),
+                    today, counts);
+                sweepByWindowStart(previous, today.minusDays(1), today, counts);
+            }
+
+            jobLease.complete(JOB_NAME, today, counts.updated);
+            log.info("Visit window sweep for {} (previous {}): scanned={}, updated={}, events={}",
+                today, previous, counts.scanned, counts.updated, counts.events);
+            return VisitWindowSweepResult.builder()
+                .sweepDate(today)
+                .previousSweepDate(previous)
+                .outcome("COMPLETED")
+                .scannedVisits(counts.scanned)
+                .updatedVisits(counts.updated)
+                .eventsPublished(counts.events)
+                .build();
+
+        } catch (RuntimeException e) {
+            // Updates already written stay; the next sweep re-reads the same range
+            jobLease.release(JOB_NAME);
+            throw e;
+        }
+    }
+
+    private void sweepByWindowEnd(LocalDate from, LocalDate to, LocalDate today, SweepCounts counts) {
+        long afterId = 0;
+        List<OpenVisitRow> page;
+        do {
+            page = visitWindowRepository.findOpenVisitsByWindowEnd(from, to, afterId, pageSize);
+            apply(page, today, counts);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).id();
+        } while (page.size() == pageSize);
+    }
+
+    private void sweepByWindowStart(LocalDate from, LocalDate to, LocalDate today, SweepCounts counts) {
+        if (to.isBefore(from)) {
+            return;
+        }
+        long afterId = 0;
+        List<OpenVisitRow> page;
+        do {
+            page = visitWindowRepository.findOpenVisitsByWindowStart(from, to, afterId, pageSize);
+            apply(page, today, counts);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).id();
+        } while (page.size() == pageSize);
+    }
+
+    /**
+     * Write the changed statuses of a page, then publish their events
+     */
+    private void apply(List<OpenVisitRow> page, LocalDate today, SweepCounts counts) {
+        List<ComplianceUpdate> updates = new ArrayList<>();
+        List<VisitWindowStatusChangedEvent> events = new ArrayList<>();
+
+        for (OpenVisitRow row : page) {
+            StudyVisitInstanceEntity visit = StudyVisitInstanceEntity.builder()
+                .visitStatus(row.visitStatus() != null ? VisitStatus.fromString(row.visitStatus()) : null)
+                .visitWindowStart(row.visitWindowStart())
+                .visitWindowEnd(row.visitWindowEnd())
+                .build();
+            String complianceStatus = visitComplianceService.calculateComplianceStatus(visit, today);
+            String windowStatus = row.visitWindowEnd() != null && today.isAfter(row.visitWindowEnd())
+                ? OUT_OF_WINDOW
+                : row.windowStatus();
+
+            boolean complianceChanged = !Objects.equals(complianceStatus, row.complianceStatus());
+            if (!complianceChanged && Objects.equals(windowStatus, row.windowStatus())) {
+                continue;
+            }
+            updates.add(new ComplianceUpdate(row.studyId(), row.id(), complianceStatus, windowStatus));
+            if (complianceChanged) {
+                events.add(VisitWindowStatusChangedEvent.builder()
+                    .visitInstanceId(row.id())
+                    .studyId(row.studyId())
+                    .subjectId(row.subjectId())
+                    .studySiteId(row.studySiteId())
+                    .visitDefinitionId(row.visitDefinitionId())
+                    .oldComplianceStatus(row.complianceStatus())
+                    .newComplianceStatus(complianceStatus)
+                    .visitWindowStart(row.visitWindowStart())
+                    .visitWindowEnd(row.visitWindowEnd())
+                    .daysOverdue(visitComplianceService.getDaysOverdue(visit, today))
+                    .sweepDate(today)
+                    .build());
+            }
+        }
+
+        counts.scanned += page.size();
+        if (updates.isEmpty()) {
+            return;
+        }
+        counts.updated += visitWindowRepository.updateCompliance(updates);
+        if (!events.isEmpty()) {
+            eventGateway.publish(new ArrayList<Object>(events));
+            counts.events += events.size();
+        }
+    }
+
+    private static final class SweepCounts {
+        private int scanned;
+        private int updated;
+        private int events;
+    }
+}
@@ -0,0 +1,72 @@
+package com.clinprecision.clinopsservice.common.projection;
+
+import org.axonframework.messaging.responsetypes.ResponseType;
+import org.axonframework.queryhandling.DefaultSubscriptionQueryResult;
+import org.axonframework.queryhandling.QueryGateway;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for read-after-write when the projector runs on another instance (no update is emitted here)
+ */
+class ProjectionAwaiterTest {
+
+    private static final String QUERY = "find-read-model";
+
+    private final QueryGateway queryGateway = mock(QueryGateway.class);
+    private final ProjectionAwaiter awaiter = new ProjectionAwaiter(queryGateway, 5000, 20);
+
+    @Test
+    void projectionCommittedElsewhereIsFoundByRequery() {
+        subscribeWithoutUpdates(Optional.empty());
+        AtomicInteger queries = new AtomicInteger();
+        when(queryGateway.query(eq(QUERY), any(ResponseType.class))).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(queries.incrementAndGet() < 3 ? Optional.empty() : Optional.of("v1")));
+
+        long start = System.currentTimeMillis();
+        Optional<String> readModel = awaiter.sendAndAwait(QUERY, String.class, 5000, () -> { });
+
+        assertThat(readModel).contains("v1");
+        assertThat(System.currentTimeMillis() - start).isLessThan(5000);
+    }
+
+    @Test
+    void updateSkipsRowsFromBeforeTheCommand() {
+        subscribeWithoutUpdates(Optional.of("v1"));
+        AtomicInteger queries = new AtomicInteger();
+        when(queryGateway.query(eq(QUERY), any(ResponseType.class))).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(Optional.of(queries.incrementAndGet() < 3 ? "v1" : "v2")));
+
+        Optional<String> readModel = awaiter.sendAndAwaitUpdate(QUERY, String.class, 5000, () -> { },
+            "v2"::equals);
+
+        assertThat(readModel).contains("v2");
+    }
+
+    @Test
+    void staleRowIsNotReturnedAfterTimeout() {
+        subscribeWithoutUpdates(Optional.of("v1"));
+        when(queryGateway.query(eq(QUERY), any(ResponseType.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(Optional.of("v1")));
+
+        Optional<String> readModel = awaiter.sendAndAwaitUpdate(QUERY, String.class, 100, () -> { },
+            "v2"::equals);
+
+        assertThat(readModel).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void subscribeWithoutUpdates(Optional<String> initialResult) {
+        when(queryGateway.subscriptionQuery(eq(QUERY), any(ResponseType.class), any(ResponseType.class)))
+            .thenReturn(new DefaultSubscriptionQueryResult<>(Mono.just(initialResult), Flux.never(), () -> true));
+    }
+}
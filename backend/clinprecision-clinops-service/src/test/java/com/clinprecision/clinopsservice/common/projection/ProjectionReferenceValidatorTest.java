@@ -0,0 +1,87 @@
+package com.clinprecision.clinopsservice.common.projection;
+
+import com.clinprecision.clinopsservice.common.projection.ProjectionReferenceValidator.StudyReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the cached build / visit definition ownership checks
+ */
+class ProjectionReferenceValidatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void lookupLargerThanCacheIsValidatedInFull() {
+        ProjectionReferenceValidator validator = new ProjectionReferenceValidator(jdbcTemplate, 1);
+        returnOwners(Map.of(10L, 1L, 11L, 1L, 12L, 1L));
+
+        assertThatCode(() -> validator.requireBuilds(List.of(
+            new StudyReference(1L, 10L), new StudyReference(1L, 11L), new StudyReference(1L, 12L))))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void buildOfAnotherStudyIsRejectedAndNotTrustedLater() {
+        ProjectionReferenceValidator validator = new ProjectionReferenceValidator(jdbcTemplate, 100);
+        returnOwners(Map.of(10L, 2L));
+
+        assertThatThrownBy(() -> validator.requireBuilds(List.of(new StudyReference(1L, 10L))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("belongs to study 2");
+        assertThatThrownBy(() -> validator.requireBuilds(List.of(new StudyReference(1L, 10L))))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void validatedBuildsAreCached() {
+        ProjectionReferenceValidator validator = new ProjectionReferenceValidator(jdbcTemplate, 100);
+        returnOwners(Map.of(10L, 1L));
+
+        validator.requireBuilds(List.of(new StudyReference(1L, 10L)));
+        validator.requireBuilds(List.of(new StudyReference(1L, 10L)));
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void missingBuildIsRejected() {
+        ProjectionReferenceValidator validator = new ProjectionReferenceValidator(jdbcTemplate, 100);
+        returnOwners(Map.of());
+
+        assertThatThrownBy(() -> validator.requireBuilds(List.of(new StudyReference(1L, 10L))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("does not exist");
+    }
+
+    /**
+     * Answer ownership lookups with (id, study_id) rows of the requested IDs
+     */
+    private void returnOwners(Map<Long, Long> owners) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Object[] arguments = invocation.getArguments();
+            Object[] ids = Arrays.copyOfRange(arguments, 2, arguments.length);
+            for (Object id : ids) {
+                Long studyId = owners.get((Long) id);
+                if (studyId != null) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong(1)).thenReturn((Long) id);
+                    when(rs.getLong(2)).thenReturn(studyId);
+                    handler.processRow(rs);
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+}
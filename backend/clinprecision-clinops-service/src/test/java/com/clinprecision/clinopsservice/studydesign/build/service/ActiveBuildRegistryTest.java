@@ -0,0 +1,71 @@
+package com.clinprecision.clinopsservice.studydesign.build.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildEntity;
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import com.clinprecision.clinopsservice.studyoperation.visit.repository.StudyVisitInstanceRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for active build caching: local eviction and expiry of entries evicted on other instances
+ */
+class ActiveBuildRegistryTest {
+
+    private static final Long STUDY_ID = 1L;
+
+    private final StudyDatabaseBuildRepository buildRepository = mock(StudyDatabaseBuildRepository.class);
+    private final StudyVisitInstanceRepository visitInstanceRepository = mock(StudyVisitInstanceRepository.class);
+
+    @Test
+    void activeBuildIsCachedUntilEvicted() {
+        ActiveBuildRegistry registry = new ActiveBuildRegistry(buildRepository, visitInstanceRepository, 100, 60_000);
+        completedBuilds(build(10L), build(11L));
+
+        assertThat(registry.getActiveBuildId(STUDY_ID)).contains(10L);
+        assertThat(registry.getActiveBuildId(STUDY_ID)).contains(10L);
+
+        registry.onBuildStatusChanged(STUDY_ID);
+
+        assertThat(registry.getActiveBuildId(STUDY_ID)).contains(11L);
+    }
+
+    @Test
+    void expiredActiveBuildIsReloadedWithoutEviction() {
+        // A build completed on another instance: no eviction reaches this one
+        ActiveBuildRegistry registry = new ActiveBuildRegistry(buildRepository, visitInstanceRepository, 100, 0);
+        completedBuilds(build(10L), build(11L));
+
+        assertThat(registry.getActiveBuildId(STUDY_ID)).contains(10L);
+        assertThat(registry.getActiveBuildId(STUDY_ID)).contains(11L);
+    }
+
+    @Test
+    void expiredVisitBuildIsReloaded() {
+        ActiveBuildRegistry registry = new ActiveBuildRegistry(buildRepository, visitInstanceRepository, 100, 0);
+        when(visitInstanceRepository.findBuildIdByStudyIdAndId(STUDY_ID, 7L)).thenReturn(Optional.of(10L));
+
+        registry.getVisitBuildId(STUDY_ID, 7L);
+        registry.getVisitBuildId(STUDY_ID, 7L);
+
+        verify(visitInstanceRepository, times(2)).findBuildIdByStudyIdAndId(STUDY_ID, 7L);
+    }
+
+    private void completedBuilds(StudyDatabaseBuildEntity first, StudyDatabaseBuildEntity second) {
+        when(buildRepository.findTopByStudyIdAndBuildStatusOrderByBuildEndTimeDesc(STUDY_ID, StudyDatabaseBuildStatus.COMPLETED))
+            .thenReturn(Optional.of(first), Optional.of(second));
+    }
+
+    private static StudyDatabaseBuildEntity build(Long id) {
+        return StudyDatabaseBuildEntity.builder()
+            .id(id)
+            .studyId(STUDY_ID)
+            .buildRequestId("BUILD-" + id)
+            .buildStatus(StudyDatabaseBuildStatus.COMPLETED)
+            .build();
+    }
+}
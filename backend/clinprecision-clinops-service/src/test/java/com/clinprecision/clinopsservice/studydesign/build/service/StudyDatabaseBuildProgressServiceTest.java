@@ -0,0 +1,72 @@
+package com.clinprecision.clinopsservice.studydesign.build.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.dto.StudyDatabaseBuildDto;
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildEntity;
+import com.clinprecision.clinopsservice.studydesign.build.entity.StudyDatabaseBuildStatus;
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for closing build progress streams that the build's own instance will not close
+ */
+class StudyDatabaseBuildProgressServiceTest {
+
+    private static final String BUILD_UUID = "build-1";
+
+    private final StudyDatabaseBuildRepository buildRepository = mock(StudyDatabaseBuildRepository.class);
+    private final StudyDatabaseBuildProgressService service =
+        new StudyDatabaseBuildProgressService(buildRepository, 1800000);
+
+    private final StudyDatabaseBuildDto runningBuild = StudyDatabaseBuildDto.builder()
+        .aggregateUuid(BUILD_UUID)
+        .buildStatus(StudyDatabaseBuildStatus.IN_PROGRESS.name())
+        .inProgress(true)
+        .build();
+
+    @Test
+    void streamOpenedAfterTheBuildFinishedIsClosed() {
+        // The DTO was read while running; the build completed before the emitter was registered
+        buildStatus(StudyDatabaseBuildStatus.COMPLETED);
+
+        SseEmitter emitter = service.subscribe(runningBuild);
+
+        assertClosed(emitter);
+    }
+
+    @Test
+    void heartbeatClosesStreamsOfBuildsFinishedElsewhere() {
+        buildStatus(StudyDatabaseBuildStatus.IN_PROGRESS);
+        SseEmitter emitter = service.subscribe(runningBuild);
+
+        service.heartbeat();
+        assertOpen(emitter);
+
+        // The build finished on another instance: no complete() call reaches this one
+        buildStatus(StudyDatabaseBuildStatus.FAILED);
+        service.heartbeat();
+
+        assertClosed(emitter);
+    }
+
+    private void buildStatus(StudyDatabaseBuildStatus status) {
+        StudyDatabaseBuildEntity build = new StudyDatabaseBuildEntity();
+        build.setAggregateUuid(BUILD_UUID);
+        build.setBuildStatus(status);
+        when(buildRepository.findByAggregateUuid(BUILD_UUID)).thenReturn(Optional.of(build));
+    }
+
+    private static void assertOpen(SseEmitter emitter) {
+        assertThatCode(() -> emitter.send("ping")).doesNotThrowAnyException();
+    }
+
+    private static void assertClosed(SseEmitter emitter) {
+        // A completed emitter rejects further events
+        assertThatThrownBy(() -> emitter.send("ping")).isInstanceOf(IllegalStateException.class);
+    }
+}
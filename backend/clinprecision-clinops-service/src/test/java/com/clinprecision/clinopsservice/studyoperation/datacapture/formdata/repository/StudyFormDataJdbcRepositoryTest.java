@@ -0,0 +1,99 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository.FormVersion;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository.FormVersionKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for reading the latest version of forms (base of the next version's patch chain)
+ */
+class StudyFormDataJdbcRepositoryTest {
+
+    private static final FormVersionKey KEY = new FormVersionKey(1L, 5L, 1001L, 44L);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final StudyFormDataJdbcRepository repository =
+        new StudyFormDataJdbcRepository(jdbcTemplate, new ObjectMapper(), 500);
+
+    @Test
+    void latestVersionWithoutPatchDepthHasUnknownDepth() throws SQLException {
+        // Version written before patch depths were recorded: MAX(patch_depth) is NULL
+        ResultSet row = versionRow(118L, "{\"systolic_bp\":128}", null);
+        returnRows(row);
+
+        Map<FormVersionKey, FormVersion> versions = repository.findLatestVersions(List.of(KEY));
+
+        FormVersion version = versions.get(KEY);
+        assertThat(version).isNotNull();
+        assertThat(version.recordId()).isEqualTo(118L);
+        assertThat(version.formData()).containsEntry("systolic_bp", 128);
+        assertThat(version.patchDepth()).isNull();
+    }
+
+    @Test
+    void latestCheckpointHasDepthZero() throws SQLException {
+        ResultSet row = versionRow(119L, "{\"systolic_bp\":130}", 0);
+        returnRows(row);
+
+        FormVersion version = repository.findLatestVersions(List.of(KEY)).get(KEY);
+
+        assertThat(version.patchDepth()).isZero();
+    }
+
+    @Test
+    void noKeysQueryNothing() {
+        assertThat(repository.findLatestVersions(List.of())).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Result row of SELECT_LATEST_VERSIONS_SQL; wasNull() reflects the column read last
+     */
+    private static ResultSet versionRow(long recordId, String formData, Integer patchDepth) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        boolean[] lastWasNull = {false};
+        when(rs.getLong(anyInt())).thenAnswer(invocation -> {
+            lastWasNull[0] = false;
+            return switch ((int) invocation.getArgument(0)) {
+                case 1 -> recordId;
+                case 2 -> KEY.studyId();
+                case 3 -> KEY.formId();
+                case 4 -> KEY.subjectId();
+                case 5 -> KEY.visitId();
+                default -> throw new SQLException("Unexpected column " + invocation.getArgument(0));
+            };
+        });
+        when(rs.getString(6)).thenAnswer(invocation -> {
+            lastWasNull[0] = formData == null;
+            return formData;
+        });
+        when(rs.getInt(7)).thenAnswer(invocation -> {
+            lastWasNull[0] = patchDepth == null;
+            return patchDepth != null ? patchDepth : 0;
+        });
+        when(rs.wasNull()).thenAnswer(invocation -> lastWasNull[0]);
+        return rs;
+    }
+
+    private void returnRows(ResultSet... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+}
@@ -0,0 +1,79 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.service;
+
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.audit.JsonPatch;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.dto.FormDataSnapshotDto;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataHistoryJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataHistoryJdbcRepository.HistoryRow;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.formdata.repository.StudyFormDataJdbcRepository.FormVersionKey;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for point-in-time reconstruction of forms with versions written before patch depths
+ * were recorded (NULL patch_depth)
+ */
+class FormDataHistoryServiceTest {
+
+    private static final FormVersionKey KEY = new FormVersionKey(1L, 5L, 1001L, 44L);
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 11, 28, 10, 0);
+
+    private final StudyFormDataHistoryJdbcRepository historyRepository = mock(StudyFormDataHistoryJdbcRepository.class);
+    private final FormDataHistoryService service = new FormDataHistoryService(historyRepository);
+
+    /** Legacy first version: full data, unknown depth */
+    private final HistoryRow legacyInsert = new HistoryRow(100L, 10L, null, DAY, 42L, true,
+        Map.of("systolic_bp", 120, "diastolic_bp", 80), null, "SUBMITTED");
+
+    /** Legacy second version: field diff, unknown depth */
+    private final HistoryRow legacyDiff = new HistoryRow(101L, 11L, 10L, DAY.plusDays(1), 42L, false,
+        Map.of("systolic_bp", 125), null, "SUBMITTED");
+
+    @Test
+    void versionAfterNullDepthIsReconstructedFromItsOwnCheckpoint() {
+        // The version based on a NULL depth previous version starts a new checkpoint,
+        // so its history does not depend on the legacy rows
+        Map<String, Object> current = Map.of("systolic_bp", 128, "diastolic_bp", 82);
+        HistoryRow checkpoint = new HistoryRow(102L, 12L, 11L, DAY.plusDays(2), 43L, true, current,
+            JsonPatch.diff(Map.of("systolic_bp", 125, "diastolic_bp", 80), current), "SUBMITTED");
+        HistoryRow patched = new HistoryRow(103L, 13L, 12L, DAY.plusDays(3), 43L, false, null,
+            JsonPatch.diff(current, Map.of("systolic_bp", 130, "diastolic_bp", 82)), "SUBMITTED");
+        when(historyRepository.findVersionKey(13L)).thenReturn(Optional.of(KEY));
+        when(historyRepository.findHistorySinceCheckpoint(KEY, null, null)).thenReturn(List.of(checkpoint, patched));
+
+        FormDataSnapshotDto snapshot = service.reconstruct(13L, null, null).orElseThrow();
+
+        assertThat(snapshot.getRecordId()).isEqualTo(13L);
+        assertThat(snapshot.getFormData()).isEqualTo(Map.of("systolic_bp", 130, "diastolic_bp", 82));
+        assertThat(snapshot.getCheckpointAuditId()).isEqualTo(102L);
+        assertThat(snapshot.getPatchesApplied()).isEqualTo(1);
+    }
+
+    @Test
+    void nullDepthVersionIsReconstructedFromLegacyDiffs() {
+        when(historyRepository.findVersionKey(11L)).thenReturn(Optional.of(KEY));
+        when(historyRepository.findHistorySinceCheckpoint(KEY, 101L, null)).thenReturn(List.of(legacyInsert, legacyDiff));
+
+        FormDataSnapshotDto snapshot = service.reconstruct(11L, null, 101L).orElseThrow();
+
+        assertThat(snapshot.getRecordId()).isEqualTo(11L);
+        assertThat(snapshot.getFormData()).isEqualTo(Map.of("systolic_bp", 125, "diastolic_bp", 80));
+        assertThat(snapshot.getCheckpointAuditId()).isEqualTo(100L);
+        assertThat(snapshot.getPatchesApplied()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownRecordIsRejected() {
+        when(historyRepository.findVersionKey(anyLong())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.reconstruct(99L, null, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.clinprecision.clinopsservice.studyoperation.datacapture.validation.service;
+
+import com.clinprecision.clinopsservice.studydesign.build.repository.StudyDatabaseBuildJdbcRepository.EditCheckRow;
+import com.clinprecision.clinopsservice.studydesign.build.service.ActiveBuildRegistry;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.EditCheckRunResult;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.dto.ValidationFinding;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.engine.ValidationRuleCompiler;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository.ValidationRuleJdbcRepository;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository.ValidationRuleJdbcRepository.BuildInfo;
+import com.clinprecision.clinopsservice.studyoperation.datacapture.validation.repository.ValidationRuleJdbcRepository.SubjectFormData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for bulk edit check runs across the subjects of a study
+ */
+class FormValidationServiceTest {
+
+    private static final Long STUDY_ID = 1L;
+    private static final Long BUILD_ID = 10L;
+    private static final Long SUBJECT_ID = 1001L;
+
+    private final ValidationRuleJdbcRepository ruleRepository = mock(ValidationRuleJdbcRepository.class);
+    private final FormValidationService service = new FormValidationService(ruleRepository,
+        new ValidationRuleCompiler(new ObjectMapper(), true, 10), mock(ActiveBuildRegistry.class), true, 100, 8);
+
+    @BeforeEach
+    void setUp() {
+        when(ruleRepository.findBuild(BUILD_ID)).thenReturn(Optional.of(new BuildInfo(STUDY_ID, "COMPLETED")));
+        when(ruleRepository.findFormFields(STUDY_ID)).thenReturn(Map.of());
+        when(ruleRepository.findValidationRules(BUILD_ID)).thenReturn(List.of());
+        when(ruleRepository.findSubjectsWithSubmittedData(STUDY_ID)).thenReturn(List.of(SUBJECT_ID));
+    }
+
+    @Test
+    void repeatedVisitFormsAreCheckedPerVisit() {
+        editChecks(check("WEIGHT_RANGE", "RANGE", "{\"field\": \"weight\", \"min\": 30, \"max\": 150}"));
+        // Same vitals form at two visits: the out-of-range value of visit 44 must not be hidden by visit 45
+        subjectData(Map.of(), Map.of(44L, Map.of("weight", 200), 45L, Map.of("weight", 70)));
+
+        EditCheckRunResult result = service.runStudyEditChecks(STUDY_ID, BUILD_ID);
+
+        assertThat(result.getChecksEvaluated()).isEqualTo(2);
+        assertThat(result.getChecksFailed()).isEqualTo(1);
+        List<ValidationFinding> findings = result.getFindingsBySubject().get(SUBJECT_ID);
+        assertThat(findings).singleElement()
+            .satisfies(finding -> assertThat(finding.getVisitId()).isEqualTo(44L));
+    }
+
+    @Test
+    void visitChecksSeeFieldsOfFormsWithoutVisit() {
+        editChecks(check("VISIT_AFTER_CONSENT", "CONSISTENCY", "{\"rule\": \"visit_date >= consent_date\"}"));
+        subjectData(Map.of("consent_date", "2025-03-01"),
+            Map.of(44L, Map.of("visit_date", "2025-02-15"), 45L, Map.of("visit_date", "2025-04-01")));
+
+        EditCheckRunResult result = service.runStudyEditChecks(STUDY_ID, BUILD_ID);
+
+        assertThat(result.getFindingsBySubject().get(SUBJECT_ID)).singleElement()
+            .satisfies(finding -> assertThat(finding.getVisitId()).isEqualTo(44L));
+    }
+
+    @Test
+    void subjectLevelChecksRunOncePerSubject() {
+        editChecks(check("CORE_FIELDS", "MISSING", "{\"requiredFields\": [\"weight\", \"height\"]}"));
+        subjectData(Map.of(), Map.of(44L, Map.of("weight", 70), 45L, Map.of("weight", 71)));
+
+        EditCheckRunResult result = service.runStudyEditChecks(STUDY_ID, BUILD_ID);
+
+        assertThat(result.getChecksEvaluated()).isEqualTo(1);
+        assertThat(result.getFindingsBySubject().get(SUBJECT_ID)).singleElement()
+            .satisfies(finding -> assertThat(finding.getVisitId()).isNull());
+    }
+
+    private void editChecks(EditCheckRow... checks) {
+        when(ruleRepository.findEditChecks(BUILD_ID)).thenReturn(List.of(checks));
+    }
+
+    private void subjectData(Map<String, Object> unscheduled, Map<Long, Map<String, Object>> visits) {
+        Map<String, Object> merged = new HashMap<>(unscheduled);
+        visits.values().forEach(merged::putAll);
+        when(ruleRepository.findLatestSubjectFormData(eq(STUDY_ID), anyCollection())).thenReturn(Map.of(SUBJECT_ID,
+            new SubjectFormData(merged, unscheduled, new LinkedHashMap<>(visits))));
+    }
+
+    private static EditCheckRow check(String name, String type, String logic) {
+        return EditCheckRow.builder()
+            .studyId(STUDY_ID)
+            .buildId(BUILD_ID)
+            .checkName(name)
+            .checkType(type)
+            .checkLogic(logic)
+            .actionRequired("WARN")
+            .build();
+    }
+}
@@ -1154,7 +1154,7 @@ CREATE TABLE site_studies (
 	status enum('ACTIVE','CLOSED','INACTIVE','PENDING','SUSPENDED') DEFAULT NULL,
 	study_id bigint NOT NULL,
 	subject_enrollment_cap int DEFAULT NULL,
-	subject_enrollment_count int DEFAULT NULL,
+	subject_enrollment_count int NOT NULL DEFAULT 0 COMMENT 'Enrollment slots taken (reserved by PatientEnrollmentService)',
 	updated_at datetime(6) DEFAULT NULL,
 	site_id bigint NOT NULL,
     UNIQUE KEY UK_site_study_id_study_sites (site_id,study_id),
@@ -1342,7 +1342,9 @@ CREATE TABLE IF NOT EXISTS patient_enrollment_audit (
     ip_address VARCHAR(45),
     user_agent TEXT,
     reason TEXT,
+    event_id VARCHAR(255) NULL COMMENT 'Identifier of the projected event (idempotency on replay)',
     
+    UNIQUE KEY uk_audit_event_id (event_id),
     INDEX idx_audit_entity_type (entity_type),
     INDEX idx_audit_entity_id (entity_id),
     INDEX idx_audit_entity_uuid (entity_aggregate_uuid),
@@ -1405,6 +1407,75 @@ CREATE TABLE IF NOT EXISTS patient_status_history (
     
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Tracks all patient status transitions with complete audit trail. Each status change generates one record capturing who, when, why, and what changed. Required for FDA 21 CFR Part 11 compliance and regulatory audits.Status flow: REGISTERED → SCREENING → ENROLLED → ACTIVE → COMPLETED/WITHDRAWN';
 
+-- Current status read model (one row per patient, maintained by PatientEnrollmentProjector)
+CREATE TABLE IF NOT EXISTS patient_current_status (
+    patient_id BIGINT NOT NULL PRIMARY KEY COMMENT 'FK to patients table (read model)',
+    aggregate_uuid VARCHAR(255) NOT NULL COMMENT 'Patient aggregate UUID for event sourcing',
+    study_id BIGINT NULL COMMENT 'Study of the patient''s latest enrollment (NULL until enrolled)',
+    current_status VARCHAR(50) NOT NULL COMMENT 'Current patient status (new_status of the latest status change)',
+    previous_status VARCHAR(50) NULL COMMENT 'Status before the current status',
+    status_since TIMESTAMP NOT NULL COMMENT 'changed_at of the status change that entered the current status',
+    status_history_id BIGINT NULL COMMENT 'patient_status_history record of the current status',
+    changed_by VARCHAR(100) NULL COMMENT 'User who performed the current status change',
+    status_change_count INT NOT NULL DEFAULT 0 COMMENT 'Number of status history records of the patient',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (patient_id) REFERENCES patients(id) ON DELETE CASCADE,
+
+    INDEX idx_pcs_study_status_since (study_id, current_status, status_since),
+    INDEX idx_pcs_status_since (current_status, status_since)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Current status of each patient, maintained by PatientEnrollmentProjector with every patient_status_history record. Answers current-status queries (patients in a status, patients stuck in a status) without searching the history.';
+
+-- Patient status analytics rollups (maintained by PatientStatusRollupProjector)
+CREATE TABLE IF NOT EXISTS patient_status_transition_daily (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    activity_date DATE NOT NULL COMMENT 'Day of the status changes (date of changed_at)',
+    study_id BIGINT NOT NULL DEFAULT 0 COMMENT 'Study of the patient (0 = not enrolled)',
+    previous_status VARCHAR(50) NOT NULL DEFAULT '' COMMENT 'Previous status ('''' = initial registration)',
+    new_status VARCHAR(50) NOT NULL COMMENT 'New status',
+    changed_by VARCHAR(100) NOT NULL DEFAULT '' COMMENT 'User who performed the status changes',
+    transition_count INT NOT NULL DEFAULT 0 COMMENT 'Number of status changes',
+    duration_count INT NOT NULL DEFAULT 0 COMMENT 'Status changes with a known time in the previous status',
+    duration_days_total BIGINT NOT NULL DEFAULT 0 COMMENT 'Total days spent in the previous status',
+    days_0_7 INT NOT NULL DEFAULT 0 COMMENT 'Status changes after 0-7 days in the previous status',
+    days_8_30 INT NOT NULL DEFAULT 0 COMMENT 'Status changes after 8-30 days in the previous status',
+    days_31_90 INT NOT NULL DEFAULT 0 COMMENT 'Status changes after 31-90 days in the previous status',
+    days_over_90 INT NOT NULL DEFAULT 0 COMMENT 'Status changes after more than 90 days in the previous status',
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    UNIQUE KEY uk_pstd_rollup (activity_date, study_id, previous_status, new_status, changed_by),
+    INDEX idx_pstd_study_date (study_id, activity_date),
+    INDEX idx_pstd_user_date (changed_by, activity_date)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Daily patient status transition rollups (per study, transition and user) with a histogram of days spent in the previous status. Maintained by PatientStatusRollupProjector; rebuilt by replaying patient-status-rollup-projection.';
+
+CREATE TABLE IF NOT EXISTS patient_status_rollup_state (
+    patient_aggregate_uuid VARCHAR(255) NOT NULL PRIMARY KEY COMMENT 'Patient aggregate UUID',
+    study_id BIGINT NULL COMMENT 'Study of the latest enrollment',
+    first_status_at TIMESTAMP NULL COMMENT 'Time of the first status change (registration)',
+    last_status_at TIMESTAMP NULL COMMENT 'Time of the latest status change',
+    status_change_count INT NOT NULL DEFAULT 0 COMMENT 'Number of status changes (including registration)',
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Per-patient state of PatientStatusRollupProjector (study and status change times used for durations).';
+
+CREATE TABLE IF NOT EXISTS projection_dead_letters (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    processing_group VARCHAR(100) NOT NULL COMMENT 'Axon processing group of the projector',
+    event_type VARCHAR(255) NOT NULL COMMENT 'Payload type of the event',
+    aggregate_uuid VARCHAR(255) NOT NULL COMMENT 'Aggregate the event belongs to',
+    study_id BIGINT NULL COMMENT 'Study of the event, if any',
+    payload JSON NULL COMMENT 'Event payload',
+    error_message TEXT NULL COMMENT 'Error of the latest failed attempt',
+    attempts INT NOT NULL DEFAULT 1 COMMENT 'Number of times the event failed on its own',
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    UNIQUE KEY uk_pdl_group_aggregate (processing_group, aggregate_uuid),
+    INDEX idx_pdl_study (study_id)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Events a batched projector could not project on their own (skipped). Written by FormDataProjector.';
+
 -- Study Validation Rules table
 -- Note: References form_definitions from consolidated schema instead of redundant study_form_definitions
 CREATE TABLE study_validation_rules (
@@ -1533,9 +1604,9 @@ CREATE TABLE study_build_notifications (
 
 
 CREATE TABLE IF NOT EXISTS study_form_data (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-	aggregate_uuid VARCHAR(36) NULL UNIQUE COMMENT 'UUID of the FormData aggregate (for event sourcing)',
-	build_id BIGINT NULL COMMENT 'FK to study_database_builds - tracks which form definition version was used for this submission',
+    id BIGINT AUTO_INCREMENT,
+	aggregate_uuid VARCHAR(36) NULL COMMENT 'UUID of the FormData aggregate (for event sourcing)',
+	build_id BIGINT NULL COMMENT 'References study_database_builds - tracks which form definition version was used for this submission',
     study_id BIGINT NOT NULL,
     form_id BIGINT NOT NULL,
     subject_id BIGINT,
@@ -1557,6 +1628,7 @@ CREATE TABLE IF NOT EXISTS study_form_data (
     created_by BIGINT,
     updated_by BIGINT,
     
+    PRIMARY KEY (id, study_id),
     INDEX idx_study (study_id),
     INDEX idx_study_form (study_id, form_id),
     INDEX idx_study_subject (study_id, subject_id),
@@ -1565,23 +1637,26 @@ CREATE TABLE IF NOT EXISTS study_form_data (
     INDEX idx_status (study_id, status),
     INDEX idx_created (study_id, created_at),
     INDEX idx_subject_visit (study_id, subject_id, visit_id),
-	INDEX idx_study_form_data_completion (completed_fields, total_fields, status),
-    
-   CONSTRAINT fk_sfd_study FOREIGN KEY (study_id) REFERENCES studies(id) ON DELETE CASCADE,
-   CONSTRAINT fk_study_form_data_build FOREIGN KEY (build_id) REFERENCES study_database_builds(id) ON DELETE RESTRICT
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
--- PARTITION BY HASH(study_id) PARTITIONS 16;
+	INDEX idx_study_form_data_completion (completed_fields, total_fields, status)
+    -- No foreign keys (not supported on partitioned tables): study and build references are
+    -- checked by FormDataProjector (ProjectionReferenceValidator)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY HASH(study_id) PARTITIONS 16;
 
 -- Study Form Data Audit - Audit trail for all form data changes (FDA 21 CFR Part 11)
 CREATE TABLE IF NOT EXISTS study_form_data_audit (
-    audit_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    audit_id BIGINT AUTO_INCREMENT,
     study_id BIGINT NOT NULL,
-	build_id BIGINT NULL COMMENT 'FK to study_database_builds - tracks protocol version when change was made (FDA 21 CFR Part 11 compliance)',
+	build_id BIGINT NULL COMMENT 'References study_database_builds - tracks protocol version when change was made (FDA 21 CFR Part 11 compliance)',
     record_id BIGINT NOT NULL,              -- ID from study_form_data
+    base_record_id BIGINT NULL COMMENT 'study_form_data.id of the previous version of the form, the base of patch (NULL for the first version)',
 	aggregate_uuid VARCHAR(255),
     action VARCHAR(20) NOT NULL,            -- INSERT, UPDATE, DELETE, LOCK, UNLOCK
-    old_data JSON,                          -- Previous state (NULL for INSERT)
-    new_data JSON,                          -- New state (NULL for DELETE)
+    old_data JSON,                          -- Previous state (trigger rows for out-of-band changes)
+    new_data JSON,                          -- Complete form data for checkpoints (NULL for other submission rows and DELETE)
+    patch JSON NULL COMMENT 'RFC 6902 patch from the base_record_id version (NULL for the first version of a form)',
+    is_checkpoint BOOLEAN NOT NULL DEFAULT FALSE COMMENT 'TRUE when new_data holds the complete form data',
+    patch_depth INT NULL COMMENT 'Patches since the last checkpoint of the form (0 = checkpoint)',
     changed_by BIGINT,
     changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     change_reason TEXT,
@@ -1589,22 +1664,43 @@ CREATE TABLE IF NOT EXISTS study_form_data_audit (
 	event_id VARCHAR(255),
     user_agent TEXT,
     
+    PRIMARY KEY (audit_id, study_id),
     INDEX idx_study (study_id),
     INDEX idx_record (study_id, record_id),
     INDEX idx_changed_at (changed_at),
     INDEX idx_changed_by (changed_by),
-    INDEX idx_action (action),
-	CONSTRAINT fk_study_form_data_audit_build FOREIGN KEY (build_id) REFERENCES study_database_builds(id) ON DELETE RESTRICT
+    INDEX idx_action (action)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY HASH(study_id) PARTITIONS 16;
+
+-- Study Form Field Values - Typed values of searchable form fields (read model)
+-- Maintained by FormDataProjector for the current version of each form; rebuildable from study_form_data
+CREATE TABLE IF NOT EXISTS study_form_field_values (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    study_id BIGINT NOT NULL,
+    form_id BIGINT NOT NULL,
+    field_name VARCHAR(255) NOT NULL,
+    value_num DECIMAL(30,10) NULL COMMENT 'Value of number fields',
+    value_text VARCHAR(255) NULL COMMENT 'Value of text fields (truncated to 255 characters)',
+    value_date DATE NULL COMMENT 'Value of date fields',
+    record_id BIGINT NOT NULL COMMENT 'study_form_data.id of the current version of the form',
+    subject_id BIGINT NULL,
+    visit_id BIGINT NULL,
+    
+    INDEX idx_sffv_num (study_id, form_id, field_name, value_num),
+    INDEX idx_sffv_text (study_id, form_id, field_name, value_text),
+    INDEX idx_sffv_date (study_id, form_id, field_name, value_date),
+    INDEX idx_sffv_subject (study_id, subject_id, form_id, field_name),
+    INDEX idx_sffv_record (record_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
--- PARTITION BY HASH(study_id) PARTITIONS 16;
 
 -- Study Visit Instances - Tracks actual visit occurrences for subjects
 CREATE TABLE IF NOT EXISTS study_visit_instances (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT AUTO_INCREMENT,
 	aggregate_uuid VARCHAR(36) NULL COMMENT 'UUID for event sourcing - populated for unscheduled visits created via events',
-	build_id BIGINT NULL COMMENT 'FK to study_database_builds - tracks which build version was used for this patient',
+	build_id BIGINT NULL COMMENT 'References study_database_builds - tracks which build version was used for this patient',
     study_id BIGINT NOT NULL,
-    visit_id BIGINT NOT NULL COMMENT 'FK to visit_definitions.id - now supports both scheduled and unscheduled visits',               -- FK to visit_definitions
+    visit_id BIGINT NOT NULL COMMENT 'References visit_definitions.id - now supports both scheduled and unscheduled visits',               -- visit_definitions
     subject_id BIGINT NOT NULL,             -- FK to study_subjects
     site_id BIGINT,
     visit_date DATE,                        -- Scheduled/planned date
@@ -1618,22 +1714,44 @@ CREATE TABLE IF NOT EXISTS study_visit_instances (
     created_by BIGINT,
     updated_by BIGINT,
     
+    PRIMARY KEY (id, study_id),
     INDEX idx_study (study_id),
     INDEX idx_study_subject (study_id, subject_id),
     INDEX idx_study_visit (study_id, visit_id),
     INDEX idx_subject_visit (subject_id, visit_id),
     INDEX idx_status (study_id, visit_status),
-    INDEX idx_visit_date (study_id, visit_date),
+    INDEX idx_visit_date (study_id, visit_date)
+    -- No foreign keys (not supported on partitioned tables): study, build and visit definition
+    -- references are checked by VisitProjector / ProtocolVisitInstantiationService
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY HASH(study_id) PARTITIONS 16;
+
+-- Study Visit Form Completion - Per-visit form counters (read model)
+-- Maintained incrementally by FormDataProjector / VisitProjector; source of study_visit_instances.completion_percentage
+CREATE TABLE IF NOT EXISTS study_visit_form_completion (
+    visit_instance_id BIGINT PRIMARY KEY COMMENT 'study_visit_instances.id (partitioned table, no foreign key)',
+    study_id BIGINT NOT NULL,
+    required_forms INT NOT NULL DEFAULT 0 COMMENT 'Forms assigned to the visit definition in the visit build',
+    submitted_forms INT NOT NULL DEFAULT 0 COMMENT 'Distinct forms with a SUBMITTED or LOCKED record',
+    locked_forms INT NOT NULL DEFAULT 0 COMMENT 'Distinct forms with a LOCKED record',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
-   CONSTRAINT fk_svi_study FOREIGN KEY (study_id) REFERENCES studies(id) ON DELETE CASCADE,
-   CONSTRAINT fk_svi_visit_definition FOREIGN KEY (visit_id) REFERENCES visit_definitions(id) ON DELETE CASCADE,
-   CONSTRAINT fk_visit_instance_build FOREIGN KEY (build_id) REFERENCES study_database_builds(id) ON DELETE RESTRICT
+    INDEX idx_study (study_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Scheduled Job Runs - Last run and lease of cluster-wide scheduled jobs (e.g. VisitWindowSweeper)
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_run_date DATE NULL COMMENT 'Business date the job last completed for',
+    last_run_at TIMESTAMP NULL COMMENT 'When the last run completed',
+    last_run_rows INT NULL COMMENT 'Rows changed by the last run',
+    locked_by VARCHAR(255) NULL COMMENT 'Instance holding the lease while a run is in progress',
+    locked_until TIMESTAMP NULL COMMENT 'Lease expiry (a crashed run is taken over after it)'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
--- PARTITION BY HASH(study_id) PARTITIONS 16;
 
 -- Study Visit Instances Audit - Audit trail for visit changes
 CREATE TABLE IF NOT EXISTS study_visit_instances_audit (
-    audit_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    audit_id BIGINT AUTO_INCREMENT,
     study_id BIGINT NOT NULL,
     record_id BIGINT NOT NULL,              -- ID from study_visit_instances
     action VARCHAR(20) NOT NULL,            -- INSERT, UPDATE, DELETE
@@ -1643,11 +1761,12 @@ CREATE TABLE IF NOT EXISTS study_visit_instances_audit (
     changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     change_reason TEXT,
     
+    PRIMARY KEY (audit_id, study_id),
     INDEX idx_study (study_id),
     INDEX idx_record (study_id, record_id),
     INDEX idx_changed_at (changed_at)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
--- PARTITION BY HASH(study_id) PARTITIONS 16;
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY HASH(study_id) PARTITIONS 16;
 
 -- ============================================================================
 -- 2. CONFIGURATION TABLES (Study-specific settings)
@@ -1658,6 +1777,7 @@ CREATE TABLE IF NOT EXISTS study_visit_instances_audit (
 CREATE TABLE IF NOT EXISTS study_form_validation_rules (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     study_id BIGINT NOT NULL,
+    build_id BIGINT NULL,                  -- Build that generated/carried forward this rule
     form_id BIGINT NOT NULL,
     field_name VARCHAR(100) NOT NULL,
     rule_type VARCHAR(50) NOT NULL,        -- REQUIRED, RANGE, REGEX, DATE_RANGE, CUSTOM
@@ -1670,6 +1790,7 @@ CREATE TABLE IF NOT EXISTS study_form_validation_rules (
     
     INDEX idx_study_form (study_id, form_id),
     INDEX idx_field (study_id, form_id, field_name),
+    INDEX idx_sfvr_build_form (build_id, form_id),
     
     CONSTRAINT fk_sfvr_study FOREIGN KEY (study_id) REFERENCES studies(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -1679,6 +1800,7 @@ CREATE TABLE IF NOT EXISTS study_form_validation_rules (
 CREATE TABLE IF NOT EXISTS study_edit_checks (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     study_id BIGINT NOT NULL,
+    build_id BIGINT NULL,                  -- Build that generated/carried forward this check
     check_name VARCHAR(255) NOT NULL,
     check_type VARCHAR(50) NOT NULL,       -- RANGE, CONSISTENCY, MISSING, DUPLICATE, CROSS_FORM
     check_logic JSON,                      -- Logic definition (SQL, JavaScript, or JSON rules)
@@ -1692,6 +1814,7 @@ CREATE TABLE IF NOT EXISTS study_edit_checks (
     INDEX idx_study (study_id),
     INDEX idx_type (study_id, check_type),
     INDEX idx_severity (study_id, severity),
+    INDEX idx_sec_build (build_id),
     
     CONSTRAINT fk_sec_study FOREIGN KEY (study_id) REFERENCES studies(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -1716,6 +1839,24 @@ CREATE TABLE IF NOT EXISTS study_database_build_config (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 
+-- Study Build Design Fingerprints - Content hash of every design entity per build
+-- Used to compute the delta between builds so rebuilds only regenerate changed configuration
+CREATE TABLE IF NOT EXISTS study_build_design_fingerprints (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    build_id BIGINT NOT NULL,              -- FK to study_database_builds
+    study_id BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,      -- FORM, VISIT, ARM
+    entity_id BIGINT NOT NULL,
+    content_hash CHAR(64) NOT NULL,        -- SHA-256 (hex) of the entity's build-relevant content
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    UNIQUE KEY uk_sbdf_build_entity (build_id, entity_type, entity_id),
+    INDEX idx_study (study_id),
+    
+    CONSTRAINT fk_sbdf_build FOREIGN KEY (build_id) REFERENCES study_database_builds(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+
 -- Audit and logging tables
 CREATE TABLE audit_trail (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -1891,7 +2032,7 @@ CREATE TABLE IF NOT EXISTS protocol_deviations (
     FOREIGN KEY (patient_id) REFERENCES patients(id) ON DELETE CASCADE,
     FOREIGN KEY (study_id) REFERENCES studies(id) ON DELETE CASCADE,
     FOREIGN KEY (study_site_id) REFERENCES site_studies(id) ON DELETE SET NULL,
-    FOREIGN KEY (visit_instance_id) REFERENCES study_visit_instances(id) ON DELETE SET NULL,
+    -- visit_instance_id: study_visit_instances is partitioned (no foreign key)
     
     -- Indexes for performance
     INDEX idx_protocol_deviations_patient (patient_id),
@@ -2041,6 +2182,7 @@ CREATE INDEX idx_study_form_data_study_build ON study_form_data(study_id, build_
 CREATE INDEX idx_study_form_data_form_build ON study_form_data(form_id, build_id);
 CREATE INDEX idx_compliance_status ON study_visit_instances(study_id, compliance_status);
 CREATE INDEX idx_window_dates ON study_visit_instances(visit_window_start, visit_window_end);
+CREATE INDEX idx_window_end ON study_visit_instances(visit_window_end);
 
 
 
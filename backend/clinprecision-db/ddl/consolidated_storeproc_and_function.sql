@@ -119,30 +119,9 @@ END //
 -- 3. TRIGGERS FOR AUDIT TRAIL (FDA 21 CFR Part 11 Compliance)
 -- ============================================================================
 
--- Trigger: Audit INSERT on study_form_data
+-- No INSERT trigger on study_form_data: FormDataProjector writes the (field-level diff)
+-- audit record of every submission (see migrations/V1.20__compact_form_data_audit.sql)
 DELIMITER $$
-CREATE TRIGGER trg_study_form_data_insert
-AFTER INSERT ON study_form_data
-FOR EACH ROW
-BEGIN
-    INSERT INTO study_form_data_audit (
-        study_id, record_id, action, new_data, changed_by, changed_at
-    ) VALUES (
-        NEW.study_id, 
-        NEW.id, 
-        'INSERT',
-        JSON_OBJECT(
-            'form_id', NEW.form_id,
-            'subject_id', NEW.subject_id,
-            'visit_id', NEW.visit_id,
-            'status', NEW.status,
-            'form_data', NEW.form_data,
-            'created_by', NEW.created_by
-        ),
-        NEW.created_by,
-        NOW()
-    );
-END$$
 
 -- Trigger: Audit UPDATE on study_form_data
 CREATE TRIGGER trg_study_form_data_update
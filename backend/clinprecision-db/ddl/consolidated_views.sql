@@ -19,22 +19,18 @@ GROUP BY s.id, s.name;
 
 CREATE OR REPLACE VIEW v_patient_current_status AS
 SELECT 
-    psh.patient_id,
-    psh.aggregate_uuid,
-    psh.new_status AS current_status,
-    psh.previous_status,
+    pcs.patient_id,
+    pcs.aggregate_uuid,
+    pcs.study_id,
+    pcs.current_status,
+    pcs.previous_status,
     psh.reason,
-    psh.changed_by,
-    psh.changed_at,
+    pcs.changed_by,
+    pcs.status_since AS changed_at,
     psh.notes,
-    DATEDIFF(NOW(), psh.changed_at) AS days_in_current_status
-FROM patient_status_history psh
-INNER JOIN (
-    SELECT patient_id, MAX(changed_at) AS max_changed_at
-    FROM patient_status_history
-    GROUP BY patient_id
-) latest ON psh.patient_id = latest.patient_id 
-    AND psh.changed_at = latest.max_changed_at;
+    DATEDIFF(NOW(), pcs.status_since) AS days_in_current_status
+FROM patient_current_status pcs
+LEFT JOIN patient_status_history psh ON psh.id = pcs.status_history_id;
 
 
 CREATE OR REPLACE VIEW v_status_transition_summary AS
@@ -0,0 +1,12 @@
+-- Reverse Migration: Incremental study database builds
+-- Purpose: Rollback V1.18__add_build_design_fingerprints.sql
+
+ALTER TABLE study_edit_checks
+    DROP INDEX idx_sec_build,
+    DROP COLUMN build_id;
+
+ALTER TABLE study_form_validation_rules
+    DROP INDEX idx_sfvr_build_form,
+    DROP COLUMN build_id;
+
+DROP TABLE IF EXISTS study_build_design_fingerprints;
@@ -0,0 +1,4 @@
+-- Reverse Migration: Incrementally maintained visit completion counters
+-- Purpose: Rollback V1.19__add_visit_form_completion.sql
+
+DROP TABLE IF EXISTS study_visit_form_completion;
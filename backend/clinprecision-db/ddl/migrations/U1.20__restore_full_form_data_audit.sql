@@ -0,0 +1,32 @@
+-- Reverse Migration: Single compact audit pipeline for study_form_data
+-- Purpose: Rollback V1.20__compact_form_data_audit.sql
+
+ALTER TABLE study_form_data_audit
+    DROP COLUMN base_record_id;
+
+DELIMITER $$
+
+CREATE TRIGGER trg_study_form_data_insert
+AFTER INSERT ON study_form_data
+FOR EACH ROW
+BEGIN
+    INSERT INTO study_form_data_audit (
+        study_id, record_id, action, new_data, changed_by, changed_at
+    ) VALUES (
+        NEW.study_id, 
+        NEW.id, 
+        'INSERT',
+        JSON_OBJECT(
+            'form_id', NEW.form_id,
+            'subject_id', NEW.subject_id,
+            'visit_id', NEW.visit_id,
+            'status', NEW.status,
+            'form_data', NEW.form_data,
+            'created_by', NEW.created_by
+        ),
+        NEW.created_by,
+        NOW()
+    );
+END$$
+
+DELIMITER ;
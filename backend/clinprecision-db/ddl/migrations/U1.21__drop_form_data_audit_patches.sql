@@ -0,0 +1,9 @@
+-- Reverse Migration: Form data history as JSON patches with periodic checkpoints
+-- Purpose: Rollback V1.21__form_data_audit_patches.sql
+-- Note: audit rows written as patches keep old_data/new_data NULL; rebuild them from the
+--       event store before rolling back if the full history must stay in this table.
+
+ALTER TABLE study_form_data_audit
+    DROP COLUMN patch_depth,
+    DROP COLUMN is_checkpoint,
+    DROP COLUMN patch;
@@ -0,0 +1,4 @@
+-- Reverse Migration: Indexed values of searchable form fields
+-- Purpose: Rollback V1.22__create_form_field_values.sql
+
+DROP TABLE IF EXISTS study_form_field_values;
@@ -0,0 +1,29 @@
+-- Reverse Migration: Study-scoped partitioning of the operational data tables
+-- Purpose: Rollback V1.23__partition_operational_tables.sql
+-- Note: Re-adding the foreign keys fails if rows reference deleted studies, builds, visit
+--       definitions or visit instances; clean those up first.
+
+ALTER TABLE study_visit_instances_audit REMOVE PARTITIONING;
+ALTER TABLE study_visit_instances_audit DROP PRIMARY KEY, ADD PRIMARY KEY (audit_id);
+
+ALTER TABLE study_visit_instances REMOVE PARTITIONING;
+ALTER TABLE study_visit_instances DROP PRIMARY KEY, ADD PRIMARY KEY (id),
+    ADD CONSTRAINT fk_svi_study FOREIGN KEY (study_id) REFERENCES studies(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_svi_visit_definition FOREIGN KEY (visit_id) REFERENCES visit_definitions(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_visit_instance_build FOREIGN KEY (build_id) REFERENCES study_database_builds(id) ON DELETE RESTRICT;
+
+ALTER TABLE study_form_data_audit REMOVE PARTITIONING;
+ALTER TABLE study_form_data_audit DROP PRIMARY KEY, ADD PRIMARY KEY (audit_id),
+    ADD CONSTRAINT fk_study_form_data_audit_build FOREIGN KEY (build_id) REFERENCES study_database_builds(id) ON DELETE RESTRICT;
+
+ALTER TABLE study_form_data REMOVE PARTITIONING;
+ALTER TABLE study_form_data DROP PRIMARY KEY, ADD PRIMARY KEY (id),
+    ADD UNIQUE KEY aggregate_uuid (aggregate_uuid),
+    ADD CONSTRAINT fk_sfd_study FOREIGN KEY (study_id) REFERENCES studies(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_study_form_data_build FOREIGN KEY (build_id) REFERENCES study_database_builds(id) ON DELETE RESTRICT;
+
+ALTER TABLE study_visit_form_completion
+    ADD CONSTRAINT fk_svfc_visit_instance FOREIGN KEY (visit_instance_id) REFERENCES study_visit_instances(id) ON DELETE CASCADE;
+
+ALTER TABLE protocol_deviations
+    ADD FOREIGN KEY (visit_instance_id) REFERENCES study_visit_instances(id) ON DELETE SET NULL;
@@ -0,0 +1,6 @@
+-- Reverse Migration: Visit window sweep
+-- Purpose: Rollback V1.24__visit_window_sweep.sql
+
+DROP TABLE IF EXISTS scheduled_job_runs;
+
+DROP INDEX idx_window_end ON study_visit_instances;
@@ -0,0 +1,5 @@
+-- Reverse Migration: Site enrollment slot counters
+-- Purpose: Rollback V1.25__site_enrollment_slots.sql (the backfilled counts are kept)
+
+ALTER TABLE site_studies
+    MODIFY subject_enrollment_count INT DEFAULT NULL;
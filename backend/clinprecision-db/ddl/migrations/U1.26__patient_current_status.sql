@@ -0,0 +1,23 @@
+-- Reverse Migration: Patient current status read model
+-- Purpose: Rollback V1.26__patient_current_status.sql
+
+CREATE OR REPLACE VIEW v_patient_current_status AS
+SELECT 
+    psh.patient_id,
+    psh.aggregate_uuid,
+    psh.new_status AS current_status,
+    psh.previous_status,
+    psh.reason,
+    psh.changed_by,
+    psh.changed_at,
+    psh.notes,
+    DATEDIFF(NOW(), psh.changed_at) AS days_in_current_status
+FROM patient_status_history psh
+INNER JOIN (
+    SELECT patient_id, MAX(changed_at) AS max_changed_at
+    FROM patient_status_history
+    GROUP BY patient_id
+) latest ON psh.patient_id = latest.patient_id 
+    AND psh.changed_at = latest.max_changed_at;
+
+DROP TABLE IF EXISTS patient_current_status;
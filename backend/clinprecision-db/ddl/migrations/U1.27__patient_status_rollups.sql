@@ -0,0 +1,5 @@
+-- Reverse Migration: Patient status analytics rollups
+-- Purpose: Rollback V1.27__patient_status_rollups.sql
+
+DROP TABLE IF EXISTS patient_status_rollup_state;
+DROP TABLE IF EXISTS patient_status_transition_daily;
@@ -0,0 +1,6 @@
+-- Reverse Migration: Event identifier on patient enrollment audit records
+-- Purpose: Rollback V1.28__patient_enrollment_audit_event_id.sql
+
+ALTER TABLE patient_enrollment_audit
+    DROP INDEX uk_audit_event_id,
+    DROP COLUMN event_id;
@@ -0,0 +1,4 @@
+-- Reverse Migration: Dead letters of batched projections
+-- Purpose: Rollback V1.29__projection_dead_letters.sql
+
+DROP TABLE IF EXISTS projection_dead_letters;
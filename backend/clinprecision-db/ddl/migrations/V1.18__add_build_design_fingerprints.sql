@@ -0,0 +1,27 @@
+-- Migration: Incremental study database builds
+-- Date: 2025-10-24
+-- Purpose: Store per-build design fingerprints and key generated configuration by build_id,
+--          so a rebuild only regenerates rules for changed forms/visits and copies the rest
+
+CREATE TABLE IF NOT EXISTS study_build_design_fingerprints (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    build_id BIGINT NOT NULL COMMENT 'FK to study_database_builds',
+    study_id BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL COMMENT 'FORM, VISIT, ARM',
+    entity_id BIGINT NOT NULL,
+    content_hash CHAR(64) NOT NULL COMMENT 'SHA-256 (hex) of the entity build-relevant content',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    UNIQUE KEY uk_sbdf_build_entity (build_id, entity_type, entity_id),
+    INDEX idx_study (study_id),
+
+    CONSTRAINT fk_sbdf_build FOREIGN KEY (build_id) REFERENCES study_database_builds(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE study_form_validation_rules
+    ADD COLUMN build_id BIGINT NULL COMMENT 'Build that generated/carried forward this rule' AFTER study_id,
+    ADD INDEX idx_sfvr_build_form (build_id, form_id);
+
+ALTER TABLE study_edit_checks
+    ADD COLUMN build_id BIGINT NULL COMMENT 'Build that generated/carried forward this check' AFTER study_id,
+    ADD INDEX idx_sec_build (build_id);
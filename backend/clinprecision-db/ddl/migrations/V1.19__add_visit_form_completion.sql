@@ -0,0 +1,34 @@
+-- Migration: Incrementally maintained visit completion counters
+-- Date: 2025-10-25
+-- Purpose: Keep required/submitted/locked form counts per visit instance, so visit lists
+--          no longer load every form submission (with its JSON payload) to compute completion
+
+CREATE TABLE IF NOT EXISTS study_visit_form_completion (
+    visit_instance_id BIGINT PRIMARY KEY COMMENT 'FK to study_visit_instances.id',
+    study_id BIGINT NOT NULL,
+    required_forms INT NOT NULL DEFAULT 0 COMMENT 'Forms assigned to the visit definition in the visit build',
+    submitted_forms INT NOT NULL DEFAULT 0 COMMENT 'Distinct forms with a SUBMITTED or LOCKED record',
+    locked_forms INT NOT NULL DEFAULT 0 COMMENT 'Distinct forms with a LOCKED record',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    INDEX idx_study (study_id),
+
+    CONSTRAINT fk_svfc_visit_instance FOREIGN KEY (visit_instance_id) REFERENCES study_visit_instances(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill counters for existing visit instances
+INSERT IGNORE INTO study_visit_form_completion (visit_instance_id, study_id, required_forms, submitted_forms, locked_forms)
+SELECT svi.id, svi.study_id,
+       (SELECT COUNT(*) FROM visit_forms vf
+         WHERE vf.visit_definition_id = svi.visit_id
+           AND (svi.build_id IS NULL OR vf.build_id = svi.build_id)),
+       (SELECT COUNT(DISTINCT sfd.form_id) FROM study_form_data sfd
+         WHERE sfd.study_id = svi.study_id AND sfd.visit_id = svi.id AND sfd.status IN ('SUBMITTED', 'LOCKED')),
+       (SELECT COUNT(DISTINCT sfd.form_id) FROM study_form_data sfd
+         WHERE sfd.study_id = svi.study_id AND sfd.visit_id = svi.id AND sfd.status = 'LOCKED')
+FROM study_visit_instances svi;
+
+UPDATE study_visit_instances svi
+JOIN study_visit_form_completion c ON c.visit_instance_id = svi.id
+SET svi.completion_percentage = CASE WHEN c.required_forms = 0 THEN 0
+                                     ELSE LEAST(100, ROUND(c.submitted_forms * 100 / c.required_forms, 1)) END;
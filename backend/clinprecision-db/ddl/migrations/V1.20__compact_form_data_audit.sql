@@ -0,0 +1,15 @@
+-- Migration: Single compact audit pipeline for study_form_data
+-- Date: 2025-10-26
+-- Purpose: FormDataProjector is the only writer of study_form_data_audit for form submissions.
+--          Its audit rows store a field-level diff (changed keys only) against the previous
+--          version of the same form instead of the complete form_data payload.
+--          trg_study_form_data_insert wrote a second full JSON copy of every submission and is dropped.
+--          The UPDATE/DELETE triggers stay: the application never updates or deletes study_form_data
+--          rows (every submission is a new row), so they only audit out-of-band changes.
+
+DROP TRIGGER IF EXISTS trg_study_form_data_insert;
+
+ALTER TABLE study_form_data_audit
+    ADD COLUMN base_record_id BIGINT NULL
+        COMMENT 'study_form_data.id the old_data/new_data diff is relative to (NULL = diff against an empty form)'
+        AFTER record_id;
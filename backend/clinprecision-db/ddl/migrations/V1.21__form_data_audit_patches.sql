@@ -0,0 +1,22 @@
+-- Migration: Form data history as JSON patches with periodic checkpoints
+-- Date: 2025-10-27
+-- Purpose: Audit rows of form submissions store an RFC 6902 patch against the previous version
+--          of the form. Every clinops.form-data.audit.checkpoint-interval versions (and for the
+--          first version) the full form data is stored instead, so any version is rebuilt by
+--          applying at most interval - 1 patches forward from the nearest checkpoint.
+
+ALTER TABLE study_form_data_audit
+    ADD COLUMN patch JSON NULL
+        COMMENT 'RFC 6902 patch from the base_record_id version (NULL for the first version of a form)'
+        AFTER new_data,
+    ADD COLUMN is_checkpoint BOOLEAN NOT NULL DEFAULT FALSE
+        COMMENT 'TRUE when new_data holds the complete form data'
+        AFTER patch,
+    ADD COLUMN patch_depth INT NULL
+        COMMENT 'Patches since the last checkpoint of the form (0 = checkpoint)'
+        AFTER is_checkpoint;
+
+-- Submission audit rows without a base version hold the complete form data
+UPDATE study_form_data_audit
+SET is_checkpoint = TRUE, patch_depth = 0
+WHERE action = 'INSERT' AND base_record_id IS NULL;
@@ -0,0 +1,26 @@
+-- Migration: Indexed values of searchable form fields
+-- Date: 2025-10-28
+-- Purpose: Materialize the values of form fields declared searchable in their metadata
+--          (search.searchable) into a narrow typed table, so data managers can filter subjects
+--          by clinical values (AE term, lab test code, visit date, ...) without scanning the
+--          form_data JSON of study_form_data. Holds the current version of each form only and
+--          is maintained by FormDataProjector; it is a rebuildable read model (no foreign keys).
+
+CREATE TABLE IF NOT EXISTS study_form_field_values (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    study_id BIGINT NOT NULL,
+    form_id BIGINT NOT NULL,
+    field_name VARCHAR(255) NOT NULL,
+    value_num DECIMAL(30,10) NULL COMMENT 'Value of number fields',
+    value_text VARCHAR(255) NULL COMMENT 'Value of text fields (truncated to 255 characters)',
+    value_date DATE NULL COMMENT 'Value of date fields',
+    record_id BIGINT NOT NULL COMMENT 'study_form_data.id of the current version of the form',
+    subject_id BIGINT NULL,
+    visit_id BIGINT NULL,
+    
+    INDEX idx_sffv_num (study_id, form_id, field_name, value_num),
+    INDEX idx_sffv_text (study_id, form_id, field_name, value_text),
+    INDEX idx_sffv_date (study_id, form_id, field_name, value_date),
+    INDEX idx_sffv_subject (study_id, subject_id, form_id, field_name),
+    INDEX idx_sffv_record (record_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
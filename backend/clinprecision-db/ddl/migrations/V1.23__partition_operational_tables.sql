@@ -0,0 +1,86 @@
+-- Migration: Study-scoped partitioning of the operational data tables
+-- Date: 2025-10-29
+-- Purpose: Partition study_form_data, study_form_data_audit, study_visit_instances and
+--          study_visit_instances_audit by HASH(study_id), so queries of one study prune to one
+--          partition and a large study no longer slows down the others.
+--          MySQL does not support foreign keys on (or referencing) partitioned tables, and every
+--          unique key must contain the partitioning column:
+--          - the foreign keys of these tables, and those referencing study_visit_instances, are
+--            dropped; the reference checks move to the projectors (ProjectionReferenceValidator)
+--          - primary keys become (id, study_id) / (audit_id, study_id)
+--          - study_form_data.aggregate_uuid is no longer unique (idx_study_form_data_aggregate_uuid
+--            remains; FormDataProjector already skips events whose aggregate UUID is projected)
+--
+--          The ALTER TABLE ... PARTITION BY statements below copy each table while blocking writes.
+--          On large databases convert the tables online first (POST /api/v1/admin/partitions/{table}/migrate,
+--          see OnlinePartitionMigrator); tables that are already partitioned are skipped here.
+
+-- ----------------------------------------------------------------------------
+-- 1. Drop foreign keys (constraint names looked up; the protocol_deviations one is unnamed)
+-- ----------------------------------------------------------------------------
+SET @ddl := (SELECT CONCAT('ALTER TABLE study_form_data ', GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`') SEPARATOR ', '))
+             FROM information_schema.REFERENTIAL_CONSTRAINTS
+             WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'study_form_data');
+SET @ddl := IFNULL(@ddl, 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl := (SELECT CONCAT('ALTER TABLE study_form_data_audit ', GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`') SEPARATOR ', '))
+             FROM information_schema.REFERENTIAL_CONSTRAINTS
+             WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'study_form_data_audit');
+SET @ddl := IFNULL(@ddl, 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl := (SELECT CONCAT('ALTER TABLE study_visit_instances ', GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`') SEPARATOR ', '))
+             FROM information_schema.REFERENTIAL_CONSTRAINTS
+             WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'study_visit_instances');
+SET @ddl := IFNULL(@ddl, 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl := (SELECT CONCAT('ALTER TABLE study_visit_form_completion ', GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`') SEPARATOR ', '))
+             FROM information_schema.REFERENTIAL_CONSTRAINTS
+             WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'study_visit_form_completion'
+               AND REFERENCED_TABLE_NAME = 'study_visit_instances');
+SET @ddl := IFNULL(@ddl, 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @ddl := (SELECT CONCAT('ALTER TABLE protocol_deviations ', GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`') SEPARATOR ', '))
+             FROM information_schema.REFERENTIAL_CONSTRAINTS
+             WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'protocol_deviations'
+               AND REFERENCED_TABLE_NAME = 'study_visit_instances');
+SET @ddl := IFNULL(@ddl, 'DO 0');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+-- ----------------------------------------------------------------------------
+-- 2. Keys containing study_id, then HASH(study_id) partitioning (skipped when already partitioned)
+-- ----------------------------------------------------------------------------
+SET @partitioned := (SELECT COUNT(*) FROM information_schema.PARTITIONS
+                     WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'study_form_data' AND PARTITION_NAME IS NOT NULL);
+SET @ddl := IF(@partitioned > 0, 'DO 0',
+    'ALTER TABLE study_form_data DROP INDEX aggregate_uuid, DROP PRIMARY KEY, ADD PRIMARY KEY (id, study_id)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+SET @ddl := IF(@partitioned > 0, 'DO 0', 'ALTER TABLE study_form_data PARTITION BY HASH(study_id) PARTITIONS 16');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @partitioned := (SELECT COUNT(*) FROM information_schema.PARTITIONS
+                     WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'study_form_data_audit' AND PARTITION_NAME IS NOT NULL);
+SET @ddl := IF(@partitioned > 0, 'DO 0',
+    'ALTER TABLE study_form_data_audit DROP PRIMARY KEY, ADD PRIMARY KEY (audit_id, study_id)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+SET @ddl := IF(@partitioned > 0, 'DO 0', 'ALTER TABLE study_form_data_audit PARTITION BY HASH(study_id) PARTITIONS 16');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @partitioned := (SELECT COUNT(*) FROM information_schema.PARTITIONS
+                     WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'study_visit_instances' AND PARTITION_NAME IS NOT NULL);
+SET @ddl := IF(@partitioned > 0, 'DO 0',
+    'ALTER TABLE study_visit_instances DROP PRIMARY KEY, ADD PRIMARY KEY (id, study_id)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+SET @ddl := IF(@partitioned > 0, 'DO 0', 'ALTER TABLE study_visit_instances PARTITION BY HASH(study_id) PARTITIONS 16');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+SET @partitioned := (SELECT COUNT(*) FROM information_schema.PARTITIONS
+                     WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'study_visit_instances_audit' AND PARTITION_NAME IS NOT NULL);
+SET @ddl := IF(@partitioned > 0, 'DO 0',
+    'ALTER TABLE study_visit_instances_audit DROP PRIMARY KEY, ADD PRIMARY KEY (audit_id, study_id)');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+SET @ddl := IF(@partitioned > 0, 'DO 0', 'ALTER TABLE study_visit_instances_audit PARTITION BY HASH(study_id) PARTITIONS 16');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,21 @@
+-- Migration: Visit window sweep
+-- Date: 2025-10-29
+-- Purpose: Support VisitWindowSweeper, which materializes the time-driven compliance status of
+--          open visits (WINDOW_OPEN, APPROACHING_DEADLINE, OVERDUE, MISSED) in
+--          study_visit_instances.compliance_status / window_status once a day.
+--          - idx_window_end lets the sweep read only the visits whose window boundary was crossed
+--            since the previous run (range on visit_window_end; idx_window_dates covers
+--            visit_window_start)
+--          - scheduled_job_runs keeps the last swept date (so a restart does not rescan every
+--            visit) and a lease, so only one service instance sweeps at a time
+
+CREATE INDEX idx_window_end ON study_visit_instances(visit_window_end);
+
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_run_date DATE NULL COMMENT 'Business date the job last completed for',
+    last_run_at TIMESTAMP NULL COMMENT 'When the last run completed',
+    last_run_rows INT NULL COMMENT 'Rows changed by the last run',
+    locked_by VARCHAR(255) NULL COMMENT 'Instance holding the lease while a run is in progress',
+    locked_until TIMESTAMP NULL COMMENT 'Lease expiry (a crashed run is taken over after it)'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
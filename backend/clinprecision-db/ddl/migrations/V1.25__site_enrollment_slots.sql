@@ -0,0 +1,16 @@
+-- Migration: Site enrollment slot counters
+-- Date: 2025-10-30
+-- Purpose: site_studies.subject_enrollment_count becomes the enrollment slot counter of a site.
+--          PatientEnrollmentService reserves a slot with one conditional UPDATE
+--          (count < subject_enrollment_cap) before sending EnrollPatientCommand and releases it
+--          if the command fails, so concurrent enrollments cannot exceed the cap.
+--          The counters are backfilled from patient_enrollments and made NOT NULL DEFAULT 0
+--          (the reservation arithmetic relies on a non-null count).
+
+UPDATE site_studies ss
+SET ss.subject_enrollment_count = (
+    SELECT COUNT(*) FROM patient_enrollments pe WHERE pe.study_site_id = ss.id
+);
+
+ALTER TABLE site_studies
+    MODIFY subject_enrollment_count INT NOT NULL DEFAULT 0 COMMENT 'Enrollment slots taken (reserved by PatientEnrollmentService)';
@@ -0,0 +1,68 @@
+-- Migration: Patient current status read model
+-- Date: 2025-10-31
+-- Purpose: patient_current_status keeps one row per patient with its current status, the time
+--          it was entered (status_since) and the study of its latest enrollment.
+--          PatientEnrollmentProjector upserts the row with every patient_status_history record,
+--          so "patients in SCREENING for more than 14 days" is a range scan of
+--          idx_pcs_study_status_since / idx_pcs_status_since instead of a latest-record search
+--          of the history for every patient. The table is backfilled from the history and
+--          v_patient_current_status reads it (same columns, plus study_id).
+
+CREATE TABLE IF NOT EXISTS patient_current_status (
+    patient_id BIGINT NOT NULL PRIMARY KEY COMMENT 'FK to patients table (read model)',
+    aggregate_uuid VARCHAR(255) NOT NULL COMMENT 'Patient aggregate UUID for event sourcing',
+    study_id BIGINT NULL COMMENT 'Study of the patient''s latest enrollment (NULL until enrolled)',
+    current_status VARCHAR(50) NOT NULL COMMENT 'Current patient status (new_status of the latest status change)',
+    previous_status VARCHAR(50) NULL COMMENT 'Status before the current status',
+    status_since TIMESTAMP NOT NULL COMMENT 'changed_at of the status change that entered the current status',
+    status_history_id BIGINT NULL COMMENT 'patient_status_history record of the current status',
+    changed_by VARCHAR(100) NULL COMMENT 'User who performed the current status change',
+    status_change_count INT NOT NULL DEFAULT 0 COMMENT 'Number of status history records of the patient',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (patient_id) REFERENCES patients(id) ON DELETE CASCADE,
+
+    INDEX idx_pcs_study_status_since (study_id, current_status, status_since),
+    INDEX idx_pcs_status_since (current_status, status_since)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Current status of each patient, maintained by PatientEnrollmentProjector with every patient_status_history record. Answers current-status queries (patients in a status, patients stuck in a status) without searching the history.';
+
+INSERT INTO patient_current_status
+    (patient_id, aggregate_uuid, study_id, current_status, previous_status, status_since,
+     status_history_id, changed_by, status_change_count, updated_at)
+SELECT
+    h.patient_id,
+    h.aggregate_uuid,
+    (SELECT pe.study_id FROM patient_enrollments pe
+     WHERE pe.patient_id = h.patient_id
+     ORDER BY pe.enrollment_date DESC, pe.id DESC LIMIT 1),
+    h.new_status,
+    h.previous_status,
+    h.changed_at,
+    h.id,
+    h.changed_by,
+    h.change_count,
+    NOW()
+FROM (
+    SELECT psh.*,
+           ROW_NUMBER() OVER (PARTITION BY psh.patient_id ORDER BY psh.changed_at DESC, psh.id DESC) AS rn,
+           COUNT(*) OVER (PARTITION BY psh.patient_id) AS change_count
+    FROM patient_status_history psh
+) h
+WHERE h.rn = 1
+ON DUPLICATE KEY UPDATE patient_id = patient_current_status.patient_id;
+
+CREATE OR REPLACE VIEW v_patient_current_status AS
+SELECT 
+    pcs.patient_id,
+    pcs.aggregate_uuid,
+    pcs.study_id,
+    pcs.current_status,
+    pcs.previous_status,
+    psh.reason,
+    pcs.changed_by,
+    pcs.status_since AS changed_at,
+    psh.notes,
+    DATEDIFF(NOW(), pcs.status_since) AS days_in_current_status
+FROM patient_current_status pcs
+LEFT JOIN patient_status_history psh ON psh.id = pcs.status_history_id;
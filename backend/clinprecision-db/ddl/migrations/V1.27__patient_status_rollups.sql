@@ -0,0 +1,42 @@
+-- Migration: Patient status analytics rollups
+-- Date: 2025-10-31
+-- Purpose: Status reporting endpoints (transition summary, daily changes, changes per user,
+--          time in status) aggregated patient_status_history on every call.
+--          PatientStatusRollupProjector (processing group patient-status-rollup-projection)
+--          adds every status change to one daily counter row per study, transition and user,
+--          with a histogram of the days spent in the previous status, and the endpoints read
+--          these rows. The projector keeps per-patient state (study, first/last change time)
+--          in patient_status_rollup_state.
+--          No backfill: the new processor starts at the beginning of the event store and rolls
+--          up the existing status changes; a replay clears and rebuilds both tables.
+
+CREATE TABLE IF NOT EXISTS patient_status_transition_daily (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    activity_date DATE NOT NULL COMMENT 'Day of the status changes (date of changed_at)',
+    study_id BIGINT NOT NULL DEFAULT 0 COMMENT 'Study of the patient (0 = not enrolled)',
+    previous_status VARCHAR(50) NOT NULL DEFAULT '' COMMENT 'Previous status ('''' = initial registration)',
+    new_status VARCHAR(50) NOT NULL COMMENT 'New status',
+    changed_by VARCHAR(100) NOT NULL DEFAULT '' COMMENT 'User who performed the status changes',
+    transition_count INT NOT NULL DEFAULT 0 COMMENT 'Number of status changes',
+    duration_count INT NOT NULL DEFAULT 0 COMMENT 'Status changes with a known time in the previous status',
+    duration_days_total BIGINT NOT NULL DEFAULT 0 COMMENT 'Total days spent in the previous status',
+    days_0_7 INT NOT NULL DEFAULT 0 COMMENT 'Status changes after 0-7 days in the previous status',
+    days_8_30 INT NOT NULL DEFAULT 0 COMMENT 'Status changes after 8-30 days in the previous status',
+    days_31_90 INT NOT NULL DEFAULT 0 COMMENT 'Status changes after 31-90 days in the previous status',
+    days_over_90 INT NOT NULL DEFAULT 0 COMMENT 'Status changes after more than 90 days in the previous status',
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    UNIQUE KEY uk_pstd_rollup (activity_date, study_id, previous_status, new_status, changed_by),
+    INDEX idx_pstd_study_date (study_id, activity_date),
+    INDEX idx_pstd_user_date (changed_by, activity_date)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Daily patient status transition rollups (per study, transition and user) with a histogram of days spent in the previous status. Maintained by PatientStatusRollupProjector; rebuilt by replaying patient-status-rollup-projection.';
+
+CREATE TABLE IF NOT EXISTS patient_status_rollup_state (
+    patient_aggregate_uuid VARCHAR(255) NOT NULL PRIMARY KEY COMMENT 'Patient aggregate UUID',
+    study_id BIGINT NULL COMMENT 'Study of the latest enrollment',
+    first_status_at TIMESTAMP NULL COMMENT 'Time of the first status change (registration)',
+    last_status_at TIMESTAMP NULL COMMENT 'Time of the latest status change',
+    status_change_count INT NOT NULL DEFAULT 0 COMMENT 'Number of status changes (including registration)',
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Per-patient state of PatientStatusRollupProjector (study and status change times used for durations).';
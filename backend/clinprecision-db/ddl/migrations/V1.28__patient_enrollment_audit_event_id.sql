@@ -0,0 +1,10 @@
+-- Migration: Event identifier on patient enrollment audit records
+-- Date: 2025-11-01
+-- Purpose: PatientEnrollmentProjector records the identifier of the event an audit record was
+--          projected from. Demographics updates are skipped when their event already has an
+--          audit record, so a replay of patient-enrollment-projection does not duplicate
+--          Part 11 audit rows. Existing rows keep a NULL event_id.
+
+ALTER TABLE patient_enrollment_audit
+    ADD COLUMN event_id VARCHAR(255) NULL COMMENT 'Identifier of the projected event (idempotency on replay)',
+    ADD UNIQUE KEY uk_audit_event_id (event_id);
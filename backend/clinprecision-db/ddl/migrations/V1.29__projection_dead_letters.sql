@@ -0,0 +1,24 @@
+-- Migration: Dead letters of batched projections
+-- Date: 2025-11-02
+-- Purpose: FormDataProjector writes the events of an event processor batch together. A batch
+--          that fails is projected again one event at a time; an event that still fails on its
+--          own is recorded here and skipped, instead of rolling back the batch and retrying the
+--          segment forever. Rows are keyed by processing group and aggregate, so a replay that
+--          fails on the same event again updates the existing row.
+
+CREATE TABLE IF NOT EXISTS projection_dead_letters (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    processing_group VARCHAR(100) NOT NULL COMMENT 'Axon processing group of the projector',
+    event_type VARCHAR(255) NOT NULL COMMENT 'Payload type of the event',
+    aggregate_uuid VARCHAR(255) NOT NULL COMMENT 'Aggregate the event belongs to',
+    study_id BIGINT NULL COMMENT 'Study of the event, if any',
+    payload JSON NULL COMMENT 'Event payload',
+    error_message TEXT NULL COMMENT 'Error of the latest failed attempt',
+    attempts INT NOT NULL DEFAULT 1 COMMENT 'Number of times the event failed on its own',
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    UNIQUE KEY uk_pdl_group_aggregate (processing_group, aggregate_uuid),
+    INDEX idx_pdl_study (study_id)
+
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Events a batched projector could not project on their own (skipped). Written by FormDataProjector.';